@@ -261,7 +261,7 @@ public abstract class AbstractTendrilProccessor extends AbstractProcessor {
     }
 
     /**
-     * Write out the generated class.
+     * Write out the generated class, along with any supporting classes that it requires.
      * 
      * @param def {@link ClassDefinition} defining the generated class
      */
@@ -277,6 +277,8 @@ public abstract class AbstractTendrilProccessor extends AbstractProcessor {
         } catch (IOException e) {
             e.printStackTrace();
         }
+
+        def.getSupportingDefinitions().forEach(this::writeCode);
     }
 
     /**
@@ -312,6 +314,23 @@ public abstract class AbstractTendrilProccessor extends AbstractProcessor {
 
     }
 
+    /**
+     * Create a binary resource file at the indicated path (relative within the directory where resources are generated)
+     *
+     * @param resourcePath {@link String} relative path within the resources where the file is to be created
+     * @param contents     byte[] containing the bytes that the generated file is to contain
+     */
+    protected void writeResourceFile(String resourcePath, byte[] contents) {
+        try {
+            FileObject fileObject = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", resourcePath);
+            try (OutputStream out = fileObject.openOutputStream()) {
+                out.write(contents);
+            }
+        } catch (IOException e) {
+            System.err.println("Unable to create file " + resourcePath);
+        }
+    }
+
     /**
      * Perform the necessary processing of the indicated class, which was found to have been annotated with the required annotation. An empty implementation is provided by default, leaving it up to
      * the subclass to provide the necessary concrete implementation.
@@ -15,6 +15,10 @@
  */
 package tendril.annotationprocessor;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import tendril.codegen.field.type.ClassType;
 
 /**
@@ -25,6 +29,8 @@ public class ClassDefinition {
     private final ClassType type;
     /** The code which defined the class */
     private final String code;
+    /** Additional classes which the class requires, and which are to be written alongside it */
+    private final List<ClassDefinition> supporting = new ArrayList<>();
     
     /**
      * CTOR
@@ -54,4 +60,22 @@ public class ClassDefinition {
     public String getCode() {
         return code;
     }
+
+    /**
+     * Add a supporting class, which is to be written alongside this class.
+     * 
+     * @param definition {@link ClassDefinition} of the supporting class
+     */
+    public void addSupportingDefinition(ClassDefinition definition) {
+        supporting.add(definition);
+    }
+
+    /**
+     * Get the supporting classes, which are to be written alongside this class.
+     * 
+     * @return {@link List} of {@link ClassDefinition}s
+     */
+    public List<ClassDefinition> getSupportingDefinitions() {
+        return Collections.unmodifiableList(supporting);
+    }
 }
@@ -30,6 +30,8 @@ public class ClassDefinitionTest extends AbstractUnitTest {
     // Mocks to use for testing
     @Mock
     private ClassType mockType;
+    @Mock
+    private ClassType mockSupportingType;
     
     // Instance to test
     private ClassDefinition def;
@@ -57,4 +59,18 @@ public class ClassDefinitionTest extends AbstractUnitTest {
     public void testCode() {
         Assertions.assertEquals("code", def.getCode());
     }
+
+    /**
+     * Verify that supporting definitions can be added and retrieved
+     */
+    @Test
+    public void testSupportingDefinitions() {
+        Assertions.assertTrue(def.getSupportingDefinitions().isEmpty());
+
+        ClassDefinition supporting = new ClassDefinition(mockSupportingType, "supportingCode");
+        def.addSupportingDefinition(supporting);
+        Assertions.assertEquals(1, def.getSupportingDefinitions().size());
+        Assertions.assertEquals(supporting, def.getSupportingDefinitions().get(0));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> def.getSupportingDefinitions().clear());
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.codegen.field.type;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import tendril.codegen.generics.GenericType;
+
+/**
+ * {@link ClassType} which is created from an actual {@link Class}, and retains that {@link Class} rather than looking it up by name whenever it is required. As the {@link Class}
+ * is always available, the outcome of an assignability check is fully determined by the two types involved, so the outcome is memoized (per {@link Class}) to ensure that
+ * repeatedly performing the same check (as is done when matching beans at runtime) is effectively free.
+ */
+public class RuntimeClassType extends ClassType {
+
+	/** Memoized outcomes of {@code isAssignableFrom}, keyed by the {@link Class} of the type being assigned to */
+	private static final ClassValue<Map<AssignabilityKey, Boolean>> ASSIGNABILITY = new ClassValue<>() {
+		@Override
+		protected Map<AssignabilityKey, Boolean> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/** The {@link Class} that the type represents */
+	private final Class<?> definedClass;
+	/** Cached code name (including generics) of the type */
+	private String codeName = null;
+
+	/**
+	 * CTOR
+	 *
+	 * @param definedClass {@link Class} that the type represents
+	 * @param packageName  {@link String} the name of the package where the defined class lives
+	 * @param className    {@link String} the name of the class itself
+	 */
+	RuntimeClassType(Class<?> definedClass, String packageName, String className) {
+		super(packageName, className);
+		this.definedClass = definedClass;
+	}
+
+	/**
+	 * @see tendril.codegen.field.type.ClassType#getDefinedClass()
+	 */
+	@Override
+	public Class<?> getDefinedClass() {
+		return definedClass;
+	}
+
+	/**
+	 * @see tendril.codegen.JGeneric#addGeneric(tendril.codegen.generics.GenericType)
+	 */
+	@Override
+	public void addGeneric(GenericType generic) {
+		super.addGeneric(generic);
+		codeName = null;
+	}
+
+	/**
+	 * @see tendril.codegen.field.type.ClassType#getCodeName()
+	 */
+	@Override
+	public String getCodeName() {
+		if (codeName == null)
+			codeName = super.getCodeName();
+		return codeName;
+	}
+
+	/**
+	 * @see tendril.codegen.field.type.ClassType#isAssignableFrom(tendril.codegen.field.type.Type)
+	 */
+	@Override
+	public boolean isAssignableFrom(Type other) {
+		if (!(other instanceof ClassType otherClass))
+			return super.isAssignableFrom(other);
+
+		// Without any generics in play, the assignability is exactly that of the classes themselves
+		if (definedClass != Class.class && other instanceof RuntimeClassType otherRuntime && !hasGenerics() && !otherRuntime.hasGenerics())
+			return definedClass.isAssignableFrom(otherRuntime.definedClass);
+
+		// Generics are compared recursively, so the outcome cannot be computed within the map itself
+		Map<AssignabilityKey, Boolean> memo = ASSIGNABILITY.get(definedClass);
+		AssignabilityKey key = new AssignabilityKey(getCodeName(), otherClass.getCodeName());
+		Boolean assignable = memo.get(key);
+		if (assignable == null) {
+			assignable = super.isAssignableFrom(other);
+			memo.put(key, assignable);
+		}
+		return assignable;
+	}
+
+	/**
+	 * Key for a memoized assignability check
+	 *
+	 * @param target {@link String} code name of the type being assigned to
+	 * @param source {@link String} code name of the type being assigned from
+	 */
+	private record AssignabilityKey(String target, String source) {
+	}
+}
@@ -110,14 +110,19 @@ public abstract class TypeFactory {
     }
     
     /**
-     * Create a {@link ClassType} from the specified {@link Class}
+     * Create a {@link ClassType} from the specified {@link Class}. The resulting {@link ClassType} retains the {@link Class} it was created from.
      * 
      * @param klass {@link Class} to use as the basis for the {@link ClassType}
      * @param generics {@link GenericType}... listing what generics to apply to the {@link ClassType}
      * @return {@link ClassType} for the {@link Class}
      */
     public static ClassType createClassType(Class<?> klass, GenericType... generics) {
-    	return createClassType(klass.getName().replaceAll("\\$", "."), generics);
+    	ClassType named = createClassType(klass.getName().replaceAll("\\$", "."));
+    	ClassType type = new RuntimeClassType(klass, named.getPackageName(), named.getClassName());
+    	for (GenericType g: generics)
+    		type.addGeneric(g);
+    	
+    	return type;
     }
     
     /**
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.codegen.field.type;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import tendril.codegen.generics.GenericFactory;
+import tendril.test.AbstractUnitTest;
+import tendril.testclasses.TestStringArrayList;
+import tendril.testclasses.TestStringList;
+
+/**
+ * Test case for {@link RuntimeClassType}
+ */
+public class RuntimeClassTypeTest extends AbstractUnitTest {
+
+	/**
+	 * Nested class which cannot be loaded by name as a {@link ClassType} names it
+	 */
+	private static class NestedClass extends ArrayList<String> {
+		private static final long serialVersionUID = 1L;
+	}
+
+	/**
+	 * @see tendril.test.AbstractUnitTest#prepareTest()
+	 */
+	@Override
+	protected void prepareTest() {
+	}
+
+	/**
+	 * Verify that the type is created from the factory and retains its class
+	 */
+	@Test
+	public void testDefinedClass() throws ClassNotFoundException {
+		ClassType type = TypeFactory.createClassType(String.class);
+		Assertions.assertInstanceOf(RuntimeClassType.class, type);
+		Assertions.assertEquals(String.class, type.getDefinedClass());
+		Assertions.assertEquals(new ClassType("java.lang", "String"), type);
+
+		type = TypeFactory.createClassType(NestedClass.class);
+		Assertions.assertEquals(RuntimeClassTypeTest.class.getName() + ".NestedClass", type.getFullyQualifiedName());
+		Assertions.assertEquals(NestedClass.class, type.getDefinedClass());
+	}
+
+	/**
+	 * Verify that assignability is determined by the classes when no generics are present
+	 */
+	@Test
+	public void testIsAssignableFromWithoutGenerics() {
+		ClassType number = TypeFactory.createClassType(Number.class);
+		ClassType integer = TypeFactory.createClassType(Integer.class);
+		ClassType list = TypeFactory.createClassType(List.class);
+		ClassType nested = TypeFactory.createClassType(NestedClass.class);
+
+		Assertions.assertTrue(number.isAssignableFrom(integer));
+		Assertions.assertFalse(integer.isAssignableFrom(number));
+		Assertions.assertTrue(list.isAssignableFrom(nested));
+		Assertions.assertFalse(nested.isAssignableFrom(list));
+		Assertions.assertFalse(nested.isAssignableFrom(integer));
+		Assertions.assertFalse(integer.isAssignableFrom(nested));
+		Assertions.assertFalse(number.isAssignableFrom(PrimitiveType.INT));
+	}
+
+	/**
+	 * Verify that assignability with generics is determined and remains consistent when repeated
+	 */
+	@Test
+	public void testIsAssignableFromWithGenerics() {
+		ClassType stringList = TypeFactory.createClassType(List.class, GenericFactory.create(TypeFactory.create(String.class)));
+		ClassType integerList = TypeFactory.createClassType(List.class, GenericFactory.create(TypeFactory.createClassType(Integer.class)));
+		ClassType testList = TypeFactory.createClassType(TestStringList.class);
+		ClassType testArrayList = TypeFactory.createClassType(TestStringArrayList.class);
+
+		for (int i = 0; i < 3; i++) {
+			Assertions.assertTrue(stringList.isAssignableFrom(testList));
+			Assertions.assertTrue(stringList.isAssignableFrom(testArrayList));
+			Assertions.assertTrue(stringList.isAssignableFrom(TypeFactory.createClassType(List.class, GenericFactory.create(TypeFactory.create(String.class)))));
+			Assertions.assertFalse(integerList.isAssignableFrom(testList));
+			Assertions.assertFalse(integerList.isAssignableFrom(stringList));
+			Assertions.assertFalse(testList.isAssignableFrom(stringList));
+		}
+	}
+
+	/**
+	 * Verify that the code name reflects generics which are added after it has been generated
+	 */
+	@Test
+	public void testCodeNameWithAddedGeneric() {
+		ClassType type = TypeFactory.createClassType(Map.class);
+		Assertions.assertEquals("java.util.Map", type.getCodeName());
+
+		type.addGeneric(GenericFactory.create(TypeFactory.create(String.class)));
+		type.addGeneric(GenericFactory.create(TypeFactory.createClassType(Integer.class)));
+		Assertions.assertEquals("java.util.Map<java.lang.String, java.lang.Integer>", type.getCodeName());
+	}
+}
@@ -25,7 +25,8 @@ import java.util.List;
  * Annotation which is used to mark a field into which a {@link List} of beans is to be injected as a bean consumer, provided that the encompassing class is a bean {@link Bean} in its own right. As
  * part of the initialization of the bean these will be automatically populated with the required beans, such that fields will be guaranteed to have the appropriate value (bean) applied. The
  * difference between @InjectAll and @Inject is that where @Inject requires exactly one match, @InjectAll has no such stipulation. All suitable matches will be returned in a {@link List}, and it may
- * be empty if no such match exist. It is up to the client code to make appropriate use and determinations as necessary.
+ * be empty if no such match exist. It is up to the client code to make appropriate use and determinations as necessary. The {@link List} is unmodifiable, and where all of the matches
+ * are singletons the same {@link List} is shared by all consumers.
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ ElementType.FIELD, ElementType.PARAMETER })
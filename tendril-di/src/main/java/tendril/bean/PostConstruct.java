@@ -19,6 +19,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.concurrent.CompletionStage;
 
 import tendril.processor.BeanProcessor;
 
@@ -28,11 +29,15 @@ import tendril.processor.BeanProcessor;
  * it must follow a few rules:
  * <ol>
  *      <li>The method must not take any parameters</li>
- *      <li>The method must be void</li>
+ *      <li>The method must be void, or return a {@link CompletionStage}</li>
  *      <li>The method must not be private</li>
  * </ol>
  * 
  * If any of the above rules are not met, then the {@link BeanProcessor} will throw an exception and fail annotation processing
+ * 
+ * A method which returns a {@link CompletionStage} initializes the bean asynchronously, with the bean being provided onward without waiting for the stage to complete.
+ * All such initializations of the runner and the singletons it (transitively) depends on are nonetheless completed before the runner is run. The asynchronous
+ * initialization of a bean which is not a singleton is not waited for, with each instance being responsible for its own readiness.
  */
 @Retention(RetentionPolicy.SOURCE)
 @Target(ElementType.METHOD)
@@ -15,8 +15,14 @@
  */
 package tendril.bean.qualifier;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import tendril.codegen.field.type.ClassType;
 import tendril.codegen.field.type.TypeFactory;
@@ -30,6 +36,13 @@ import tendril.util.TendrilUtil;
  * @param <BEAN_TYPE> the type of bean that the {@link Descriptor} describes
  */
 public class Descriptor<BEAN_TYPE> {
+    /**
+     * The canonical instances of all descriptors which have been interned. The canonical instances are only weakly referenced (including by their keys), such that the
+     * table does not keep the descriptors, nor the classes, class loaders, and blueprints which they reference, alive once they are no longer otherwise in use.
+     */
+    private static final Map<InternKey, CanonicalReference> canonicals = new ConcurrentHashMap<>();
+    /** The canonical instances which have been collected, and whose entries are therefore to be removed from the table */
+    private static final ReferenceQueue<Descriptor<?>> collectedCanonicals = new ReferenceQueue<>();
     
     /** The {@link Class} of the bean */
     private final ClassType beanType;
@@ -43,6 +56,14 @@ public class Descriptor<BEAN_TYPE> {
     private Set<Class<?>> qualifiers = new HashSet<>();
     /** The blueprint which is used to create this sibling (if it is a sibling) */
     private Object blueprint = null;
+    /** Flag indicating whether the descriptor has been frozen, after which it can no longer be modified */
+    private boolean frozen = false;
+    /** Flag indicating whether the descriptor is the canonical instance of its details, as created via {@code intern()} */
+    private volatile boolean interned = false;
+    /** Bit mask of the ids of all qualifiers (enum and regular), computed when the descriptor is frozen */
+    private long[] qualifierMask = null;
+    /** The hash code of the descriptor, computed when the descriptor is frozen */
+    private int hash = 0;
     
     /**
      * CTOR
@@ -92,6 +113,15 @@ public class Descriptor<BEAN_TYPE> {
         return beanType;
     }
     
+    /**
+     * Get the name of the variable/field the descriptor relates to
+     * 
+     * @return {@link String} the variable name (blank if the descriptor does not relate to a variable)
+     */
+    public String getVariableName() {
+        return variableName;
+    }
+    
     /**
      * Set the name of the described bean
      * 
@@ -100,6 +130,7 @@ public class Descriptor<BEAN_TYPE> {
      * @return {@link Descriptor} describing the bean
      */
     public Descriptor<BEAN_TYPE> setName(String name) {
+        throwIfFrozen();
         this.name = name;
         return this;
     }
@@ -120,6 +151,7 @@ public class Descriptor<BEAN_TYPE> {
      * @return {@link Descriptor} describing the bean
      */
     public Descriptor<BEAN_TYPE> addEnumQualifier(Enum<?> qualifier) {
+        throwIfFrozen();
         this.enumQualifiers.add(qualifier);
         return this;
     }
@@ -128,8 +160,8 @@ public class Descriptor<BEAN_TYPE> {
      * Get all qualifying {@link Enum}s for the bean
      * @return {@link Set} of {@link Enum}s which describe/qualify a bean
      */
-    Set<Enum<?>> getEnumQualifiers() {
-        return enumQualifiers;
+    public Set<Enum<?>> getEnumQualifiers() {
+        return frozen ? enumQualifiers : Collections.unmodifiableSet(enumQualifiers);
     }
     
     /**
@@ -139,6 +171,7 @@ public class Descriptor<BEAN_TYPE> {
      * @return {@link Descriptor} describing the bean
      */
     public Descriptor<BEAN_TYPE> addQualifier(Class<?> qualifier) {
+        throwIfFrozen();
         this.qualifiers.add(qualifier);
         return this;
     }
@@ -160,6 +193,7 @@ public class Descriptor<BEAN_TYPE> {
      * @return {@link Descriptor} describing the bean
      */
     public Descriptor<BEAN_TYPE> setBlueprint(Object blueprint) {
+    	throwIfFrozen();
     	this.blueprint = blueprint;
     	return this;
     }
@@ -193,6 +227,7 @@ public class Descriptor<BEAN_TYPE> {
      * @param other {@link Descriptor} from which to update
      */
     public void updateFrom(Descriptor<?> other) {
+    	throwIfFrozen();
     	name = other.name;
     	blueprint = other.blueprint;
     	
@@ -203,6 +238,129 @@ public class Descriptor<BEAN_TYPE> {
     		enumQualifiers.add(e);
     }
     
+    /**
+     * Freeze the descriptor, preventing any further modification. Once frozen the descriptor can be safely shared, allowing for it to be created once (i.e.: as a
+     * constant) and then used for any number of bean lookups.
+     * 
+     * @return {@link Descriptor} describing the bean
+     */
+    public Descriptor<BEAN_TYPE> freeze() {
+    	if (!frozen) {
+    		enumQualifiers = Collections.unmodifiableSet(enumQualifiers);
+    		qualifiers = Collections.unmodifiableSet(qualifiers);
+    		qualifierMask = QualifierIds.maskOf(enumQualifiers, qualifiers);
+    		hash = computeHash();
+    		frozen = true;
+    	}
+    	return this;
+    }
+    
+    /**
+     * Get the canonical instance of this descriptor. The first descriptor to be interned with a given set of details (bean type, variable, name, qualifiers, and
+     * blueprint) is frozen and becomes the canonical instance, which is then returned whenever an identical descriptor is interned. This allows for descriptors which are
+     * repeated across recipes to be shared, with matching against itself being resolved by identity. The canonical instance is only held for as long as it remains in
+     * use, after which an identical descriptor being interned becomes the new canonical instance.
+     * 
+     * @return {@link Descriptor} the frozen canonical instance
+     */
+    @SuppressWarnings("unchecked")
+    public Descriptor<BEAN_TYPE> intern() {
+    	if (interned)
+    		return this;
+    	
+    	removeCollectedCanonicals();
+    	CanonicalReference candidate = new CanonicalReference(this);
+    	while (true) {
+    		CanonicalReference reference = canonicals.get(candidate.key);
+    		if (reference == null)
+    			reference = canonicals.computeIfAbsent(candidate.key, k -> {
+    				freeze().markInterned();
+    				return candidate;
+    			});
+    		
+    		// The canonical instance can only have been collected if it was found (i.e.: it was not this) and collected since
+    		Descriptor<?> canonical = reference.get();
+    		if (canonical != null)
+    			return (Descriptor<BEAN_TYPE>) canonical;
+    	}
+    }
+    
+    /**
+     * Remove the entries of all canonical instances which have been collected from the table
+     */
+    private static void removeCollectedCanonicals() {
+    	for (Object ref = collectedCanonicals.poll(); ref != null; ref = collectedCanonicals.poll())
+    		canonicals.remove(((CanonicalReference) ref).key, ref);
+    }
+    
+    /**
+     * Check whether the descriptor has the same details (bean type, variable, name, qualifiers, and blueprint) as the other, such that they are to be interned as the
+     * same canonical instance
+     * 
+     * @param other {@link Descriptor} to compare against
+     * @return boolean true if all details are identical
+     */
+    private boolean hasSameDetails(Descriptor<?> other) {
+    	return beanType.getCodeName().equals(other.beanType.getCodeName()) && variableName.equals(other.variableName) && name.equals(other.name) &&
+    			enumQualifiers.equals(other.enumQualifiers) && qualifiers.equals(other.qualifiers) && Objects.equals(blueprint, other.blueprint);
+    }
+    
+    /**
+     * Mark the descriptor as the canonical instance of its details
+     * 
+     * @return {@link Descriptor} describing the bean
+     */
+    private Descriptor<BEAN_TYPE> markInterned() {
+    	interned = true;
+    	return this;
+    }
+    
+    /**
+     * Check whether the descriptor is the canonical instance of its details, such that the same instance is used wherever the details are described (i.e.: by the
+     * generated recipes).
+     * 
+     * @return boolean true if the descriptor has been interned
+     */
+    public boolean isInterned() {
+    	return interned;
+    }
+    
+    /**
+     * Check whether the descriptor has been frozen
+     * 
+     * @return boolean true if the descriptor can no longer be modified
+     */
+    public boolean isFrozen() {
+    	return frozen;
+    }
+    
+    /**
+     * Throw an exception if an attempt is made to modify a frozen descriptor
+     */
+    private void throwIfFrozen() {
+    	if (frozen)
+    		throw new IllegalStateException("Cannot modify frozen descriptor " + this);
+    }
+    
+    /**
+     * Only those details which must be identical for descriptors to be equal contribute to the hash, as the type and qualifiers need only be assignable.
+     * 
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+    	return frozen ? hash : computeHash();
+    }
+    
+    /**
+     * Compute the hash code of the descriptor
+     * 
+     * @return int the hash code
+     */
+    private int computeHash() {
+    	return Objects.hash(name, enumQualifiers, blueprint);
+    }
+    
     /**
      * For the purpose of equality, the defined class need not be 100% equal, so long as the other class is assignable from this one.
      * 
@@ -227,6 +385,8 @@ public class Descriptor<BEAN_TYPE> {
      * @return boolean true if the 
      */
     public boolean matches(Descriptor<?> other) {
+        if (this == other)
+            return true;
         if (!other.beanType.isAssignableFrom(beanType))
             return false;
         return metadataMatches(other);
@@ -242,10 +402,7 @@ public class Descriptor<BEAN_TYPE> {
         if (!other.name.isBlank() && !other.name.equals(name))
             return false;
         
-        if (!other.enumQualifiers.isEmpty() && !enumQualifiers.containsAll(other.enumQualifiers))
-            return false;
-        
-        if (!other.qualifiers.isEmpty() && !qualifiers.containsAll(other.qualifiers))
+        if (!qualifiersMatch(other))
             return false;
         
         if (other.blueprint != null && !other.blueprint.equals(blueprint))
@@ -254,6 +411,23 @@ public class Descriptor<BEAN_TYPE> {
         return true;
     }
     
+    /**
+     * Check if this descriptor has all of the qualifiers (enum and regular) of the other. When both descriptors are frozen this is a test of their qualifier bit masks,
+     * otherwise the qualifier sets are searched.
+     * 
+     * @param other {@link Descriptor} whose qualifiers to match against
+     * @return boolean true if all qualifiers of the other are present
+     */
+    private boolean qualifiersMatch(Descriptor<?> other) {
+        if (frozen && other.frozen)
+            return QualifierIds.containsAll(qualifierMask, other.qualifierMask);
+        
+        if (!other.enumQualifiers.isEmpty() && !enumQualifiers.containsAll(other.enumQualifiers))
+            return false;
+        
+        return other.qualifiers.isEmpty() || qualifiers.containsAll(other.qualifiers);
+    }
+    
     /**
      * Check to see if this descriptor represents a bean which can be replaced by the other. This is equivalent to {@code matches()} with the exception that the assignment is
      * done in the other direction ({@code matches()} check if this can be assigned to the other, whereas {@code replacedBy} checks if the other can be assigned to this).
@@ -297,4 +471,69 @@ public class Descriptor<BEAN_TYPE> {
         
         return str.toString();
     }
+    
+    /**
+     * Key identifying an interned descriptor by its details. The key only weakly references the descriptor (via its {@link CanonicalReference}), such that once the
+     * descriptor has been collected the key is only equal to itself until its entry is removed from the table.
+     */
+    private static class InternKey {
+    	/** The hash code of the details of the descriptor */
+    	private final int hash;
+    	/** The descriptor which the key identifies */
+    	private final CanonicalReference reference;
+    	
+    	/**
+    	 * CTOR
+    	 * 
+    	 * @param hash      int the hash code of the details of the descriptor
+    	 * @param reference {@link CanonicalReference} to the descriptor
+    	 */
+    	private InternKey(int hash, CanonicalReference reference) {
+    		this.hash = hash;
+    		this.reference = reference;
+    	}
+    	
+    	/**
+    	 * @see java.lang.Object#hashCode()
+    	 */
+    	@Override
+    	public int hashCode() {
+    		return hash;
+    	}
+    	
+    	/**
+    	 * @see java.lang.Object#equals(java.lang.Object)
+    	 */
+    	@Override
+    	public boolean equals(Object obj) {
+    		if (this == obj)
+    			return true;
+    		if (!(obj instanceof InternKey other) || other.hash != hash)
+    			return false;
+    		
+    		Descriptor<?> lhs = reference.get();
+    		Descriptor<?> rhs = other.reference.get();
+    		return lhs != null && rhs != null && lhs.hasSameDetails(rhs);
+    	}
+    }
+    
+    /**
+     * Weak reference to a descriptor which is (or is being looked up as) the canonical instance of its details. Once the descriptor is collected the reference is queued,
+     * so that its entry can be removed from the table.
+     */
+    private static class CanonicalReference extends WeakReference<Descriptor<?>> {
+    	/** The key identifying the descriptor by its details */
+    	private final InternKey key;
+    	
+    	/**
+    	 * CTOR
+    	 * 
+    	 * @param descriptor {@link Descriptor} to reference
+    	 */
+    	private CanonicalReference(Descriptor<?> descriptor) {
+    		super(descriptor, collectedCanonicals);
+    		this.key = new InternKey(Objects.hash(descriptor.beanType.getCodeName(), descriptor.variableName, descriptor.name, descriptor.enumQualifiers,
+    				descriptor.qualifiers, descriptor.blueprint), this);
+    	}
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.bean.qualifier;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns dense integer ids to qualifiers (both qualifier annotation classes and enum constants), so that the qualifiers of a {@link Descriptor} can be represented as a
+ * bit mask. The ids are assigned the first time that a qualifier is encountered, as the qualifiers of separately compiled modules cannot be numbered when they are
+ * generated without colliding with one another.
+ * 
+ * The ids are held against the classes themselves (via {@link ClassValue}), such that a qualifier does not keep its class (nor the class loader which loaded it) alive.
+ * The ids of collected qualifiers are not reused.
+ */
+final class QualifierIds {
+	/** The id which has been assigned to each qualifier annotation class */
+	private static final ClassValue<Integer> classIds = new ClassValue<>() {
+		@Override
+		protected Integer computeValue(Class<?> type) {
+			return nextId.getAndIncrement();
+		}
+	};
+	/** The ids which have been assigned to the constants of each enum, indexed by the ordinal of the constant */
+	private static final ClassValue<int[]> enumIds = new ClassValue<>() {
+		@Override
+		protected int[] computeValue(Class<?> type) {
+			int[] ids = new int[type.getEnumConstants().length];
+			for (int i = 0; i < ids.length; i++)
+				ids[i] = nextId.getAndIncrement();
+			return ids;
+		}
+	};
+	/** The next id to assign */
+	private static final AtomicInteger nextId = new AtomicInteger();
+
+	/**
+	 * CTOR - hidden as utility class
+	 */
+	private QualifierIds() {
+	}
+
+	/**
+	 * Get the id of the qualifier, assigning one if the qualifier has not been encountered before
+	 *
+	 * @param qualifier {@link Object} either the {@link Class} of a qualifier annotation or the {@link Enum} constant of an enum qualifier
+	 * @return int the id of the qualifier
+	 */
+	static int idOf(Object qualifier) {
+		if (qualifier instanceof Enum<?> e)
+			return enumIds.get(e.getDeclaringClass())[e.ordinal()];
+		return classIds.get((Class<?>) qualifier);
+	}
+
+	/**
+	 * Create the bit mask representing the qualifiers
+	 *
+	 * @param enumQualifiers {@link Collection} of {@link Enum} qualifiers
+	 * @param qualifiers     {@link Collection} of qualifier {@link Class}es
+	 * @return long[] bit mask where the bit of the id of each qualifier is set
+	 */
+	static long[] maskOf(Collection<Enum<?>> enumQualifiers, Collection<Class<?>> qualifiers) {
+		long[] mask = new long[0];
+		for (Enum<?> e : enumQualifiers)
+			mask = set(mask, idOf(e));
+		for (Class<?> q : qualifiers)
+			mask = set(mask, idOf(q));
+		return mask;
+	}
+
+	/**
+	 * Set the bit for the id in the mask, growing the mask if required
+	 *
+	 * @param mask long[] in which to set the bit
+	 * @param id   int whose bit to set
+	 * @return long[] the mask with the bit set
+	 */
+	private static long[] set(long[] mask, int id) {
+		int word = id >>> 6;
+		if (word >= mask.length) {
+			long[] grown = new long[word + 1];
+			System.arraycopy(mask, 0, grown, 0, mask.length);
+			mask = grown;
+		}
+		mask[word] |= 1L << id;
+		return mask;
+	}
+
+	/**
+	 * Check whether every bit which is set in the required mask is also set in the mask
+	 *
+	 * @param mask     long[] the mask to check
+	 * @param required long[] the bits which must be present
+	 * @return boolean true if all required bits are present
+	 */
+	static boolean containsAll(long[] mask, long[] required) {
+		for (int i = 0; i < required.length; i++) {
+			long available = i < mask.length ? mask[i] : 0L;
+			if ((required[i] & ~available) != 0L)
+				return false;
+		}
+		return true;
+	}
+}
@@ -15,9 +15,19 @@
  */
 package tendril.bean.recipe;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import tendril.BeanCreationException;
 import tendril.bean.Fallback;
@@ -37,10 +47,15 @@ import tendril.context.Engine;
  */
 public abstract class AbstractRecipe<BEAN_TYPE, INSTANCE_TYPE extends BEAN_TYPE> {
 
+	/** Logger for creating log messages when running */
+	private static Logger LOGGER = Logger.getLogger(AbstractRecipe.class.getSimpleName());
+
 	/** The {@link Engine} which drives the overall dependency injection */
 	protected final Engine engine;
-	/** The description of this bean */
-	private final Descriptor<BEAN_TYPE> descriptor;
+	/** The description of this bean (replaced by a frozen copy when frozen, if it was provided by the creator of the recipe) */
+	private Descriptor<BEAN_TYPE> descriptor;
+	/** Flag indicating whether the description was created by the recipe itself, rather than being provided by (and therefore shared with) its creator */
+	private final boolean ownsDescriptor;
 	/** The environment requirements of this bean */
 	private final Requirement envRequirement = new Requirement();
 	/** The property requirements of this bean */
@@ -52,8 +67,13 @@ public abstract class AbstractRecipe<BEAN_TYPE, INSTANCE_TYPE extends BEAN_TYPE>
 
 	/** List of the dependencies that the bean must receive */
 	private final List<Injector<BEAN_TYPE>> consumers = new ArrayList<>();
-	/** Flag to mark whether the bean is being constructed - used to detect dependency cycles */
-	private boolean isUnderConstruction = false;
+	/** Guards the construction of the bean, detecting dependency cycles and ensuring exclusive construction */
+	@SuppressWarnings("this-escape") // The guard only holds on to the recipe, which it does not use until the bean is built
+	private final ConstructionGuard constructionGuard = new ConstructionGuard(this);
+	/** The descriptors of the beans which the bean consumes (null until first retrieved) */
+	private volatile ConsumedDescriptors consumed = null;
+	/** Completes once the asynchronous {@link PostConstruct} initialization of the singleton completes (always complete if the recipe does not provide a singleton) */
+	private final AtomicReference<CompletableFuture<Void>> asyncPostConstruct = new AtomicReference<>(CompletableFuture.completedFuture(null));
 
 	/**
 	 * CTOR
@@ -66,6 +86,7 @@ public abstract class AbstractRecipe<BEAN_TYPE, INSTANCE_TYPE extends BEAN_TYPE>
 	protected AbstractRecipe(Engine engine, Class<BEAN_TYPE> beanClass, boolean isPrimary, boolean isFallback) {
 		this.engine = engine;
 		this.descriptor = new Descriptor<>(beanClass);
+		this.ownsDescriptor = true;
 		this.isPrimary = isPrimary;
 		this.isFallback = isFallback;
 		init();
@@ -82,6 +103,7 @@ public abstract class AbstractRecipe<BEAN_TYPE, INSTANCE_TYPE extends BEAN_TYPE>
 	protected AbstractRecipe(Engine engine, ClassType beanClass, boolean isPrimary, boolean isFallback) {
 		this.engine = engine;
 		this.descriptor = new Descriptor<>(beanClass);
+		this.ownsDescriptor = true;
 		this.isPrimary = isPrimary;
 		this.isFallback = isFallback;
 		init();
@@ -94,10 +116,23 @@ public abstract class AbstractRecipe<BEAN_TYPE, INSTANCE_TYPE extends BEAN_TYPE>
 	 * @param descriptor {@link Descriptor} to apply to the bean/recipe
 	 */
 	protected AbstractRecipe(Engine engine, Descriptor<BEAN_TYPE> descriptor) {
+		this(engine, descriptor, false, false);
+	}
+
+	/**
+	 * CTOR
+	 * 
+	 * @param engine     {@link Engine} powering the dependency injection and bean passing
+	 * @param descriptor {@link Descriptor} to apply to the bean/recipe
+	 * @param isPrimary  boolean flag for whether the bean is marked as {@link Primary}
+	 * @param isFallback boolean flag for whether the bean is marked as {@link Fallback}
+	 */
+	protected AbstractRecipe(Engine engine, Descriptor<BEAN_TYPE> descriptor, boolean isPrimary, boolean isFallback) {
 		this.engine = engine;
 		this.descriptor = descriptor;
-		this.isPrimary = false;
-		this.isFallback = false;
+		this.ownsDescriptor = false;
+		this.isPrimary = isPrimary;
+		this.isFallback = isFallback;
 		init();
 	}
 	
@@ -138,6 +173,15 @@ public abstract class AbstractRecipe<BEAN_TYPE, INSTANCE_TYPE extends BEAN_TYPE>
 		return isFallback;
 	}
 
+	/**
+	 * Check whether the recipe provides a singleton, such that every call to {@code get()} returns the same instance
+	 * 
+	 * @return boolean true if the recipe provides a singleton
+	 */
+	public boolean isSingleton() {
+		return false;
+	}
+
 	/**
 	 * To be overloaded by the concrete recipe to provide the appropriate description of the bean that the recipe is to create.
 	 * 
@@ -168,6 +212,21 @@ public abstract class AbstractRecipe<BEAN_TYPE, INSTANCE_TYPE extends BEAN_TYPE>
 		return descriptor;
 	}
 
+	/**
+	 * Freeze the description of the bean, such that it can no longer be modified and can be matched via its qualifier bit masks. Where the description was provided by
+	 * the creator of the recipe, it is replaced by a frozen copy, leaving the creator free to continue to use (and modify) its own descriptor.
+	 * 
+	 * @return {@link Descriptor} the frozen description
+	 */
+	public Descriptor<BEAN_TYPE> freezeDescription() {
+		if (!ownsDescriptor && !descriptor.isFrozen()) {
+			Descriptor<BEAN_TYPE> copy = new Descriptor<>(descriptor.getBeanType(), descriptor.getVariableName());
+			copy.updateFrom(descriptor);
+			descriptor = copy;
+		}
+		return descriptor.freeze();
+	}
+
 	/**
 	 * Get the environment requirement for the recipe. This will under what circumstances the recipe can be accepted and the bean within created.
 	 * 
@@ -214,6 +273,69 @@ public abstract class AbstractRecipe<BEAN_TYPE, INSTANCE_TYPE extends BEAN_TYPE>
 		consumers.add(injector);
 	}
 
+	/**
+	 * Get all dependencies which have been registered via {@code registerDependency}. These are the dependencies which the {@link Engine} can link directly to the
+	 * recipe which provides them.
+	 * 
+	 * @return {@link List} of {@link InjectDependency}
+	 */
+	public List<InjectDependency<BEAN_TYPE, ?>> getInjectDependencies() {
+		List<InjectDependency<BEAN_TYPE, ?>> dependencies = new ArrayList<>();
+		for (Injector<BEAN_TYPE> c : consumers) {
+			if (c instanceof InjectDependency<BEAN_TYPE, ?> dep)
+				dependencies.add(dep);
+		}
+		return dependencies;
+	}
+
+	/**
+	 * Setup the descriptors of all beans which the bean consumes, whether injected into its fields or methods, or passed to its constructor (or configuration method).
+	 * This allows the dependencies of the bean to be determined without the bean being created. By default the bean consumes nothing, with the generated recipe
+	 * providing the descriptors it consumes.
+	 * 
+	 * @param beans    {@link List} where the descriptors of the beans which are consumed individually are to be placed
+	 * @param allBeans {@link List} where the descriptors of the beans which are consumed as all matching beans are to be placed
+	 */
+	protected void setupConsumedDescriptors(List<Descriptor<?>> beans, List<Descriptor<?>> allBeans) {
+		// Intentionally left blank, concrete recipe to provide the descriptors it consumes
+	}
+
+	/**
+	 * Get the descriptors of the beans which the bean consumes individually (i.e.: are retrieved as a single bean)
+	 * 
+	 * @return {@link List} of {@link Descriptor}s
+	 */
+	public List<Descriptor<?>> getConsumedDescriptors() {
+		return getConsumed().beans;
+	}
+
+	/**
+	 * Get the descriptors of the beans which the bean consumes as all matching beans (i.e.: are retrieved via {@code InjectAll})
+	 * 
+	 * @return {@link List} of {@link Descriptor}s
+	 */
+	public List<Descriptor<?>> getConsumedAllDescriptors() {
+		return getConsumed().allBeans;
+	}
+
+	/**
+	 * Get the consumed descriptors, setting them up when first retrieved
+	 * 
+	 * @return {@link ConsumedDescriptors}
+	 */
+	private ConsumedDescriptors getConsumed() {
+		ConsumedDescriptors current = consumed;
+		if (current == null) {
+			List<Descriptor<?>> beans = new ArrayList<>();
+			List<Descriptor<?>> allBeans = new ArrayList<>();
+			setupConsumedDescriptors(beans, allBeans);
+			current = new ConsumedDescriptors(beans, allBeans);
+			consumed = current;
+		}
+
+		return current;
+	}
+
 	/**
 	 * Get the instance of the bean that has been created. This is expected to be called by the {@link Engine} in response to another bean (recipe) requiring the one created and defined by the current
 	 * recipe.
@@ -226,30 +348,69 @@ public abstract class AbstractRecipe<BEAN_TYPE, INSTANCE_TYPE extends BEAN_TYPE>
 	 * Performs the steps necessary for creating an instance of the bean per the recipe. The expectation is that this will be called by the get() method, allowing the concrete recipe to focus on the
 	 * mechanism of managing the bean instance life cycle, with the abstract recipe bean construction.
 	 * 
+	 * Unless {@code isExclusiveConstruction()} is overridden, only one thread at a time can build the bean of a given recipe, with any other thread waiting until the construction
+	 * is complete. Waiting does not pin virtual threads, and should the waiting threads form a cycle (i.e.: each waiting on a bean the other is building) this is reported rather
+	 * than waiting indefinitely. Dependency cycles are tracked per thread, so they are detected regardless of whether construction is exclusive.
+	 * 
 	 * @return The (an) instance of the bean that the recipe is to create
 	 * @throws BeanCreationException if there is an issue creating the bean
 	 */
-	protected synchronized INSTANCE_TYPE buildBean() {
-		if (isUnderConstruction)
-			throw new BeanCreationException(descriptor, "Cycle detected");
-
-		// Create the instance
+	protected INSTANCE_TYPE buildBean() {
+		constructionGuard.begin();
+		boolean isUnderConstruction = true;
+		boolean isExclusive = isExclusiveConstruction();
 		try {
-			// Create the instance
-			isUnderConstruction = true;
-			INSTANCE_TYPE bean = createInstance(engine);
-			// Apply dependencies
-			consumers.forEach(c -> c.inject(bean, engine));
-			isUnderConstruction = false;
-			// Trigger post construct
-			postConstruct(bean);
-			return bean;
+			if (isExclusive)
+				constructionGuard.lock();
+			try {
+				// Create the instance
+				INSTANCE_TYPE bean = createInstance(engine);
+				// Apply dependencies
+				consumers.forEach(c -> c.inject(bean, engine));
+				constructionGuard.end();
+				isUnderConstruction = false;
+				// Trigger post construct
+				postConstruct(bean);
+				return bean;
+			} finally {
+				if (isExclusive)
+					constructionGuard.unlock();
+			}
 		} catch (Throwable e) {
-			isUnderConstruction = false;
 			throw new BeanCreationException(descriptor, e);
+		} finally {
+			if (isUnderConstruction)
+				constructionGuard.end();
 		}
 	}
 
+	/**
+	 * Whether only a single thread at a time can build the bean. By default this is the case, however where each bean is an independent instance the construction
+	 * can safely proceed in parallel.
+	 * 
+	 * @return true if the construction of the bean is exclusive
+	 */
+	protected boolean isExclusiveConstruction() {
+		return true;
+	}
+
+	/**
+	 * Acquire exclusive access to the construction of the bean, such that no other thread can build the bean until {@code unlockConstruction()} is called. This
+	 * is reentrant, such that the construction of the bean itself can be triggered while holding exclusive access.
+	 * 
+	 * @throws BeanCreationException if waiting for another thread would result in a deadlock
+	 */
+	protected void lockConstruction() {
+		constructionGuard.lock();
+	}
+
+	/**
+	 * Release the exclusive access acquired via {@code lockConstruction()}.
+	 */
+	protected void unlockConstruction() {
+		constructionGuard.unlock();
+	}
+
 	/**
 	 * Create the bean. Must be implemented by the concrete recipe to ensure that the bean object is properly created.
 	 * 
@@ -267,6 +428,60 @@ public abstract class AbstractRecipe<BEAN_TYPE, INSTANCE_TYPE extends BEAN_TYPE>
 	protected void postConstruct(INSTANCE_TYPE bean) {
 		// Intentionally left blank, concrete recipe to trigger the appropriate @PostConstruct called
 	}
+
+	/**
+	 * Track the asynchronous initialization of a bean, as returned by one of its {@link PostConstruct} methods. The bean is provided onward without waiting for the
+	 * initialization to complete, with the time it took being logged once it does. Only the initialization of a singleton is retained by the recipe (to be waited for
+	 * via {@code getAsyncPostConstruct()}), as each bean of a recipe which is not a singleton is a separate instance whose initialization is of no concern to the
+	 * consumers of the others.
+	 * 
+	 * @param stage {@link CompletionStage} of the initialization (null being treated as already complete)
+	 * @return {@link CompletableFuture} which completes once the initialization does (exceptionally if it failed)
+	 */
+	protected CompletableFuture<Void> addAsyncPostConstruct(CompletionStage<?> stage) {
+		if (stage == null)
+			return CompletableFuture.completedFuture(null);
+
+		long start = System.nanoTime();
+		CompletableFuture<Void> initialized = new CompletableFuture<>();
+		stage.whenComplete((result, error) -> {
+			long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			if (error == null) {
+				LOGGER.fine(descriptor + " completed its asynchronous initialization in " + millis + "ms");
+				initialized.complete(null);
+			} else {
+				LOGGER.log(Level.WARNING, descriptor + " failed its asynchronous initialization after " + millis + "ms", error);
+				initialized.completeExceptionally(error);
+			}
+		});
+		if (isSingleton())
+			asyncPostConstruct.updateAndGet(previous -> CompletableFuture.allOf(previous, initialized));
+		return initialized;
+	}
+
+	/**
+	 * Get the asynchronous {@link PostConstruct} initialization of the singleton which has been created by the recipe
+	 * 
+	 * @return {@link CompletableFuture} which completes once all of its initializations have (exceptionally if any of them failed), always complete if the recipe
+	 *         does not provide a singleton or it has not been created
+	 */
+	public CompletableFuture<Void> getAsyncPostConstruct() {
+		return asyncPostConstruct.get();
+	}
+	
+	/**
+	 * Helper method to retrieve one of the precomputed (frozen) dependency descriptors of the recipe as a descriptor of the bean type it describes. The generated recipe
+	 * holds these descriptors in {@code Descriptor<?>} constants, so that they can be declared irrespective of the generics of the bean type, with this converting them
+	 * back to the type of the dependency where they are used.
+	 * 
+	 * @param <T>        the type of bean that the descriptor describes
+	 * @param descriptor {@link Descriptor} precomputed for the dependency
+	 * @return {@link Descriptor} the same descriptor, as a descriptor of the bean type
+	 */
+	@SuppressWarnings("unchecked")
+	protected static <T> Descriptor<T> dependency(Descriptor<?> descriptor) {
+		return (Descriptor<T>) descriptor;
+	}
 	
 	/**
 	 * Helper method to find the the method to inject via reflection. This is intended to be used at runtime if the injected method is not
@@ -294,4 +509,43 @@ public abstract class AbstractRecipe<BEAN_TYPE, INSTANCE_TYPE extends BEAN_TYPE>
 		
 		return findReflectedMethod(parent, name, params);
 	}
+
+	/**
+	 * Helper method to resolve the method to inject into a {@link MethodHandle}. This is intended to be used at runtime if the injected method is not directly accessible
+	 * from the recipe, with the handle being resolved once and then reused for every injection. To allow the generated code to call the handle via
+	 * {@link MethodHandle#invokeExact(Object...)}, the handle is adapted to take the consumer and every parameter as an {@link Object} and to return void.
+	 * 
+	 * @param klass {@link Class} in which to find the method to inject
+	 * @param name {@link String} the name of the method
+	 * @param params {@link Class}... listing all of the parameters that the method should contain
+	 * @return {@link MethodHandle} of type (Object, Object...)void through which the method can be invoked
+	 * @throws NoSuchMethodException if no valid injectable method is found
+	 * @throws IllegalAccessException if the method is not accessible
+	 */
+	protected static MethodHandle findReflectedMethodHandle(Class<?> klass, String name, Class<?>...params) throws NoSuchMethodException, IllegalAccessException {
+		Method rm = findReflectedMethod(klass, name, params);
+		MethodHandle handle = MethodHandles.privateLookupIn(rm.getDeclaringClass(), MethodHandles.lookup()).unreflect(rm);
+		return handle.asType(MethodType.genericMethodType(params.length + 1).changeReturnType(void.class));
+	}
+
+	/**
+	 * The descriptors of the beans which the bean consumes
+	 */
+	private static class ConsumedDescriptors {
+		/** The descriptors of the beans which are consumed individually */
+		private final List<Descriptor<?>> beans;
+		/** The descriptors of the beans which are consumed as all matching beans */
+		private final List<Descriptor<?>> allBeans;
+
+		/**
+		 * CTOR
+		 * 
+		 * @param beans    {@link List} of the descriptors of the beans which are consumed individually
+		 * @param allBeans {@link List} of the descriptors of the beans which are consumed as all matching beans
+		 */
+		private ConsumedDescriptors(List<Descriptor<?>> beans, List<Descriptor<?>> allBeans) {
+			this.beans = Collections.unmodifiableList(beans);
+			this.allBeans = Collections.unmodifiableList(allBeans);
+		}
+	}
 }
@@ -15,9 +15,12 @@
  */
 package tendril.bean.recipe;
 
+import java.util.List;
 import java.util.Map;
 
+import tendril.bean.duplicate.Blueprint;
 import tendril.bean.qualifier.Descriptor;
+import tendril.bean.requirement.Requirement;
 import tendril.context.Engine;
 
 /**
@@ -62,4 +65,40 @@ public abstract class ConfigurationRecipe<CONFIGURATION_TYPE> extends SingletonR
      * @return {@link Map} of {@link String} (method name) to the {@link AbstractRecipe} which creates the replacement nested bean
      */
     public abstract Map<String, AbstractRecipe<?, ?>> getNestedReplacementRecipes();
+
+    /**
+     * Create the full recipe for a nested method bean, which the configuration registered as a {@link RecipeStub}. This is only called when the stub is first used, such
+     * that nested beans which are never retrieved never have their recipe created.
+     * 
+     * @param index     int the index of the nested recipe within the configuration
+     * @param blueprint {@link Blueprint} of the copy which the recipe is to create (null if the nested bean is not duplicated)
+     * @return {@link AbstractRecipe} which creates the nested bean
+     */
+    protected AbstractRecipe<?, ?> createNestedRecipe(int index, Blueprint blueprint) {
+        throw new IllegalArgumentException(getClass().getName() + " has no nested recipe " + index);
+    }
+
+    /**
+     * Populate the requirements of the nested method bean, which the configuration registered as a {@link RecipeStub}. By default a nested bean has no requirements.
+     * 
+     * @param index       int the index of the nested recipe within the configuration
+     * @param environment {@link Requirement} where the environment requirements are to be outlined
+     * @param property    {@link Requirement} where the property requirements are to be outlined
+     */
+    protected void setupNestedRequirements(int index, Requirement environment, Requirement property) {
+        // No requirements by default
+    }
+
+    /**
+     * Populate the descriptors of the beans consumed by the nested method bean, which the configuration registered as a {@link RecipeStub}. This allows for the
+     * dependencies of the nested bean to be known without its recipe being created. By default a nested bean consumes no beans.
+     * 
+     * @param index     int the index of the nested recipe within the configuration
+     * @param blueprint {@link Blueprint} of the copy which the recipe is to create (null if the nested bean is not duplicated)
+     * @param beans     {@link List} where the descriptors of the beans which are consumed individually are to be placed
+     * @param allBeans  {@link List} where the descriptors of the beans which are consumed as all matching beans are to be placed
+     */
+    protected void setupNestedConsumedDescriptors(int index, Blueprint blueprint, List<Descriptor<?>> beans, List<Descriptor<?>> allBeans) {
+        // No consumed beans by default
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.bean.recipe;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import tendril.BeanCreationException;
+import tendril.util.TendrilStringUtil;
+
+/**
+ * Guards the construction of the bean of a single recipe. Two separate concerns are covered:
+ *
+ * <ul>
+ * <li>Dependency cycles, which are detected by tracking (per thread) the stack of recipes which are under construction. A recipe which is already on the stack of the
+ * current thread cannot be built again without an infinite recursion.</li>
+ * <li>Exclusive construction, where only one thread at a time can build the bean. This is performed via a {@link ReentrantLock} rather than a monitor so that virtual
+ * threads are not pinned to their carrier while the dependencies of the bean are built. Whenever a thread must wait for another, the wait is registered so that a
+ * cycle of threads waiting on each other (i.e.: a dependency cycle which was entered from two separate threads) is detected and reported rather than hanging.</li>
+ * </ul>
+ */
+class ConstructionGuard {
+
+	/** How long a waiting thread blocks before checking for a cross-thread wait cycle */
+	private static final long WAIT_CHECK_INTERVAL_MS = 50;
+	/** The recipes that each thread is currently constructing, with the most recent at the head */
+	private static final ThreadLocal<Deque<ConstructionGuard>> CONSTRUCTING = ThreadLocal.withInitial(ArrayDeque::new);
+	/** The guard that each blocked thread is waiting to acquire */
+	private static final Map<Thread, ConstructionGuard> WAITING = new ConcurrentHashMap<>();
+
+	/** The recipe whose construction is guarded */
+	private final AbstractRecipe<?, ?> recipe;
+	/** The lock which ensures exclusive construction */
+	private final OwnedLock lock = new OwnedLock();
+
+	/**
+	 * CTOR
+	 *
+	 * @param recipe {@link AbstractRecipe} whose construction is to be guarded
+	 */
+	ConstructionGuard(AbstractRecipe<?, ?> recipe) {
+		this.recipe = recipe;
+	}
+
+	/**
+	 * Mark that the current thread is beginning the construction of the bean.
+	 *
+	 * @throws BeanCreationException if the current thread is already constructing the bean (i.e.: there is a dependency cycle)
+	 */
+	void begin() {
+		Deque<ConstructionGuard> constructing = CONSTRUCTING.get();
+		if (constructing.contains(this))
+			throw new BeanCreationException(recipe.getDescription(), "Cycle detected [" + describeCycle(constructing) + "]");
+
+		constructing.push(this);
+	}
+
+	/**
+	 * Mark that the current thread has finished the construction of the bean.
+	 */
+	void end() {
+		CONSTRUCTING.get().remove(this);
+	}
+
+	/**
+	 * Acquire exclusive access to the construction of the bean, waiting for any other thread which is currently constructing it.
+	 *
+	 * @throws BeanCreationException if waiting would result in a deadlock, or the wait is interrupted
+	 */
+	void lock() {
+		if (lock.tryLock())
+			return;
+
+		Thread current = Thread.currentThread();
+		WAITING.put(current, this);
+		try {
+			while (true) {
+				List<ConstructionGuard> cycle = findWaitCycle(current);
+				if (cycle != null)
+					throw new BeanCreationException(recipe.getDescription(), "Cycle detected across threads [" + TendrilStringUtil.join(cycle, " -> ", g -> g.describe()) + "]");
+
+				if (lock.tryLock(WAIT_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS))
+					return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BeanCreationException(recipe.getDescription(), e);
+		} finally {
+			WAITING.remove(current);
+		}
+	}
+
+	/**
+	 * Release the exclusive access to the construction of the bean
+	 */
+	void unlock() {
+		lock.unlock();
+	}
+
+	/**
+	 * Find whether waiting on this guard results in a cycle, where the thread holding this guard is (transitively) waiting on a guard held by the current thread.
+	 *
+	 * @param current {@link Thread} which is waiting
+	 * @return {@link List} of the {@link ConstructionGuard}s involved in the cycle, or null if there is no cycle
+	 */
+	private List<ConstructionGuard> findWaitCycle(Thread current) {
+		List<ConstructionGuard> chain = new ArrayList<>();
+		ConstructionGuard waitingOn = this;
+		// Each waiting thread can only appear once in a cycle, anything longer is a stale view of threads which have since moved on
+		for (int i = 0; i <= WAITING.size() && waitingOn != null; i++) {
+			chain.add(waitingOn);
+			Thread owner = waitingOn.lock.getOwner();
+			if (owner == null)
+				return null;
+			if (owner == current)
+				return chain;
+
+			waitingOn = WAITING.get(owner);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Describe the cycle of the recipe within the construction stack of the current thread
+	 *
+	 * @param constructing {@link Deque} of {@link ConstructionGuard}s under construction by the current thread
+	 * @return {@link String} describing the cycle
+	 */
+	private String describeCycle(Deque<ConstructionGuard> constructing) {
+		List<ConstructionGuard> cycle = new ArrayList<>();
+		Iterator<ConstructionGuard> it = constructing.descendingIterator();
+		boolean inCycle = false;
+		while (it.hasNext()) {
+			ConstructionGuard g = it.next();
+			inCycle |= g == this;
+			if (inCycle)
+				cycle.add(g);
+		}
+		cycle.add(this);
+
+		return TendrilStringUtil.join(cycle, " -> ", g -> g.describe());
+	}
+
+	/**
+	 * Describe the recipe being guarded
+	 *
+	 * @return {@link String} description
+	 */
+	private String describe() {
+		return recipe.getDescription().getBeanType().getFullyQualifiedName();
+	}
+
+	/**
+	 * {@link ReentrantLock} which exposes the thread that owns it
+	 */
+	private static class OwnedLock extends ReentrantLock {
+		/** Serial ID */
+		private static final long serialVersionUID = -2851694263446390592L;
+
+		/**
+		 * @see java.util.concurrent.locks.ReentrantLock#getOwner()
+		 */
+		@Override
+		protected Thread getOwner() {
+			return super.getOwner();
+		}
+	}
+}
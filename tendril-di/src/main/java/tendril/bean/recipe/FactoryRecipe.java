@@ -49,6 +49,16 @@ public abstract class FactoryRecipe<BEAN_TYPE, INSTANCE_TYPE extends BEAN_TYPE>
 		super(engine, descriptor);
 	}
 
+	/**
+	 * Each retrieval creates an independent instance, so any number of threads can build beans at the same time
+	 * 
+	 * @see tendril.bean.recipe.AbstractRecipe#isExclusiveConstruction()
+	 */
+	@Override
+	protected boolean isExclusiveConstruction() {
+		return false;
+	}
+
 	/**
 	 * A new instance is created for each retrieval
 	 * 
@@ -30,6 +30,8 @@ public class InjectDependency<BEAN_TYPE, DEPENDENCY_TYPE> implements Injector<BE
     private final Descriptor<DEPENDENCY_TYPE> descriptor;
     /** Contains the appropriate mechanism for applying the dependency to the consumer */
     private final Applicator<BEAN_TYPE, DEPENDENCY_TYPE> applicator;
+    /** The recipe which the dependency has been linked to (null if not linked) */
+    private volatile AbstractRecipe<DEPENDENCY_TYPE, ?> linkedRecipe = null;
 
     /**
      * CTOR
@@ -42,11 +44,39 @@ public class InjectDependency<BEAN_TYPE, DEPENDENCY_TYPE> implements Injector<BE
         this.applicator = applicator;
     }
     
+    /**
+     * Get the description of the dependency
+     * 
+     * @return {@link Descriptor} describing the bean that is to be injected/consumed
+     */
+    public Descriptor<DEPENDENCY_TYPE> getDescriptor() {
+        return descriptor;
+    }
+    
+    /**
+     * Link the dependency to the recipe which provides it, such that the {@link Engine} need not be searched whenever the dependency is injected.
+     * 
+     * @param recipe {@link AbstractRecipe} which provides the dependency (null to remove the link)
+     */
+    public void link(AbstractRecipe<DEPENDENCY_TYPE, ?> recipe) {
+        this.linkedRecipe = recipe;
+    }
+    
+    /**
+     * Get the recipe which the dependency is linked to
+     * 
+     * @return {@link AbstractRecipe} which provides the dependency, or null if the dependency is not linked
+     */
+    public AbstractRecipe<DEPENDENCY_TYPE, ?> getLinkedRecipe() {
+        return linkedRecipe;
+    }
+    
     /**
      * @see tendril.bean.recipe.Injector#inject(java.lang.Object, tendril.context.Engine)
      */
     @Override
     public void inject(BEAN_TYPE consumer, Engine engine) {
-        applicator.apply(consumer, engine.getBean(descriptor));
+        AbstractRecipe<DEPENDENCY_TYPE, ?> recipe = linkedRecipe;
+        applicator.apply(consumer, recipe != null ? recipe.get() : engine.getBean(descriptor));
     }
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.bean.recipe;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import tendril.bean.duplicate.Blueprint;
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.requirement.Requirement;
+import tendril.context.Engine;
+
+/**
+ * Lightweight stand-in for the recipe of a bean nested within a {@link ConfigurationRecipe}. The stub is created from the metadata which is known when the configuration
+ * is compiled (description, priorities, life cycle, and requirements), allowing it to be registered and searched for without the actual recipe being created. The
+ * actual recipe is only created (via the configuration) when the bean is first retrieved, after which the stub delegates to it.
+ * 
+ * As the actual recipe is not created, the dependencies of the nested bean are not linked ahead of time, but rather resolved when the bean is created. The descriptors
+ * of the beans which it consumes are generated into the configuration when it is compiled, such that they are known without the actual recipe being created.
+ * 
+ * @param <BEAN_TYPE> indicating the type of bean that the recipe is "announcing" as creating
+ */
+public class RecipeStub<BEAN_TYPE> extends AbstractRecipe<BEAN_TYPE, BEAN_TYPE> {
+	/** The configuration which is to create the actual recipe */
+	private final ConfigurationRecipe<?> config;
+	/** The index of the nested recipe within the configuration */
+	private final int index;
+	/** The blueprint of the copy which the recipe is to create (null if not duplicated) */
+	private final Blueprint blueprint;
+	/** Flag indicating that the actual recipe provides a singleton */
+	private final boolean isSingleton;
+	/** The actual recipe, created when first required */
+	private volatile AbstractRecipe<BEAN_TYPE, ?> recipe = null;
+
+	/**
+	 * CTOR - the requirements of the stub are populated separately, via {@code populateRequirements()}
+	 * 
+	 * @param config      {@link ConfigurationRecipe} which is to create the actual recipe
+	 * @param index       int the index of the nested recipe within the configuration
+	 * @param blueprint   {@link Blueprint} of the copy which the recipe is to create (null if not duplicated)
+	 * @param descriptor  {@link Descriptor} of the bean the recipe is to create
+	 * @param isPrimary   boolean flag for whether the bean is marked as {@code Primary}
+	 * @param isFallback  boolean flag for whether the bean is marked as {@code Fallback}
+	 * @param isSingleton boolean flag for whether the actual recipe provides a singleton
+	 */
+	public RecipeStub(ConfigurationRecipe<?> config, int index, Blueprint blueprint, Descriptor<BEAN_TYPE> descriptor, boolean isPrimary, boolean isFallback,
+			boolean isSingleton) {
+		super(config.engine, descriptor, isPrimary, isFallback);
+		this.config = config;
+		this.index = index;
+		this.blueprint = blueprint;
+		this.isSingleton = isSingleton;
+	}
+
+	/**
+	 * Populate the requirements of the stub via the configuration. This is to be done once the stub has been created, as the configuration is then handed the
+	 * requirements of a fully constructed stub.
+	 * 
+	 * @return {@link RecipeStub} this stub, such that it can be created and populated in a single expression
+	 */
+	public RecipeStub<BEAN_TYPE> populateRequirements() {
+		config.setupNestedRequirements(index, getEnvironmentRequirement(), getPropertyRequirement());
+		return this;
+	}
+
+	/**
+	 * The descriptor is fully described when the stub is created
+	 * 
+	 * @see tendril.bean.recipe.AbstractRecipe#setupDescriptor(tendril.bean.qualifier.Descriptor)
+	 */
+	@Override
+	protected void setupDescriptor(Descriptor<BEAN_TYPE> descriptor) {
+		// Not required
+	}
+
+	/**
+	 * The requirements are populated by the configuration once the stub is created (see {@code populateRequirements()})
+	 * 
+	 * @see tendril.bean.recipe.AbstractRecipe#setupEnvironmentRequirement(tendril.bean.requirement.Requirement)
+	 */
+	@Override
+	protected void setupEnvironmentRequirement(Requirement requirement) {
+		// Not required
+	}
+
+	/**
+	 * The requirements are populated by the configuration once the stub is created (see {@code populateRequirements()})
+	 * 
+	 * @see tendril.bean.recipe.AbstractRecipe#setupPropertyRequirement(tendril.bean.requirement.Requirement)
+	 */
+	@Override
+	protected void setupPropertyRequirement(Requirement requirement) {
+		// Not required
+	}
+
+	/**
+	 * @see tendril.bean.recipe.AbstractRecipe#isSingleton()
+	 */
+	@Override
+	public boolean isSingleton() {
+		return isSingleton;
+	}
+
+	/**
+	 * @see tendril.bean.recipe.AbstractRecipe#get()
+	 */
+	@Override
+	public BEAN_TYPE get() {
+		return getRecipe().get();
+	}
+
+	/**
+	 * @see tendril.bean.recipe.AbstractRecipe#createInstance(tendril.context.Engine)
+	 */
+	@Override
+	protected BEAN_TYPE createInstance(Engine engine) throws Throwable {
+		return getRecipe().get();
+	}
+
+	/**
+	 * The consumed descriptors are populated by the configuration, without the actual recipe being created
+	 * 
+	 * @see tendril.bean.recipe.AbstractRecipe#setupConsumedDescriptors(java.util.List, java.util.List)
+	 */
+	@Override
+	protected void setupConsumedDescriptors(List<Descriptor<?>> beans, List<Descriptor<?>> allBeans) {
+		config.setupNestedConsumedDescriptors(index, blueprint, beans, allBeans);
+	}
+
+	/**
+	 * The asynchronous initialization is that of the actual recipe, which cannot have initialized a bean if it has not been created.
+	 * 
+	 * @see tendril.bean.recipe.AbstractRecipe#getAsyncPostConstruct()
+	 */
+	@Override
+	public CompletableFuture<Void> getAsyncPostConstruct() {
+		AbstractRecipe<BEAN_TYPE, ?> created = recipe;
+		return created == null ? super.getAsyncPostConstruct() : created.getAsyncPostConstruct();
+	}
+
+	/**
+	 * Check whether the actual recipe has been created
+	 * 
+	 * @return boolean true if it has been created
+	 */
+	public boolean isRecipeCreated() {
+		return recipe != null;
+	}
+
+	/**
+	 * Get the actual recipe, creating it if this is the first time it is required
+	 * 
+	 * @return {@link AbstractRecipe} which creates the bean
+	 */
+	@SuppressWarnings("unchecked")
+	private AbstractRecipe<BEAN_TYPE, ?> getRecipe() {
+		AbstractRecipe<BEAN_TYPE, ?> created = recipe;
+		if (created == null) {
+			synchronized (this) {
+				created = recipe;
+				if (created == null) {
+					created = (AbstractRecipe<BEAN_TYPE, ?>) config.createNestedRecipe(index, blueprint);
+					recipe = created;
+				}
+			}
+		}
+
+		return created;
+	}
+}
@@ -1,23 +1,45 @@
 package tendril.bean.recipe;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import tendril.TendrilStartupException;
 
 /**
  * Base class which does not know how to locate the bean to be injected, however located the field into which the bean is to be injected via reflection and performs the injection itself.
+ * The field is located once for each class of consumer, with the injection then performed through a {@link VarHandle} to the field.
  * 
  * @param <CONSUMER> class into which the injection is to be performed
  */
 class ReflectedFieldInjectionHandler<CONSUMER> {
 
+	/**
+	 * Writes a value into the located field
+	 */
+	private interface FieldWriter {
+		/**
+		 * Write the value into the field
+		 * 
+		 * @param consumer {@link Object} instance in which the field exists
+		 * @param value    {@link Object} to write into the field
+		 * @throws Throwable if the write fails
+		 */
+		void write(Object consumer, Object value) throws Throwable;
+	}
+
 	/** The full path to reaching the field, used for the purpose of error reporting */
 	private final String fieldPath;
 	/** The name of the field/variable that is to be injected */
 	private final String fieldName;
 	/** The annotation which is applied to the field to indicate the target of injection */
 	private final Class<? extends Annotation> injectAnnotation;
+	/** The writer for the field, for each class of consumer into which injection has been performed */
+	private final Map<Class<?>, FieldWriter> writers = new ConcurrentHashMap<>();
 
 	/**
 	 * Supporting CTOR to cover all basis.
@@ -41,17 +63,36 @@ class ReflectedFieldInjectionHandler<CONSUMER> {
 	 */
 	<BEAN> void injectBean(CONSUMER consumer, BEAN bean) {
 		try {
-			Field rf = findField(consumer.getClass());
-			@SuppressWarnings("deprecation")
-			boolean origAccess = rf.isAccessible();
-			rf.setAccessible(true);
-			rf.set(consumer, bean);
-			rf.setAccessible(origAccess);
-		} catch (Exception ex) {
+			FieldWriter writer = writers.get(consumer.getClass());
+			if (writer == null) {
+				writer = createWriter(findField(consumer.getClass()));
+				writers.put(consumer.getClass(), writer);
+			}
+
+			writer.write(consumer, bean);
+		} catch (Throwable ex) {
 			throw new TendrilStartupException("Unable to inject " + fieldPath, ex);
 		}
 	}
 
+	/**
+	 * Create the writer for the field. A {@link VarHandle} is employed where possible, with a final field (which a {@link VarHandle} cannot write to) being written
+	 * through the {@link Field} itself.
+	 * 
+	 * @param field {@link Field} into which to write
+	 * @return {@link FieldWriter} for the field
+	 * @throws IllegalAccessException if the field cannot be accessed
+	 */
+	private FieldWriter createWriter(Field field) throws IllegalAccessException {
+		if (Modifier.isFinal(field.getModifiers())) {
+			field.setAccessible(true);
+			return field::set;
+		}
+
+		VarHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup()).unreflectVarHandle(field);
+		return (consumer, value) -> handle.set(consumer, value);
+	}
+
 	/**
 	 * Find the field for injection - the field must not only match the name, but must also be appropriately annotated
 	 * 
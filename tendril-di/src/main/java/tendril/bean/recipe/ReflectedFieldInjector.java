@@ -34,6 +34,6 @@ public class ReflectedFieldInjector<CONSUMER, BEAN> extends ReflectedFieldInject
 	 */
 	@Override
 	public void inject(CONSUMER consumer, Engine engine) {
-		injectBean(consumer, engine.getAllBeans(descriptor));
+		injectBean(consumer, engine.getSharedAllBeans(descriptor));
 	}
 }
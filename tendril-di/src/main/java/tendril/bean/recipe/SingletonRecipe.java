@@ -15,6 +15,9 @@
  */
 package tendril.bean.recipe;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
 import tendril.bean.qualifier.Descriptor;
 import tendril.codegen.field.type.ClassType;
 import tendril.context.ApplicationContext;
@@ -24,12 +27,26 @@ import tendril.context.Engine;
  * Abstract recipe for creating singleton beans. This takes on the responsibility for creating and managing the singleton instance of the bean. The class of the bean does not need to be singleton,
  * rather the recipe ensures that the specific instance of an concrete bean is only created once and simply returns the created instance for every subsequent access to the bean.
  * 
+ * The instance is published with release/acquire semantics, such that once created, retrieving the bean is a single read without any locking. Only the threads which race
+ * to access the bean before it is created wait on each other, with exactly one of them creating the bean.
+ * 
  * @param <BEAN_TYPE>     indicating the type of bean that the recipe is "announcing" as creating
  * @param <INSTANCE_TYPE> the actual type of the object that is created for the bean. This must extend {@code BEAN_TYPE}
  */
 public abstract class SingletonRecipe<BEAN_TYPE, INSTANCE_TYPE extends BEAN_TYPE> extends AbstractRecipe<BEAN_TYPE, INSTANCE_TYPE> {
 
-	/** The singleton instance of the bean */
+	/** Handle for accessing the bean with the appropriate memory ordering */
+	private static final VarHandle BEAN;
+	static {
+		try {
+			BEAN = MethodHandles.lookup().findVarHandle(SingletonRecipe.class, "bean", Object.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/** The singleton instance of the bean (only to be accessed via the {@code BEAN} handle) */
+	@SuppressWarnings("unused")
 	private BEAN_TYPE bean = null;
 
 	/**
@@ -65,16 +82,38 @@ public abstract class SingletonRecipe<BEAN_TYPE, INSTANCE_TYPE extends BEAN_TYPE
 		super(engine, descriptor);
 	}
 
+	/**
+	 * @see tendril.bean.recipe.AbstractRecipe#isSingleton()
+	 */
+	@Override
+	public boolean isSingleton() {
+		return true;
+	}
+
 	/**
 	 * The bean instance is treated as a singleton, created on the first access and the existing instance returned for each subsequent one.
 	 * 
 	 * @see tendril.bean.recipe.AbstractRecipe#get()
 	 */
 	@Override
+	@SuppressWarnings("unchecked")
 	public BEAN_TYPE get() {
-		if (bean == null)
-			bean = buildBean();
+		BEAN_TYPE instance = (BEAN_TYPE) BEAN.getAcquire(this);
+		if (instance != null)
+			return instance;
+
+		lockConstruction();
+		try {
+			// Another thread may have created the bean while waiting
+			instance = (BEAN_TYPE) BEAN.getAcquire(this);
+			if (instance == null) {
+				instance = buildBean();
+				BEAN.setRelease(this, instance);
+			}
+		} finally {
+			unlockConstruction();
+		}
 
-		return bean;
+		return instance;
 	}
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.bean.requirement;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import tendril.util.TendrilStringUtil;
+
+/**
+ * Immutable form of a {@link Requirement}, which is optimized for repeatedly testing the requirement against sets of values. The options of the requirement are held in
+ * arrays, so that the test is a series of hashed lookups in the values being tested with no allocation taking place.
+ */
+public class CompiledRequirement implements Predicate<Set<String>> {
+    /** Requirement which has no options, and is therefore always met */
+    static final CompiledRequirement ALWAYS = new CompiledRequirement(new String[0], new String[0][], new String[0]);
+
+    /** Options, all of which must be present */
+    private final String[] required;
+    /** Option groups, where at least one from each group must be present */
+    private final String[][] requiredOneOf;
+    /** Options, none of which must be present */
+    private final String[] requiredNot;
+
+    /**
+     * CTOR
+     *
+     * @param required      {@link String}[] options all of which must be present
+     * @param requiredOneOf {@link String}[][] option groups, where at least one from each group must be present
+     * @param requiredNot   {@link String}[] options none of which must be present
+     */
+    private CompiledRequirement(String[] required, String[][] requiredOneOf, String[] requiredNot) {
+        this.required = required;
+        this.requiredOneOf = requiredOneOf;
+        this.requiredNot = requiredNot;
+    }
+
+    /**
+     * Compile the requirement
+     *
+     * @param req {@link Requirement} to compile
+     * @return {@link CompiledRequirement}
+     */
+    static CompiledRequirement compile(Requirement req) {
+        if (req.getRequired().isEmpty() && req.getRequiredOneOf().isEmpty() && req.getRequiredNot().isEmpty())
+            return ALWAYS;
+
+        List<List<String>> oneOf = req.getRequiredOneOf();
+        String[][] requiredOneOf = new String[oneOf.size()][];
+        for (int i = 0; i < requiredOneOf.length; i++)
+            requiredOneOf[i] = oneOf.get(i).toArray(new String[0]);
+
+        return new CompiledRequirement(req.getRequired().toArray(new String[0]), requiredOneOf, req.getRequiredNot().toArray(new String[0]));
+    }
+
+    /**
+     * Test whether the requirement is met by the values
+     *
+     * @param values {@link Set} of {@link String} values which are present
+     * @return boolean {@code true} if the requirement is met
+     */
+    @Override
+    public boolean test(Set<String> values) {
+        for (String r : required) {
+            if (!values.contains(r))
+                return false;
+        }
+        for (String r : requiredNot) {
+            if (values.contains(r))
+                return false;
+        }
+        for (String[] group : requiredOneOf) {
+            if (!containsAny(values, group))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Describe why the requirement is not met by the values
+     *
+     * @param values    {@link Set} of {@link String} values which are present
+     * @param valueType {@link String} plain English name of the type of values (i.e.: environments)
+     * @return {@link String} description of the first unmet part of the requirement, or null if the requirement is met
+     */
+    public String describeUnmet(Set<String> values, String valueType) {
+        // Make sure that all required values are present
+        for (String r : required) {
+            if (!values.contains(r))
+                return "not all required " + valueType + " [" + TendrilStringUtil.join(Arrays.asList(required)) + "] are met.";
+        }
+
+        // Make sure that none of the not required values are present
+        for (String r : requiredNot) {
+            if (values.contains(r))
+                return "at least one of the not required " + valueType + " [" + TendrilStringUtil.join(Arrays.asList(requiredNot)) + "] is present";
+        }
+
+        // Make sure that at least one value from each "one of" group is present
+        for (String[] group : requiredOneOf) {
+            if (!containsAny(values, group))
+                return "at least one of the required " + valueType + " [" + TendrilStringUtil.join(Arrays.asList(group)) + "] is not present";
+        }
+
+        return null;
+    }
+
+    /**
+     * Check whether any of the options is present in the values
+     *
+     * @param values  {@link Set} of {@link String} values which are present
+     * @param options {@link String}[] options to look for
+     * @return boolean {@code true} if at least one option is present
+     */
+    private static boolean containsAny(Set<String> values, String[] options) {
+        for (String o : options) {
+            if (values.contains(o))
+                return true;
+        }
+
+        return false;
+    }
+}
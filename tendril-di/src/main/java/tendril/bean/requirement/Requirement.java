@@ -29,6 +29,8 @@ public class Requirement {
     private final List<List<String>> requiredOneOf = new ArrayList<>();
     /** List of options, none of which must be present */
     private final List<String> requiredNot = new ArrayList<>();
+    /** The compiled form of the requirement (null until compiled, or once the requirement has been changed) */
+    private CompiledRequirement compiled = null;
     
     /**
      * CTOR
@@ -43,6 +45,7 @@ public class Requirement {
      */
     public void addRequired(String name) {
         required.add(name);
+        compiled = null;
     }
 
     /**
@@ -61,6 +64,7 @@ public class Requirement {
      */
     public void addRequiredOneOf(String... names) {
         requiredOneOf.add(Arrays.asList(names));
+        compiled = null;
     }
 
     /**
@@ -79,6 +83,7 @@ public class Requirement {
      */
     public void addRequiredNot(String name) {
         requiredNot.add(name);
+        compiled = null;
     }
 
     /**
@@ -89,4 +94,16 @@ public class Requirement {
     public List<String> getRequiredNot() {
         return requiredNot;
     }
+
+    /**
+     * Get the compiled form of the requirement, through which it can be efficiently tested. The compiled form is cached until the requirement is changed.
+     * 
+     * @return {@link CompiledRequirement}
+     */
+    public CompiledRequirement compile() {
+        CompiledRequirement c = compiled;
+        if (c == null)
+            compiled = c = CompiledRequirement.compile(this);
+        return c;
+    }
 }
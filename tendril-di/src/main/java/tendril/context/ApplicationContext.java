@@ -1,5 +1,6 @@
 package tendril.context;
 
+import java.util.Collection;
 import java.util.List;
 
 import tendril.BeanRetrievalException;
@@ -36,6 +37,15 @@ public interface ApplicationContext {
 	 */
 	<BEAN_TYPE> void registerBean(BEAN_TYPE bean, Descriptor<BEAN_TYPE> descriptor);
 
+	/**
+	 * Register a batch of beans so that they can be employed in the {@link ApplicationContext}. Each bean is registered as though via
+	 * {@link #registerBean(Object, Descriptor)}, however the beans are made available all at once, such that a concurrent retrieval will either see all of the beans or
+	 * none of them. This is more efficient than registering the beans one at a time.
+	 * 
+	 * @param registrations {@link Collection} of {@link BeanRegistration}s of the beans to register
+	 */
+	void registerBeans(Collection<BeanRegistration<?>> registrations);
+
 	/**
 	 * Get the bean matching the provided descriptor. The descriptor must resolve to exactly one instance otherwise an exception will be thrown, though resolution is done on a priority basis:
 	 * <ol>
@@ -67,4 +77,12 @@ public interface ApplicationContext {
 	 * @return {@link List} of matching beans
 	 */
 	<BEAN_TYPE> List<BEAN_TYPE> getAllBeans(Descriptor<BEAN_TYPE> descriptor);
+
+	/**
+	 * Get the graph of the dependencies between all beans which are available in the {@link ApplicationContext}. The dependencies are determined from the beans which
+	 * each bean consumes as they resolve at the time the graph is retrieved, without any of the beans being created.
+	 * 
+	 * @return {@link DependencyGraph} of the beans
+	 */
+	DependencyGraph getDependencyGraph();
 }
@@ -15,6 +15,9 @@
  */
 package tendril.context;
 
+import java.time.Duration;
+
+import tendril.bean.PostConstruct;
 import tendril.bean.duplicate.Blueprint;
 import tendril.bean.recipe.AbstractRecipe;
 import tendril.context.launch.TendrilRunner;
@@ -34,6 +37,10 @@ public class ApplicationContextBuilder {
     
     /** The {@link Engine} which drives the bean passing */
     private final Engine engine;
+    /** When the singletons are to be created */
+    private SingletonInitialization singletonInitialization = SingletonInitialization.LAZY;
+    /** Which recipes are to be loaded */
+    private RecipeLoading recipeLoading = RecipeLoading.ALL;
     
     /**
      * CTOR
@@ -69,14 +76,57 @@ public class ApplicationContextBuilder {
     	engine.addBlueprint(driver);
     }
     
+    /**
+     * Set when the singleton beans are to be created. By default they are created {@link SingletonInitialization#LAZY}, when first accessed.
+     * 
+     * @param initialization {@link SingletonInitialization} indicating when the singletons are to be created
+     */
+    public void setSingletonInitialization(SingletonInitialization initialization) {
+    	this.singletonInitialization = initialization;
+    }
+    
+    /**
+     * Set which recipes are to be loaded. By default {@link RecipeLoading#ALL} recipes are loaded when the context is built.
+     * 
+     * @param loading {@link RecipeLoading} indicating which recipes are to be loaded
+     */
+    public void setRecipeLoading(RecipeLoading loading) {
+    	this.recipeLoading = loading;
+    }
+    
+    /**
+     * Set how long to wait for the asynchronous {@link PostConstruct} initialization of the runner and the singletons it depends on, before the runner is run. By
+     * default this is one minute, after which starting the context fails.
+     * 
+     * @param timeout {@link Duration} to wait
+     */
+    public void setPostConstructTimeout(Duration timeout) {
+        engine.setPostConstructTimeout(timeout);
+    }
+    
     /**
      * Trigger the creation and initialization of the application context, but does not start it. Start must be manually performed on the application
-     * context itself.
+     * context itself. Once all recipes are loaded, the dependencies of each are linked to the recipe which provides them. If so configured, the singletons are then
+     * created ahead of the context being started. Where only the {@link RecipeLoading#REACHABLE} recipes are to be loaded, the linking (and creation of the
+     * singletons) is instead performed when the context is started, once the recipes which the runner needs are known. Singletons which are to be created in the
+     * {@link SingletonInitialization#BACKGROUND} only start being created once the context is started.
      * 
      * @return {@link ApplicationContext}
      */
     public ApplicationContext build() {
+        if (recipeLoading == RecipeLoading.REACHABLE) {
+        	engine.loadReachableOnly();
+        	engine.init();
+        	engine.setStartupInitialization(singletonInitialization);
+        	return engine;
+        }
+        
         engine.init();
+        engine.link();
+        if (singletonInitialization == SingletonInitialization.EAGER)
+        	engine.instantiateSingletons();
+        else if (singletonInitialization == SingletonInitialization.BACKGROUND)
+        	engine.setStartupInitialization(singletonInitialization);
     	return engine;
     }
 }
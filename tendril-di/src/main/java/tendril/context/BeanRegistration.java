@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.context;
+
+import java.util.Collection;
+
+import tendril.bean.qualifier.Descriptor;
+
+/**
+ * A bean which is to be registered with the {@link ApplicationContext} as part of a batch, via {@link ApplicationContext#registerBeans(Collection)}.
+ *
+ * @param <BEAN_TYPE> indicating the type of bean that is to be registered
+ */
+public final class BeanRegistration<BEAN_TYPE> {
+	/** The specific object to register as a bean */
+	private final BEAN_TYPE bean;
+	/** The description of the bean */
+	private final Descriptor<BEAN_TYPE> descriptor;
+
+	/**
+	 * Create a registration for the bean
+	 *
+	 * @param <BEAN_TYPE> indicating the type of bean that is to be registered
+	 * @param bean        the specific object to register as a bean
+	 * @param descriptor  {@link Descriptor} containing the description of the bean that is to be registered
+	 * @return {@link BeanRegistration} of the bean
+	 */
+	public static <BEAN_TYPE> BeanRegistration<BEAN_TYPE> of(BEAN_TYPE bean, Descriptor<BEAN_TYPE> descriptor) {
+		return new BeanRegistration<>(bean, descriptor);
+	}
+
+	/**
+	 * CTOR
+	 *
+	 * @param bean       the specific object to register as a bean
+	 * @param descriptor {@link Descriptor} containing the description of the bean that is to be registered
+	 */
+	private BeanRegistration(BEAN_TYPE bean, Descriptor<BEAN_TYPE> descriptor) {
+		this.bean = bean;
+		this.descriptor = descriptor;
+	}
+
+	/**
+	 * Get the bean that is to be registered
+	 *
+	 * @return BEAN_TYPE the bean
+	 */
+	public BEAN_TYPE getBean() {
+		return bean;
+	}
+
+	/**
+	 * Get the description of the bean
+	 *
+	 * @return {@link Descriptor} of the bean
+	 */
+	public Descriptor<BEAN_TYPE> getDescriptor() {
+		return descriptor;
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import tendril.processor.registration.RecipeIndex;
+import tendril.processor.registration.RecipeMetadata;
+
+/**
+ * The recipes whose loading has been deferred until a bean which they can provide is searched for. The recipes are indexed by the type of their bean and all of its
+ * supertypes (as per their {@link RecipeMetadata}), so that only those recipes which can match a search need be loaded for it. Once taken, a recipe is no longer
+ * deferred.
+ *
+ * Access to the deferred recipes must be synchronized by the caller, with only {@code isEmpty()} being safe to check without synchronization.
+ */
+class DeferredRecipes {
+	/** The {@link RecipeIndex} which can create each deferred recipe (null if it must be created reflectively), in the order they were deferred */
+	private final Map<String, RecipeIndex> recipes = new LinkedHashMap<>();
+	/** The names of the deferred recipes whose bean is of each type (including its supertypes) */
+	private final Map<String, List<String>> byType = new HashMap<>();
+	/** The names of the deferred recipes whose bean is exactly of each type */
+	private final Map<String, List<String>> byExactType = new HashMap<>();
+	/** The number of recipes which remain deferred */
+	private volatile int size = 0;
+
+	/**
+	 * CTOR
+	 */
+	DeferredRecipes() {
+	}
+
+	/**
+	 * Defer the loading of the recipe
+	 *
+	 * @param recipe   {@link String} the fully qualified name of the recipe
+	 * @param metadata {@link RecipeMetadata} of the recipe
+	 * @param index    {@link RecipeIndex} which can create the recipe (null if it must be created reflectively)
+	 */
+	void defer(String recipe, RecipeMetadata metadata, RecipeIndex index) {
+		if (recipes.containsKey(recipe))
+			return;
+
+		recipes.put(recipe, index);
+		byExactType.computeIfAbsent(metadata.getBeanType(), k -> new ArrayList<>()).add(recipe);
+		byType.computeIfAbsent(metadata.getBeanType(), k -> new ArrayList<>()).add(recipe);
+		for (String supertype : metadata.getSupertypes())
+			byType.computeIfAbsent(supertype, k -> new ArrayList<>()).add(recipe);
+		size = recipes.size();
+	}
+
+	/**
+	 * Take all of the deferred recipes whose bean is of the type
+	 *
+	 * @param type {@link String} the fully qualified name of the type
+	 * @return {@link Map} of the {@link String} recipe name to the {@link RecipeIndex} which can create it (null if it must be created reflectively)
+	 */
+	Map<String, RecipeIndex> take(String type) {
+		Map<String, RecipeIndex> taken = new LinkedHashMap<>();
+		take(byType.remove(type), taken);
+		return taken;
+	}
+
+	/**
+	 * Take all of the deferred recipes whose bean is exactly one of the types (i.e.: those which a replacement of the types could replace)
+	 *
+	 * @param types {@link Collection} of {@link String} fully qualified names of the types
+	 * @return {@link Map} of the {@link String} recipe name to the {@link RecipeIndex} which can create it (null if it must be created reflectively)
+	 */
+	Map<String, RecipeIndex> takeExact(Collection<String> types) {
+		Map<String, RecipeIndex> taken = new LinkedHashMap<>();
+		for (String type : types)
+			take(byExactType.remove(type), taken);
+		return taken;
+	}
+
+	/**
+	 * Take the named recipes, if they remain deferred
+	 *
+	 * @param names {@link List} of {@link String} recipe names (null if there are none)
+	 * @param taken {@link Map} into which the taken recipes are placed
+	 */
+	private void take(List<String> names, Map<String, RecipeIndex> taken) {
+		if (names == null)
+			return;
+
+		for (String name : names) {
+			// The recipe may already have been taken for another of its types
+			if (recipes.containsKey(name))
+				taken.put(name, recipes.remove(name));
+		}
+		size = recipes.size();
+	}
+
+	/**
+	 * Take all of the deferred recipes, regardless of their type
+	 *
+	 * @return {@link Map} of the {@link String} recipe name to the {@link RecipeIndex} which can create it (null if it must be created reflectively)
+	 */
+	Map<String, RecipeIndex> takeAll() {
+		Map<String, RecipeIndex> taken = new LinkedHashMap<>(recipes);
+		recipes.clear();
+		byType.clear();
+		byExactType.clear();
+		size = 0;
+		return taken;
+	}
+
+	/**
+	 * Check whether there are no deferred recipes
+	 *
+	 * @return boolean true if there are none
+	 */
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Get the number of recipes which remain deferred
+	 *
+	 * @return int the number of recipes
+	 */
+	int size() {
+		return size;
+	}
+}
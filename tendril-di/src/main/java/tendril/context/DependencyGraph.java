@@ -0,0 +1,241 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.context;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.recipe.AbstractRecipe;
+import tendril.context.search.SearchType;
+
+/**
+ * Graph of the dependencies between the recipes which are registered with the {@link ApplicationContext}. Each recipe is a node, identified by its index in the graph,
+ * with an edge from each recipe to every recipe which provides a bean it consumes. The dependencies are determined from the descriptors which the recipes consume, as
+ * they would be resolved at the time the graph is created, such that the beans need not be created to determine them.
+ *
+ * The edges are held in compressed sparse row form (for both the dependencies and the dependents of each node), such that the graph can be traversed in time linear to
+ * its size without any per node allocations.
+ */
+public class DependencyGraph {
+	/**
+	 * Resolves the recipes which provide the beans of a descriptor
+	 */
+	@FunctionalInterface
+	interface Resolver {
+		/**
+		 * Resolve the recipes which provide the beans of the descriptor
+		 *
+		 * @param descriptor {@link Descriptor} of the consumed beans
+		 * @param type       {@link SearchType} indicating how the beans are consumed
+		 * @return {@link List} of the {@link AbstractRecipe}s which provide the beans
+		 */
+		List<? extends AbstractRecipe<?, ?>> resolve(Descriptor<?> descriptor, SearchType type);
+	}
+
+	/** The recipe of each node */
+	private final List<AbstractRecipe<?, ?>> recipes;
+	/** The index of the node of each recipe */
+	private final Map<AbstractRecipe<?, ?>, Integer> indices = new IdentityHashMap<>();
+	/** The offset within {@code dependencies} where the dependencies of each node start (with an additional entry marking the end) */
+	private final int[] dependencyOffsets;
+	/** The dependencies of all nodes */
+	private final int[] dependencies;
+	/** The offset within {@code dependents} where the dependents of each node start (with an additional entry marking the end) */
+	private final int[] dependentOffsets;
+	/** The dependents of all nodes */
+	private final int[] dependents;
+
+	/**
+	 * CTOR
+	 *
+	 * @param recipes  {@link List} of the {@link AbstractRecipe}s which form the nodes of the graph
+	 * @param resolver {@link Resolver} which resolves the recipes on which the recipes depend
+	 */
+	DependencyGraph(List<AbstractRecipe<?, ?>> recipes, Resolver resolver) {
+		this.recipes = Collections.unmodifiableList(new ArrayList<>(recipes));
+		int size = this.recipes.size();
+		for (int i = 0; i < size; i++)
+			indices.put(this.recipes.get(i), i);
+
+		// Dependencies, with each dependency only appearing once per node
+		dependencyOffsets = new int[size + 1];
+		int[] targets = new int[Math.max(size, 16)];
+		int edges = 0;
+		int[] lastSeen = new int[size];
+		Arrays.fill(lastSeen, -1);
+		for (int node = 0; node < size; node++) {
+			dependencyOffsets[node] = edges;
+			AbstractRecipe<?, ?> recipe = this.recipes.get(node);
+			for (int pass = 0; pass < 2; pass++) {
+				List<Descriptor<?>> consumed = pass == 0 ? recipe.getConsumedDescriptors() : recipe.getConsumedAllDescriptors();
+				SearchType type = pass == 0 ? SearchType.SINGLE_BEAN : SearchType.ALL_BEANS;
+				for (Descriptor<?> descriptor : consumed) {
+					for (AbstractRecipe<?, ?> provider : resolver.resolve(descriptor, type)) {
+						Integer target = indices.get(provider);
+						if (target == null || lastSeen[target] == node)
+							continue;
+
+						lastSeen[target] = node;
+						if (edges == targets.length)
+							targets = Arrays.copyOf(targets, targets.length * 2);
+						targets[edges++] = target;
+					}
+				}
+			}
+		}
+		dependencyOffsets[size] = edges;
+		dependencies = Arrays.copyOf(targets, edges);
+
+		// Dependents are the transpose of the dependencies
+		dependentOffsets = new int[size + 1];
+		for (int target : dependencies)
+			dependentOffsets[target + 1]++;
+		for (int node = 0; node < size; node++)
+			dependentOffsets[node + 1] += dependentOffsets[node];
+		dependents = new int[edges];
+		int[] next = Arrays.copyOf(dependentOffsets, size);
+		for (int node = 0; node < size; node++) {
+			for (int e = dependencyOffsets[node]; e < dependencyOffsets[node + 1]; e++)
+				dependents[next[dependencies[e]]++] = node;
+		}
+	}
+
+	/**
+	 * Get the number of nodes (recipes) in the graph
+	 *
+	 * @return int the number of nodes
+	 */
+	public int size() {
+		return recipes.size();
+	}
+
+	/**
+	 * Get the number of edges (dependencies) in the graph
+	 *
+	 * @return int the number of edges
+	 */
+	public int getEdgeCount() {
+		return dependencies.length;
+	}
+
+	/**
+	 * Get the recipe of the node
+	 *
+	 * @param node int the index of the node
+	 * @return {@link AbstractRecipe} of the node
+	 */
+	public AbstractRecipe<?, ?> getRecipe(int node) {
+		return recipes.get(node);
+	}
+
+	/**
+	 * Get the index of the node of the recipe
+	 *
+	 * @param recipe {@link AbstractRecipe} whose node to retrieve
+	 * @return int the index of the node (-1 if the recipe is not part of the graph)
+	 */
+	public int indexOf(AbstractRecipe<?, ?> recipe) {
+		Integer index = indices.get(recipe);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Get the nodes on which the node directly depends
+	 *
+	 * @param node int the index of the node
+	 * @return int[] the indices of the dependencies
+	 */
+	public int[] getDependencies(int node) {
+		return Arrays.copyOfRange(dependencies, dependencyOffsets[node], dependencyOffsets[node + 1]);
+	}
+
+	/**
+	 * Get the nodes which directly depend on the node
+	 *
+	 * @param node int the index of the node
+	 * @return int[] the indices of the dependents
+	 */
+	public int[] getDependents(int node) {
+		return Arrays.copyOfRange(dependents, dependentOffsets[node], dependentOffsets[node + 1]);
+	}
+
+	/**
+	 * Get all nodes which are reachable from the roots (including the roots themselves), following the dependencies of each node.
+	 *
+	 * @param roots int... the indices of the nodes from which to start
+	 * @return {@link BitSet} where the index of each reachable node is set
+	 */
+	public BitSet getReachable(int... roots) {
+		BitSet reached = new BitSet(size());
+		int[] stack = new int[size()];
+		int top = 0;
+		for (int root : roots) {
+			if (!reached.get(root)) {
+				reached.set(root);
+				stack[top++] = root;
+			}
+		}
+
+		while (top > 0) {
+			int node = stack[--top];
+			for (int e = dependencyOffsets[node]; e < dependencyOffsets[node + 1]; e++) {
+				int dependency = dependencies[e];
+				if (!reached.get(dependency)) {
+					reached.set(dependency);
+					stack[top++] = dependency;
+				}
+			}
+		}
+
+		return reached;
+	}
+
+	/**
+	 * Get the nodes in dependency order, such that every node appears after all of the nodes it depends on. Nodes which are part of a dependency cycle (or depend on
+	 * one) cannot be ordered, and are therefore omitted.
+	 *
+	 * @return int[] the indices of the nodes in dependency order
+	 */
+	public int[] getTopologicalOrder() {
+		int size = size();
+		int[] remaining = new int[size];
+		int[] order = new int[size];
+		int head = 0;
+		int tail = 0;
+		for (int node = 0; node < size; node++) {
+			remaining[node] = dependencyOffsets[node + 1] - dependencyOffsets[node];
+			if (remaining[node] == 0)
+				order[tail++] = node;
+		}
+
+		while (head < tail) {
+			int node = order[head++];
+			for (int e = dependentOffsets[node]; e < dependentOffsets[node + 1]; e++) {
+				int dependent = dependents[e];
+				if (--remaining[dependent] == 0)
+					order[tail++] = dependent;
+			}
+		}
+
+		return Arrays.copyOf(order, tail);
+	}
+}
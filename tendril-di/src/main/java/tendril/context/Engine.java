@@ -17,34 +17,54 @@ package tendril.context;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import tendril.BeanReplacementException;
 import tendril.BeanRetrievalException;
 import tendril.TendrilStartupException;
+import tendril.bean.InjectAll;
+import tendril.bean.PostConstruct;
 import tendril.bean.duplicate.Blueprint;
 import tendril.bean.qualifier.Descriptor;
 import tendril.bean.recipe.AbstractRecipe;
 import tendril.bean.recipe.ConfigurationRecipe;
+import tendril.bean.recipe.InjectDependency;
 import tendril.bean.recipe.WrapperRecipe;
+import tendril.bean.requirement.CompiledRequirement;
 import tendril.bean.requirement.Requirement;
+import tendril.codegen.field.type.ClassType;
 import tendril.context.launch.TendrilRunner;
 import tendril.context.search.AllRecipeSearchHandler;
 import tendril.context.search.RecipeSearchHandler;
 import tendril.context.search.RecipeSearchResult;
 import tendril.context.search.SearchType;
 import tendril.context.search.SingleRecipeSearchHandler;
+import tendril.processor.registration.RecipeIndex;
+import tendril.processor.registration.RecipeMetadata;
 import tendril.processor.registration.RegistryFile;
 import tendril.processor.registration.ReplacementRegistryFile;
 import tendril.processor.registration.RunnerFile;
 import tendril.util.TendrilStringUtil;
-import tendril.util.TendrilUtil;
 
 /**
  * The core element within the {@link ApplicationContext} which is responsible for the bulk of the Dependency Injection capability. This tracks all beans (via their recipes) and allows for their
@@ -54,19 +74,51 @@ public class Engine implements ApplicationContext {
 
 	/** Logger for creating log messages when running */
 	private static Logger LOGGER = Logger.getLogger(Engine.class.getSimpleName());
+	/** The number of threads on which the singletons are created in the background, leaving the remaining processors to the application */
+	private static final int BACKGROUND_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+	/** How long to wait for the asynchronous initialization of the beans the runner depends on by default */
+	static final Duration DEFAULT_POST_CONSTRUCT_TIMEOUT = Duration.ofMinutes(1);
 
 	/** List of all blueprints which have been added */
 	private final List<Blueprint> blueprints = new ArrayList<>();
 	/** Cache of all blueprints which have been added for a given class type */
 	private final Map<Class<? extends Blueprint>, List<Blueprint>> blueprintsForClass = new HashMap<>();
-	/** All recipes that have been registered */
-	private final List<AbstractRecipe<?, ?>> recipes = new ArrayList<>();
+	/** All recipes that have been registered, indexed by the types they provide */
+	private final RecipeRegistry recipes = new RecipeRegistry();
+	/** Cache of the recipes which have been found for the descriptors searched for */
+	private final ResolutionCache resolutions = new ResolutionCache(recipes);
+	/** Dependencies which have been linked to the recipe which provides them, indexed by the type of the dependency */
+	private final Map<String, List<InjectDependency<?, ?>>> links = new HashMap<>();
+	/** Linked dependencies whose type is not indexed, and which can therefore be affected by any recipe */
+	private final List<InjectDependency<?, ?>> unindexedLinks = new ArrayList<>();
 	/** All replacement recipes that are defined in a configuration */
 	private final List<Map<String, AbstractRecipe<?, ?>>> configReplacements = new ArrayList<>();
+	/** The metadata of the registered recipes, including the dependencies which were linked when they were compiled */
+	private Map<String, RecipeMetadata> metadata = new HashMap<>();
+	/** The registered recipes which have been loaded, by the name of their recipe class */
+	private final Map<String, AbstractRecipe<?, ?>> loaded = new HashMap<>();
+	/** The names of the registered recipes which have been loaded, by recipe instance */
+	private final Map<AbstractRecipe<?, ?>, String> loadedNames = new IdentityHashMap<>();
+	/** Graph of the dependencies between the registered recipes (null until requested, or if the registered recipes have since changed) */
+	private volatile DependencyGraph dependencyGraph = null;
+	/** The recipes whose loading has been deferred, as they may not be reachable from the runner */
+	private final DeferredRecipes deferred = new DeferredRecipes();
+	/** Flag for whether only the recipes which are reachable from the runner are to be loaded when starting */
+	private boolean loadReachableOnly = false;
+	/** How the singletons are to be created when starting */
+	private SingletonInitialization startupInitialization = SingletonInitialization.LAZY;
+	/** How long to wait for the asynchronous initialization of the beans the runner depends on before running it */
+	private Duration postConstructTimeout = DEFAULT_POST_CONSTRUCT_TIMEOUT;
+	/** The creation of the singletons in the background, completing with the number of singletons created (null if they are not created in the background) */
+	private volatile CompletableFuture<Integer> backgroundInstantiation = null;
 	/** List of environments that are applied to the context */
 	private List<String> environments = new ArrayList<>();
+	/** Snapshot of the environments and properties against which requirements are checked */
+	private RequirementContext requirementContext = null;
 	/** Flag for whether or not the engine has been started */
 	private boolean isStarted = false;
+	/** Flag for whether or not the dependencies of the recipes have been linked */
+	private boolean isLinked = false;
 
 	/**
 	 * CTOR
@@ -90,6 +142,38 @@ public class Engine implements ApplicationContext {
 		environments.addAll(Arrays.asList(envs));
 	}
 
+	/**
+	 * Only load the recipes which are reachable from the runner when the context is started, rather than loading and linking all recipes ahead of time. Those recipes
+	 * whose {@link RecipeMetadata} describes the bean they provide are deferred by {@code init()}, with any recipe not reached from the runner remaining deferred
+	 * until a bean which it can provide is searched for.
+	 */
+	void loadReachableOnly() {
+		// The recipes to load can only be determined before starting the engine
+		if (isStarted)
+			throw new RuntimeException("Recipe loading can only be set before starting the context");
+
+		loadReachableOnly = true;
+	}
+
+	/**
+	 * Set how the singletons are to be created when the context is started. {@link SingletonInitialization#EAGER} creation is only performed on start if only the
+	 * recipes which are reachable from the runner are loaded (otherwise they are to be created via {@code instantiateSingletons()} once linked).
+	 * 
+	 * @param initialization {@link SingletonInitialization} indicating how the singletons are to be created
+	 */
+	void setStartupInitialization(SingletonInitialization initialization) {
+		startupInitialization = initialization;
+	}
+
+	/**
+	 * Set how long to wait for the asynchronous {@link PostConstruct} initialization of the runner and the singletons it depends on, before the runner is run
+	 * 
+	 * @param timeout {@link Duration} to wait
+	 */
+	void setPostConstructTimeout(Duration timeout) {
+		postConstructTimeout = timeout;
+	}
+
 	/**
 	 * Get the current list of environments for the context
 	 * 
@@ -101,30 +185,205 @@ public class Engine implements ApplicationContext {
 
 	/**
 	 * Initialize the engine by reading the list of all known recipes and registering them with the engine. Each recipe object is created, though the bean contained within is not created until it
-	 * becomes necessary to do so (i.e.: accessed by a Consumer).
+	 * becomes necessary to do so (i.e.: accessed by a Consumer). If only the recipes reachable from the runner are to be loaded, those recipes which can be are deferred
+	 * rather than created.
 	 */
 	void init() {
 		isStarted = true;
+		requirementContext = new RequirementContext(environments, systemPropertyList());
 
 		LOGGER.fine("Initializing with environments [" + TendrilStringUtil.join(environments) + "]");
+		// All recipes are loaded and replaced as one batch, which is only made available once complete
+		recipes.openBatch();
 		try {
 			// First load all "original" recipes
-			processRegistry(RegistryFile.read(), (recipe, instance) -> {
-				if (!tryAddConfiguration(recipe, instance))
-					tryAddRecipe(recipe, instance);
-			});
+			metadata = RegistryFile.readMetadata();
+			processRegistry(RegistryFile.read(), RegistryFile.readIndex(), metadata, loadReachableOnly ? deferred : null, this::loadOriginal);
 
 			// Replace those which have available replacements
-			processRegistry(ReplacementRegistryFile.read(), (recipe, instance) -> tryReplaceRecipe(recipe, instance));
+			processRegistry(ReplacementRegistryFile.read(), ReplacementRegistryFile.readIndex(), ReplacementRegistryFile.readMetadata(), null,
+					(recipe, instance) -> tryReplaceRecipe(recipe, instance));
 
 			// Finally once everything else has been loaded, load the various replacement recipes from config files
 			processConfigReplacements();
 		} catch (IOException e) {
 			e.printStackTrace();
+		} finally {
+			recipes.publishBatch();
+			resolutions.invalidateAll();
 		}
 		
 		// Inject the ApplicationContext
-		recipes.add(new WrapperRecipe<>(this, this, new Descriptor<>(ApplicationContext.class)));
+		addRecipe(new WrapperRecipe<>(this, this, new Descriptor<>(ApplicationContext.class)));
+	}
+
+	/**
+	 * Link the dependencies of all recipes to the recipes which provide them. As the recipes which are available cannot change after {@code init()} (other than via
+	 * {@code registerBean()}), each dependency need only be resolved once, rather than searching for it whenever the bean consuming it is created. Dependencies which
+	 * cannot be resolved to exactly one recipe are left unlinked, and are resolved (with the appropriate error reporting) when the consumer is created.
+	 * 
+	 * Where the dependency was linked when the recipe was compiled, the compiled link is used in place of searching for the dependency, provided that no recipe from
+	 * outside of the module (or a replacement) could also provide the dependency.
+	 */
+	void link() {
+		int[] linked = new int[2];
+		for (AbstractRecipe<?, ?> r : recipes.getAll()) {
+			int[] recipeLinked = linkRecipe(r);
+			linked[0] += recipeLinked[0];
+			linked[1] += recipeLinked[1];
+		}
+
+		isLinked = true;
+		LOGGER.fine("Linked " + linked[0] + " dependencies (" + linked[1] + " linked at compile time)");
+	}
+
+	/**
+	 * Create the beans of all singleton recipes ahead of them being accessed. The singletons are created in parallel on virtual threads, with each only being created once
+	 * the singletons it depends on (as per the {@link DependencyGraph}) have been.
+	 */
+	void instantiateSingletons() {
+		instantiateSingletons(recipes.getAll());
+	}
+
+	/**
+	 * Create the beans of the singleton recipes ahead of them being accessed
+	 * 
+	 * @param singletons {@link Collection} of the {@link AbstractRecipe}s whose singletons are to be created
+	 */
+	private void instantiateSingletons(Collection<AbstractRecipe<?, ?>> singletons) {
+		long start = System.nanoTime();
+		int created;
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			created = new SingletonInstantiator(getDependencyGraph(), singletons).instantiate(executor);
+		}
+
+		LOGGER.fine("Created " + created + " singletons in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+	}
+
+	/**
+	 * Create the beans of the singleton recipes in the background, without waiting for them to be created. The singletons are created in dependency order as with
+	 * {@code instantiateSingletons()}, however only on a limited number of virtual threads so as not to compete with the application for all processors. Any
+	 * singleton which the application accesses in the meantime is either created by the application (if not yet started), or its creation by the background thread
+	 * is waited upon. The pool of threads is shut down once all of the singletons have been created, with a failure to create them being reported through the
+	 * {@code getBackgroundInstantiation()} future.
+	 * 
+	 * @param singletons {@link Collection} of the {@link AbstractRecipe}s whose singletons are to be created
+	 */
+	private void instantiateSingletonsInBackground(Collection<AbstractRecipe<?, ?>> singletons) {
+		long start = System.nanoTime();
+		backgroundInstantiation = CompletableFuture.supplyAsync(() -> {
+			try (ExecutorService executor = Executors.newFixedThreadPool(BACKGROUND_THREADS, Thread.ofVirtual().name("tendril-singleton-", 0).factory())) {
+				return new SingletonInstantiator(getDependencyGraph(), singletons).instantiate(executor);
+			}
+		}, task -> Thread.ofVirtual().name("tendril-singletons").start(task)).whenComplete((created, error) -> {
+			if (error == null)
+				LOGGER.fine("Created " + created + " singletons in the background in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+			else
+				LOGGER.log(Level.WARNING, "Unable to create the singletons in the background", error);
+		});
+	}
+
+	/**
+	 * Get the creation of the singletons in the background, through which its completion (or failure) can be observed
+	 * 
+	 * @return {@link CompletableFuture} which completes with the number of singletons that were created, already complete (with none created) if the singletons
+	 *         are not being created in the background
+	 */
+	CompletableFuture<Integer> getBackgroundInstantiation() {
+		CompletableFuture<Integer> current = backgroundInstantiation;
+		return current != null ? current : CompletableFuture.completedFuture(0);
+	}
+
+	/**
+	 * Link all of the dependencies of the recipe
+	 * 
+	 * @param recipe {@link AbstractRecipe} whose dependencies are to be linked
+	 * @return int[] the number of dependencies that were linked, and of those how many were linked at compile time
+	 */
+	private int[] linkRecipe(AbstractRecipe<?, ?> recipe) {
+		int[] linked = new int[2];
+		String name = loadedNames.get(recipe);
+		RecipeMetadata meta = name == null ? null : metadata.get(name);
+
+		for (InjectDependency<?, ?> dep : recipe.getInjectDependencies()) {
+			ClassType type = dep.getDescriptor().getBeanType();
+			// A deferred recipe could provide the dependency, preventing the compiled link from being applied
+			loadDeferred(type);
+			if (recipes.isIndexed(type))
+				links.computeIfAbsent(type.getFullyQualifiedName(), k -> new ArrayList<>()).add(dep);
+			else
+				unindexedLinks.add(dep);
+
+			if (meta != null && applyCompiledLink(meta, dep)) {
+				linked[0]++;
+				linked[1]++;
+			} else if (resolveLink(dep))
+				linked[0]++;
+		}
+		return linked;
+	}
+
+	/**
+	 * Apply the link of the dependency which was determined when the consumer was compiled. The link can only be applied if the recipe it links to has been loaded,
+	 * and all recipes which could provide the dependency were loaded from the same module as the consumer (the compiled link having been determined from only the
+	 * recipes of the module). Recipes of the module which were not loaded due to their requirements cannot change the link, as the linked recipe would still be the
+	 * only one of the highest priority.
+	 * 
+	 * @param <DEPENDENCY_TYPE> the type of the dependency
+	 * @param meta              {@link RecipeMetadata} of the consumer
+	 * @param dep               {@link InjectDependency} to link
+	 * @return boolean true if the dependency was linked
+	 */
+	@SuppressWarnings("unchecked")
+	private <DEPENDENCY_TYPE> boolean applyCompiledLink(RecipeMetadata meta, InjectDependency<?, DEPENDENCY_TYPE> dep) {
+		String providerName = meta.getLinks().get(dep.getDescriptor().getVariableName());
+		if (providerName == null)
+			return false;
+
+		AbstractRecipe<?, ?> provider = loaded.get(providerName);
+		if (provider == null || !recipes.contains(provider))
+			return false;
+
+		Set<String> module = meta.getModuleRecipes();
+		if (!recipes.allCandidatesMatch(dep.getDescriptor().getBeanType(), r -> module.contains(loadedNames.get(r))))
+			return false;
+
+		dep.link((AbstractRecipe<DEPENDENCY_TYPE, ?>) provider);
+		return true;
+	}
+
+	/**
+	 * Resolve the recipe to which the dependency is to be linked.
+	 * 
+	 * @param <DEPENDENCY_TYPE> the type of the dependency
+	 * @param dep               {@link InjectDependency} to link
+	 * @return boolean true if the dependency could be linked
+	 */
+	private <DEPENDENCY_TYPE> boolean resolveLink(InjectDependency<?, DEPENDENCY_TYPE> dep) {
+		List<AbstractRecipe<DEPENDENCY_TYPE, DEPENDENCY_TYPE>> matches = findRecipes(dep.getDescriptor(), SearchType.SINGLE_BEAN).getRecipes();
+		dep.link(matches.size() == 1 ? matches.get(0) : null);
+		return matches.size() == 1;
+	}
+
+	/**
+	 * Re-resolve those links which can be affected by the addition of the recipe
+	 * 
+	 * @param recipe {@link AbstractRecipe} which has been added
+	 */
+	private void relink(AbstractRecipe<?, ?> recipe) {
+		Set<String> types = recipes.getIndexedTypes(recipe);
+		List<InjectDependency<?, ?>> candidates = new ArrayList<>(unindexedLinks);
+		if (types == null)
+			links.values().forEach(candidates::addAll);
+		else {
+			for (String t : types)
+				candidates.addAll(links.getOrDefault(t, List.of()));
+		}
+
+		for (InjectDependency<?, ?> dep : candidates) {
+			if (recipe.getDescription().matches(dep.getDescriptor()))
+				resolveLink(dep);
+		}
 	}
 
 	/**
@@ -141,25 +400,131 @@ public class Engine implements ApplicationContext {
 	}
 
 	/**
-	 * Process recipe classes that appear in a registry
+	 * Process recipe classes that appear in a registry. Recipes which are present in a generated {@link RecipeIndex} are created directly by the index, with reflection only
+	 * being employed for those which are not (i.e.: registered by a library compiled before indices were generated). Recipes whose {@link RecipeMetadata} shows that their
+	 * requirements are not met are skipped without their class ever being loaded. Where the recipes can be deferred, those whose metadata describes the bean they
+	 * provide (i.e.: not configurations) are deferred rather than loaded.
+	 * 
+	 * @param recipes  {@link Set} of {@link String} recipe class names to load
+	 * @param indices  {@link Map} of {@link String} recipe class name to the {@link RecipeIndex} which can create it
+	 * @param metadata {@link Map} of {@link String} recipe class name to its {@link RecipeMetadata}
+	 * @param deferTo  {@link DeferredRecipes} to which the recipes are to be deferred (null if all recipes are to be loaded)
+	 * @param loader   {@link RecipeLoader} which is to load the recipes
+	 */
+	private void processRegistry(Set<String> recipes, Map<String, RecipeIndex> indices, Map<String, RecipeMetadata> metadata, DeferredRecipes deferTo,
+			RecipeLoader loader) {
+		Set<String> allRecipes = new LinkedHashSet<>(recipes);
+		allRecipes.addAll(indices.keySet());
+
+		for (String recipe : allRecipes) {
+			RecipeMetadata meta = metadata.get(recipe);
+			if (meta != null && !requirementsMet(recipe, meta.getEnvironmentRequirement(), meta.getPropertyRequirement())) {
+				LOGGER.fine("Skipping " + recipe + " as its requirements are not met");
+				continue;
+			}
+
+			if (deferTo != null && meta != null && !meta.isConfiguration())
+				deferTo.defer(recipe, meta, indices.get(recipe));
+			else
+				loadRecipe(recipe, indices.get(recipe), loader);
+		}
+	}
+
+	/**
+	 * Create the recipe and load it into the engine
+	 * 
+	 * @param recipe {@link String} the fully qualified name of the recipe class
+	 * @param index  {@link RecipeIndex} which can create the recipe (null if it is to be created reflectively)
+	 * @param loader {@link RecipeLoader} which is to load the recipe
+	 */
+	private void loadRecipe(String recipe, RecipeIndex index, RecipeLoader loader) {
+		try {
+			// Add the recipe from the registry file
+			loader.load(recipe, index != null ? createFromIndex(recipe, index) : Class.forName(recipe).getDeclaredConstructor(Engine.class).newInstance(this));
+		} catch (ClassCastException e) {
+			LOGGER.severe(recipe + " is not a proper recipe (does not extend " + AbstractRecipe.class.getName() + ")");
+		} catch (ClassNotFoundException e) {
+			LOGGER.severe("Unable to find class " + recipe);
+		} catch (NoSuchMethodException | InstantiationException | IllegalArgumentException | InvocationTargetException e) {
+			LOGGER.severe("Unable to create " + recipe);
+		} catch (IllegalAccessException | SecurityException e) {
+			LOGGER.severe("Unable to access " + recipe);
+		}
+	}
+
+	/**
+	 * Load an "original" recipe (i.e.: one which is not a replacement) into the engine
 	 * 
-	 * @param recipes {@link Set} of {@link String} recipe class names to load
-	 * @param loader  {@link RecipeLoader} which is to load the recipes
+	 * @param recipe   {@link String} the fully qualified name of the recipe class
+	 * @param instance {@link Object} recipe instance
 	 */
-	private void processRegistry(Set<String> recipes, RecipeLoader loader) {
-		for (String recipe : recipes) {
-			try {
-				// Add the recipe from the registry file
-				loader.load(recipe, Class.forName(recipe).getDeclaredConstructor(Engine.class).newInstance(this));
-			} catch (ClassCastException e) {
-				LOGGER.severe(recipe + " is not a proper recipe (does not extend " + AbstractRecipe.class.getName() + ")");
-			} catch (ClassNotFoundException e) {
-				LOGGER.severe("Unable to find class " + recipe);
-			} catch (NoSuchMethodException | InstantiationException | IllegalArgumentException | InvocationTargetException e) {
-				LOGGER.severe("Unable to create " + recipe);
-			} catch (IllegalAccessException | SecurityException e) {
-				LOGGER.severe("Unable to access " + recipe);
+	private void loadOriginal(String recipe, Object instance) {
+		if (!tryAddConfiguration(recipe, instance) && tryAddRecipe(recipe, instance)) {
+			loaded.put(recipe, (AbstractRecipe<?, ?>) instance);
+			loadedNames.put((AbstractRecipe<?, ?>) instance, recipe);
+		}
+	}
+
+	/**
+	 * Load all deferred recipes which can provide a bean of the type, such that they are available to be searched. If the engine has already been linked, the
+	 * dependencies of the loaded recipes are linked, and any existing links which they can change are re-resolved.
+	 * 
+	 * @param type {@link ClassType} of the bean which is to be searched for
+	 */
+	private void loadDeferred(ClassType type) {
+		if (deferred.isEmpty())
+			return;
+
+		synchronized (this) {
+			// As with the search itself, a type which is not indexed can be provided by any recipe
+			load(recipes.isIndexed(type) ? deferred.take(type.getFullyQualifiedName()) : deferred.takeAll());
+		}
+	}
+
+	/**
+	 * Load all deferred recipes which a replacement of the type could replace
+	 * 
+	 * @param replacement {@link ClassType} of the replacement
+	 */
+	private void loadDeferredReplaceable(ClassType replacement) {
+		if (deferred.isEmpty())
+			return;
+
+		synchronized (this) {
+			Set<String> types = recipes.getReplaceableTypes(replacement);
+			load(types == null ? deferred.takeAll() : deferred.takeExact(types));
+		}
+	}
+
+	/**
+	 * Load the recipes which had been deferred
+	 * 
+	 * @param toLoad {@link Map} of the {@link String} recipe name to the {@link RecipeIndex} which can create it (null if it must be created reflectively)
+	 */
+	private void load(Map<String, RecipeIndex> toLoad) {
+		toLoad.forEach((name, index) -> loadRecipe(name, index, (recipe, instance) -> {
+			loadOriginal(recipe, instance);
+			AbstractRecipe<?, ?> added = loaded.get(recipe);
+			if (isLinked && added != null) {
+				linkRecipe(added);
+				relink(added);
 			}
+		}));
+	}
+
+	/**
+	 * Create the recipe through the index. Any failure of the recipe itself is reported in the same manner as when the recipe is created reflectively.
+	 * 
+	 * @param recipe {@link String} the fully qualified name of the recipe class
+	 * @param index  {@link RecipeIndex} which can create the recipe
+	 * @return {@link Object} the created recipe
+	 * @throws InvocationTargetException if the creation of the recipe fails
+	 */
+	private Object createFromIndex(String recipe, RecipeIndex index) throws InvocationTargetException {
+		try {
+			return index.create(recipe, this);
+		} catch (RuntimeException | Error e) {
+			throw new InvocationTargetException(e);
 		}
 	}
 
@@ -208,16 +573,19 @@ public class Engine implements ApplicationContext {
 	 * 
 	 * @param name   {@link String} the fully qualified name of the recipe
 	 * @param object {@link Object} recipe instance
+	 * @return boolean true if the recipe was added
 	 */
-	private void tryAddRecipe(String name, Object object) {
+	private boolean tryAddRecipe(String name, Object object) {
 		AbstractRecipe<?, ?> recipe = (AbstractRecipe<?, ?>) object;
 
 		if (requirementsMet(recipe)) {
-			recipes.add(recipe);
+			addRecipe(recipe);
 			LOGGER.fine("Loaded recipe " + name);
-		} else {
-			LOGGER.fine("Bean requirements not met" + recipe);
+			return true;
 		}
+
+		LOGGER.fine("Bean requirements not met" + recipe);
+		return false;
 	}
 
 	/**
@@ -234,10 +602,10 @@ public class Engine implements ApplicationContext {
 				Descriptor<?> description = recipe.getDescription();
 				try {
 					AbstractRecipe<?, ?> orig = getRecipe(description, findOriginalRecipes(description, SearchType.SINGLE_BEAN));
-					recipes.remove(orig);
+					removeRecipe(orig);
 					recipe.updatePriorities(orig);
 					description.updateFrom(orig.getDescription());
-					recipes.add(recipe);
+					addRecipe(recipe);
 				} catch (Exception ex) {
 					throw new BeanReplacementException("Failed to apply replacement bean " + name, ex);
 				}
@@ -256,7 +624,7 @@ public class Engine implements ApplicationContext {
 	 * @return boolean true if all requirements for the recipe have been met
 	 */
 	boolean requirementsMet(AbstractRecipe<?, ?> recipe) {
-		return requirementsMet(recipe, recipe.getEnvironmentRequirement(), environments) && requirementsMet(recipe, recipe.getPropertyRequirement(), systemPropertyList());
+		return requirementsMet(recipe, recipe.getEnvironmentRequirement(), recipe.getPropertyRequirement());
 	}
 
 	/**
@@ -271,39 +639,71 @@ public class Engine implements ApplicationContext {
 		return propNames;
 	}
 
+	/**
+	 * Get the snapshot of the environments and properties against which requirements are checked. The snapshot is taken when the engine is initialized, or on first use
+	 * if the requirements are checked without the engine having been initialized.
+	 * 
+	 * @return {@link RequirementContext}
+	 */
+	private RequirementContext requirementContext() {
+		if (requirementContext == null)
+			requirementContext = new RequirementContext(environments, systemPropertyList());
+		return requirementContext;
+	}
+
+	/**
+	 * Check if the environment and property requirements have been met
+	 * 
+	 * @param recipe      {@link Object} the recipe (or its name) being checked
+	 * @param environment {@link Requirement} the environment requirement of the recipe
+	 * @param property    {@link Requirement} the property requirement of the recipe
+	 * @return boolean {@code true} if both requirements have been met
+	 */
+	private boolean requirementsMet(Object recipe, Requirement environment, Requirement property) {
+		RequirementContext context = requirementContext();
+		return requirementMet(recipe, environment, context.getEnvironments(), "environments") && requirementMet(recipe, property, context.getProperties(), "properties");
+	}
+
 	/**
 	 * Check if the specific requirement has been met.
 	 * 
-	 * @param recipe {@link AbstractRecipe} being checked
-	 * @param req    {@link Requirement} to be validated
-	 * @param values {@link List} of {@link String} values that are to be checked against
+	 * @param recipe    {@link Object} the recipe (or its name) being checked
+	 * @param req       {@link Requirement} to be validated
+	 * @param values    {@link Set} of {@link String} values that are to be checked against
+	 * @param valueType {@link String} plain English name of the values
 	 * @return boolean {@code true} if the requirement has been met
 	 */
-	private boolean requirementsMet(AbstractRecipe<?, ?> recipe, Requirement req, List<String> values) {
-		List<String> reqEnvs = req.getRequired();
-		List<String> notReqEnvs = req.getRequiredNot();
+	private boolean requirementMet(Object recipe, Requirement req, Set<String> values, String valueType) {
+		CompiledRequirement compiled = req.compile();
+		if (compiled.test(values))
+			return true;
 
-		// Make sure that all required environments are present
-		if (!values.containsAll(reqEnvs)) {
-			LOGGER.fine("Unable to load " + recipe + " because not all required environments [" + TendrilStringUtil.join(reqEnvs) + "] are met.");
-			return false;
-		}
+		if (LOGGER.isLoggable(Level.FINE))
+			LOGGER.fine("Unable to load " + recipe + " because " + compiled.describeUnmet(values, valueType));
+		return false;
+	}
 
-		// Make sure that none of the not required environments are present
-		if (TendrilUtil.containsAny(values, notReqEnvs)) {
-			LOGGER.fine("Unable to load " + recipe + " because at least one of the not required environments [" + TendrilStringUtil.join(notReqEnvs) + "] is present");
-			return false;
-		}
+	/**
+	 * Add the recipe to the registry, evicting any cached search results which it can change
+	 * 
+	 * @param recipe {@link AbstractRecipe} to add
+	 */
+	private void addRecipe(AbstractRecipe<?, ?> recipe) {
+		recipes.add(recipe);
+		resolutions.invalidate(recipe);
+		dependencyGraph = null;
+	}
 
-		// Make sure that all of the "one of" environments are present
-		for (List<String> tuple : req.getRequiredOneOf()) {
-			if (!TendrilUtil.containsAny(values, tuple)) {
-				LOGGER.fine("Unable to load " + recipe + " because at least one of the required environments [" + TendrilStringUtil.join(tuple) + "] is not present");
-				return false;
-			}
+	/**
+	 * Remove the recipe from the registry, evicting any cached search results which it can change
+	 * 
+	 * @param recipe {@link AbstractRecipe} to remove
+	 */
+	private void removeRecipe(AbstractRecipe<?, ?> recipe) {
+		if (recipes.remove(recipe)) {
+			resolutions.invalidate(recipe);
+			dependencyGraph = null;
 		}
-
-		return true;
 	}
 
 	/**
@@ -315,6 +715,48 @@ public class Engine implements ApplicationContext {
 		return recipes.size();
 	}
 
+	/**
+	 * Get the number of bean retrievals whose recipes were resolved from the cache, rather than having to be searched for
+	 * 
+	 * @return long the number of cache hits
+	 */
+	public long getResolutionCacheHits() {
+		return resolutions.getHits();
+	}
+
+	/**
+	 * Get the number of bean retrievals (with an interned {@link Descriptor}) whose recipes had to be searched for, as they were not yet cached
+	 * 
+	 * @return long the number of cache misses
+	 */
+	public long getResolutionCacheMisses() {
+		return resolutions.getMisses();
+	}
+
+	/**
+	 * The graph is created when first requested, and reused until the registered recipes change. Searching for the dependencies can itself load deferred recipes, in which
+	 * case the graph is already out of date once it has been created, and is therefore created anew.
+	 * 
+	 * @see tendril.context.ApplicationContext#getDependencyGraph()
+	 */
+	@Override
+	public synchronized DependencyGraph getDependencyGraph() {
+		DependencyGraph graph = dependencyGraph;
+		while (graph == null) {
+			long start = System.nanoTime();
+			long generation = resolutions.getGeneration();
+			graph = new DependencyGraph(recipes.getAll(), (descriptor, type) -> findRecipes(descriptor, type).getRecipes());
+			if (resolutions.getGeneration() == generation) {
+				dependencyGraph = graph;
+				LOGGER.fine("Created dependency graph of " + graph.size() + " recipes and " + graph.getEdgeCount() + " dependencies in "
+						+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+			} else
+				graph = null;
+		}
+
+		return graph;
+	}
+
 	/**
 	 * @see tendril.context.ApplicationContext#count(tendril.bean.qualifier.Descriptor)
 	 */
@@ -328,8 +770,42 @@ public class Engine implements ApplicationContext {
 	 * @see tendril.context.ApplicationContext#registerBean(java.lang.Object, tendril.bean.qualifier.Descriptor)
 	 */
 	@Override
-	public <BEAN_TYPE> void registerBean(BEAN_TYPE bean, Descriptor<BEAN_TYPE> descriptor) {
-		recipes.add(new WrapperRecipe<>(this, bean, descriptor));
+	public synchronized <BEAN_TYPE> void registerBean(BEAN_TYPE bean, Descriptor<BEAN_TYPE> descriptor) {
+		// Deferred recipes are loaded first, so that the links are resolved as though they had never been deferred
+		loadDeferred(descriptor.getBeanType());
+		WrapperRecipe<BEAN_TYPE> recipe = new WrapperRecipe<>(this, bean, descriptor);
+		addRecipe(recipe);
+		if (isLinked)
+			relink(recipe);
+	}
+
+	/**
+	 * @see tendril.context.ApplicationContext#registerBeans(java.util.Collection)
+	 */
+	@Override
+	public synchronized void registerBeans(Collection<BeanRegistration<?>> registrations) {
+		List<AbstractRecipe<?, ?>> registered = new ArrayList<>(registrations.size());
+		for (BeanRegistration<?> r : registrations) {
+			loadDeferred(r.getDescriptor().getBeanType());
+			registered.add(createWrapper(r));
+		}
+
+		recipes.addAll(registered);
+		resolutions.invalidate(registered);
+		dependencyGraph = null;
+		if (isLinked)
+			registered.forEach(this::relink);
+	}
+
+	/**
+	 * Create the recipe that wraps the registered bean
+	 * 
+	 * @param <BEAN_TYPE>  indicating the type of bean that is to be registered
+	 * @param registration {@link BeanRegistration} of the bean
+	 * @return {@link WrapperRecipe} of the bean
+	 */
+	private <BEAN_TYPE> WrapperRecipe<BEAN_TYPE> createWrapper(BeanRegistration<BEAN_TYPE> registration) {
+		return new WrapperRecipe<>(this, registration.getBean(), registration.getDescriptor());
 	}
 
 	/**
@@ -360,56 +836,85 @@ public class Engine implements ApplicationContext {
 	}
 
 	/**
+	 * Each retrieval is given its own copy of the list, so that a consumer modifying its list does not affect any other.
+	 * 
 	 * @see tendril.context.ApplicationContext#getAllBeans(tendril.bean.qualifier.Descriptor)
 	 */
 	@Override
 	public <BEAN_TYPE> List<BEAN_TYPE> getAllBeans(Descriptor<BEAN_TYPE> descriptor) {
+		return new ArrayList<>(getSharedAllBeans(descriptor));
+	}
+
+	/**
+	 * Get all of the beans which match the descriptor, as an unmodifiable list. Where all of the matching beans are singletons (for an interned descriptor) the same beans
+	 * are retrieved every time, so the list is cached and the same instance is shared by every retrieval until a matching recipe is added or removed. Intended for the
+	 * injection of @{@link InjectAll}, so that consumers of the same beans need not each be given their own copy.
+	 * 
+	 * @param <BEAN_TYPE> indicating the type of the beans that are to be retrieved
+	 * @param descriptor  {@link Descriptor} containing the description of the beans that are to be retrieved
+	 * @return Unmodifiable {@link List} of all matching beans
+	 */
+	public <BEAN_TYPE> List<BEAN_TYPE> getSharedAllBeans(Descriptor<BEAN_TYPE> descriptor) {
+		List<BEAN_TYPE> cached = resolutions.getAllBeans(descriptor);
+		if (cached != null)
+			return cached;
+
+		long generation = resolutions.getGeneration();
 		List<BEAN_TYPE> beans = new ArrayList<>();
-		RecipeSearchResult<BEAN_TYPE> matchingRecipes = findRecipes(descriptor, SearchType.ALL_BEANS);
-		matchingRecipes.getRecipes().forEach(r -> beans.add(r.get()));
-		return beans;
+		boolean singletons = true;
+		for (AbstractRecipe<BEAN_TYPE, BEAN_TYPE> r : findRecipes(descriptor, SearchType.ALL_BEANS).getRecipes()) {
+			beans.add(r.get());
+			singletons &= r.isSingleton();
+		}
+
+		List<BEAN_TYPE> shared = Collections.unmodifiableList(beans);
+		if (singletons)
+			resolutions.putAllBeans(descriptor, shared, generation);
+		return shared;
 	}
 
 	/**
 	 * Get all of the recipes which are available for the desired type. This includes exact matches (i.e.: recipe provides exactly the desired class) as well as classes which can be referenced as the
-	 * desired type (i.e.: they are higher in the hierarchy of the desired type).
+	 * desired type (i.e.: they are higher in the hierarchy of the desired type). The result for an interned descriptor is cached, until a recipe which it matches is added
+	 * or removed.
 	 * 
 	 * @param <BEAN_TYPE> indicating the type of the beans that are to be retrieved
 	 * @param descriptor  {@link Descriptor} containing the description of the beans that are to be retrieved
 	 * @param type        {@link SearchType} indicating the type of recipe search that is to be performed
 	 * @return {@link RecipeSearchResult} containing all of the matching recipes
 	 */
-	@SuppressWarnings("unchecked")
 	private <BEAN_TYPE> RecipeSearchResult<BEAN_TYPE> findRecipes(Descriptor<BEAN_TYPE> descriptor, SearchType type) {
-		RecipeSearchHandler<BEAN_TYPE> foundRecipes = type == SearchType.SINGLE_BEAN ? new SingleRecipeSearchHandler<>() : new AllRecipeSearchHandler<>();
-		recipes.forEach((r) -> {
-			if (r.getDescription().matches(descriptor)) {
-				if (r.isPrimary())
-					foundRecipes.addPrimaryRecipe((AbstractRecipe<BEAN_TYPE, BEAN_TYPE>) r);
-				else if (r.isFallback())
-					foundRecipes.addFallbackRecipe((AbstractRecipe<BEAN_TYPE, BEAN_TYPE>) r);
-				else
-					foundRecipes.addBasicRecipe((AbstractRecipe<BEAN_TYPE, BEAN_TYPE>) r);
-			}
-		});
+		return resolutions.resolve(descriptor, type, this::searchRecipes);
+	}
 
+	/**
+	 * Search the registry for all of the recipes which match the descriptor. Any deferred recipes which can provide the beans are loaded ahead of the search.
+	 * 
+	 * @param <BEAN_TYPE> indicating the type of the beans that are to be retrieved
+	 * @param descriptor  {@link Descriptor} containing the description of the beans that are to be retrieved
+	 * @param type        {@link SearchType} indicating the type of recipe search that is to be performed
+	 * @return {@link RecipeSearchResult} containing all of the matching recipes
+	 */
+	private <BEAN_TYPE> RecipeSearchResult<BEAN_TYPE> searchRecipes(Descriptor<BEAN_TYPE> descriptor, SearchType type) {
+		loadDeferred(descriptor.getBeanType());
+		RecipeSearchHandler<BEAN_TYPE> foundRecipes = type == SearchType.SINGLE_BEAN ? new SingleRecipeSearchHandler<>() : new AllRecipeSearchHandler<>();
+		recipes.find(descriptor, type, foundRecipes);
 		return foundRecipes.processResults();
 	}
 
-	@SuppressWarnings("unchecked")
+	/**
+	 * Search the registry for all of the recipes which can be replaced by the described replacement. Any deferred recipes which it could replace are loaded ahead of
+	 * the search.
+	 * 
+	 * @param <BEAN_TYPE> indicating the type of the replacement bean
+	 * @param descriptor  {@link Descriptor} containing the description of the replacement bean
+	 * @param type        {@link SearchType} indicating the type of recipe search that is to be performed
+	 * @return {@link RecipeSearchResult} containing all of the replaceable recipes
+	 */
 	private <BEAN_TYPE> RecipeSearchResult<BEAN_TYPE> findOriginalRecipes(Descriptor<BEAN_TYPE> descriptor, SearchType type) {
+		loadDeferredReplaceable(descriptor.getBeanType());
 		RecipeSearchHandler<BEAN_TYPE> foundRecipes = type == SearchType.SINGLE_BEAN ? new SingleRecipeSearchHandler<>() : new AllRecipeSearchHandler<>();
-		recipes.forEach((r) -> {
-			if (r.getDescription().replacedBy(descriptor)) {
-				if (r.isPrimary())
-					foundRecipes.addPrimaryRecipe((AbstractRecipe<BEAN_TYPE, BEAN_TYPE>) r);
-				else if (r.isFallback())
-					foundRecipes.addFallbackRecipe((AbstractRecipe<BEAN_TYPE, BEAN_TYPE>) r);
-				else
-					foundRecipes.addBasicRecipe((AbstractRecipe<BEAN_TYPE, BEAN_TYPE>) r);
-			}
-		});
-
+		recipes.findReplaceable(descriptor, foundRecipes);
 		return foundRecipes.processResults();
 	}
 
@@ -459,7 +964,122 @@ public class Engine implements ApplicationContext {
 		// Save them for future retrieval
 		blueprintsForClass.put(blueprintClass, matches);
 	}
+
+	/**
+	 * Load the recipes which are transitively needed by the runner. Starting from the runner, the descriptors which each recipe consumes are resolved (loading any
+	 * deferred recipes which can provide them) until no further recipes are reached. Only the reached recipes (and the runner) are linked, with the recipes which
+	 * remain deferred only being loaded if a bean which they can provide is subsequently searched for.
+	 * 
+	 * @param runner {@link AbstractRecipe} of the runner
+	 * @return {@link List} of the reached {@link AbstractRecipe}s
+	 */
+	private List<AbstractRecipe<?, ?>> loadReachable(AbstractRecipe<?, ?> runner) {
+		long start = System.nanoTime();
+		List<AbstractRecipe<?, ?>> reached = findReachable(runner);
+
+		int[] linked = linkRecipe(runner);
+		for (AbstractRecipe<?, ?> r : reached) {
+			int[] recipeLinked = linkRecipe(r);
+			linked[0] += recipeLinked[0];
+			linked[1] += recipeLinked[1];
+		}
+		isLinked = true;
+
+		LOGGER.info("Loaded " + reached.size() + " recipes reachable from the runner in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms, skipping "
+				+ (recipes.size() - reached.size() + deferred.size()) + " recipes (" + deferred.size() + " of which were not loaded)");
+		LOGGER.fine("Linked " + linked[0] + " dependencies (" + linked[1] + " linked at compile time)");
+		return reached;
+	}
+
+	/**
+	 * Find the recipes which are transitively needed by the runner, by resolving the descriptors which each recipe consumes (starting from the runner) until no
+	 * further recipes are reached. Any deferred recipes which can provide the descriptors are loaded in the process.
+	 * 
+	 * @param runner {@link AbstractRecipe} of the runner
+	 * @return {@link List} of the reached {@link AbstractRecipe}s (not including the runner)
+	 */
+	private List<AbstractRecipe<?, ?>> findReachable(AbstractRecipe<?, ?> runner) {
+		Set<AbstractRecipe<?, ?>> reached = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<AbstractRecipe<?, ?>> pending = new ArrayDeque<>();
+		pending.push(runner);
+		while (!pending.isEmpty()) {
+			AbstractRecipe<?, ?> recipe = pending.pop();
+			for (Descriptor<?> d : recipe.getConsumedDescriptors())
+				reach(findRecipes(d, SearchType.SINGLE_BEAN).getRecipes(), reached, pending);
+			for (Descriptor<?> d : recipe.getConsumedAllDescriptors())
+				reach(findRecipes(d, SearchType.ALL_BEANS).getRecipes(), reached, pending);
+		}
+
+		return new ArrayList<>(reached);
+	}
+
+	/**
+	 * Mark the recipes as reached, such that the descriptors they consume are resolved in turn
+	 * 
+	 * @param providers {@link List} of the {@link AbstractRecipe}s which provide a consumed descriptor
+	 * @param reached   {@link Set} of the {@link AbstractRecipe}s which have been reached
+	 * @param pending   {@link Deque} of the reached {@link AbstractRecipe}s whose descriptors are yet to be resolved
+	 */
+	private void reach(List<? extends AbstractRecipe<?, ?>> providers, Set<AbstractRecipe<?, ?>> reached, Deque<AbstractRecipe<?, ?>> pending) {
+		for (AbstractRecipe<?, ?> p : providers) {
+			if (reached.add(p))
+				pending.push(p);
+		}
+	}
+
+	/**
+	 * Wait for the asynchronous {@link PostConstruct} initialization of the runner and the singletons it depends on to complete, such that these are all ready before the
+	 * runner is run.
+	 * 
+	 * @param runner       {@link AbstractRecipe} of the runner
+	 * @param dependencies {@link Collection} of the {@link AbstractRecipe}s which the runner (transitively) depends on
+	 * @throws TendrilStartupException if an initialization fails or does not complete in time
+	 */
+	private void awaitAsyncPostConstruct(AbstractRecipe<?, ?> runner, Collection<AbstractRecipe<?, ?>> dependencies) {
+		List<AbstractRecipe<?, ?>> pending = new ArrayList<>();
+		for (AbstractRecipe<?, ?> r : dependencies) {
+			if (isAsyncPostConstructPending(r))
+				pending.add(r);
+		}
+		if (isAsyncPostConstructPending(runner))
+			pending.add(runner);
+		if (pending.isEmpty())
+			return;
+
+		long start = System.nanoTime();
+		try {
+			CompletableFuture.allOf(pending.stream().map(AbstractRecipe::getAsyncPostConstruct).toArray(CompletableFuture[]::new))
+					.get(postConstructTimeout.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			throw new TendrilStartupException("Timed out after " + postConstructTimeout.toMillis() + "ms waiting for the asynchronous initialization of [" +
+					TendrilStringUtil.join(pending.stream().filter(r -> !r.getAsyncPostConstruct().isDone()).toList(), r -> r.getDescription().toString()) + "]");
+		} catch (ExecutionException e) {
+			throw new TendrilStartupException("Asynchronous initialization failed for [" + TendrilStringUtil.join(
+					pending.stream().filter(r -> r.getAsyncPostConstruct().isCompletedExceptionally()).toList(), r -> r.getDescription().toString()) + "]",
+					e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TendrilStartupException("Interrupted while waiting for the asynchronous initialization of the beans", e);
+		}
+
+		LOGGER.fine("Waited " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms for the asynchronous initialization of " + pending.size() + " beans");
+	}
+
+	/**
+	 * Check whether the asynchronous {@link PostConstruct} initialization of the recipe's bean is yet to be successfully completed
+	 * 
+	 * @param recipe {@link AbstractRecipe} to check
+	 * @return boolean true if the initialization is still running or has failed
+	 */
+	private boolean isAsyncPostConstructPending(AbstractRecipe<?, ?> recipe) {
+		CompletableFuture<Void> future = recipe.getAsyncPostConstruct();
+		return !future.isDone() || future.isCompletedExceptionally();
+	}
+
 	/**
+	 * Where the singletons are to be created in the background, their creation is started before the runner is created, with the runner being started without waiting
+	 * for them. The runner is however only run once the asynchronous {@link PostConstruct} initialization of it and all of the singletons it depends on has completed.
+	 * 
 	 * @see tendril.context.ApplicationContext#start()
 	 */
 	@Override
@@ -478,7 +1098,21 @@ public class Engine implements ApplicationContext {
                 throw new TendrilStartupException("Exactly one runner is required to start the application, however " + runnerRecipes.size() + " can be loaded [" +
                         TendrilStringUtil.join(runnerRecipes, r -> r.getDescription().getBeanType().getFullyQualifiedName()) + "].");
             
+            List<AbstractRecipe<?, ?>> available;
+            if (loadReachableOnly)
+                available = loadReachable(runnerRecipes.get(0));
+            else {
+                available = recipes.getAll();
+                if (isLinked)
+                    linkRecipe(runnerRecipes.get(0));
+            }
+            
+            if (startupInitialization == SingletonInitialization.EAGER && loadReachableOnly)
+                instantiateSingletons(available);
+            else if (startupInitialization == SingletonInitialization.BACKGROUND)
+                instantiateSingletonsInBackground(available);
             TendrilRunner runner = (TendrilRunner) runnerRecipes.get(0).get();
+            awaitAsyncPostConstruct(runnerRecipes.get(0), loadReachableOnly ? available : findReachable(runnerRecipes.get(0)));
             runner.run();
         } catch (IOException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | NoSuchMethodException |
                 SecurityException | ClassNotFoundException e) {
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.context;
+
+import tendril.context.launch.TendrilRunner;
+
+/**
+ * Indicates which recipes within the {@link ApplicationContext} are to be loaded when it is started.
+ */
+public enum RecipeLoading {
+	/** All recipes are loaded (and linked) when the context is built */
+	ALL,
+	/**
+	 * Only those recipes which are transitively needed by the {@link TendrilRunner} are loaded (and linked) when the context is started, with any singletons being
+	 * created at that point if they are {@link SingletonInitialization#EAGER}. The remaining recipes are loaded when first searched for (i.e.: a bean which they provide
+	 * is retrieved or registered).
+	 */
+	REACHABLE
+}
@@ -0,0 +1,734 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.recipe.AbstractRecipe;
+import tendril.codegen.field.type.ClassType;
+import tendril.context.search.RecipeSearchHandler;
+import tendril.context.search.SearchType;
+
+/**
+ * Registry of all of the recipes which are available within the {@link Engine}, indexed by the types that the recipes can be retrieved as. Every recipe is indexed under the
+ * type it advertises, as well as every super class and interface within the hierarchy of that type. Within each index entry the recipes are pre-split by priority
+ * ({@code Primary}, basic, {@code Fallback}) so that a search only needs to consider those recipes which can possibly be assigned to the requested type, and can stop
+ * as soon as a higher priority match has been found.
+ *
+ * Recipes are additionally indexed by each of their enum qualifiers, with the recipes for the constants of each enum held within an {@link EnumMap}. A search for a bean
+ * with enum qualifiers only considers the smaller of the recipes of the requested type and the recipes which have the (least common) requested qualifier. The
+ * descriptions of the recipes are frozen as they are registered (with a recipe created from a descriptor which remains with its creator being given a frozen copy),
+ * allowing for qualifiers to be matched via their bit masks.
+ *
+ * Any type which cannot be loaded is handled as it is within the {@link ClassType}, where the lack of a loadable class means that assignability cannot be ruled out. As
+ * such recipes for a type that cannot be loaded are considered for every search, and a search for a type that cannot be loaded considers every recipe.
+ *
+ * The registry can be searched while recipes are being added (i.e.: beans being registered while the application is running). The recipes and their indices are held in
+ * an immutable {@link Snapshot}, which is replaced in its entirety whenever recipes are added or removed. A search works on whichever snapshot was published when it was
+ * started, meaning that searches never block and never see a partially applied change. Changes are copy-on-write: the maps of the snapshot are copied (which is linear
+ * in the number of registered recipes and indexed types), whereas the buckets of recipes within them (and the per enum maps of the buckets) are shared, with only
+ * those which the change touches being copied. As the copy of the maps is the dominant cost of a change, a batch of recipes should be added together, with a single
+ * copy and publication.
+ *
+ * Where many recipes are to be added and removed (i.e.: when the replacements are applied as the {@link Engine} is initialized), the changes can be made to a draft
+ * snapshot which is only published once all changes have been made. The recipes within a snapshot are held in insertion ordered sets, so that a recipe can be removed
+ * from the draft in constant time. The recipes which a replacement can replace are found via an index of the recipes by the exact type which they advertise, only
+ * considering those recipes whose type is within the hierarchy of the replacement.
+ */
+class RecipeRegistry {
+
+	/** The currently published state of the registry */
+	private volatile Snapshot snapshot = new Snapshot();
+	/** The snapshot to which changes are being made prior to it being published (null when changes are published immediately) */
+	private Snapshot draft = null;
+	/** Cache of whether or not a requested type can be loaded */
+	private final Map<String, Boolean> loadableTypes = new ConcurrentHashMap<>();
+
+	/**
+	 * CTOR
+	 */
+	RecipeRegistry() {
+	}
+
+	/**
+	 * Add a recipe to the registry
+	 *
+	 * @param recipe {@link AbstractRecipe} to add
+	 */
+	void add(AbstractRecipe<?, ?> recipe) {
+		addAll(Collections.singletonList(recipe));
+	}
+
+	/**
+	 * Add all of the recipes to the registry, publishing them all at once. A search will either see all of the recipes or none of them.
+	 *
+	 * @param recipes {@link Collection} of {@link AbstractRecipe}s to add, in the order in which they are to be registered
+	 */
+	synchronized void addAll(Collection<? extends AbstractRecipe<?, ?>> recipes) {
+		if (recipes.isEmpty())
+			return;
+
+		Snapshot next = draft == null ? new Snapshot(snapshot) : draft;
+		recipes.forEach(next::add);
+		if (next != draft)
+			publish(next);
+	}
+
+	/**
+	 * Remove a recipe from the registry
+	 *
+	 * @param recipe {@link AbstractRecipe} to remove
+	 * @return boolean true if the recipe was registered (and therefore removed)
+	 */
+	synchronized boolean remove(AbstractRecipe<?, ?> recipe) {
+		if (!getWorkingSnapshot().registrationOrder.containsKey(recipe))
+			return false;
+
+		Snapshot next = draft == null ? new Snapshot(snapshot) : draft;
+		next.remove(recipe);
+		if (next != draft)
+			publish(next);
+		return true;
+	}
+
+	/**
+	 * Start a batch of changes. All changes are made to a draft snapshot, which is not searched until the batch is published via {@code publishBatch()}.
+	 */
+	synchronized void openBatch() {
+		if (draft == null)
+			draft = new Snapshot(snapshot);
+	}
+
+	/**
+	 * Publish all changes which have been made since the batch was opened, making them available to all subsequent searches
+	 */
+	synchronized void publishBatch() {
+		if (draft == null)
+			return;
+
+		publish(draft);
+		draft = null;
+	}
+
+	/**
+	 * Get the snapshot to which changes are being made, which is the draft if a batch is open or otherwise the published snapshot
+	 *
+	 * @return {@link Snapshot} that is being changed
+	 */
+	private Snapshot getWorkingSnapshot() {
+		return draft == null ? snapshot : draft;
+	}
+
+	/**
+	 * Publish the snapshot, making it available to all subsequent searches
+	 *
+	 * @param next {@link Snapshot} to publish
+	 */
+	private void publish(Snapshot next) {
+		// The buckets can no longer be modified once published
+		next.owned = null;
+		snapshot = next;
+	}
+
+	/**
+	 * Get the number of recipes that are registered
+	 *
+	 * @return int the number of recipes
+	 */
+	int size() {
+		return snapshot.recipes.size();
+	}
+
+	/**
+	 * Get all of the recipes that are registered
+	 *
+	 * @return {@link List} of {@link AbstractRecipe}s in the order that they were registered
+	 */
+	List<AbstractRecipe<?, ?>> getAll() {
+		return snapshot.list();
+	}
+
+	/**
+	 * Check whether the recipe is registered
+	 *
+	 * @param recipe {@link AbstractRecipe} to check
+	 * @return boolean true if the recipe is registered
+	 */
+	boolean contains(AbstractRecipe<?, ?> recipe) {
+		return snapshot.recipes.contains(recipe);
+	}
+
+	/**
+	 * Check whether all recipes which are candidates for a search of the requested type meet the condition. The candidates are those which a search would consider,
+	 * regardless of whether they actually match.
+	 *
+	 * @param requested {@link ClassType} which would be searched for
+	 * @param condition {@link Predicate} which each candidate must meet
+	 * @return boolean true if all candidates meet the condition
+	 */
+	boolean allCandidatesMatch(ClassType requested, Predicate<AbstractRecipe<?, ?>> condition) {
+		Snapshot current = snapshot;
+		RecipeBucket bucket = getCandidates(current, requested);
+		List<AbstractRecipe<?, ?>> candidates = new ArrayList<>(bucket.size());
+		bucket.addTo(candidates);
+		if (!bucket.complete)
+			current.unresolved.addTo(candidates);
+
+		for (AbstractRecipe<?, ?> r : candidates) {
+			if (!condition.test(r))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Get the names of all types under which the recipe is indexed.
+	 *
+	 * @param recipe {@link AbstractRecipe} whose indexed types to retrieve
+	 * @return {@link Set} of {@link String} fully qualified type names, or null if the recipe is considered for all searches
+	 */
+	Set<String> getIndexedTypes(AbstractRecipe<?, ?> recipe) {
+		Class<?> beanClass = loadClass(recipe.getDescription().getBeanType());
+		return beanClass == null ? null : getHierarchy(beanClass);
+	}
+
+	/**
+	 * Get the types of the recipes which a replacement of the type could replace
+	 *
+	 * @param replacement {@link ClassType} of the replacement
+	 * @return {@link Set} of {@link String} fully qualified names of the type and all of its supertypes (null if the type cannot be loaded, in which case any recipe
+	 *         could be replaced)
+	 */
+	Set<String> getReplaceableTypes(ClassType replacement) {
+		Class<?> replacementClass = loadClass(replacement);
+		if (replacementClass == null)
+			return null;
+
+		Set<String> types = getHierarchy(replacementClass);
+		types.add(Class.class.getName());
+		return types;
+	}
+
+	/**
+	 * Check whether a search for the requested type makes use of the index, or whether all recipes are considered.
+	 *
+	 * @param requested {@link ClassType} which is being searched for
+	 * @return boolean true if the index is used
+	 */
+	boolean isIndexed(ClassType requested) {
+		return !Class.class.getName().equals(requested.getFullyQualifiedName()) && isLoadable(requested);
+	}
+
+	/**
+	 * Find all recipes which match the descriptor, populating the search handler with the matches. Only those priorities which can affect the search result are
+	 * considered, meaning that for a {@link SearchType#SINGLE_BEAN} search the basic and {@code Fallback} recipes are not checked if a {@code Primary} is found, and
+	 * for a {@link SearchType#ALL_BEANS} search the {@code Fallback} recipes are not checked if any other recipe is found.
+	 *
+	 * @param <BEAN_TYPE> indicating the type of the beans that are to be retrieved
+	 * @param descriptor  {@link Descriptor} describing the desired bean
+	 * @param type        {@link SearchType} which is being performed
+	 * @param handler     {@link RecipeSearchHandler} where the matches are to be placed
+	 */
+	<BEAN_TYPE> void find(Descriptor<BEAN_TYPE> descriptor, SearchType type, RecipeSearchHandler<BEAN_TYPE> handler) {
+		Snapshot current = snapshot;
+		RecipeBucket bucket = getCandidates(current, descriptor);
+		RecipeBucket unresolved = current.unresolved;
+
+		for (AbstractRecipe<BEAN_TYPE, BEAN_TYPE> r : current.<BEAN_TYPE>mergeUnresolved(bucket.primary, unresolved.primary, bucket.complete)) {
+			if (r.getDescription().matches(descriptor))
+				handler.addPrimaryRecipe(r);
+		}
+		if (type == SearchType.SINGLE_BEAN && handler.hasPrimaryRecipes())
+			return;
+
+		for (AbstractRecipe<BEAN_TYPE, BEAN_TYPE> r : current.<BEAN_TYPE>mergeUnresolved(bucket.basic, unresolved.basic, bucket.complete)) {
+			if (r.getDescription().matches(descriptor))
+				handler.addBasicRecipe(r);
+		}
+		if (handler.hasPrimaryRecipes() || handler.hasBasicRecipes())
+			return;
+
+		for (AbstractRecipe<BEAN_TYPE, BEAN_TYPE> r : current.<BEAN_TYPE>mergeUnresolved(bucket.fallback, unresolved.fallback, bucket.complete)) {
+			if (r.getDescription().matches(descriptor))
+				handler.addFallbackRecipe(r);
+		}
+	}
+
+	/**
+	 * Find all recipes which can be replaced by the replacement, populating the search handler with them. Unlike {@code find()} the recipes must be assignable to the
+	 * replacement (rather than the replacement to the recipe), and all priorities are considered. If a batch is open, the draft is searched so that the replacements
+	 * which have already been applied are taken into account.
+	 *
+	 * @param <BEAN_TYPE> indicating the type of the beans that are to be retrieved
+	 * @param replacement {@link Descriptor} describing the replacement bean
+	 * @param handler     {@link RecipeSearchHandler} where the replaceable recipes are to be placed
+	 */
+	@SuppressWarnings("unchecked")
+	synchronized <BEAN_TYPE> void findReplaceable(Descriptor<BEAN_TYPE> replacement, RecipeSearchHandler<BEAN_TYPE> handler) {
+		for (AbstractRecipe<?, ?> r : getReplaceableCandidates(getWorkingSnapshot(), replacement.getBeanType())) {
+			if (!r.getDescription().replacedBy(replacement))
+				continue;
+
+			if (r.isPrimary())
+				handler.addPrimaryRecipe((AbstractRecipe<BEAN_TYPE, BEAN_TYPE>) r);
+			else if (r.isFallback())
+				handler.addFallbackRecipe((AbstractRecipe<BEAN_TYPE, BEAN_TYPE>) r);
+			else
+				handler.addBasicRecipe((AbstractRecipe<BEAN_TYPE, BEAN_TYPE>) r);
+		}
+	}
+
+	/**
+	 * Get the recipes which are candidates for being replaced by a replacement of the given type. These are the recipes whose advertised type is within the hierarchy
+	 * of the replacement, along with those whose type is {@link Class} (which is matched against its generic) or could not be loaded.
+	 *
+	 * @param current     {@link Snapshot} which is being searched
+	 * @param replacement {@link ClassType} of the replacement
+	 * @return {@link Collection} of {@link AbstractRecipe}s in the order that they were registered
+	 */
+	private Collection<AbstractRecipe<?, ?>> getReplaceableCandidates(Snapshot current, ClassType replacement) {
+		Set<String> types = getReplaceableTypes(replacement);
+		if (types == null)
+			return current.recipes;
+
+		List<AbstractRecipe<?, ?>> candidates = new ArrayList<>();
+		for (String t : types) {
+			RecipeBucket bucket = current.exactIndex.get(t);
+			if (bucket != null)
+				bucket.addTo(candidates);
+		}
+		current.unresolved.addTo(candidates);
+
+		candidates.sort(current::compareOrder);
+		return candidates;
+	}
+
+	/**
+	 * Get the recipes which are candidates for matching the descriptor. These are the recipes which can be assigned to the requested type, or if the descriptor has enum
+	 * qualifiers the recipes having the qualifier for which there are fewest, whichever is smaller.
+	 *
+	 * @param current    {@link Snapshot} which is being searched
+	 * @param descriptor {@link Descriptor} describing the desired bean
+	 * @return {@link RecipeBucket} containing the candidates
+	 */
+	private RecipeBucket getCandidates(Snapshot current, Descriptor<?> descriptor) {
+		RecipeBucket candidates = getCandidates(current, descriptor.getBeanType());
+		for (Enum<?> qualifier : descriptor.getEnumQualifiers()) {
+			RecipeBucket qualified = current.getEnumBucket(qualifier, false);
+			if (qualified == null)
+				return RecipeBucket.EMPTY;
+			if (qualified.size() < candidates.size() + (candidates.complete ? 0 : current.unresolved.size()))
+				candidates = qualified;
+		}
+
+		return candidates;
+	}
+
+	/**
+	 * Get the recipes which are candidates for being assignable to the requested type.
+	 *
+	 * @param current   {@link Snapshot} which is being searched
+	 * @param requested {@link ClassType} which is being searched for
+	 * @return {@link RecipeBucket} containing the candidates
+	 */
+	private RecipeBucket getCandidates(Snapshot current, ClassType requested) {
+		// Class<T> is matched against the generic rather than the class, so the hierarchy of Class cannot be used
+		if (!isIndexed(requested))
+			return current.allRecipes();
+
+		RecipeBucket bucket = current.typeIndex.get(requested.getFullyQualifiedName());
+		return bucket == null ? RecipeBucket.EMPTY : bucket;
+	}
+
+	/**
+	 * Check whether the requested type can be loaded.
+	 *
+	 * @param type {@link ClassType} to check
+	 * @return boolean true if a {@link Class} can be loaded for it
+	 */
+	private boolean isLoadable(ClassType type) {
+		return loadableTypes.computeIfAbsent(type.getFullyQualifiedName(), k -> loadClass(type) != null);
+	}
+
+	/**
+	 * Load the {@link Class} for the type
+	 *
+	 * @param type {@link ClassType} to load
+	 * @return {@link Class} that is loaded or null if the type cannot be loaded
+	 */
+	private static Class<?> loadClass(ClassType type) {
+		try {
+			return type.getDefinedClass();
+		} catch (ClassNotFoundException | LinkageError e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Get the names of all types within the hierarchy of the class, including the class itself.
+	 *
+	 * @param klass {@link Class} whose hierarchy to retrieve
+	 * @return {@link Set} of {@link String} fully qualified type names
+	 */
+	private static Set<String> getHierarchy(Class<?> klass) {
+		Set<String> hierarchy = new LinkedHashSet<>();
+		addHierarchy(klass, hierarchy);
+		// Interfaces do not report Object as their super class, but are nonetheless assignable to it
+		hierarchy.add(Object.class.getName());
+		return hierarchy;
+	}
+
+	/**
+	 * Recursively add the class, its super class, and all interfaces to the hierarchy
+	 *
+	 * @param klass     {@link Class} to add
+	 * @param hierarchy {@link Set} where the names are to be added
+	 */
+	private static void addHierarchy(Class<?> klass, Set<String> hierarchy) {
+		if (klass == null || !hierarchy.add(klass.getName().replace('$', '.')))
+			return;
+
+		addHierarchy(klass.getSuperclass(), hierarchy);
+		for (Class<?> iface : klass.getInterfaces())
+			addHierarchy(iface, hierarchy);
+	}
+
+	/**
+	 * The state of the registry at a given point in time. Once published a snapshot is never modified, with a change being applied to a copy of the snapshot which is
+	 * then published in its place. The copy shares all buckets (and the per enum maps of the enum buckets) with the original, with these only being copied when they
+	 * are to be modified.
+	 */
+	private static class Snapshot {
+		/** All recipes which are registered, in the order of registration */
+		private final Set<AbstractRecipe<?, ?>> recipes;
+		/** The order in which the registered recipes were registered */
+		private final Map<AbstractRecipe<?, ?>, Long> registrationOrder;
+		/** Recipes indexed by the fully qualified name of the types they can be retrieved as */
+		private final Map<String, RecipeBucket> typeIndex;
+		/** Recipes indexed by the fully qualified name of the exact type which they advertise */
+		private final Map<String, RecipeBucket> exactIndex;
+		/** Recipes indexed by the enum qualifiers they have, grouped by the class of the enum */
+		private final Map<Class<?>, EnumMap<?, RecipeBucket>> enumIndex;
+		/** Recipes whose advertised type could not be loaded, and which must therefore be considered for all searches */
+		private RecipeBucket unresolved;
+		/** Counter for the order of registration */
+		private long nextOrder;
+		/** The buckets (and per enum maps of buckets) which have been copied for this snapshot, and can therefore be modified until it is published */
+		private Set<Object> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+		/** Bucket containing all recipes, created when first required */
+		private volatile RecipeBucket all = null;
+		/** List of all recipes, created when first required */
+		private volatile List<AbstractRecipe<?, ?>> list = null;
+
+		/**
+		 * CTOR - for an empty registry
+		 */
+		private Snapshot() {
+			recipes = new LinkedHashSet<>();
+			registrationOrder = new IdentityHashMap<>();
+			typeIndex = new HashMap<>();
+			exactIndex = new HashMap<>();
+			enumIndex = new HashMap<>();
+			unresolved = new RecipeBucket(false);
+			nextOrder = 0;
+		}
+
+		/**
+		 * CTOR - copy of another snapshot, to which changes are to be applied
+		 *
+		 * @param other {@link Snapshot} to copy
+		 */
+		private Snapshot(Snapshot other) {
+			recipes = new LinkedHashSet<>(other.recipes);
+			registrationOrder = new IdentityHashMap<>(other.registrationOrder);
+			typeIndex = new HashMap<>(other.typeIndex);
+			exactIndex = new HashMap<>(other.exactIndex);
+			enumIndex = new HashMap<>(other.enumIndex);
+			unresolved = other.unresolved;
+			nextOrder = other.nextOrder;
+		}
+
+		/**
+		 * Add a recipe to the snapshot
+		 *
+		 * @param recipe {@link AbstractRecipe} to add
+		 */
+		private void add(AbstractRecipe<?, ?> recipe) {
+			recipes.add(recipe);
+			registrationOrder.put(recipe, nextOrder++);
+
+			Descriptor<?> description = recipe.freezeDescription();
+			for (Enum<?> qualifier : description.getEnumQualifiers())
+				getEnumBucket(qualifier, true).add(recipe);
+
+			Class<?> beanClass = loadClass(description.getBeanType());
+			if (beanClass == null) {
+				unresolved = own(unresolved);
+				unresolved.add(recipe);
+				return;
+			}
+
+			for (String type : getHierarchy(beanClass))
+				typeIndex.compute(type, (k, b) -> b == null ? own(new RecipeBucket(false)) : own(b)).add(recipe);
+			exactIndex.compute(description.getBeanType().getFullyQualifiedName(), (k, b) -> b == null ? own(new RecipeBucket(false)) : own(b)).add(recipe);
+		}
+
+		/**
+		 * Remove a recipe from the snapshot
+		 *
+		 * @param recipe {@link AbstractRecipe} to remove
+		 */
+		private void remove(AbstractRecipe<?, ?> recipe) {
+			registrationOrder.remove(recipe);
+			recipes.remove(recipe);
+			for (Enum<?> qualifier : recipe.getDescription().getEnumQualifiers()) {
+				// Only the buckets which contain the recipe are to be touched, no new buckets are to be created
+				if (getEnumBucket(qualifier, false) != null)
+					getEnumBucket(qualifier, true).remove(recipe);
+			}
+
+			Class<?> beanClass = loadClass(recipe.getDescription().getBeanType());
+			if (beanClass == null) {
+				unresolved = own(unresolved);
+				unresolved.remove(recipe);
+				return;
+			}
+
+			for (String type : getHierarchy(beanClass))
+				removeFrom(typeIndex, type, recipe);
+			removeFrom(exactIndex, recipe.getDescription().getBeanType().getFullyQualifiedName(), recipe);
+		}
+
+		/**
+		 * Remove the recipe from the bucket of the index, if the index has a bucket for the type
+		 *
+		 * @param index  {@link Map} of the buckets by type
+		 * @param type   {@link String} fully qualified name of the type whose bucket the recipe is to be removed from
+		 * @param recipe {@link AbstractRecipe} to remove
+		 */
+		private void removeFrom(Map<String, RecipeBucket> index, String type, AbstractRecipe<?, ?> recipe) {
+			RecipeBucket bucket = index.get(type);
+			if (bucket == null)
+				return;
+
+			bucket = own(bucket);
+			bucket.remove(recipe);
+			index.put(type, bucket);
+		}
+
+		/**
+		 * Get a bucket which can be modified as part of this snapshot, copying it if it is shared with a published snapshot
+		 *
+		 * @param bucket {@link RecipeBucket} that is to be modified
+		 * @return {@link RecipeBucket} owned by this snapshot
+		 */
+		private RecipeBucket own(RecipeBucket bucket) {
+			if (owned.contains(bucket))
+				return bucket;
+
+			RecipeBucket copy = new RecipeBucket(bucket);
+			owned.add(copy);
+			return copy;
+		}
+
+		/**
+		 * Get the recipes which have the enum qualifier
+		 *
+		 * @param qualifier {@link Enum} qualifier whose recipes to retrieve
+		 * @param modify    boolean true if the bucket is to be modified, in which case it (and the map of the buckets of the enum) is created (or copied) as required
+		 * @return {@link RecipeBucket} containing the recipes with the qualifier, or null if there is none and it is not to be modified
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private RecipeBucket getEnumBucket(Enum<?> qualifier, boolean modify) {
+			Class enumClass = qualifier.getDeclaringClass();
+			EnumMap buckets = enumIndex.get(enumClass);
+			if (!modify)
+				return buckets == null ? null : (RecipeBucket) buckets.get(qualifier);
+
+			if (buckets == null || !owned.contains(buckets)) {
+				buckets = buckets == null ? new EnumMap(enumClass) : new EnumMap(buckets);
+				owned.add(buckets);
+				enumIndex.put(enumClass, buckets);
+			}
+
+			RecipeBucket bucket = (RecipeBucket) buckets.get(qualifier);
+			// The qualified recipes include those whose type could not be loaded
+			bucket = own(bucket == null ? new RecipeBucket(true) : bucket);
+			buckets.put(qualifier, bucket);
+			return bucket;
+		}
+
+		/**
+		 * Get a bucket containing all registered recipes
+		 *
+		 * @return {@link RecipeBucket} with all recipes
+		 */
+		private RecipeBucket allRecipes() {
+			RecipeBucket bucket = all;
+			if (bucket == null) {
+				bucket = new RecipeBucket(true);
+				recipes.forEach(bucket::add);
+				all = bucket;
+			}
+			return bucket;
+		}
+
+		/**
+		 * Get a list of all registered recipes
+		 *
+		 * @return {@link List} of {@link AbstractRecipe}s in the order that they were registered
+		 */
+		private List<AbstractRecipe<?, ?>> list() {
+			List<AbstractRecipe<?, ?>> all = list;
+			if (all == null) {
+				all = Collections.unmodifiableList(new ArrayList<>(recipes));
+				list = all;
+			}
+			return all;
+		}
+
+		/**
+		 * Compare the order in which the recipes were registered
+		 *
+		 * @param lhs {@link AbstractRecipe} to compare
+		 * @param rhs {@link AbstractRecipe} to compare against
+		 * @return int negative if lhs was registered first, positive if rhs was registered first
+		 */
+		private int compareOrder(AbstractRecipe<?, ?> lhs, AbstractRecipe<?, ?> rhs) {
+			return Long.compare(registrationOrder.get(lhs), registrationOrder.get(rhs));
+		}
+
+		/**
+		 * Merge the recipes whose type could not be loaded into the candidates, maintaining the order in which the recipes were registered.
+		 *
+		 * @param <BEAN_TYPE> indicating the type of the beans that are to be retrieved
+		 * @param candidates  {@link Collection} of candidate {@link AbstractRecipe}s from the index
+		 * @param unresolved  {@link Collection} of {@link AbstractRecipe}s whose type could not be loaded
+		 * @param complete    boolean true if the candidates already include the unresolved recipes
+		 * @return {@link Collection} of all {@link AbstractRecipe}s to consider
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private <BEAN_TYPE> Collection<AbstractRecipe<BEAN_TYPE, BEAN_TYPE>> mergeUnresolved(Collection<AbstractRecipe<?, ?>> candidates, Collection<AbstractRecipe<?, ?>> unresolved,
+				boolean complete) {
+			if (complete || unresolved.isEmpty())
+				return (Collection) candidates;
+			if (candidates.isEmpty())
+				return (Collection) unresolved;
+
+			List<AbstractRecipe<?, ?>> merged = new ArrayList<>(candidates);
+			merged.addAll(unresolved);
+			merged.sort(this::compareOrder);
+			return (Collection) merged;
+		}
+	}
+
+	/**
+	 * Collection of recipes which are indexed for a given type, split by their priority. The recipes of each priority are held in the order in which they were added.
+	 */
+	private static class RecipeBucket {
+		/** Bucket to use when there are no recipes for a type */
+		private static final RecipeBucket EMPTY = new RecipeBucket(false);
+
+		/** Recipes for {@code Primary} beans */
+		private final Set<AbstractRecipe<?, ?>> primary;
+		/** Recipes for basic (no explicit priority) beans */
+		private final Set<AbstractRecipe<?, ?>> basic;
+		/** Recipes for {@code Fallback} beans */
+		private final Set<AbstractRecipe<?, ?>> fallback;
+		/** Flag indicating that the bucket already contains the recipes whose type could not be loaded */
+		private final boolean complete;
+
+		/**
+		 * CTOR
+		 *
+		 * @param complete boolean true if the bucket is to contain all recipes (including those whose type could not be loaded)
+		 */
+		private RecipeBucket(boolean complete) {
+			this.primary = new LinkedHashSet<>();
+			this.basic = new LinkedHashSet<>();
+			this.fallback = new LinkedHashSet<>();
+			this.complete = complete;
+		}
+
+		/**
+		 * CTOR - copy of another bucket
+		 *
+		 * @param other {@link RecipeBucket} to copy
+		 */
+		private RecipeBucket(RecipeBucket other) {
+			this.primary = new LinkedHashSet<>(other.primary);
+			this.basic = new LinkedHashSet<>(other.basic);
+			this.fallback = new LinkedHashSet<>(other.fallback);
+			this.complete = other.complete;
+		}
+
+		/**
+		 * Add a recipe to the appropriate priority
+		 *
+		 * @param recipe {@link AbstractRecipe} to add
+		 */
+		private void add(AbstractRecipe<?, ?> recipe) {
+			if (recipe.isPrimary())
+				primary.add(recipe);
+			else if (recipe.isFallback())
+				fallback.add(recipe);
+			else
+				basic.add(recipe);
+		}
+
+		/**
+		 * Get the number of recipes in the bucket
+		 *
+		 * @return int the number of recipes
+		 */
+		private int size() {
+			return primary.size() + basic.size() + fallback.size();
+		}
+
+		/**
+		 * Remove a recipe from the bucket
+		 *
+		 * @param recipe {@link AbstractRecipe} to remove
+		 */
+		private void remove(AbstractRecipe<?, ?> recipe) {
+			if (!primary.remove(recipe) && !basic.remove(recipe))
+				fallback.remove(recipe);
+		}
+
+		/**
+		 * Add all recipes in the bucket to the collection
+		 *
+		 * @param recipes {@link Collection} where the recipes are to be added
+		 */
+		private void addTo(Collection<AbstractRecipe<?, ?>> recipes) {
+			recipes.addAll(primary);
+			recipes.addAll(basic);
+			recipes.addAll(fallback);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.context;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Snapshot of the environments and properties which are applied to the context, against which the requirements of recipes are checked. Taking the snapshot once allows
+ * for the requirements of all recipes to be checked via hashed lookups, rather than each check having to retrieve and search through the applied values.
+ */
+class RequirementContext {
+	/** The environments which are applied */
+	private final Set<String> environments;
+	/** The names of the properties which are applied */
+	private final Set<String> properties;
+
+	/**
+	 * CTOR
+	 *
+	 * @param environments {@link Collection} of {@link String} environments which are applied
+	 * @param properties   {@link Collection} of {@link String} property names which are applied
+	 */
+	RequirementContext(Collection<String> environments, Collection<String> properties) {
+		this.environments = Set.copyOf(environments);
+		this.properties = Set.copyOf(properties);
+	}
+
+	/**
+	 * Get the environments which are applied
+	 *
+	 * @return {@link Set} of {@link String} environments
+	 */
+	Set<String> getEnvironments() {
+		return environments;
+	}
+
+	/**
+	 * Get the names of the properties which are applied
+	 *
+	 * @return {@link Set} of {@link String} property names
+	 */
+	Set<String> getProperties() {
+		return properties;
+	}
+}
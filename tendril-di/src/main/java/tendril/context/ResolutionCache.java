@@ -0,0 +1,291 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.context;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.recipe.AbstractRecipe;
+import tendril.context.search.RecipeSearchResult;
+import tendril.context.search.SearchType;
+
+/**
+ * Cache of the results of searching for recipes, so that repeated retrievals of the same bean do not need to search the {@link RecipeRegistry} anew. Only interned
+ * {@link Descriptor}s are cached, these being the (frozen) canonical instances which the generated recipes make use of. A descriptor which can still be modified could
+ * describe a different bean by the time it is next used, and a descriptor which is created anew for each retrieval would never be retrieved from the cache (only
+ * adding to its size). The descriptors are keyed by identity, as descriptor equality is based on assignability rather than the descriptors being identical.
+ *
+ * Where all of the beans which are retrieved for a descriptor are singletons, the {@link List} of beans itself is cached as well, as the same beans will be retrieved each
+ * time.
+ *
+ * When a recipe is added to or removed from the registry, only those cached results which the recipe matches (and which could therefore be changed by it) are evicted.
+ * The cached descriptors are indexed by the type they describe, in the same manner as the recipes are indexed by the {@link RecipeRegistry}, such that only the
+ * descriptors for the types within the hierarchy of the recipe need be checked.
+ */
+class ResolutionCache {
+	/** The cached results for each type of search */
+	private final Map<SearchType, Map<Key, RecipeSearchResult<?>>> results = new EnumMap<>(SearchType.class);
+	/** The cached (immutable) lists of all beans, for those descriptors which only match singletons */
+	private final Map<Key, List<?>> allBeans = new ConcurrentHashMap<>();
+	/** The number of searches that were resolved from the cache */
+	private final LongAdder hits = new LongAdder();
+	/** The number of searches that had to be performed */
+	private final LongAdder misses = new LongAdder();
+	/** Incremented whenever results are evicted, so that a search which was started before an eviction is not cached */
+	private long generation = 0;
+	/** The registry whose searches are cached, which determines how the cached descriptors are indexed */
+	private final RecipeRegistry registry;
+	/** The keys of the cached results, indexed by the fully qualified name of the type they describe */
+	private final Map<String, Set<Key>> keysByType = new HashMap<>();
+	/** The keys of the cached results whose type is not indexed, and which can therefore be affected by any recipe */
+	private final Set<Key> unindexedKeys = new HashSet<>();
+
+	/**
+	 * CTOR
+	 *
+	 * @param registry {@link RecipeRegistry} whose searches are to be cached
+	 */
+	ResolutionCache(RecipeRegistry registry) {
+		this.registry = registry;
+		for (SearchType type : SearchType.values())
+			results.put(type, new ConcurrentHashMap<>());
+	}
+
+	/**
+	 * Resolve the search for the descriptor, either from the cache or by performing the search (caching the result if possible).
+	 *
+	 * @param <BEAN_TYPE> indicating the type of the beans that are to be retrieved
+	 * @param descriptor  {@link Descriptor} describing the desired bean
+	 * @param type        {@link SearchType} which is to be performed
+	 * @param search      {@link BiFunction} performing the search if the result is not cached
+	 * @return {@link RecipeSearchResult} containing the matching recipes
+	 */
+	@SuppressWarnings("unchecked")
+	<BEAN_TYPE> RecipeSearchResult<BEAN_TYPE> resolve(Descriptor<BEAN_TYPE> descriptor, SearchType type,
+			BiFunction<Descriptor<BEAN_TYPE>, SearchType, RecipeSearchResult<BEAN_TYPE>> search) {
+		if (!descriptor.isInterned())
+			return search.apply(descriptor, type);
+
+		Map<Key, RecipeSearchResult<?>> cache = results.get(type);
+		Key key = new Key(descriptor);
+		RecipeSearchResult<BEAN_TYPE> result = (RecipeSearchResult<BEAN_TYPE>) cache.get(key);
+		if (result != null) {
+			hits.increment();
+			return result;
+		}
+
+		misses.increment();
+		long startGeneration = getGeneration();
+		result = search.apply(descriptor, type);
+		put(cache, key, result, startGeneration);
+		return result;
+	}
+
+	/**
+	 * Get the cached list of all beans which match the descriptor
+	 *
+	 * @param <BEAN_TYPE> indicating the type of the beans that are to be retrieved
+	 * @param descriptor  {@link Descriptor} describing the desired beans
+	 * @return {@link List} of the beans, or null if they are not cached
+	 */
+	@SuppressWarnings("unchecked")
+	<BEAN_TYPE> List<BEAN_TYPE> getAllBeans(Descriptor<BEAN_TYPE> descriptor) {
+		if (!descriptor.isInterned())
+			return null;
+
+		List<BEAN_TYPE> beans = (List<BEAN_TYPE>) allBeans.get(new Key(descriptor));
+		if (beans != null)
+			hits.increment();
+		return beans;
+	}
+
+	/**
+	 * Cache the list of all beans which match the descriptor. This must only be done where all of the beans are singletons, so that the same beans would be retrieved
+	 * again.
+	 *
+	 * @param descriptor      {@link Descriptor} describing the beans
+	 * @param beans           {@link List} of the beans, which must not be modified
+	 * @param startGeneration long the generation of the cache when the beans started to be retrieved
+	 */
+	void putAllBeans(Descriptor<?> descriptor, List<?> beans, long startGeneration) {
+		if (descriptor.isInterned())
+			put(allBeans, new Key(descriptor), beans, startGeneration);
+	}
+
+	/**
+	 * Get the current generation of the cache
+	 *
+	 * @return long the generation
+	 */
+	synchronized long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Place the result in the cache, provided that no results were evicted while it was being searched for
+	 *
+	 * @param <VALUE>         the type of value that is cached
+	 * @param cache           {@link Map} where the result is to be placed
+	 * @param key             {@link Key} of the descriptor that was searched for
+	 * @param result          VALUE that was found
+	 * @param startGeneration long the generation of the cache when the search was started
+	 */
+	private synchronized <VALUE> void put(Map<Key, VALUE> cache, Key key, VALUE result, long startGeneration) {
+		if (generation != startGeneration)
+			return;
+
+		cache.put(key, result);
+		if (registry.isIndexed(key.descriptor.getBeanType()))
+			keysByType.computeIfAbsent(key.descriptor.getBeanType().getFullyQualifiedName(), k -> new HashSet<>()).add(key);
+		else
+			unindexedKeys.add(key);
+	}
+
+	/**
+	 * Evict all cached results which can be changed by the recipe being added or removed
+	 *
+	 * @param recipe {@link AbstractRecipe} which was added or removed
+	 */
+	void invalidate(AbstractRecipe<?, ?> recipe) {
+		invalidate(Collections.singletonList(recipe));
+	}
+
+	/**
+	 * Evict all cached results which can be changed by any of the recipes being added or removed. Only the results for the types within the hierarchy of each recipe
+	 * (and those whose type is not indexed) are checked.
+	 *
+	 * @param recipes {@link Collection} of {@link AbstractRecipe}s which were added or removed
+	 */
+	synchronized void invalidate(Collection<? extends AbstractRecipe<?, ?>> recipes) {
+		generation++;
+		for (AbstractRecipe<?, ?> recipe : recipes) {
+			Set<String> types = registry.getIndexedTypes(recipe);
+			if (types == null)
+				keysByType.values().forEach(keys -> evictMatching(recipe, keys));
+			else {
+				for (String t : types) {
+					Set<Key> keys = keysByType.get(t);
+					if (keys != null)
+						evictMatching(recipe, keys);
+				}
+			}
+			evictMatching(recipe, unindexedKeys);
+		}
+		keysByType.values().removeIf(Set::isEmpty);
+	}
+
+	/**
+	 * Evict the cached results of all keys which the recipe matches
+	 *
+	 * @param recipe {@link AbstractRecipe} which was added or removed
+	 * @param keys   {@link Set} of the {@link Key}s which the recipe may match, from which the evicted keys are removed
+	 */
+	private void evictMatching(AbstractRecipe<?, ?> recipe, Set<Key> keys) {
+		keys.removeIf(k -> {
+			if (!recipe.getDescription().matches(k.descriptor))
+				return false;
+
+			for (Map<Key, RecipeSearchResult<?>> cache : results.values())
+				cache.remove(k);
+			allBeans.remove(k);
+			return true;
+		});
+	}
+
+	/**
+	 * Evict all cached results
+	 */
+	synchronized void invalidateAll() {
+		generation++;
+		results.values().forEach(Map::clear);
+		allBeans.clear();
+		keysByType.clear();
+		unindexedKeys.clear();
+	}
+
+	/**
+	 * Get the number of cached results (including lists of beans)
+	 *
+	 * @return int the number of results
+	 */
+	int size() {
+		int size = allBeans.size();
+		for (Map<Key, RecipeSearchResult<?>> cache : results.values())
+			size += cache.size();
+		return size;
+	}
+
+	/**
+	 * Get the number of searches which were resolved from the cache
+	 *
+	 * @return long the number of cache hits
+	 */
+	long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Get the number of searches which could be cached, but had to be performed
+	 *
+	 * @return long the number of cache misses
+	 */
+	long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Key of a cached result, comparing the descriptor by identity
+	 */
+	private static class Key {
+		/** The descriptor that was searched for */
+		private final Descriptor<?> descriptor;
+
+		/**
+		 * CTOR
+		 *
+		 * @param descriptor {@link Descriptor} that was searched for
+		 */
+		private Key(Descriptor<?> descriptor) {
+			this.descriptor = descriptor;
+		}
+
+		/**
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(descriptor);
+		}
+
+		/**
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key other && other.descriptor == descriptor;
+		}
+	}
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.context;
+
+/**
+ * Indicates when the singleton beans within the {@link ApplicationContext} are to be created.
+ */
+public enum SingletonInitialization {
+	/** Each singleton is created when it is first accessed */
+	LAZY,
+	/**
+	 * All singletons are created in parallel (respecting their dependencies) when the context is built, before the runner is started. Where only the
+	 * {@link RecipeLoading#REACHABLE} recipes are loaded, only the singletons which the runner reaches are created, when the context is started.
+	 */
+	EAGER,
+	/**
+	 * The runner is started without waiting for the singletons, which are instead created in the background (in dependency order) with a limited number of threads.
+	 * Accessing a singleton whose creation is in progress waits for it to be created, rather than creating it anew.
+	 */
+	BACKGROUND
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.context;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import tendril.TendrilStartupException;
+import tendril.bean.recipe.AbstractRecipe;
+
+/**
+ * Creates the beans of all singleton recipes ahead of time. The dependencies between the singletons are taken from the {@link DependencyGraph}, with each singleton only
+ * being scheduled once all of the singletons it depends on have been created, such that independent portions of the graph are created in parallel and the overall time
+ * taken is dictated by the longest chain of dependencies rather than the total number of beans.
+ * 
+ * As the graph is determined from the descriptors which the recipes consume, it includes the dependencies which are retrieved when the bean is constructed as well as
+ * those which are linked. Should a dependency nonetheless be missed, it is simply retrieved (and if necessary created) as part of the construction, waiting for any
+ * other thread which is already constructing it. Singletons which form a cycle are created once all others have been, as their construction is expected to fail.
+ */
+class SingletonInstantiator {
+
+	/** Logger for creating log messages when running */
+	private static Logger LOGGER = Logger.getLogger(SingletonInstantiator.class.getSimpleName());
+
+	/**
+	 * A singleton to create, within the dependency graph
+	 */
+	private static class Node {
+		/** The recipe which creates the singleton */
+		private final AbstractRecipe<?, ?> recipe;
+		/** The nodes which depend on this one */
+		private final List<Node> dependents = new ArrayList<>();
+		/** The number of dependencies which have yet to be created */
+		private final AtomicInteger pending = new AtomicInteger();
+
+		/**
+		 * CTOR
+		 * 
+		 * @param recipe {@link AbstractRecipe} which creates the singleton
+		 */
+		private Node(AbstractRecipe<?, ?> recipe) {
+			this.recipe = recipe;
+		}
+	}
+
+	/** The nodes which have no dependencies, and can therefore be created immediately */
+	private final List<Node> roots = new ArrayList<>();
+	/** The number of nodes which can be scheduled in dependency order */
+	private final int scheduled;
+	/** The nodes which are part of (or depend on) a dependency cycle */
+	private final List<Node> cyclic = new ArrayList<>();
+	/** The reason why the creation of a singleton could not be scheduled (null if all have been) */
+	private final AtomicReference<RejectedExecutionException> rejected = new AtomicReference<>();
+
+	/**
+	 * CTOR
+	 * 
+	 * @param graph   {@link DependencyGraph} of the dependencies between the recipes
+	 * @param recipes {@link Collection} of {@link AbstractRecipe}s whose singletons are to be created
+	 */
+	SingletonInstantiator(DependencyGraph graph, Collection<AbstractRecipe<?, ?>> recipes) {
+		Node[] graphNodes = new Node[graph.size()];
+		List<Node> nodes = new ArrayList<>();
+		for (AbstractRecipe<?, ?> r : recipes) {
+			if (!r.isSingleton())
+				continue;
+
+			Node n = new Node(r);
+			nodes.add(n);
+			int index = graph.indexOf(r);
+			if (index >= 0)
+				graphNodes[index] = n;
+		}
+
+		for (int index = 0; index < graphNodes.length; index++) {
+			Node n = graphNodes[index];
+			if (n == null)
+				continue;
+
+			Set<Node> dependencies = Collections.newSetFromMap(new IdentityHashMap<>());
+			BitSet visited = new BitSet(graphNodes.length);
+			visited.set(index);
+			collectDependencies(graph, index, graphNodes, dependencies, visited);
+			dependencies.remove(n);
+			for (Node d : dependencies)
+				d.dependents.add(n);
+			n.pending.set(dependencies.size());
+		}
+
+		scheduled = determineSchedule(nodes);
+	}
+
+	/**
+	 * Collect the singletons which the node depends on. Dependencies which are not singletons to be created are followed through to their own dependencies, as these
+	 * are created as part of the construction of the singleton.
+	 * 
+	 * @param graph        {@link DependencyGraph} of the dependencies between the recipes
+	 * @param node         int the index of the node in the graph whose dependencies are to be collected
+	 * @param nodes        {@link Node}[] of the singleton to be created for each node in the graph (null where there is none)
+	 * @param dependencies {@link Set} where the dependencies are to be collected
+	 * @param visited      {@link BitSet} of the nodes in the graph which have already been visited
+	 */
+	private void collectDependencies(DependencyGraph graph, int node, Node[] nodes, Set<Node> dependencies, BitSet visited) {
+		for (int dependency : graph.getDependencies(node)) {
+			if (visited.get(dependency))
+				continue;
+
+			visited.set(dependency);
+			if (nodes[dependency] != null)
+				dependencies.add(nodes[dependency]);
+			else
+				collectDependencies(graph, dependency, nodes, dependencies, visited);
+		}
+	}
+
+	/**
+	 * Determine which of the nodes can be created in dependency order, separating out those which are stuck behind a cycle.
+	 * 
+	 * @param nodes {@link Collection} of all {@link Node}s
+	 * @return int the number of nodes which can be scheduled
+	 */
+	private int determineSchedule(Collection<Node> nodes) {
+		Map<Node, Integer> remaining = new IdentityHashMap<>();
+		List<Node> ready = new ArrayList<>();
+		for (Node n : nodes) {
+			remaining.put(n, n.pending.get());
+			if (n.pending.get() == 0) {
+				ready.add(n);
+				roots.add(n);
+			}
+		}
+
+		int reached = 0;
+		while (!ready.isEmpty()) {
+			Node n = ready.remove(ready.size() - 1);
+			reached++;
+			for (Node d : n.dependents) {
+				if (remaining.merge(d, -1, Integer::sum) == 0)
+					ready.add(d);
+			}
+		}
+
+		// Whatever was not reached is part of a cycle, or depends on one
+		for (Node n : nodes) {
+			if (remaining.get(n) > 0)
+				cyclic.add(n);
+		}
+		return reached;
+	}
+
+	/**
+	 * Create all of the singletons, waiting until all have been created. A singleton which fails to be created is reported, however it does not prevent the creation
+	 * of any others. Its creation will be attempted again when it is accessed, at which point the failure is raised to the caller.
+	 * 
+	 * @param executor {@link ExecutorService} on which to create the singletons
+	 * @return int the number of singletons that were created
+	 * @throws TendrilStartupException if the executor refuses the creation of a singleton, or the waiting is interrupted
+	 */
+	int instantiate(ExecutorService executor) {
+		AtomicInteger created = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(scheduled);
+		for (Node n : roots)
+			submit(n, executor, done, created);
+
+		try {
+			done.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TendrilStartupException("Interrupted while creating singletons", e);
+		}
+		if (rejected.get() != null)
+			throw new TendrilStartupException("Unable to schedule the creation of the singletons", rejected.get());
+
+		for (Node n : cyclic) {
+			if (create(n))
+				created.incrementAndGet();
+		}
+
+		return created.get();
+	}
+
+	/**
+	 * Submit the node for creation, scheduling all of its dependents once it has been created. Should the executor refuse the node, the remaining singletons
+	 * cannot be created and waiting for them is abandoned.
+	 * 
+	 * @param node     {@link Node} to create
+	 * @param executor {@link ExecutorService} on which to create the singleton
+	 * @param done     {@link CountDownLatch} to notify when the node is complete
+	 * @param created  {@link AtomicInteger} counting the number of created singletons
+	 */
+	private void submit(Node node, ExecutorService executor, CountDownLatch done, AtomicInteger created) {
+		try {
+			executor.execute(() -> {
+				try {
+					if (create(node))
+						created.incrementAndGet();
+				} finally {
+					for (Node d : node.dependents) {
+						if (d.pending.decrementAndGet() == 0)
+							submit(d, executor, done, created);
+					}
+					done.countDown();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			rejected.compareAndSet(null, e);
+			while (done.getCount() > 0)
+				done.countDown();
+		}
+	}
+
+	/**
+	 * Create the singleton of the node
+	 * 
+	 * @param node {@link Node} whose singleton is to be created
+	 * @return boolean true if the singleton was created
+	 */
+	private boolean create(Node node) {
+		try {
+			node.recipe.get();
+			return true;
+		} catch (Throwable e) {
+			LOGGER.log(Level.WARNING, "Unable to eagerly create " + node.recipe.getDescription(), e);
+			return false;
+		}
+	}
+}
@@ -8,7 +8,6 @@ import tendril.annotationprocessor.exception.InvalidConfigurationException;
 import tendril.annotationprocessor.exception.TendrilException;
 import tendril.bean.Bean;
 import tendril.bean.Configuration;
-import tendril.bean.NoBeanOverrideClass;
 import tendril.codegen.JBase;
 import tendril.codegen.annotation.JAnnotationFactory;
 import tendril.codegen.field.type.ClassType;
@@ -20,8 +19,6 @@ import tendril.processor.recipe.RecipeGenerator;
  * generation.
  */
 public abstract class AbstractBeanProcessor extends AbstractDelayedAnnotationTendrilProcessor {
-	/** The type which indicate no override is present */
-	private static final ClassType noOverride = TypeFactory.createClassType(NoBeanOverrideClass.class);
 	/** The class of the registry annotation which is to be applied to the generated recipe */
 	private final Class<? extends Annotation> registryAnnotation;
 	private final ClassType annotationType;
@@ -44,7 +41,7 @@ public abstract class AbstractBeanProcessor extends AbstractDelayedAnnotationTen
 	 */
 	@Override
 	protected ClassDefinition processType() throws TendrilException {
-		return RecipeGenerator.generate(getOverride(currentClass), currentClassType, currentClass, processingEnv.getMessager(), registryAnnotation);
+		return RecipeGenerator.generate(getOverride(currentClass), currentClassType, currentClass, processingEnv, registryAnnotation);
 	}
 
 	/**
@@ -66,10 +63,6 @@ public abstract class AbstractBeanProcessor extends AbstractDelayedAnnotationTen
 	 * @return {@link ClassType} to use as the override or {@code null} if none specified
 	 */
 	private ClassType getOverride(JBase element) {
-		ClassType overrideType = AnnotationHelper.retrieveClassType(element, annotationType, "value");
-		if (overrideType == null || overrideType.equals(noOverride))
-			return null;
-
-		return overrideType;
+		return AnnotationHelper.retrieveTypeOverride(element, annotationType);
 	}
 }
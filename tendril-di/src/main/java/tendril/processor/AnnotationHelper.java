@@ -1,12 +1,24 @@
 package tendril.processor;
 
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 import tendril.bean.Bean;
+import tendril.bean.NoBeanOverrideClass;
 import tendril.bean.duplicate.Duplicate;
+import tendril.bean.qualifier.EnumQualifier;
+import tendril.bean.qualifier.Named;
+import tendril.bean.qualifier.Qualifier;
+import tendril.bean.requirement.Requirement;
 import tendril.codegen.JBase;
 import tendril.codegen.annotation.JAnnotation;
+import tendril.codegen.classes.EnumerationEntry;
 import tendril.codegen.classes.method.JMethod;
 import tendril.codegen.field.type.ClassType;
 import tendril.codegen.field.type.TypeFactory;
+import tendril.codegen.field.value.JValue;
 import tendril.codegen.field.value.JValueClass;
 
 /**
@@ -15,6 +27,36 @@ import tendril.codegen.field.value.JValueClass;
 public abstract class AnnotationHelper {
 	/** The annotation which denotes a duplicate */
 	private static final ClassType duplicateAnnotation = TypeFactory.createClassType(Duplicate.class);
+	/** The annotation which names a bean */
+	private static final ClassType namedAnnotation = TypeFactory.createClassType(Named.class);
+	/** The type which indicate no override is present */
+	private static final ClassType noOverride = TypeFactory.createClassType(NoBeanOverrideClass.class);
+
+	/**
+	 * Visitor for the elements which make up the descriptor of a bean
+	 */
+	public interface DescriptorVisitor {
+		/**
+		 * Called when the bean is named
+		 * 
+		 * @param name {@link String} the name of the bean
+		 */
+		void name(String name);
+
+		/**
+		 * Called for each enum qualifier that is applied to the bean
+		 * 
+		 * @param entry {@link EnumerationEntry} which qualifies the bean
+		 */
+		void enumQualifier(EnumerationEntry entry);
+
+		/**
+		 * Called for each qualifier annotation that is applied to the bean
+		 * 
+		 * @param qualifier {@link ClassType} of the qualifier annotation
+		 */
+		void qualifier(ClassType qualifier);
+	}
 
 	/**
 	 * Hidden CTOR
@@ -32,6 +74,21 @@ public abstract class AnnotationHelper {
 		return retrieveClassType(element, duplicateAnnotation, "value");
 	}
 
+	/**
+	 * Retrieve the type which the bean annotation on the element indicates the bean is to be advertised as
+	 * 
+	 * @param element    {@link JBase} element on which the annotation is expected to be placed
+	 * @param annotation {@link ClassType} of the bean annotation (i.e.: {@link Bean})
+	 * @return {@link ClassType} to use as the override or {@code null} if none specified
+	 */
+	public static ClassType retrieveTypeOverride(JBase element, ClassType annotation) {
+		ClassType overrideType = retrieveClassType(element, annotation, "value");
+		if (overrideType == null || overrideType.equals(noOverride))
+			return null;
+
+		return overrideType;
+	}
+
 	/**
 	 * Retrieve the a class attribute from an annotation applies to an element
 	 * 
@@ -55,4 +112,61 @@ public abstract class AnnotationHelper {
 		return null;
 	}
 
+	/**
+	 * Visit the descriptor elements (name and qualifiers) that are applied to an element, including those applied via the annotations on the element.
+	 * 
+	 * @param element {@link JBase} whose descriptor is to be visited
+	 * @param visitor {@link DescriptorVisitor} to notify of each descriptor element
+	 */
+	public static void visitDescriptor(JBase element, DescriptorVisitor visitor) {
+		for (JAnnotation a : element.getAnnotations()) {
+			if (a.getType().equals(namedAnnotation)) {
+				visitor.name(a.getValue(a.getAttributes().get(0)).getValue().toString());
+			} else if (a.hasAnnotation(EnumQualifier.class)) {
+				visitor.enumQualifier((EnumerationEntry) a.getValue(a.getAttributes().get(0)).getValue());
+			} else if (a.hasAnnotation(Qualifier.class)) {
+				visitor.qualifier(a.getType());
+			} else {
+				visitDescriptor(a, visitor);
+			}
+		}
+	}
+
+	/**
+	 * Retrieve the requirement that the annotations applied to an element impose
+	 * 
+	 * @param element       {@link JBase} on which the requirements are placed
+	 * @param requires      {@link Class} extending {@link Annotation} representing the annotation for all required (AND)
+	 * @param requiresOneOf {@link Class} extending {@link Annotation} representing the annotation for one of required (OR)
+	 * @param requiresNot   {@link Class} extending {@link Annotation} representing the annotation for none (NOT)
+	 * @return {@link Requirement} imposed by the element
+	 */
+	public static Requirement retrieveRequirement(JBase element, Class<? extends Annotation> requires, Class<? extends Annotation> requiresOneOf,
+			Class<? extends Annotation> requiresNot) {
+		Requirement requirement = new Requirement();
+		retrieveRequirementValues(element, TypeFactory.createClassType(requires), values -> values.forEach(requirement::addRequired));
+		retrieveRequirementValues(element, TypeFactory.createClassType(requiresOneOf), values -> requirement.addRequiredOneOf(values.toArray(new String[values.size()])));
+		retrieveRequirementValues(element, TypeFactory.createClassType(requiresNot), values -> values.forEach(requirement::addRequiredNot));
+		return requirement;
+	}
+
+	/**
+	 * Retrieve the values of each application of the requirement annotation to the element (including via the annotations on the element)
+	 * 
+	 * @param element    {@link JBase} on which the requirements are placed
+	 * @param annotation {@link ClassType} of the requirement annotation
+	 * @param consumer   {@link Consumer} to receive the {@link List} of values from each application of the annotation
+	 */
+	private static void retrieveRequirementValues(JBase element, ClassType annotation, Consumer<List<String>> consumer) {
+		for (JAnnotation a : element.getAnnotations()) {
+			if (a.getType().equals(annotation)) {
+				@SuppressWarnings("unchecked")
+				List<JValue<?, ?>> values = (List<JValue<?, ?>>) a.getValue(a.getAttributes().get(0)).getValue();
+				List<String> names = new ArrayList<>();
+				values.forEach(v -> names.add(v.getValue().toString()));
+				consumer.accept(names);
+			} else
+				retrieveRequirementValues(a, annotation, consumer);
+		}
+	}
 }
@@ -49,7 +49,7 @@ public class ConfigurationProcessor extends AbstractDelayedAnnotationTendrilProc
 	 */
 	@Override
 	protected ClassDefinition processType() throws TendrilException {
-		return RecipeGenerator.generateConfiguration(currentClassType, currentClass, processingEnv.getMessager(), Registry.class);
+		return RecipeGenerator.generateConfiguration(currentClassType, currentClass, processingEnv, Registry.class);
 	}
 
 	/**
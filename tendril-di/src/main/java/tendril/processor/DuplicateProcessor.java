@@ -82,8 +82,8 @@ public class DuplicateProcessor extends AbstractDelayedAnnotationTendrilProcesso
 				throw new TendrilException("Unable to retrieve bluerprint class type");
 
 			// Generate the code
-			writeCode(RecipeGenerator.generateDuplicateSiblingBean(blueprint, currentClassType, currentClass, processingEnv.getMessager()));
-			return RecipeGenerator.generateDuplicateBean(blueprint, currentClassType, currentClass, processingEnv.getMessager(), Registry.class);
+			writeCode(RecipeGenerator.generateDuplicateSiblingBean(blueprint, currentClassType, currentClass, processingEnv));
+			return RecipeGenerator.generateDuplicateBean(blueprint, currentClassType, currentClass, processingEnv, Registry.class);
 		} catch (Exception e) {
 			throw new TendrilException("Unable to process " + currentClassType.getFullyQualifiedName(), e);
 		}
@@ -17,8 +17,11 @@ package tendril.processor.recipe;
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.processing.Messager;
 
@@ -34,12 +37,10 @@ import tendril.bean.Primary;
 import tendril.bean.Singleton;
 import tendril.bean.duplicate.Sibling;
 import tendril.bean.qualifier.Descriptor;
-import tendril.bean.qualifier.EnumQualifier;
-import tendril.bean.qualifier.Named;
-import tendril.bean.qualifier.Qualifier;
 import tendril.bean.recipe.AbstractRecipe;
 import tendril.bean.recipe.ConfigurationRecipe;
 import tendril.bean.recipe.FactoryRecipe;
+import tendril.bean.recipe.RecipeStub;
 import tendril.bean.recipe.SingletonRecipe;
 import tendril.bean.requirement.Requirement;
 import tendril.bean.requirement.RequiresEnv;
@@ -50,7 +51,6 @@ import tendril.bean.requirement.RequiresOneOfProp;
 import tendril.bean.requirement.RequiresProp;
 import tendril.codegen.JBase;
 import tendril.codegen.VisibilityType;
-import tendril.codegen.annotation.JAnnotation;
 import tendril.codegen.annotation.JAnnotationFactory;
 import tendril.codegen.classes.ClassBuilder;
 import tendril.codegen.classes.EnumerationEntry;
@@ -61,10 +61,10 @@ import tendril.codegen.field.JType;
 import tendril.codegen.field.type.ClassType;
 import tendril.codegen.field.type.Type;
 import tendril.codegen.field.type.TypeFactory;
-import tendril.codegen.field.value.JValue;
 import tendril.codegen.generics.GenericFactory;
 import tendril.context.Engine;
 import tendril.context.launch.Runner;
+import tendril.processor.AnnotationHelper;
 import tendril.util.TendrilStringUtil;
 
 /**
@@ -93,6 +93,12 @@ public abstract class AbstractRecipeGenerator<CREATOR extends JBase> {
 
 	/** Messager through which to provide "proper" feedback */
 	protected final Messager messager;
+	/** The type of the recipe which is being generated (only available once generation has started) */
+	protected ClassType recipeType = null;
+	/** The initialization code of the precomputed dependency descriptors, mapped to the name of the constant in which the descriptor is held */
+	private final Map<String, String> dependencyConstants = new LinkedHashMap<>();
+	/** The code which adds the descriptors of the consumed beans to the lists of consumed descriptors (in the order they are consumed, without repetition) */
+	private final Set<String> consumedDescriptors = new LinkedHashSet<>();
 
 	/**
 	 * CTOR
@@ -133,6 +139,7 @@ public abstract class AbstractRecipeGenerator<CREATOR extends JBase> {
 	 * @throws TendrilException if an issue is encountered
 	 */
 	ClassDefinition generate(ClassType recipeType, Class<? extends Annotation> registryAnnotation) throws TendrilException {
+		this.recipeType = recipeType;
 		validateCreator();
 
 		// The parent class
@@ -144,7 +151,48 @@ public abstract class AbstractRecipeGenerator<CREATOR extends JBase> {
 			clsBuilder.addAnnotation(JAnnotationFactory.create(registryAnnotation));
 
 		populateBuilder(clsBuilder);
-		return new ClassDefinition(recipeType, clsBuilder.build().generateCode());
+		generateConsumedDescriptors(clsBuilder);
+		ClassType constantType = TypeFactory.createClassType(Descriptor.class, GenericFactory.createWildcard());
+		dependencyConstants.forEach((init, name) -> clsBuilder.buildField(constantType, name).setVisibility(VisibilityType.PRIVATE).setStatic(true).setFinal(true)
+				.setCustomInitialization(init).finish());
+		ClassDefinition definition = new ClassDefinition(recipeType, clsBuilder.build().generateCode());
+		generateSupportingDefinitions().forEach(definition::addSupportingDefinition);
+		return definition;
+	}
+
+	/**
+	 * Generate the setupConsumedDescriptors() method, through which the recipe provides the descriptors of all beans it consumes. Only generated if the bean consumes
+	 * any beans.
+	 * 
+	 * @param builder {@link ClassBuilder} where the recipe is being defined
+	 */
+	private void generateConsumedDescriptors(ClassBuilder builder) {
+		List<String> code = getConsumedDescriptorCode();
+		if (code.isEmpty())
+			return;
+
+		ClassType listType = TypeFactory.createClassType(List.class, GenericFactory.create(TypeFactory.createClassType(Descriptor.class, GenericFactory.createWildcard())));
+		builder.buildMethod("setupConsumedDescriptors").setVisibility(VisibilityType.PROTECTED).addAnnotation(JAnnotationFactory.create(Override.class))
+				.buildParameter(listType, "beans").finish().buildParameter(listType, "allBeans").finish().addCode(code.toArray(new String[code.size()])).finish();
+	}
+
+	/**
+	 * Get the code which populates the lists of consumed descriptors ({@code beans} and {@code allBeans}). By default these are the descriptors of all dependencies
+	 * which the generated recipe retrieves.
+	 * 
+	 * @return {@link List} of {@link String}s containing the code
+	 */
+	protected List<String> getConsumedDescriptorCode() {
+		return new ArrayList<>(consumedDescriptors);
+	}
+
+	/**
+	 * Generate the supporting classes which the recipe requires. This is called once the recipe itself has been generated, by default no supporting classes are required.
+	 * 
+	 * @return {@link List} of {@link ClassDefinition}s of the supporting classes
+	 */
+	protected List<ClassDefinition> generateSupportingDefinitions() {
+		return new ArrayList<>();
 	}
 
 	/**
@@ -205,12 +253,27 @@ public abstract class AbstractRecipeGenerator<CREATOR extends JBase> {
 	 * @throws InvalidConfigurationException if the annotated code is improperly configured
 	 */
 	protected void addParameterInjection(List<String> code, List<JParameter<?>> params, String retrievePrefix, String applyPrefix) throws InvalidConfigurationException {
+		addParameterInjection(code, params, retrievePrefix, applyPrefix, "");
+	}
+
+	/**
+	 * Generate the necessary code to load the parameters to be injected into separate variables and pass them into the injectee, with each passed parameter being
+	 * prefixed (i.e.: with a cast).
+	 * 
+	 * @param code           {@link List} of {@link String}s where the generated code is to be placed
+	 * @param params         {@link List} of {@link JParameter}s that are to be processed
+	 * @param retrievePrefix {@link String} prefix to place before each line of dependency retrieval (i.e.: indentation)
+	 * @param applyPrefix    {@link String} prefix to apply before the parameters (i.e.: the generated application is "applyPrefix(params);")
+	 * @param argumentPrefix {@link String} prefix to apply before each parameter that is passed
+	 * @throws InvalidConfigurationException if the annotated code is improperly configured
+	 */
+	protected void addParameterInjection(List<String> code, List<JParameter<?>> params, String retrievePrefix, String applyPrefix, String argumentPrefix) throws InvalidConfigurationException {
 		for (JParameter<?> p : params) {
 			String varName = "_" + p.getName();
 			String varType = p.getType().getCodeName() + p.getGenericsApplicationKeyword(false);
 			code.add(retrievePrefix + varType + " " + varName + " = " + createParameterInjectionCodeRhs(code, p, varName, varType) + ";");
 		}
-		code.add(applyPrefix + TendrilStringUtil.join(params, ", ", p -> "_" + p.getName()) + ");");
+		code.add(applyPrefix + TendrilStringUtil.join(params, ", ", p -> argumentPrefix + "_" + p.getName()) + ");");
 	}
 
 	/**
@@ -232,7 +295,7 @@ public abstract class AbstractRecipeGenerator<CREATOR extends JBase> {
 		if (param.hasAnnotation(InjectAll.class)) {
 			Type nestedType = getInjectAllType(param);
 			addDependencyDescriptor(code, nestedType.getCodeName(), descName, param, nestedType);
-			engineCall += "getAllBeans" + "(" + descName + ")";
+			engineCall += "getSharedAllBeans" + "(" + descName + ")";
 		} else {
 			addDependencyDescriptor(code, type, descName, param);
 			engineCall += "getBean" + "(" + descName + ")";
@@ -277,9 +340,122 @@ public abstract class AbstractRecipeGenerator<CREATOR extends JBase> {
 	 * @param builder {@link ClassBuilder} where the recipe is being defined
 	 */
 	protected void generateRecipeDescriptor(ClassBuilder builder) {
+		ClassType descriptorType = TypeFactory.createClassType(Descriptor.class, GenericFactory.create(advertisedType));
+		List<String> lines = getDescriptorLines(creator);
 		builder.buildMethod("setupDescriptor").addAnnotation(JAnnotationFactory.create(Override.class)).setVisibility(VisibilityType.PROTECTED)
-				.buildParameter(TypeFactory.createClassType(Descriptor.class, GenericFactory.create(advertisedType)), "descriptor").finish()
-				.addCode(wrapLines(getDescriptorLines(creator), "descriptor.", ";")).finish();
+				.buildParameter(descriptorType, "descriptor").finish()
+				.addCode(wrapLines(lines, "descriptor.", ";")).finish();
+
+		// Allow for the bean to be retrieved without having to describe it anew
+		if (hasStaticDescriptor(creator)) {
+			String init = "new " + Descriptor.class.getName() + "<" + advertisedType.getCodeName() + ">(" + RecipeGeneratorHelper.getClassReference(advertisedType) + ")";
+			builder.buildField(descriptorType, "DESCRIPTOR").setVisibility(VisibilityType.PUBLIC).setStatic(true).setFinal(true)
+					.setCustomInitialization(init + chainLines(lines) + ".intern()").finish();
+		}
+	}
+
+	/**
+	 * Get the code which creates a {@link RecipeStub} for the recipe, through which a configuration can register the bean without creating the recipe itself. The stub is
+	 * created from the description, priorities, and life cycle of the bean, with its requirements populated by the configuration once it has been created. The
+	 * configuration creates the actual recipe when the stub is first used.
+	 * 
+	 * @param index     int the index of the nested recipe within the configuration
+	 * @param blueprint {@link String} code referencing the blueprint of the copy the recipe is to create ({@code null} if the bean is not duplicated)
+	 * @return {@link String} the code which creates the stub
+	 * @throws InvalidConfigurationException if the lifecycle of the bean cannot be determined
+	 */
+	String getStubCode(int index, String blueprint) throws InvalidConfigurationException {
+		String descriptor = "new " + Descriptor.class.getName() + "<" + advertisedType.getCodeName() + ">(" + RecipeGeneratorHelper.getClassReference(advertisedType) + ")"
+				+ chainLines(getStubDescriptorLines(blueprint));
+		if (blueprint == null && hasStaticDescriptor(creator))
+			descriptor += ".intern()";
+
+		boolean isSingleton = SingletonRecipe.class.isAssignableFrom(getRecipeClass());
+		return "new " + RecipeStub.class.getName() + "<" + advertisedType.getCodeName() + ">(this, " + index + ", " + blueprint + ", " + descriptor + ", " + isPrimary + ", "
+				+ isFallback + ", " + isSingleton + ").populateRequirements()";
+	}
+
+	/**
+	 * Get the lines describing the bean within the {@link RecipeStub}. By default this is the same description as the recipe applies to its own descriptor.
+	 * 
+	 * @param blueprint {@link String} code referencing the blueprint of the copy the recipe is to create ({@code null} if the bean is not duplicated)
+	 * @return {@link List} of {@link String}s containing the descriptor updates
+	 */
+	protected List<String> getStubDescriptorLines(String blueprint) {
+		return getDescriptorLines(creator);
+	}
+
+	/**
+	 * Get the code which populates the requirements of the {@link RecipeStub}
+	 * 
+	 * @param environment {@link String} name of the environment {@link Requirement} to populate
+	 * @param property    {@link String} name of the property {@link Requirement} to populate
+	 * @return {@link List} of {@link String}s containing the code
+	 */
+	List<String> getStubRequirementCode(String environment, String property) {
+		List<String> code = new ArrayList<>();
+		code.addAll(List.of(wrapLines(getRequirementLines(creator, RequiresEnv.class, RequiresOneOfEnv.class, RequiresNotEnv.class), environment + ".", ";")));
+		code.addAll(List.of(wrapLines(getRequirementLines(creator, RequiresProp.class, RequiresOneOfProp.class, RequiresNotProp.class), property + ".", ";")));
+		return code;
+	}
+
+	/**
+	 * Get the code which populates the lists of descriptors ({@code beans} and {@code allBeans}) of the beans which the {@link RecipeStub} consumes, such that the
+	 * dependencies of the bean are known without the actual recipe being created. The descriptors are only known once the recipe is generated, so the recipe is
+	 * generated (and discarded) to collect them. The constants of the recipe are not available to the configuration, so the descriptors are created in their stead.
+	 * 
+	 * @param recipeType {@link ClassType} of the actual recipe
+	 * @param blueprint  {@link String} code referencing the blueprint of the copy the recipe is to create ({@code null} if the bean is not duplicated)
+	 * @return {@link List} of {@link String}s containing the code
+	 * @throws TendrilException if the recipe cannot be generated
+	 */
+	List<String> getStubConsumedDescriptorCode(ClassType recipeType, String blueprint) throws TendrilException {
+		generate(recipeType, null);
+
+		List<String> code = new ArrayList<>();
+		for (String line : getStubConsumedDescriptorLines(blueprint)) {
+			for (Map.Entry<String, String> constant : dependencyConstants.entrySet())
+				line = line.replace("(" + constant.getValue() + ")", "(" + constant.getKey() + ")");
+			code.add(line);
+		}
+		return code;
+	}
+
+	/**
+	 * Get the lines which populate the consumed descriptors of the {@link RecipeStub}. By default these are the same as the recipe populates its own with.
+	 * 
+	 * @param blueprint {@link String} code referencing the blueprint of the copy the recipe is to create ({@code null} if the bean is not duplicated)
+	 * @return {@link List} of {@link String}s containing the code
+	 */
+	protected List<String> getStubConsumedDescriptorLines(String blueprint) {
+		return new ArrayList<>(consumedDescriptors);
+	}
+
+	/**
+	 * Check whether the descriptor of the element is static, meaning that it is the same for every instance of the recipe. Only static descriptors can be precomputed
+	 * and held in constants, all others must be created by the recipe instance. By default all descriptors are static.
+	 * 
+	 * @param element {@link JBase} whose descriptor is to be checked
+	 * @return boolean true if the descriptor is static
+	 */
+	protected boolean hasStaticDescriptor(JBase element) {
+		return true;
+	}
+
+	/**
+	 * Chain the descriptor lines into a series of calls that can be appended to the creation of the descriptor
+	 * 
+	 * @param lines {@link List} of {@link String}s containing the descriptor lines
+	 * @return {@link String} the chained calls
+	 */
+	private String chainLines(List<String> lines) {
+		StringBuilder chain = new StringBuilder();
+		for (String s : lines) {
+			if (!s.isBlank())
+				chain.append(".").append(s);
+		}
+
+		return chain.toString();
 	}
 
 	/**
@@ -356,8 +532,21 @@ public abstract class AbstractRecipeGenerator<CREATOR extends JBase> {
 	 */
 	protected void addDependencyDescriptor(List<String> code, String descType, String descName, JType<?> describedBean, Type beanType) {
 		String descClass = Descriptor.class.getName();
-		code.add(descClass + "<" + descType + "> " + descName + " = new " + descClass + "<>(" + RecipeGeneratorHelper.getClassReference(beanType) + ", \"" + describedBean.getName() + "\");");
+		String creation = "new " + descClass + "<>(" + RecipeGeneratorHelper.getClassReference(beanType) + ", \"" + describedBean.getName() + "\")";
+		String consumedList = describedBean.hasAnnotation(InjectAll.class) ? "allBeans" : "beans";
+
+		if (hasStaticDescriptor(describedBean)) {
+			// Precompute the descriptor once, reusing an identical one if it was already created
+			String init = creation + chainLines(getDescriptorLines(describedBean)) + ".intern()";
+			String constant = dependencyConstants.computeIfAbsent(init, i -> "_dependency" + dependencyConstants.size());
+			code.add(descClass + "<" + descType + "> " + descName + " = dependency(" + constant + ");");
+			consumedDescriptors.add(consumedList + ".add(" + constant + ");");
+			return;
+		}
+
+		consumedDescriptors.add(consumedList + ".add(" + creation + chainLines(getDescriptorLines(describedBean)) + ");");
 
+		code.add(descClass + "<" + descType + "> " + descName + " = " + creation + ";");
 		for (String s : getDescriptorLines(describedBean)) {
 			if (s.isBlank())
 				continue;
@@ -373,20 +562,22 @@ public abstract class AbstractRecipeGenerator<CREATOR extends JBase> {
 	 */
 	protected List<String> getDescriptorLines(JBase element) {
 		List<String> lines = new ArrayList<>();
+		AnnotationHelper.visitDescriptor(element, new AnnotationHelper.DescriptorVisitor() {
+			@Override
+			public void name(String name) {
+				lines.add("setName(\"" + name + "\")");
+			}
 
-		ClassType namedType = TypeFactory.createClassType(Named.class);
-		for (JAnnotation a : element.getAnnotations()) {
-			if (a.getType().equals(namedType)) {
-				lines.add("setName(\"" + a.getValue(a.getAttributes().get(0)).getValue() + "\")");
-			} else if (a.hasAnnotation(EnumQualifier.class)) {
-				EnumerationEntry entry = (EnumerationEntry) a.getValue(a.getAttributes().get(0)).getValue();
+			@Override
+			public void enumQualifier(EnumerationEntry entry) {
 				lines.add("addEnumQualifier(" + entry.getEnclosingClass().getCodeName() + "." + entry.getName() + ")");
-			} else if (a.hasAnnotation(Qualifier.class)) {
-				lines.add("addQualifier(" + RecipeGeneratorHelper.getClassReference(a.getType()) + ")");
-			} else {
-				lines.addAll(getDescriptorLines(a));
 			}
-		}
+
+			@Override
+			public void qualifier(ClassType qualifier) {
+				lines.add("addQualifier(" + RecipeGeneratorHelper.getClassReference(qualifier) + ")");
+			}
+		});
 
 		return lines;
 	}
@@ -402,37 +593,10 @@ public abstract class AbstractRecipeGenerator<CREATOR extends JBase> {
 	private List<String> getRequirementLines(JBase element, Class<? extends Annotation> requiresAnnontation, Class<? extends Annotation> requiresOneOfAnnontation,
 			Class<? extends Annotation> requiresNotAnnontation) {
 		List<String> lines = new ArrayList<>();
-
-		// Account for any required environments
-		populateReqs(lines, element, requiresAnnontation, "addRequired", true);
-		populateReqs(lines, element, requiresOneOfAnnontation, "addRequiredOneOf", false);
-		populateReqs(lines, element, requiresNotAnnontation, "addRequiredNot", true);
+		Requirement requirement = AnnotationHelper.retrieveRequirement(element, requiresAnnontation, requiresOneOfAnnontation, requiresNotAnnontation);
+		requirement.getRequired().forEach(r -> lines.add("addRequired(\"" + r + "\")"));
+		requirement.getRequiredOneOf().forEach(group -> lines.add("addRequiredOneOf(" + TendrilStringUtil.join(group, r -> "\"" + r + "\"") + ")"));
+		requirement.getRequiredNot().forEach(r -> lines.add("addRequiredNot(\"" + r + "\")"));
 		return lines;
 	}
-
-	/**
-	 * Generate the code to account for requirements for the element
-	 * 
-	 * @param lines        {@link List} of {@link String}s where the code is stored as separate lines
-	 * @param element      {@link JBase} for whom the requirements to be generated
-	 * @param annotation   {@link Class} extending {@link Annotation} representing the annotation to search for
-	 * @param methodName   {@link String} the name of the method to use to apply the requirement
-	 * @param individually boolean flag {@code true} for whether the values are added individually to the method (i.e.: call the method for each entry), or {@false} as a vararg
-	 */
-	private void populateReqs(List<String> lines, JBase element, Class<? extends Annotation> annotation, String methodName, boolean individually) {
-		// Account for any requirements
-		ClassType reqAnnotation = TypeFactory.createClassType(annotation);
-		for (JAnnotation a : element.getAnnotations()) {
-			if (a.getType().equals(reqAnnotation)) {
-				@SuppressWarnings("unchecked")
-				List<JValue<?, ?>> envs = (List<JValue<?, ?>>) a.getValue(a.getAttributes().get(0)).getValue();
-				if (individually)
-					envs.forEach(e -> lines.add(methodName + "(\"" + e.getValue() + "\")"));
-				else {
-					lines.add(methodName + "(" + TendrilStringUtil.join(envs, e -> "\"" + e.getValue() + "\"") + ")");
-				}
-			} else
-				populateReqs(lines, a, annotation, methodName, individually);
-		}
-	}
 }
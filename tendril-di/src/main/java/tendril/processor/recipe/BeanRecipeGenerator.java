@@ -16,6 +16,7 @@
 package tendril.processor.recipe;
 
 import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
 
 import tendril.annotationprocessor.exception.TendrilException;
 import tendril.codegen.classes.ClassBuilder;
@@ -33,10 +34,23 @@ class BeanRecipeGenerator extends ClassRecipeGenerator {
 	 * @param advertisedType {@link ClassType} which the bean is advertised as
 	 * @param actualType     {@link ClassType} of the bean instance
 	 * @param bean           {@link JClass} where the bean is defined
-	 * @param messager       {@link Messager} that is used by the annotation processor
+	 * @param processingEnv  {@link ProcessingEnvironment} of the annotation processor
 	 */
-	BeanRecipeGenerator(ClassType advertisedType, ClassType actualType, JClass bean, Messager messager) {
-		super(advertisedType, actualType, bean, messager);
+	BeanRecipeGenerator(ClassType advertisedType, ClassType actualType, JClass bean, ProcessingEnvironment processingEnv) {
+		super(advertisedType, actualType, bean, processingEnv);
+	}
+
+	/**
+	 * CTOR
+	 * 
+	 * @param advertisedType {@link ClassType} which the bean is advertised as
+	 * @param actualType     {@link ClassType} of the bean instance
+	 * @param bean           {@link JClass} where the bean is defined
+	 * @param processingEnv  {@link ProcessingEnvironment} of the annotation processor
+	 * @param messager       {@link Messager} through which feedback is to be provided
+	 */
+	BeanRecipeGenerator(ClassType advertisedType, ClassType actualType, JClass bean, ProcessingEnvironment processingEnv, Messager messager) {
+		super(advertisedType, actualType, bean, processingEnv, messager);
 	}
 
 	/**
@@ -15,14 +15,22 @@
  */
 package tendril.processor.recipe;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.logging.Logger;
 
 import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
 
 import tendril.TendrilStartupException;
+import tendril.annotationprocessor.ClassDefinition;
 import tendril.annotationprocessor.exception.InvalidConfigurationException;
 import tendril.annotationprocessor.exception.TendrilException;
 import tendril.bean.Inject;
@@ -38,9 +46,11 @@ import tendril.codegen.annotation.JAnnotationFactory;
 import tendril.codegen.classes.ClassBuilder;
 import tendril.codegen.classes.JClass;
 import tendril.codegen.classes.JParameter;
+import tendril.codegen.classes.MethodBuilder;
 import tendril.codegen.classes.method.JConstructor;
 import tendril.codegen.classes.method.JMethod;
 import tendril.codegen.field.JField;
+import tendril.codegen.field.JVisibleType;
 import tendril.codegen.field.type.ClassType;
 import tendril.codegen.field.type.Type;
 import tendril.codegen.field.type.TypeFactory;
@@ -57,16 +67,35 @@ abstract class ClassRecipeGenerator extends AbstractRecipeGenerator<JClass> {
     
     // TODO When bean extends another class with injections, should it extend its recipe?
 
+    /** Builders of the accessors through which elements in other packages are injected, keyed by the class which contains the elements */
+    private final Map<ClassType, ClassBuilder> accessors = new LinkedHashMap<>();
+    /** Environment of the annotation processor, through which the types of the bean are examined */
+    protected final ProcessingEnvironment processingEnv;
+
     /**
      * CTOR
      * 
 	 * @param advertisedType {@link ClassType} which the bean is advertised as
 	 * @param actualType     {@link ClassType} of the bean instance
      * @param creator  {@link JClass} which defines and creates the bean
-     * @param messager {@link Messager} that is used by the annotation processor
+     * @param processingEnv {@link ProcessingEnvironment} of the annotation processor
      */
-    ClassRecipeGenerator(ClassType advertisedType, ClassType actualType, JClass creator, Messager messager) {
+    ClassRecipeGenerator(ClassType advertisedType, ClassType actualType, JClass creator, ProcessingEnvironment processingEnv) {
+        this(advertisedType, actualType, creator, processingEnv, processingEnv.getMessager());
+    }
+
+    /**
+     * CTOR
+     * 
+	 * @param advertisedType {@link ClassType} which the bean is advertised as
+	 * @param actualType     {@link ClassType} of the bean instance
+     * @param creator  {@link JClass} which defines and creates the bean
+     * @param processingEnv {@link ProcessingEnvironment} of the annotation processor
+     * @param messager {@link Messager} through which feedback is to be provided
+     */
+    ClassRecipeGenerator(ClassType advertisedType, ClassType actualType, JClass creator, ProcessingEnvironment processingEnv, Messager messager) {
         super(advertisedType, actualType, creator, messager);
+        this.processingEnv = processingEnv;
     }
     
     /**
@@ -157,13 +186,14 @@ abstract class ClassRecipeGenerator extends AbstractRecipeGenerator<JClass> {
     	addDependencyDescriptor(ctorLines, fieldTypeName, descName, field);
     	
         if (RecipeGeneratorHelper.requiresReflection(actualType, field)) {
+        	warnReflection(field);
 	        ctorLines.add("registerDependency(" + descName + ",");
 	        ctorLines.add("        new " + ReflectedFieldApplicator.class.getName() + "<" + consumerTypeName + ", " + fieldTypeName + ">(\"" + field.getFullElementPath() + "\", \"" + field.getName() + "\"));");
         } else {
 	        ctorLines.add("registerDependency(" + descName + ", new " + Applicator.class.getName() + "<" + consumerTypeName + ", " + fieldTypeName + ">() {");
 	        ctorLines.add("    @Override");
 	        ctorLines.add("    public void apply(" + consumerTypeName + " consumer, " + fieldTypeName + " bean) {");
-	    	ctorLines.add("        consumer." + field.getName() + " = bean;");
+	    	ctorLines.add("        " + getFieldAssignment(field, "bean"));
 	        ctorLines.add("    }");
 	        ctorLines.add("});");
         }
@@ -184,6 +214,7 @@ abstract class ClassRecipeGenerator extends AbstractRecipeGenerator<JClass> {
         	addDependencyDescriptor(ctorLines, beanTypeName, descName, field, beanType);
 
             if (RecipeGeneratorHelper.requiresReflection(actualType, field)) {
+            	warnReflection(field);
     	        ctorLines.add("registerInjector(new " + ReflectedFieldInjector.class.getName() + "<" + consumerTypeName + ", " + beanTypeName + ">(\"" + field.getFullElementPath() +
     	        		"\", \"" + field.getName() + "\",");
         		ctorLines.add("        " + descName + "));");
@@ -191,7 +222,7 @@ abstract class ClassRecipeGenerator extends AbstractRecipeGenerator<JClass> {
                 ctorLines.add("registerInjector(new " + Injector.class.getName() + "<" + consumerTypeName + ">() {");
                 ctorLines.add("    @Override");
                 ctorLines.add("    public void inject(" + consumerTypeName + " consumer, " + Engine.class.getName() + " engine) {");
-            	ctorLines.add("        consumer." + field.getName() + " = engine.getAllBeans(" + descName + ");");
+            	ctorLines.add("        " + getFieldAssignment(field, "engine.getSharedAllBeans(" + descName + ")"));
 	            ctorLines.add("    }");
 	            ctorLines.add("});");
     		}
@@ -209,7 +240,10 @@ abstract class ClassRecipeGenerator extends AbstractRecipeGenerator<JClass> {
             if (!method.getType().isVoid())
                 LOGGER.warning(method.getFullElementPath() + " consumer has a non-void return type");
 
+            boolean requiresReflection = RecipeGeneratorHelper.requiresReflection(actualType, method);
             ctorLines.add("registerInjector(new " + Injector.class.getName() + "<" + actualType.getCodeName() + ">() {");
+            if (requiresReflection)
+            	ctorLines.add("    private volatile " + MethodHandle.class.getName() + " _method;");
             ctorLines.add("    @Override");
             ctorLines.add("    public void inject(" + actualType.getCodeName() + " consumer, " + Engine.class.getName() + " engine) {");
 
@@ -218,15 +252,27 @@ abstract class ClassRecipeGenerator extends AbstractRecipeGenerator<JClass> {
                 messager.printWarning(method.getFullElementPath() + " has no parameters, this is a meaningless injection. Use @" + 
                         PostConstruct.class.getSimpleName() + " instead");
 
-            if (RecipeGeneratorHelper.requiresReflection(actualType, method))
+            if (requiresReflection) {
+            	warnReflection(method);
             	addReflectedMethodInjection(ctorLines, method, params);
+            } else if (RecipeGeneratorHelper.requiresAccessor(actualType, method))
+            	addParameterInjection(ctorLines, params, "        ", "        " + addMethodAccessor(method) + "(consumer" + (params.isEmpty() ? "" : ", "));
             else
-            	addParameterInjection(ctorLines, method.getParameters(), "        ", "        consumer." + method.getName() + "(");
+            	addParameterInjection(ctorLines, params, "        ", "        consumer." + method.getName() + "(");
             ctorLines.add("    }");
             ctorLines.add("});");
         }
     }
     
+    /**
+     * Generate the code for injecting a method which cannot be called directly from the recipe. The method is resolved into a {@link MethodHandle} the first time the
+     * injection is performed, with the handle being stored in the _method field of the injector so that subsequent injections call it directly.
+     * 
+     * @param ctorLines {@link List} of {@link String} lines that are already present in the recipe constructor
+     * @param method    {@link JMethod} which is to be injected
+     * @param params    {@link List} of {@link JParameter}s of the method
+     * @throws InvalidConfigurationException if the annotated code is improperly configured
+     */
     private void addReflectedMethodInjection(List<String> ctorLines, JMethod<?> method, List<JParameter<?>> params) throws InvalidConfigurationException {
     	String parmTypes = TendrilStringUtil.join(params, (p) -> {
     		ClassType pType = p.getType().asClassType();
@@ -235,17 +281,110 @@ abstract class ClassRecipeGenerator extends AbstractRecipeGenerator<JClass> {
     	
     	String divider = parmTypes.isBlank() ? "" : ", ";
     	ctorLines.add("        try {");
-    	ctorLines.add("            " + Method.class.getName() + " rm = findReflectedMethod(consumer.getClass(), \"" + method.getName() + "\"" + divider + parmTypes + ");");
-    	ctorLines.add("            @SuppressWarnings(\"deprecation\")");
-    	ctorLines.add("            boolean origAccess = rm.isAccessible();");
-    	ctorLines.add("            rm.setAccessible(true);");
-    	addParameterInjection(ctorLines, params, "            ", "            rm.invoke(consumer" + divider);
-    	ctorLines.add("            rm.setAccessible(origAccess);");
-    	ctorLines.add("        } catch (Exception ex) {");
+    	ctorLines.add("            " + MethodHandle.class.getName() + " handle = _method;");
+    	ctorLines.add("            if (handle == null)");
+    	ctorLines.add("                _method = handle = findReflectedMethodHandle(consumer.getClass(), \"" + method.getName() + "\"" + divider + parmTypes + ");");
+    	addParameterInjection(ctorLines, params, "            ", "            handle.invokeExact((Object) consumer" + divider, "(Object) ");
+    	ctorLines.add("        } catch (Error err) {");
+    	ctorLines.add("            throw err;");
+    	ctorLines.add("        } catch (Throwable ex) {");
     	ctorLines.add("            throw new " + TendrilStartupException.class.getName() + "(\"Unable to inject " + method.getFullElementPath() + "\", ex);");
     	ctorLines.add("        }");
     }
 
+    /**
+     * Generate the code for assigning a value to a field of the consumer. If the field cannot be accessed directly from the recipe, the assignment is performed through
+     * the accessor for the class containing the field.
+     * 
+     * @param field {@link JField} to which the value is to be assigned
+     * @param value {@link String} the code of the value to assign
+     * @return {@link String} the code performing the assignment
+     */
+    private String getFieldAssignment(JField<?> field, String value) {
+    	if (!RecipeGeneratorHelper.requiresAccessor(actualType, field))
+    		return "consumer." + field.getName() + " = " + value + ";";
+
+    	String name = "set_" + field.getName();
+    	getAccessor(field).buildMethod(name).setVisibility(VisibilityType.PUBLIC).setStatic(true).buildParameter(TypeFactory.createClassType(Object.class), "_consumer").finish()
+    			.buildParameter(RecipeGeneratorHelper.getDeclarableType(field.getType()), "value").finish().addCode("((" + getContainerName(field) + ") _consumer)." + field.getName() + " = value;").finish();
+    	return getAccessorName(field) + "." + name + "(consumer, " + value + ");";
+    }
+
+    /**
+     * Add the method to the accessor for the class containing the method, through which the method can be called from the recipe.
+     * 
+     * @param method {@link JMethod} which is to be called through the accessor
+     * @return {@link String} the code referencing the accessor method, to which the consumer and parameters of the method are to be passed
+     */
+    private String addMethodAccessor(JMethod<?> method) {
+    	String name = "call_" + method.getName();
+    	MethodBuilder<?> builder = getAccessor(method).buildMethod(name).setVisibility(VisibilityType.PUBLIC).setStatic(true)
+    			.buildParameter(TypeFactory.createClassType(Object.class), "_consumer").finish();
+    	for (JParameter<?> p : method.getParameters())
+    		builder.buildParameter(RecipeGeneratorHelper.getDeclarableType(p.getType()), p.getName()).finish();
+    	builder.addCode("((" + getContainerName(method) + ") _consumer)." + method.getName() + "(" + TendrilStringUtil.join(method.getParameters(), ", ", p -> p.getName()) + ");").finish();
+    	return getAccessorName(method) + "." + name;
+    }
+
+    /**
+     * Get the builder of the accessor for the class containing the element, creating it if this is the first element of the class which requires an accessor.
+     * 
+     * @param element {@link JVisibleType} which is to be accessed through the accessor
+     * @return {@link ClassBuilder} of the accessor
+     */
+    private ClassBuilder getAccessor(JVisibleType<?> element) {
+    	ClassType containerType = ((JClass) element.getContainer()).getType();
+    	return accessors.computeIfAbsent(containerType,
+    			t -> ClassBuilder.forConcreteClass(RecipeGeneratorHelper.getAccessorType(t, recipeType)).setVisibility(VisibilityType.PUBLIC).setFinal(true));
+    }
+
+    /**
+     * Get the fully qualified name of the accessor for the class containing the element.
+     * 
+     * @param element {@link JVisibleType} which is to be accessed through the accessor
+     * @return {@link String} name of the accessor
+     */
+    private String getAccessorName(JVisibleType<?> element) {
+    	return RecipeGeneratorHelper.getAccessorType(((JClass) element.getContainer()).getType(), recipeType).getFullyQualifiedName();
+    }
+
+    /**
+     * Get the fully qualified name of the class containing the element, without any generics so that it can be used to cast the consumer. As the consumer is cast to the
+     * raw type, the accessor can refer to the elements via their erasure.
+     * 
+     * @param element {@link JVisibleType} whose container name is to be retrieved
+     * @return {@link String} name of the containing class
+     */
+    private String getContainerName(JVisibleType<?> element) {
+    	return ((JClass) element.getContainer()).getType().getFullyQualifiedName();
+    }
+
+    /**
+     * Warn that the element is to be injected via reflection, as it is not accessible from the recipe.
+     * 
+     * @param element {@link JVisibleType} which is to be injected via reflection
+     */
+    private void warnReflection(JVisibleType<?> element) {
+    	if (element.getContainer() instanceof JClass)
+    		messager.printWarning(element.getFullElementPath() + " is private and must be injected via reflection. Make it at least package-private to allow for it to be injected directly");
+    	else
+    		messager.printWarning(element.getFullElementPath() + " is not declared within a class and must be injected via reflection");
+    }
+
+    /**
+     * @see tendril.processor.recipe.AbstractRecipeGenerator#generateSupportingDefinitions()
+     */
+    @Override
+    protected List<ClassDefinition> generateSupportingDefinitions() {
+    	List<ClassDefinition> definitions = super.generateSupportingDefinitions();
+    	for (ClassBuilder accessor : accessors.values()) {
+    		JClass accessorClass = accessor.build();
+    		definitions.add(new ClassDefinition(accessorClass.getType(), accessorClass.generateCode()));
+    	}
+
+    	return definitions;
+    }
+
     /**
      * Generate the createInstance(Engine engine) method where the recipe create the instance for the recipe to provide after it has been processed.
      * 
@@ -318,10 +457,12 @@ abstract class ClassRecipeGenerator extends AbstractRecipeGenerator<JClass> {
      * where method() has the {@link PostConstruct} annotation applied to it. The method must however follow a few rules:
      * <ol>
      * <li>The method must not take any parameters</li>
-     * <li>The method must be void</li>
+     * <li>The method must be void, or return a {@link CompletionStage}</li>
      * <li>The method must not be private</li>
      * </ol>
      * 
+     * The {@link CompletionStage} returned by a method is passed to addAsyncPostConstruct(), such that the asynchronous initialization is tracked by the recipe.
+     * 
      * A {@link TendrilException} is thrown if one of the above is violated
      * 
      * @param builder {@link ClassBuilder} where the recipe for the bean is being defined
@@ -338,12 +479,13 @@ abstract class ClassRecipeGenerator extends AbstractRecipeGenerator<JClass> {
         for (JMethod<?> m : postConstructs) {
             if (m.getVisibility() == VisibilityType.PRIVATE)
                 throwPostConstructError(m, " cannot be private");
-            if (!m.getType().isVoid())
-                throwPostConstructError(m, " must be void");
+            boolean isAsync = !m.getType().isVoid() && isCompletionStage(m.getType());
+            if (!m.getType().isVoid() && !isAsync)
+                throwPostConstructError(m, " must be void or return a " + CompletionStage.class.getSimpleName());
             if (!m.getParameters().isEmpty())
                 throwPostConstructError(m, " cannot take any parameters");
 
-            code.add("bean." + m.getName() + "();");
+            code.add(isAsync ? "addAsyncPostConstruct(bean." + m.getName() + "());" : "bean." + m.getName() + "();");
         }
 
         // Add the method to the recipe
@@ -351,6 +493,26 @@ abstract class ClassRecipeGenerator extends AbstractRecipeGenerator<JClass> {
                 .addCode(code.toArray(new String[code.size()])).finish();
     }
 
+    /**
+     * Check whether the type is a {@link CompletionStage}, such that a {@link PostConstruct} method returning it initializes the bean asynchronously
+     * 
+     * @param type {@link Type} returned by the method
+     * @return boolean true if the type is known to the compiler and is a {@link CompletionStage}
+     */
+    private boolean isCompletionStage(Type type) {
+        if (!(type instanceof ClassType classType))
+            return false;
+
+        Elements elements = processingEnv.getElementUtils();
+        TypeElement returned = elements.getTypeElement(classType.getFullyQualifiedName());
+        if (returned == null)
+            return false;
+        
+        Types types = processingEnv.getTypeUtils();
+        TypeElement stage = elements.getTypeElement(CompletionStage.class.getName());
+        return types.isAssignable(types.erasure(returned.asType()), types.erasure(stage.asType()));
+    }
+
     /**
      * Helper which generates an error message to be reported by {@link TendrilException}, triggered by {@link PostConstruct} processing.
      * 
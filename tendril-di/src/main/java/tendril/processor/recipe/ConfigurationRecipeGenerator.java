@@ -15,26 +15,30 @@
  */
 package tendril.processor.recipe;
 
-import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
 
 import tendril.TendrilStartupException;
 import tendril.annotationprocessor.exception.TendrilException;
 import tendril.bean.Bean;
 import tendril.bean.Configuration;
 import tendril.bean.Replaces;
+import tendril.bean.duplicate.Blueprint;
+import tendril.bean.qualifier.Descriptor;
 import tendril.bean.recipe.AbstractRecipe;
+import tendril.bean.recipe.RecipeStub;
+import tendril.bean.requirement.Requirement;
 import tendril.codegen.VisibilityType;
 import tendril.codegen.annotation.JAnnotationFactory;
 import tendril.codegen.classes.ClassBuilder;
 import tendril.codegen.classes.JClass;
 import tendril.codegen.classes.method.JMethod;
 import tendril.codegen.field.type.ClassType;
+import tendril.codegen.field.type.PrimitiveType;
 import tendril.codegen.field.type.TypeFactory;
 import tendril.codegen.generics.GenericFactory;
 import tendril.processor.AnnotationHelper;
@@ -43,16 +47,22 @@ import tendril.processor.AnnotationHelper;
  * Generator for {@link Configuration} recipes
  */
 class ConfigurationRecipeGenerator extends ClassRecipeGenerator {
+	/** The code creating the actual recipe of each nested {@link RecipeStub} (the index of the stub is the index in the list) */
+	private final List<String> stubRecipes = new ArrayList<>();
+	/** The code populating the requirements of the nested {@link RecipeStub}s */
+	private final List<String> stubRequirements = new ArrayList<>();
+	/** The code populating the consumed descriptors of the nested {@link RecipeStub}s */
+	private final List<String> stubConsumedDescriptors = new ArrayList<>();
 
 	/**
 	 * CTOR
 	 * 
 	 * @param configType {@link ClassType} of the configuration
 	 * @param config     {@link JClass} of the configuration
-	 * @param messager   {@link Messager} that is used by the annotation processor
+	 * @param processingEnv {@link ProcessingEnvironment} of the annotation processor
 	 */
-	ConfigurationRecipeGenerator(ClassType configType, JClass config, Messager messager) {
-		super(configType, configType, config, messager);
+	ConfigurationRecipeGenerator(ClassType configType, JClass config, ProcessingEnvironment processingEnv) {
+		super(configType, configType, config, processingEnv);
 	}
 	
 	/**
@@ -75,6 +85,93 @@ class ConfigurationRecipeGenerator extends ClassRecipeGenerator {
 		processPostConstruct(builder);
 		generateNestedRecipes(builder, "getNestedRecipes", nestedRecipesCode(false));
 		generateNestedRecipes(builder, "getNestedReplacementRecipes", nestedRecipesCode(true));
+		generateStubMethods(builder);
+	}
+
+	/**
+	 * Generate the methods through which the nested {@link RecipeStub}s create their actual recipes, and populate their requirements and consumed descriptors. Only
+	 * generated if the configuration registered any stubs.
+	 * 
+	 * @param builder {@link ClassBuilder} where the recipe is being defined
+	 */
+	private void generateStubMethods(ClassBuilder builder) {
+		if (stubRecipes.isEmpty())
+			return;
+
+		List<String> code = new ArrayList<>();
+		code.add("switch (index) {");
+		for (int i = 0; i < stubRecipes.size(); i++) {
+			code.add("    case " + i + ":");
+			code.add("        return " + stubRecipes.get(i) + ";");
+		}
+		code.add("    default:");
+		code.add("        return super.createNestedRecipe(index, blueprint);");
+		code.add("}");
+		builder.buildMethod(TypeFactory.createClassType(AbstractRecipe.class, GenericFactory.createWildcard(), GenericFactory.createWildcard()), "createNestedRecipe")
+				.setVisibility(VisibilityType.PROTECTED).addAnnotation(JAnnotationFactory.create(Override.class))
+				.buildParameter(PrimitiveType.INT, "index").finish()
+				.buildParameter(TypeFactory.createClassType(Blueprint.class), "blueprint").finish()
+				.addCode(code.toArray(new String[code.size()])).finish();
+
+		if (!stubRequirements.isEmpty()) {
+			code.clear();
+			code.add("switch (index) {");
+			code.addAll(stubRequirements);
+			code.add("}");
+			builder.buildMethod("setupNestedRequirements").setVisibility(VisibilityType.PROTECTED).addAnnotation(JAnnotationFactory.create(Override.class))
+					.buildParameter(PrimitiveType.INT, "index").finish()
+					.buildParameter(TypeFactory.createClassType(Requirement.class), "environment").finish()
+					.buildParameter(TypeFactory.createClassType(Requirement.class), "property").finish()
+					.addCode(code.toArray(new String[code.size()])).finish();
+		}
+
+		if (!stubConsumedDescriptors.isEmpty()) {
+			code.clear();
+			code.add("switch (index) {");
+			code.addAll(stubConsumedDescriptors);
+			code.add("}");
+			ClassType listType = TypeFactory.createClassType(List.class, GenericFactory.create(TypeFactory.createClassType(Descriptor.class, GenericFactory.createWildcard())));
+			builder.buildMethod("setupNestedConsumedDescriptors").setVisibility(VisibilityType.PROTECTED).addAnnotation(JAnnotationFactory.create(Override.class))
+					.buildParameter(PrimitiveType.INT, "index").finish()
+					.buildParameter(TypeFactory.createClassType(Blueprint.class), "blueprint").finish()
+					.buildParameter(listType, "beans").finish()
+					.buildParameter(listType, "allBeans").finish()
+					.addCode(code.toArray(new String[code.size()])).finish();
+		}
+	}
+
+	/**
+	 * Register a nested recipe as a {@link RecipeStub}, such that the actual recipe is only created when the stub is first used.
+	 * 
+	 * @param generator      {@link AbstractRecipeGenerator} which generates the actual recipe of the nested bean
+	 * @param recipeType     {@link ClassType} of the actual recipe of the nested bean
+	 * @param recipeCreation {@link String} code which creates the actual recipe (with the blueprint of the copy available as {@code blueprint})
+	 * @param blueprint      {@link String} code referencing the blueprint of the copy when the stub is created ({@code null} if the bean is not duplicated)
+	 * @return {@link String} the code which creates the stub
+	 * @throws TendrilException if the nested bean is improperly configured
+	 */
+	protected String createStub(AbstractRecipeGenerator<?> generator, ClassType recipeType, String recipeCreation, String blueprint) throws TendrilException {
+		int index = stubRecipes.size();
+		stubRecipes.add(recipeCreation);
+		addStubCase(stubRequirements, index, generator.getStubRequirementCode("environment", "property"));
+		addStubCase(stubConsumedDescriptors, index, generator.getStubConsumedDescriptorCode(recipeType, "blueprint"));
+		return generator.getStubCode(index, blueprint);
+	}
+
+	/**
+	 * Add the code of a nested {@link RecipeStub} as a case of the switch through which the configuration applies it. Nothing is added if there is no code.
+	 * 
+	 * @param cases {@link List} of {@link String}s where the cases are collected
+	 * @param index int the index of the nested recipe within the configuration
+	 * @param code  {@link List} of {@link String}s containing the code of the stub
+	 */
+	private void addStubCase(List<String> cases, int index, List<String> code) {
+		if (code.isEmpty())
+			return;
+
+		cases.add("    case " + index + ":");
+		code.forEach(line -> cases.add("        " + line));
+		cases.add("        break;");
 	}
 
 	/**
@@ -116,21 +213,30 @@ class ConfigurationRecipeGenerator extends ClassRecipeGenerator {
 	 * @throws TendrilException if there is an issue generating the code
 	 */
 	protected void populateNestedRecipes(List<String> code) throws TendrilException {
-		// Handle the methods which create "normal" beans
-		appendBeanRecipes(Bean.class, code);
+		// Handle the methods which create "normal" beans, the recipes of which are only created when first used
+		ClassType beanAnnotation = TypeFactory.createClassType(Bean.class);
+		for (JMethod<?> method : creator.getMethods(Bean.class)) {
+			ClassType nestedRecipeType = RecipeGenerator.getRecipeType(actualType, method);
+			MethodRecipeGenerator generator = new MethodRecipeGenerator(actualType, AnnotationHelper.retrieveTypeOverride(method, beanAnnotation), method.getType().asClassType(),
+					method, SilentMessager.INSTANCE);
+			code.add("recipes.put(\"" + method.getOrdinalName() + "\", " + createStub(generator, nestedRecipeType, "new " + nestedRecipeType.getCodeName() + "(this, engine)", null) + ");");
+		}
 		
 		// Handle the methods which create duplicated beans
 		for (JMethod<?> method : creator.getMethods()) {
 			ClassType blueprintType = AnnotationHelper.retrieveDuplicateBlueprint(method);
 			if (blueprintType != null) {
 				ClassType nestedRecipeType = RecipeGenerator.getSiblingRecipeType(actualType, method);
+				DuplicateSiblingMethodRecipeGenerator generator = new DuplicateSiblingMethodRecipeGenerator(actualType, method.getType().asClassType(), method,
+						SilentMessager.INSTANCE, blueprintType);
+				String stub = createStub(generator, nestedRecipeType, "new " + nestedRecipeType.getCodeName() + "(this, engine, (" + blueprintType.getCodeName() + ") blueprint)", "b");
 				
 				// Class based duplicates get the blueprints from the engine
 				code.add("for(" + blueprintType.getCodeName() + " b: engine.getBlueprints(" + RecipeGeneratorHelper.getClassReference(blueprintType) + ")) {");
 				code.add("	String copyName = \"" + method.getName() + "\" + b.getName();");
 				code.add("	if (recipes.containsKey(copyName))");
 				code.add("		throw new " + TendrilStartupException.class.getName() + "(\"" + blueprintType + " has more than one copies named \" + copyName);");
-				code.add("    recipes.put(copyName, new " + nestedRecipeType.getCodeName() + "(this, engine, b));");
+				code.add("    recipes.put(copyName, " + stub + ");");
 				code.add("}");
 			}
 		}
@@ -142,18 +248,8 @@ class ConfigurationRecipeGenerator extends ClassRecipeGenerator {
 	 * @param code {@link List} of {@link String}s where the code is tracked
 	 */
 	protected void populateNestedReplacements(List<String> code) {
-		// Handle the methods which create "normal" beans
-		appendBeanRecipes(Replaces.class, code);
-	}
-	
-	/**
-	 * Append bean recipes to the map of recipes that is being assembled
-	 * 
-	 * @param annotation {@link Class} extending {@link Annotation} which the creation method is annotated with
-	 * @param code {@link List} of {@link String} lines of code where the recipe map is being assembled
-	 */
-	private void appendBeanRecipes(Class<? extends Annotation> annotation, List<String> code) {
-		for (JMethod<?> method : creator.getMethods(annotation)) {
+		// Replacements are matched against the recipes they replace when registered, so their recipes are created up front
+		for (JMethod<?> method : creator.getMethods(Replaces.class)) {
 			ClassType nestedRecipeType = RecipeGenerator.getRecipeType(actualType, method);
 			code.add("recipes.put(\"" + method.getOrdinalName() + "\", new " + nestedRecipeType.getCodeName() + "(this, engine));");
 		}
@@ -20,7 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
 
 import tendril.TendrilStartupException;
 import tendril.annotationprocessor.exception.InvalidConfigurationException;
@@ -50,10 +50,10 @@ public class DuplicateRecipeGenerator extends ConfigurationRecipeGenerator {
 	 * @param blueprintType {@link ClassType} of the {@link Enum} which is driving the creation of the duplicates
 	 * @param beanType {@link ClassType} that is to be duplicated
      * @param creator  {@link JClass} which defines and creates the bean
-     * @param messager {@link Messager} that is used by the annotation processor
+     * @param processingEnv {@link ProcessingEnvironment} of the annotation processor
 	 */
-	DuplicateRecipeGenerator(ClassType blueprintType, ClassType beanType, JClass creator, Messager messager) {
-		super(beanType, creator, messager);
+	DuplicateRecipeGenerator(ClassType blueprintType, ClassType beanType, JClass creator, ProcessingEnvironment processingEnv) {
+		super(beanType, creator, processingEnv);
 		this.blueprintType = blueprintType;
 	}
 
@@ -115,6 +115,8 @@ public class DuplicateRecipeGenerator extends ConfigurationRecipeGenerator {
 			return new String[] { "return new " + HashMap.class.getName() + "<>();" };
 		
 		ClassType siblingType = RecipeGenerator.getSiblingRecipeType(actualType);
+		DuplicateSiblingClassRecipeGenerator generator = new DuplicateSiblingClassRecipeGenerator(actualType, creator, processingEnv, SilentMessager.INSTANCE, blueprintType);
+		String stub = createStub(generator, siblingType, "new " + siblingType.getCodeName() + "(engine, (" + blueprintType.getCodeName() + ") blueprint)", "copy");
 		List<String> code = new ArrayList<>();
 		code.add(Map.class.getName() + "<String, " + AbstractRecipe.class.getName() + "<?, ?>> recipes = new " + HashMap.class.getName() + "<>();");
 		
@@ -122,7 +124,7 @@ public class DuplicateRecipeGenerator extends ConfigurationRecipeGenerator {
 		code.add("	String copyName = copy.getName();");
 		code.add("	if (recipes.containsKey(copyName))");
 		code.add("		throw new " + TendrilStartupException.class.getName() + "(\"" + blueprintType + " has more than one copies named \" + copyName);");
-		code.add("	recipes.put(copy.getName(), new " + siblingType.getCodeName() + "(engine, copy));");
+		code.add("	recipes.put(copy.getName(), " + stub + ");");
 		code.add("}");
 		
 		code.add("return recipes;");
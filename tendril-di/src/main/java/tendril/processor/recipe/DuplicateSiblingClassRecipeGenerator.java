@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
 
 import tendril.annotationprocessor.exception.InvalidConfigurationException;
 import tendril.annotationprocessor.exception.TendrilException;
@@ -46,11 +47,24 @@ class DuplicateSiblingClassRecipeGenerator extends BeanRecipeGenerator {
 	 * 
 	 * @param beanType      {@link ClassType} of the bean which is to be created
 	 * @param bean          {@link JClass} describing the class of the bean
-	 * @param messager      {@link Messager} for the processing
+	 * @param processingEnv {@link ProcessingEnvironment} of the processing
 	 * @param blueprintType {@link ClassType} of the enum which drives the duplication
 	 */
-	DuplicateSiblingClassRecipeGenerator(ClassType beanType, JClass bean, Messager messager, ClassType blueprintType) {
-		super(beanType, beanType, bean, messager);
+	DuplicateSiblingClassRecipeGenerator(ClassType beanType, JClass bean, ProcessingEnvironment processingEnv, ClassType blueprintType) {
+		this(beanType, bean, processingEnv, processingEnv.getMessager(), blueprintType);
+	}
+
+	/**
+	 * CTOR
+	 * 
+	 * @param beanType      {@link ClassType} of the bean which is to be created
+	 * @param bean          {@link JClass} describing the class of the bean
+	 * @param processingEnv {@link ProcessingEnvironment} of the processing
+	 * @param messager      {@link Messager} through which feedback is to be provided
+	 * @param blueprintType {@link ClassType} of the enum which drives the duplication
+	 */
+	DuplicateSiblingClassRecipeGenerator(ClassType beanType, JClass bean, ProcessingEnvironment processingEnv, Messager messager, ClassType blueprintType) {
+		super(beanType, beanType, bean, processingEnv, messager);
 		siblingHelper = new SiblingRecipeGeneratorHelper(bean, beanType, blueprintType, messager);
 	}
 
@@ -104,6 +118,41 @@ class DuplicateSiblingClassRecipeGenerator extends BeanRecipeGenerator {
 		return lines;
 	}
 
+	/**
+	 * The stub describes the copy through the blueprint it is created for, as the {@code siblingCopy} is only available to the recipe itself.
+	 * 
+	 * @see tendril.processor.recipe.AbstractRecipeGenerator#getStubDescriptorLines(java.lang.String)
+	 */
+	@Override
+	protected List<String> getStubDescriptorLines(String blueprint) {
+		List<String> lines = super.getDescriptorLines(creator);
+		siblingHelper.addStubDescriptorLines(blueprint, lines);
+		return lines;
+	}
+
+	/**
+	 * Siblings are described through the blueprint the stub is created for, as the {@code siblingCopy} is only available to the recipe itself.
+	 * 
+	 * @see tendril.processor.recipe.AbstractRecipeGenerator#getStubConsumedDescriptorLines(java.lang.String)
+	 */
+	@Override
+	protected List<String> getStubConsumedDescriptorLines(String blueprint) {
+		List<String> lines = super.getStubConsumedDescriptorLines(blueprint);
+		siblingHelper.updateStubConsumedDescriptorLines(blueprint, lines);
+		return lines;
+	}
+
+	/**
+	 * Descriptors of siblings depend on the blueprint of the recipe instance, so they cannot be static. This includes the descriptor of the bean itself, as each copy
+	 * is named after its blueprint.
+	 * 
+	 * @see tendril.processor.recipe.AbstractRecipeGenerator#hasStaticDescriptor(tendril.codegen.JBase)
+	 */
+	@Override
+	protected boolean hasStaticDescriptor(JBase element) {
+		return element != creator && !element.hasAnnotation(Sibling.class);
+	}
+
 	/**
 	 * @see tendril.processor.recipe.AbstractRecipeGenerator#createParameterInjectionCodeRhs(java.util.List, tendril.codegen.classes.JParameter, java.lang.String, java.lang.String)
 	 */
@@ -82,6 +82,41 @@ public class DuplicateSiblingMethodRecipeGenerator extends MethodRecipeGenerator
 		return lines;
 	}
 
+	/**
+	 * The stub describes the copy through the blueprint it is created for, as the {@code siblingCopy} is only available to the recipe itself.
+	 * 
+	 * @see tendril.processor.recipe.AbstractRecipeGenerator#getStubDescriptorLines(java.lang.String)
+	 */
+	@Override
+	protected List<String> getStubDescriptorLines(String blueprint) {
+		List<String> lines = super.getDescriptorLines(creator);
+		siblingHelper.addStubDescriptorLines(blueprint, lines);
+		return lines;
+	}
+
+	/**
+	 * Siblings are described through the blueprint the stub is created for, as the {@code siblingCopy} is only available to the recipe itself.
+	 * 
+	 * @see tendril.processor.recipe.AbstractRecipeGenerator#getStubConsumedDescriptorLines(java.lang.String)
+	 */
+	@Override
+	protected List<String> getStubConsumedDescriptorLines(String blueprint) {
+		List<String> lines = super.getStubConsumedDescriptorLines(blueprint);
+		siblingHelper.updateStubConsumedDescriptorLines(blueprint, lines);
+		return lines;
+	}
+
+	/**
+	 * Descriptors of siblings depend on the blueprint of the recipe instance, so they cannot be static. This includes the descriptor of the bean itself, as each copy
+	 * is named after its blueprint.
+	 * 
+	 * @see tendril.processor.recipe.AbstractRecipeGenerator#hasStaticDescriptor(tendril.codegen.JBase)
+	 */
+	@Override
+	protected boolean hasStaticDescriptor(JBase element) {
+		return element != creator && !element.hasAnnotation(Sibling.class);
+	}
+
 	/**
 	 * @see tendril.processor.recipe.AbstractRecipeGenerator#createParameterInjectionCodeRhs(java.util.List, tendril.codegen.classes.JParameter, java.lang.String, java.lang.String)
 	 */
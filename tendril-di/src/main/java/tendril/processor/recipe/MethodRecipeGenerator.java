@@ -15,6 +15,8 @@
  */
 package tendril.processor.recipe;
 
+import java.util.List;
+
 import javax.annotation.processing.Messager;
 
 import tendril.annotationprocessor.exception.InvalidConfigurationException;
@@ -95,6 +97,32 @@ public class MethodRecipeGenerator extends AbstractRecipeGenerator<JMethod<?>> {
 		generateCreateInstance(beanCreator, builder);
 	}
 
+	/**
+	 * The bean is created by the configuration, so it also consumes whatever the configuration consumes.
+	 * 
+	 * @see tendril.processor.recipe.AbstractRecipeGenerator#getConsumedDescriptorCode()
+	 */
+	@Override
+	protected List<String> getConsumedDescriptorCode() {
+		List<String> code = super.getConsumedDescriptorCode();
+		code.add("beans.addAll(this.config.getConsumedDescriptors());");
+		code.add("allBeans.addAll(this.config.getConsumedAllDescriptors());");
+		return code;
+	}
+
+	/**
+	 * The consumed descriptors of the stub are populated by the configuration itself, so it provides its own consumed descriptors.
+	 * 
+	 * @see tendril.processor.recipe.AbstractRecipeGenerator#getStubConsumedDescriptorLines(java.lang.String)
+	 */
+	@Override
+	protected List<String> getStubConsumedDescriptorLines(String blueprint) {
+		List<String> lines = super.getStubConsumedDescriptorLines(blueprint);
+		lines.add("beans.addAll(getConsumedDescriptors());");
+		lines.add("allBeans.addAll(getConsumedAllDescriptors());");
+		return lines;
+	}
+
 	/**
 	 * Generate the constructor for the recipe
 	 * 
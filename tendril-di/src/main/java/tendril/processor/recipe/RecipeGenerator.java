@@ -18,6 +18,7 @@ package tendril.processor.recipe;
 import java.lang.annotation.Annotation;
 
 import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
 
 import tendril.annotationprocessor.ClassDefinition;
 import tendril.annotationprocessor.exception.TendrilException;
@@ -42,13 +43,13 @@ public final class RecipeGenerator {
      * 
      * @param advertisedType {@link ClassType} that the bean is to be advertised under
      * @param creator {@link JClass} defining the bean
-     * @param messager {@link Messager} that is used by the annotation processor
+     * @param processingEnv {@link ProcessingEnvironment} of the annotation processor
      * @param registryAnnotation {@link Class} extending {@link Annotation} to apply as the registry annotation (null if no registration is to be performed)
      * @return {@link ClassDefinition}
      * @throws TendrilException when an issue generating the recipe is encountered
      */
-    public static ClassDefinition generate(ClassType advertisedType, JClass creator, Messager messager, Class<? extends Annotation> registryAnnotation) throws TendrilException {
-        return generate(advertisedType, creator.getType(), creator, messager, registryAnnotation);
+    public static ClassDefinition generate(ClassType advertisedType, JClass creator, ProcessingEnvironment processingEnv, Class<? extends Annotation> registryAnnotation) throws TendrilException {
+        return generate(advertisedType, creator.getType(), creator, processingEnv, registryAnnotation);
     }
 
     /**
@@ -57,13 +58,13 @@ public final class RecipeGenerator {
 	 * @param advertisedType {@link ClassType} which the bean is advertised as
 	 * @param actualType     {@link ClassType} of the bean instance
      * @param creator {@link JClass} defining the bean
-     * @param messager {@link Messager} that is used by the annotation processor
+     * @param processingEnv {@link ProcessingEnvironment} of the annotation processor
      * @param registryAnnotation {@link Class} extending {@link Annotation} to apply as the registry annotation (null if no registration is to be performed)
      * @return {@link ClassDefinition}
      * @throws TendrilException when an issue generating the recipe is encountered
      */
-    public static ClassDefinition generate(ClassType advertisedType, ClassType actualType, JClass creator, Messager messager, Class<? extends Annotation> registryAnnotation) throws TendrilException {
-        return new BeanRecipeGenerator(advertisedType, actualType, creator, messager).generate(getRecipeType(actualType), registryAnnotation);
+    public static ClassDefinition generate(ClassType advertisedType, ClassType actualType, JClass creator, ProcessingEnvironment processingEnv, Class<? extends Annotation> registryAnnotation) throws TendrilException {
+        return new BeanRecipeGenerator(advertisedType, actualType, creator, processingEnv).generate(getRecipeType(actualType), registryAnnotation);
     }
     
     /**
@@ -85,13 +86,13 @@ public final class RecipeGenerator {
      * Generate the recipe for a {@link Configuration}
      * 
      * @param config {@link JClass} containing the configuration
-     * @param messager {@link Messager} that is used by the annotation processor
+     * @param processingEnv {@link ProcessingEnvironment} of the annotation processor
      * @param registryAnnotation {@link Class} extending {@link Annotation} to apply as the registry annotation (null if no registration is to be performed)
      * @return {@link ClassDefinition}
      * @throws TendrilException when an issue generating the recipe is encountered
      */
-    public static ClassDefinition generateConfiguration(JClass config, Messager messager, Class<? extends Annotation> registryAnnotation) throws TendrilException {
-        return generateConfiguration(config.getType(), config, messager, registryAnnotation);
+    public static ClassDefinition generateConfiguration(JClass config, ProcessingEnvironment processingEnv, Class<? extends Annotation> registryAnnotation) throws TendrilException {
+        return generateConfiguration(config.getType(), config, processingEnv, registryAnnotation);
     }
 
     /**
@@ -99,13 +100,13 @@ public final class RecipeGenerator {
      * 
      * @param configType {@link ClassType} of the configuration
      * @param config {@link JClass} containing the configuration
-     * @param messager {@link Messager} that is used by the annotation processor
+     * @param processingEnv {@link ProcessingEnvironment} of the annotation processor
      * @param registryAnnotation {@link Class} extending {@link Annotation} to apply as the registry annotation (null if no registration is to be performed)
      * @return {@link ClassDefinition}
      * @throws TendrilException when an issue generating the recipe is encountered
      */
-    public static ClassDefinition generateConfiguration(ClassType configType, JClass config, Messager messager, Class<? extends Annotation> registryAnnotation) throws TendrilException {
-        return new ConfigurationRecipeGenerator(configType, config, messager).generate(getRecipeType(configType), registryAnnotation);
+    public static ClassDefinition generateConfiguration(ClassType configType, JClass config, ProcessingEnvironment processingEnv, Class<? extends Annotation> registryAnnotation) throws TendrilException {
+        return new ConfigurationRecipeGenerator(configType, config, processingEnv).generate(getRecipeType(configType), registryAnnotation);
     }
     
     /**
@@ -114,13 +115,13 @@ public final class RecipeGenerator {
      * @param blueprintType {@link ClassType} of the {@link Enum} which drives the duplication
      * @param duplicateType {@link ClassType} of the bean which is to be duplicated
      * @param duplicate {@link JClass} describing the bean which is to be duplicated
-     * @param messager {@link Messager} for the annotation processing
+     * @param processingEnv {@link ProcessingEnvironment} of the annotation processor
      * @param registryAnnotation {@link Class} extending {@link Annotation} to apply as the registry annotation (null if no registration is to be performed)
      * @return {@link ClassDefinition}
      * @throws TendrilException when an issue generating the recipe is encountered
      */
-    public static ClassDefinition generateDuplicateBean(ClassType blueprintType, ClassType duplicateType, JClass duplicate, Messager messager, Class<? extends Annotation> registryAnnotation) throws TendrilException {
-    	return new DuplicateRecipeGenerator(blueprintType, duplicateType, duplicate, messager).generate(getRecipeType(duplicateType), registryAnnotation);
+    public static ClassDefinition generateDuplicateBean(ClassType blueprintType, ClassType duplicateType, JClass duplicate, ProcessingEnvironment processingEnv, Class<? extends Annotation> registryAnnotation) throws TendrilException {
+    	return new DuplicateRecipeGenerator(blueprintType, duplicateType, duplicate, processingEnv).generate(getRecipeType(duplicateType), registryAnnotation);
     }
     
     /**
@@ -129,12 +130,12 @@ public final class RecipeGenerator {
      * @param blueprintType {@link ClassType} of the {@link Enum} which drives the duplication
      * @param siblingType {@link ClassType} of the bean which is to be duplicated
      * @param sibling {@link JClass} describing the bean which is to be duplicated
-     * @param messager {@link Messager} for the annotation processing
+     * @param processingEnv {@link ProcessingEnvironment} of the annotation processor
      * @return {@link ClassDefinition}
      * @throws TendrilException when an issue generating the recipe is encountered
      */
-    public static ClassDefinition generateDuplicateSiblingBean(ClassType blueprintType, ClassType siblingType, JClass sibling, Messager messager) throws TendrilException {
-    	DuplicateSiblingClassRecipeGenerator generator = new DuplicateSiblingClassRecipeGenerator(siblingType, sibling, messager, blueprintType);
+    public static ClassDefinition generateDuplicateSiblingBean(ClassType blueprintType, ClassType siblingType, JClass sibling, ProcessingEnvironment processingEnv) throws TendrilException {
+    	DuplicateSiblingClassRecipeGenerator generator = new DuplicateSiblingClassRecipeGenerator(siblingType, sibling, processingEnv, blueprintType);
     	return generator.generate(getSiblingRecipeType(siblingType), null);
     }
     
@@ -7,6 +7,7 @@ import tendril.codegen.VisibilityType;
 import tendril.codegen.classes.JClass;
 import tendril.codegen.field.JContainedType;
 import tendril.codegen.field.JVisibleType;
+import tendril.codegen.field.type.ArrayType;
 import tendril.codegen.field.type.ClassType;
 import tendril.codegen.field.type.Type;
 import tendril.codegen.field.type.TypeFactory;
@@ -107,7 +108,8 @@ public abstract class RecipeGeneratorHelper {
 	}
 
 	/**
-	 * Check to see whether reflection is required to access the specified element from the creator
+	 * Check to see whether reflection is required to access the specified element from the creator. This is only the case if the element is private (or is not
+	 * contained within a class), as all other elements can be accessed either directly or through an accessor (see {@code requiresAccessor}).
 	 * 
 	 * @param creatorType ClassType of the creator from where the element is to be accessed
 	 * @param element     {@link JContainedType} that is to be accessed
@@ -118,15 +120,104 @@ public abstract class RecipeGeneratorHelper {
 		if (container == null)
 			return false;
 
-		if (container instanceof JClass klass) {
-			ClassType containerType = klass.getType();
-			VisibilityType elementVisibility = ((JVisibleType<?>) element).getVisibility();
-			if (containerType.getPackageName().equals(creatorType.getPackageName()))
-				return elementVisibility == VisibilityType.PRIVATE;
-			else
-				return elementVisibility != VisibilityType.PUBLIC;
+		if (container instanceof JClass)
+			return ((JVisibleType<?>) element).getVisibility() == VisibilityType.PRIVATE;
+
+		return true;
+	}
+
+	/**
+	 * Check to see whether an accessor is required to access the specified element from the creator. This is the case for protected and package-private elements
+	 * which are contained in a class in a different package than the creator, as they cannot be accessed directly by the recipe but can be accessed by an accessor
+	 * which is generated in the same package as the element.
+	 * 
+	 * @param creatorType ClassType of the creator from where the element is to be accessed
+	 * @param element     {@link JContainedType} that is to be accessed
+	 * @return boolean true if an accessor is required
+	 */
+	public static boolean requiresAccessor(ClassType creatorType, JContainedType<?> element) {
+		if (!(element.getContainer() instanceof JClass klass) || klass.getType().getPackageName().equals(creatorType.getPackageName()))
+			return false;
+
+		VisibilityType elementVisibility = ((JVisibleType<?>) element).getVisibility();
+		return elementVisibility == VisibilityType.PROTECTED || elementVisibility == VisibilityType.PACKAGE_PRIVATE;
+	}
+
+	/**
+	 * Get the erasure of the type, so that it can be used in code where the generics of the type are not known (i.e.: when accessing the element through a raw type).
+	 * Generics are erased to the class they represent (or {@link Object} if they do not represent a single class) and the generics are removed from classes.
+	 * 
+	 * @param type {@link Type} whose erasure is desired
+	 * @return {@link Type} erasure of the type
+	 */
+	public static Type getErasure(Type type) {
+		if (type instanceof GenericType gType) {
+			try {
+				type = gType.asClassType();
+			} catch (DefinitionException ex) {
+				return TypeFactory.createClassType(Object.class);
+			}
 		}
 
+		if (type instanceof ClassType cType)
+			return TypeFactory.createClassType(cType.getPackageName(), cType.getClassName());
+		if (type instanceof ArrayType<?> aType)
+			return new ArrayType<>(getErasure(aType.getContainedType()));
+		return type;
+	}
+
+	/**
+	 * Get the type with which a value of the type can be declared outside of the element that declares it (i.e.: as the parameter of an accessor). This is the type itself,
+	 * unless it refers to a type variable which is only known to its class or method, or the generics of the type have generics of their own. In these cases the erasure of
+	 * the type is used.
+	 * 
+	 * @param type {@link Type} which is to be declared
+	 * @return {@link Type} to declare
+	 */
+	public static Type getDeclarableType(Type type) {
+		return isDeclarable(type, true) ? type : getErasure(type);
+	}
+
+	/**
+	 * Check whether the type can be declared as is. Wildcards are resolved to their bounds when the type is determined, which still accepts the values of the original
+	 * type where the wildcard is a generic of the type itself, but not where it is nested deeper (i.e.: {@code List<List<?>>} is seen as {@code List<List<Object>>}).
+	 * 
+	 * @param type          {@link Type} to check
+	 * @param allowGenerics boolean whether the type can have generics of its own
+	 * @return boolean true if the type can be declared as is
+	 */
+	private static boolean isDeclarable(Type type, boolean allowGenerics) {
+		if (type instanceof ArrayType<?> aType)
+			return isDeclarable(aType.getContainedType(), allowGenerics);
+		if (type instanceof SimpleExplicitGeneric sGen)
+			return isDeclarable(sGen.asClassType(), allowGenerics);
+		if (type instanceof SimpleWildcardGeneric)
+			return true;
+		// Anything else is a type variable
+		if (type instanceof GenericType)
+			return false;
+
+		if (type instanceof ClassType cType && cType.hasGenerics()) {
+			if (!allowGenerics)
+				return false;
+
+			for (GenericType g : cType.getGenerics()) {
+				if (!isDeclarable(g, false))
+					return false;
+			}
+		}
 		return true;
 	}
+
+	/**
+	 * Derive the type of the accessor through which a recipe accesses the elements of a class in a different package. The accessor is placed in the same package as the
+	 * class, with its name being derived from both the class and the recipe to ensure that every recipe has its own accessor.
+	 * 
+	 * @param containerType {@link ClassType} of the class whose elements are to be accessed
+	 * @param recipeType    {@link ClassType} of the recipe accessing the elements
+	 * @return {@link ClassType} of the accessor
+	 */
+	public static ClassType getAccessorType(ClassType containerType, ClassType recipeType) {
+		return TypeFactory.createClassType(containerType.getPackageName(), containerType.getClassName().replace('.', '_') + "Accessor_" + recipeType.getFullyQualifiedName().replace('.', '_'));
+	}
 }
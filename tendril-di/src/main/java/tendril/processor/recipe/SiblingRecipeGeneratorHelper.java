@@ -118,6 +118,30 @@ class SiblingRecipeGeneratorHelper {
 		return true;
 	}
 
+	/**
+	 * Add the descriptor lines which describe the copy of the bean within the stub of its recipe. These are the same as the recipe applies to its descriptor when created,
+	 * referring to the blueprint of the copy rather than the {@code siblingCopy} of the recipe.
+	 * 
+	 * @param blueprint {@link String} code referencing the blueprint of the copy
+	 * @param lines     {@link List} of {@link String}s where the descriptor lines are being collected
+	 */
+	void addStubDescriptorLines(String blueprint, List<String> lines) {
+		lines.add("setBlueprint(" + blueprint + ")");
+		lines.add("setName(" + blueprint + ".getName())");
+	}
+
+	/**
+	 * Update the lines which populate the consumed descriptors within the stub of the recipe, such that they refer to the blueprint of the copy rather than the
+	 * {@code siblingCopy} of the recipe.
+	 * 
+	 * @param blueprint {@link String} code referencing the blueprint of the copy
+	 * @param lines     {@link List} of {@link String}s containing the consumed descriptor lines
+	 */
+	void updateStubConsumedDescriptorLines(String blueprint, List<String> lines) {
+		String copy = "((" + blueprintType.getCodeName() + ") " + blueprint + ")";
+		lines.replaceAll(line -> line.replace("this.siblingCopy", copy));
+	}
+
 	/**
 	 * Add the appropriate descriptor lines for siblings
 	 * 
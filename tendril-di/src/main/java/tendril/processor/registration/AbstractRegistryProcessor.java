@@ -1,31 +1,172 @@
 package tendril.processor.registration;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
 
 import tendril.annotationprocessor.AbstractTendrilProccessor;
 import tendril.annotationprocessor.ClassDefinition;
+import tendril.annotationprocessor.element.ElementLoader;
 import tendril.annotationprocessor.exception.InvalidConfigurationException;
 import tendril.annotationprocessor.exception.TendrilException;
+import tendril.bean.Bean;
+import tendril.bean.Fallback;
+import tendril.bean.Inject;
+import tendril.bean.Primary;
+import tendril.bean.Replaces;
+import tendril.bean.duplicate.Duplicate;
+import tendril.bean.recipe.ConfigurationRecipe;
+import tendril.bean.requirement.RequiresEnv;
+import tendril.bean.requirement.RequiresNotEnv;
+import tendril.bean.requirement.RequiresNotProp;
+import tendril.bean.requirement.RequiresOneOfEnv;
+import tendril.bean.requirement.RequiresOneOfProp;
+import tendril.bean.requirement.RequiresProp;
+import tendril.codegen.VisibilityType;
+import tendril.codegen.annotation.JAnnotationFactory;
+import tendril.codegen.classes.ClassBuilder;
+import tendril.codegen.classes.EnumerationEntry;
+import tendril.codegen.classes.JClass;
+import tendril.codegen.classes.method.JMethod;
+import tendril.codegen.field.JField;
+import tendril.codegen.field.type.ClassType;
+import tendril.codegen.field.type.TypeFactory;
+import tendril.codegen.generics.GenericFactory;
+import tendril.context.Engine;
+import tendril.processor.AnnotationHelper;
+import tendril.processor.registration.RecipeMetadata.Dependency;
+import tendril.util.TendrilStringUtil;
 
 /**
  * Abstract processor for annotations from the registration family of annotations. The subclass must associate itself with the appropriate annotation but the end result is to assemble a registration
- * list of all annotated classes.
+ * list of all annotated classes. Alongside the registration list, a {@link RecipeIndex} is generated for the classes registered in each round of processing, through which
+ * the registered recipes can be created without reflection, and the {@link RecipeMetadata} of the registered recipes is written to a binary file so that they can be
+ * evaluated without being loaded.
+ *
+ * Where the processor links dependencies, the dependencies which are injected into the fields of the registered recipes are resolved against the beans which the
+ * registered recipes provide once processing is complete, with those which resolve to exactly one recipe being linked to it in the metadata. This can be disabled via
+ * the {@value #AOT_OPTION} option, and with the {@value #AOT_STRICT_OPTION} option dependencies which do not resolve to exactly one recipe of the module are reported
+ * as errors (this assumes that the module contains all of the beans which are to be injected into it).
  */
 abstract class AbstractRegistryProcessor extends AbstractTendrilProccessor {
+	/** Option for enabling (default) or disabling the linking of dependencies ahead of time */
+	static final String AOT_OPTION = "tendril.aot";
+	/** Option for reporting dependencies which cannot be linked ahead of time as errors */
+	static final String AOT_STRICT_OPTION = "tendril.aot.strict";
+
 	/** List of all recipes that are to be registered */
 	private final List<String> registers = new ArrayList<>();
 	/** The plain English name of the type of registration that is being collected */
 	private final String type;
 	/** The path to the file where the registration list is to be written */
 	private final String path;
+	/** The path to the file where the metadata of the registered recipes is to be written */
+	private final String metadataPath;
+	/** The metadata of all recipes that are to be registered */
+	private final List<RecipeMetadata> metadata = new ArrayList<>();
+	/** The element of the recipe which is currently being processed */
+	private TypeElement currentElement = null;
+	/** The type of index which is to be generated for the registered recipes */
+	private final Class<? extends RecipeIndex> indexType;
+	/** List of all index classes that have been generated */
+	private final List<String> indices = new ArrayList<>();
+	/** The number of registered recipes which have been included in a generated index */
+	private int indexed = 0;
+	/** Flag for whether the dependencies of the registered recipes are to be linked ahead of time */
+	private final boolean linksDependencies;
+	/** Links the dependencies of the registered recipes */
+	private final DependencyLinker linker = new DependencyLinker();
+	/** Flag indicating that the metadata of some registered recipes could not be determined */
+	private boolean isIncomplete = false;
 
 	/**
 	 * CTOR
+	 * 
+	 * @param type         {@link String} plain English name of the type of registration
+	 * @param path         {@link String} path to the file where the registration list is to be written
+	 * @param metadataPath {@link String} path to the file where the metadata of the registered recipes is to be written
+	 * @param indexType    {@link Class} of the {@link RecipeIndex} which is to be generated
+	 * @param linksDependencies boolean true if the dependencies of the registered recipes are to be linked ahead of time
 	 */
-	public AbstractRegistryProcessor(String type, String path) {
+	public AbstractRegistryProcessor(String type, String path, String metadataPath, Class<? extends RecipeIndex> indexType, boolean linksDependencies) {
 		this.type = type;
 		this.path = path;
+		this.metadataPath = metadataPath;
+		this.indexType = indexType;
+		this.linksDependencies = linksDependencies;
+	}
+
+	/**
+	 * Once all elements of the round have been processed, the index for the recipes which were registered in the round is generated
+	 * 
+	 * @see tendril.annotationprocessor.AbstractTendrilProccessor#process(java.util.Set, javax.annotation.processing.RoundEnvironment)
+	 */
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+		boolean result = super.process(annotations, env);
+		if (!env.processingOver() && !env.errorRaised())
+			writeCode(generateIndex());
+		return result;
+	}
+
+	/**
+	 * Generate the index for all recipes which have been registered since the last index was generated. The index is named after the recipes it contains, ensuring
+	 * that indices generated for separate modules do not clash.
+	 * 
+	 * @return {@link ClassDefinition} of the index (null if there is nothing new to index)
+	 */
+	private ClassDefinition generateIndex() {
+		if (indexed == registers.size())
+			return null;
+
+		List<String> recipes = new ArrayList<>(registers.subList(indexed, registers.size()));
+		recipes.sort(null);
+		indexed = registers.size();
+
+		String first = recipes.get(0);
+		String pkg = first.contains(".") ? first.substring(0, first.lastIndexOf('.')) : "";
+		String hash = UUID.nameUUIDFromBytes(String.join(",", recipes).getBytes(StandardCharsets.UTF_8)).toString().replace("-", "");
+		ClassType indexClass = TypeFactory.createClassType(pkg, indexType.getSimpleName() + "_" + hash);
+
+		List<String> createCode = new ArrayList<>();
+		createCode.add("switch (recipeName) {");
+		for (String r : recipes) {
+			createCode.add("    case \"" + r + "\":");
+			createCode.add("        return new " + r + "(engine);");
+		}
+		createCode.add("    default:");
+		createCode.add("        return null;");
+		createCode.add("}");
+
+		ClassBuilder builder = ClassBuilder.forConcreteClass(indexClass).setVisibility(VisibilityType.PUBLIC).implementsInterface(ClassBuilder.forInterface(indexType).build());
+		builder.buildMethod(TypeFactory.createClassType(List.class, GenericFactory.create(TypeFactory.createClassType(String.class))), "getRecipeNames").setVisibility(VisibilityType.PUBLIC)
+				.addAnnotation(JAnnotationFactory.create(Override.class)).addCode("return " + List.class.getName() + ".of(\"" + String.join("\", \"", recipes) + "\");").finish();
+		builder.buildMethod(TypeFactory.createClassType(Object.class), "create").setVisibility(VisibilityType.PUBLIC).addAnnotation(JAnnotationFactory.create(Override.class))
+				.buildParameter(TypeFactory.createClassType(String.class), "recipeName").finish().buildParameter(TypeFactory.createClassType(Engine.class), "engine").finish()
+				.addCode(createCode.toArray(new String[createCode.size()])).finish();
+
+		indices.add(indexClass.getFullyQualifiedName());
+		return new ClassDefinition(indexClass, builder.build().generateCode());
+	}
+
+	/**
+	 * @see tendril.annotationprocessor.AbstractTendrilProccessor#validateType(javax.lang.model.element.TypeElement)
+	 */
+	@Override
+	protected void validateType(TypeElement type) throws TendrilException {
+		currentElement = type;
 	}
 
 	/**
@@ -34,9 +175,194 @@ abstract class AbstractRegistryProcessor extends AbstractTendrilProccessor {
 	@Override
 	protected ClassDefinition processType() {
 		registers.add(currentClassType.getFullyQualifiedName());
+
+		RecipeMetadata recipeMetadata = createMetadata(currentElement);
+		if (recipeMetadata != null)
+			metadata.add(recipeMetadata);
+		else
+			isIncomplete = true;
+		currentElement = null;
 		return null;
 	}
 
+	/**
+	 * Create the metadata for the registered recipe. The type of bean the recipe advertises and the class which defines the bean are retrieved from the generic parameters
+	 * of the recipe base class (the former being the first and the latter the last), with the descriptor and requirements being taken from the annotations of the class
+	 * which defines the bean.
+	 * 
+	 * @param recipe {@link TypeElement} of the recipe class
+	 * @return {@link RecipeMetadata} of the recipe (null if its metadata cannot be determined, in which case the recipe must be evaluated once loaded)
+	 */
+	private RecipeMetadata createMetadata(TypeElement recipe) {
+		if (recipe == null || recipe.getSuperclass().getKind() != TypeKind.DECLARED)
+			return null;
+
+		List<? extends TypeMirror> typeArgs = ((DeclaredType) recipe.getSuperclass()).getTypeArguments();
+		if (typeArgs.isEmpty())
+			return null;
+
+		TypeElement beanElement = asTypeElement(typeArgs.get(0));
+		TypeElement creatorElement = asTypeElement(typeArgs.get(typeArgs.size() - 1));
+		if (beanElement == null || creatorElement == null)
+			return null;
+
+		try {
+			JClass creator = ElementLoader.retrieveClass(processingEnv, creatorElement);
+			RecipeMetadata recipeMetadata = new RecipeMetadata(recipe.getQualifiedName().toString(), beanElement.getQualifiedName().toString(), creator.hasAnnotation(Primary.class),
+					creator.hasAnnotation(Fallback.class), AnnotationHelper.retrieveRequirement(creator, RequiresEnv.class, RequiresOneOfEnv.class, RequiresNotEnv.class),
+					AnnotationHelper.retrieveRequirement(creator, RequiresProp.class, RequiresOneOfProp.class, RequiresNotProp.class));
+			TypeElement recipeBase = asTypeElement(recipe.getSuperclass());
+			recipeMetadata.setConfiguration(recipeBase != null && recipeBase.getQualifiedName().contentEquals(ConfigurationRecipe.class.getName()));
+			collectSupertypes(beanElement.asType(), new LinkedHashSet<>()).forEach(recipeMetadata::addSupertype);
+			AnnotationHelper.visitDescriptor(creator, new AnnotationHelper.DescriptorVisitor() {
+				@Override
+				public void name(String name) {
+					recipeMetadata.setName(name);
+				}
+
+				@Override
+				public void enumQualifier(EnumerationEntry entry) {
+					recipeMetadata.addEnumQualifier(entry.getEnclosingClass().getFullyQualifiedName() + "." + entry.getName());
+				}
+
+				@Override
+				public void qualifier(ClassType qualifier) {
+					recipeMetadata.addQualifier(qualifier.getFullyQualifiedName());
+				}
+			});
+
+			if (linksDependencies)
+				addToLinker(recipeMetadata, creator, typeArgs.get(0) instanceof DeclaredType d && !d.getTypeArguments().isEmpty());
+			return recipeMetadata;
+		} catch (Exception e) {
+			processingEnv.getMessager().printMessage(Kind.WARNING, recipe.getQualifiedName() + " - unable to determine the metadata of the recipe, it will be evaluated once loaded: " + e,
+					recipe);
+			return null;
+		}
+	}
+
+	/**
+	 * Add the recipe to the linker. Recipes which provide a bean themselves are added as providers, whereas for configurations (and the recipes of duplicated beans)
+	 * the beans they provide are not known until runtime. The dependencies which are injected into the fields of the bean are recorded in the metadata of the recipe,
+	 * so that they can be linked once all recipes are known.
+	 * 
+	 * @param metadata        {@link RecipeMetadata} of the recipe
+	 * @param creator         {@link JClass} which defines the bean
+	 * @param isParameterized boolean true if the bean is advertised with generics (and therefore cannot be matched by type name alone)
+	 */
+	private void addToLinker(RecipeMetadata metadata, JClass creator, boolean isParameterized) {
+		boolean isDuplicate = creator.hasAnnotation(Duplicate.class);
+
+		if (isDuplicate || isParameterized)
+			linker.addUnknownProvider(getHierarchy(metadata.getBeanType()));
+		else if (metadata.isConfiguration()) {
+			List<JMethod<?>> nested = new ArrayList<>(creator.getMethods(Bean.class));
+			nested.addAll(creator.getMethods(Replaces.class));
+			nested.addAll(creator.getMethods(Duplicate.class));
+			for (JMethod<?> m : nested) {
+				if (m.getType() instanceof ClassType beanType)
+					linker.addUnknownProvider(getHierarchy(beanType.getFullyQualifiedName()));
+			}
+		} else
+			linker.addProvider(metadata);
+
+		// The fields of duplicated beans are injected by the recipes of the copies
+		if (isDuplicate)
+			return;
+
+		for (JField<?> field : creator.getFields(Inject.class)) {
+			if (!(field.getType() instanceof ClassType fieldType) || !fieldType.getGenerics().isEmpty() || fieldType.getFullyQualifiedName().equals(Class.class.getName()))
+				continue;
+
+			Dependency dependency = new Dependency(field.getName(), fieldType.getFullyQualifiedName());
+			AnnotationHelper.visitDescriptor(field, new AnnotationHelper.DescriptorVisitor() {
+				@Override
+				public void name(String name) {
+					dependency.setName(name);
+				}
+
+				@Override
+				public void enumQualifier(EnumerationEntry entry) {
+					dependency.addEnumQualifier(entry.getEnclosingClass().getFullyQualifiedName() + "." + entry.getName());
+				}
+
+				@Override
+				public void qualifier(ClassType qualifier) {
+					dependency.addQualifier(qualifier.getFullyQualifiedName());
+				}
+			});
+			metadata.addDependency(dependency);
+		}
+	}
+
+	/**
+	 * Link the dependencies of all registered recipes to the recipes which provide them
+	 */
+	private void linkDependencies() {
+		String aot = processingEnv.getOptions().get(AOT_OPTION);
+		if (aot != null && !Boolean.parseBoolean(aot))
+			return;
+		boolean isStrict = Boolean.parseBoolean(processingEnv.getOptions().get(AOT_STRICT_OPTION));
+
+		for (RecipeMetadata consumer : metadata) {
+			for (Dependency dependency : consumer.getDependencies()) {
+				List<RecipeMetadata> providers = linker.resolve(dependency);
+				if (providers == null)
+					continue;
+
+				if (providers.size() == 1)
+					consumer.addLink(dependency.getField(), providers.get(0).getRecipeName());
+				else if (isStrict && !isIncomplete)
+					processingEnv.getMessager().printMessage(Kind.ERROR, consumer.getRecipeName() + " - " + dependency + (providers.isEmpty() ? " is not provided by any bean"
+							: " is ambiguous between " + TendrilStringUtil.join(providers, p -> p.getRecipeName())));
+			}
+		}
+	}
+
+	/**
+	 * Get the names of the type and all of its supertypes
+	 * 
+	 * @param typeName {@link String} fully qualified name of the type
+	 * @return {@link Set} of {@link String} fully qualified names
+	 */
+	private Set<String> getHierarchy(String typeName) {
+		TypeElement element = processingEnv.getElementUtils().getTypeElement(typeName);
+		if (element == null)
+			return Collections.singleton(typeName);
+
+		Set<String> hierarchy = new LinkedHashSet<>();
+		hierarchy.add(typeName);
+		return collectSupertypes(element.asType(), hierarchy);
+	}
+
+	/**
+	 * Collect the fully qualified names of all supertypes of the type
+	 * 
+	 * @param type       {@link TypeMirror} whose supertypes are to be collected
+	 * @param supertypes {@link Set} into which the supertypes are collected
+	 * @return {@link Set} of {@link String} supertype names
+	 */
+	private Set<String> collectSupertypes(TypeMirror type, Set<String> supertypes) {
+		for (TypeMirror parent : processingEnv.getTypeUtils().directSupertypes(type)) {
+			TypeElement parentElement = asTypeElement(parent);
+			if (parentElement != null && supertypes.add(parentElement.getQualifiedName().toString()))
+				collectSupertypes(parent, supertypes);
+		}
+
+		return supertypes;
+	}
+
+	/**
+	 * Get the type element of the type
+	 * 
+	 * @param type {@link TypeMirror} of the type
+	 * @return {@link TypeElement} (null if the type is not a declared type)
+	 */
+	private TypeElement asTypeElement(TypeMirror type) {
+		Element element = processingEnv.getTypeUtils().asElement(type);
+		return element instanceof TypeElement typeElement ? typeElement : null;
+	}
+
 	/**
 	 * @see tendril.annotationprocessor.AbstractTendrilProccessor#processMethod()
 	 */
@@ -59,7 +385,12 @@ abstract class AbstractRegistryProcessor extends AbstractTendrilProccessor {
 	@Override
 	protected void processingOver() {
 		super.processingOver();
+		if (linksDependencies)
+			linkDependencies();
 		writeResourceFile(path, registers);
+		writeResourceFile(metadataPath, RecipeMetadata.write(metadata));
+		if (!indices.isEmpty())
+			writeResourceFile("META-INF/services/" + indexType.getName(), indices);
 	}
 
 }
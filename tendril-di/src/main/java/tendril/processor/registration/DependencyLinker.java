@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.processor.registration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import tendril.processor.registration.RecipeMetadata.Dependency;
+
+/**
+ * Links the dependencies of the recipes which are registered by a module ahead of time. Each dependency is matched against the beans which the recipes of the module
+ * provide, applying the same priorities as the engine does at runtime (the {@code Primary} beans if there are any, otherwise the basic beans, otherwise the
+ * {@code Fallback} beans). Dependencies which could also be provided by a bean whose recipe is not known at compile time (a bean created by a configuration, duplicated
+ * from a blueprint, or advertised with generics) are left to be resolved by the engine at runtime.
+ */
+class DependencyLinker {
+	/** The recipes of the module which provide an injectable bean */
+	private final List<RecipeMetadata> providers = new ArrayList<>();
+	/** The type hierarchies of the beans which are provided by recipes that are not known at compile time */
+	private final List<Set<String>> unknownProviders = new ArrayList<>();
+
+	/**
+	 * CTOR
+	 */
+	DependencyLinker() {
+	}
+
+	/**
+	 * Add a recipe which provides an injectable bean
+	 *
+	 * @param provider {@link RecipeMetadata} of the recipe
+	 */
+	void addProvider(RecipeMetadata provider) {
+		providers.add(provider);
+	}
+
+	/**
+	 * Add a bean whose recipe is not known at compile time
+	 *
+	 * @param hierarchy {@link Set} of {@link String} fully qualified names of the type of the bean and all of its supertypes
+	 */
+	void addUnknownProvider(Set<String> hierarchy) {
+		unknownProviders.add(hierarchy);
+	}
+
+	/**
+	 * Find the recipes which the dependency resolves to. Only the recipes of the priority which would be selected are returned, such that the dependency is only
+	 * resolved if exactly one recipe is found.
+	 *
+	 * @param dependency {@link Dependency} to resolve
+	 * @return {@link List} of {@link RecipeMetadata} of the recipes which the dependency resolves to (null if the dependency cannot be resolved at compile time)
+	 */
+	List<RecipeMetadata> resolve(Dependency dependency) {
+		for (Set<String> unknown : unknownProviders) {
+			if (unknown.contains(dependency.getType()))
+				return null;
+		}
+
+		List<RecipeMetadata> primary = new ArrayList<>();
+		List<RecipeMetadata> basic = new ArrayList<>();
+		List<RecipeMetadata> fallback = new ArrayList<>();
+		for (RecipeMetadata p : providers) {
+			if (!dependency.matches(p))
+				continue;
+
+			if (p.isPrimary())
+				primary.add(p);
+			else if (p.isFallback())
+				fallback.add(p);
+			else
+				basic.add(p);
+		}
+
+		if (!primary.isEmpty())
+			return primary;
+		return basic.isEmpty() ? fallback : basic;
+	}
+}
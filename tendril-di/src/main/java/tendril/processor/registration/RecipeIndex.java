@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.processor.registration;
+
+import java.util.List;
+
+import tendril.context.Engine;
+
+/**
+ * Index of recipes which is generated alongside a registry file, allowing for the registered recipes to be created directly rather than via reflection. One index is
+ * generated for each set of recipes that is registered during compilation, with the indices being discovered via the {@link java.util.ServiceLoader}.
+ */
+public interface RecipeIndex {
+
+	/**
+	 * Get the names of all recipes which are present in the index
+	 * 
+	 * @return {@link List} of {@link String} fully qualified recipe class names
+	 */
+	List<String> getRecipeNames();
+
+	/**
+	 * Create the indicated recipe
+	 * 
+	 * @param recipeName {@link String} the fully qualified name of the recipe class
+	 * @param engine     {@link Engine} to which the recipe is to belong
+	 * @return {@link Object} the created recipe, or null if the recipe is not present in the index
+	 */
+	Object create(String recipeName, Engine engine);
+}
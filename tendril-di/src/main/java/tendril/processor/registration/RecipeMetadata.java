@@ -0,0 +1,621 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.processor.registration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import tendril.bean.requirement.Requirement;
+
+/**
+ * The details of a registered recipe which are known at compile time, allowing for the recipe to be evaluated without loading its class. The metadata of all recipes
+ * within a registry is stored in a compact binary file alongside the registry, with the format being:
+ *
+ * <pre>
+ * int     magic number
+ * short   format version
+ * int     number of recipes
+ * recipe* the metadata of each recipe
+ * </pre>
+ *
+ * where each string is stored as a short length followed by its UTF-8 bytes, and each list as a short count followed by its entries. The metadata of each recipe ends
+ * with the dependencies which were linked ahead of time, as a short count followed by the name of each injected field and the recipe which provides it.
+ *
+ * The injected dependencies of the recipe are only known at compile time (while the dependencies are being linked), and are not stored in the file.
+ */
+public class RecipeMetadata {
+	/** Magic number identifying a recipe metadata file */
+	static final int MAGIC = 0x54524D44;
+	/** The version of the file format */
+	static final short VERSION = 3;
+
+	/** Flag indicating that the recipe is primary */
+	private static final byte FLAG_PRIMARY = 0x01;
+	/** Flag indicating that the recipe is fallback */
+	private static final byte FLAG_FALLBACK = 0x02;
+	/** Flag indicating that the recipe is a configuration */
+	private static final byte FLAG_CONFIGURATION = 0x04;
+
+	/** The fully qualified name of the recipe class */
+	private final String recipeName;
+	/** The fully qualified name of the type of bean the recipe advertises */
+	private final String beanType;
+	/** The fully qualified names of all supertypes of the bean type */
+	private final List<String> supertypes = new ArrayList<>();
+	/** The name of the bean (empty if the bean is not named) */
+	private String name = "";
+	/** The enum qualifiers applied to the bean, in the form EnumClass.VALUE */
+	private final List<String> enumQualifiers = new ArrayList<>();
+	/** The fully qualified names of the qualifier annotations applied to the bean */
+	private final List<String> qualifiers = new ArrayList<>();
+	/** Flag for whether the bean is primary */
+	private final boolean isPrimary;
+	/** Flag for whether the bean is fallback */
+	private final boolean isFallback;
+	/** Flag for whether the recipe is a configuration, providing nested recipes rather than a bean of its own */
+	private boolean isConfiguration = false;
+	/** The environment requirements of the recipe */
+	private final Requirement environmentRequirement;
+	/** The property requirements of the recipe */
+	private final Requirement propertyRequirement;
+	/** The dependencies which are injected into fields of the bean (only available at compile time) */
+	private final List<Dependency> dependencies = new ArrayList<>();
+	/** The recipe providing each dependency that was linked ahead of time, mapped to the name of the field into which it is injected */
+	private final Map<String, String> links = new LinkedHashMap<>();
+	/** The names of all recipes whose metadata was written alongside this recipe (i.e.: were registered by the same module) */
+	private Set<String> moduleRecipes = Collections.emptySet();
+
+	/**
+	 * CTOR
+	 *
+	 * @param recipeName             {@link String} the fully qualified name of the recipe class
+	 * @param beanType               {@link String} the fully qualified name of the type of bean the recipe advertises
+	 * @param isPrimary              boolean true if the bean is primary
+	 * @param isFallback             boolean true if the bean is fallback
+	 * @param environmentRequirement {@link Requirement} environment requirements of the recipe
+	 * @param propertyRequirement    {@link Requirement} property requirements of the recipe
+	 */
+	public RecipeMetadata(String recipeName, String beanType, boolean isPrimary, boolean isFallback, Requirement environmentRequirement, Requirement propertyRequirement) {
+		this.recipeName = recipeName;
+		this.beanType = beanType;
+		this.isPrimary = isPrimary;
+		this.isFallback = isFallback;
+		this.environmentRequirement = environmentRequirement;
+		this.propertyRequirement = propertyRequirement;
+	}
+
+	/**
+	 * Get the name of the recipe class
+	 *
+	 * @return {@link String} fully qualified name
+	 */
+	public String getRecipeName() {
+		return recipeName;
+	}
+
+	/**
+	 * Get the type of bean the recipe advertises
+	 *
+	 * @return {@link String} fully qualified name
+	 */
+	public String getBeanType() {
+		return beanType;
+	}
+
+	/**
+	 * Add a supertype of the bean type
+	 *
+	 * @param supertype {@link String} fully qualified name of the supertype
+	 */
+	public void addSupertype(String supertype) {
+		supertypes.add(supertype);
+	}
+
+	/**
+	 * Get the supertypes of the bean type
+	 *
+	 * @return {@link List} of {@link String} fully qualified names
+	 */
+	public List<String> getSupertypes() {
+		return supertypes;
+	}
+
+	/**
+	 * Set the name of the bean
+	 *
+	 * @param name {@link String} the name
+	 */
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Get the name of the bean
+	 *
+	 * @return {@link String} the name (empty if the bean is not named)
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Add an enum qualifier applied to the bean
+	 *
+	 * @param qualifier {@link String} in the form EnumClass.VALUE
+	 */
+	public void addEnumQualifier(String qualifier) {
+		enumQualifiers.add(qualifier);
+	}
+
+	/**
+	 * Get the enum qualifiers applied to the bean
+	 *
+	 * @return {@link List} of {@link String}s in the form EnumClass.VALUE
+	 */
+	public List<String> getEnumQualifiers() {
+		return enumQualifiers;
+	}
+
+	/**
+	 * Add a qualifier annotation applied to the bean
+	 *
+	 * @param qualifier {@link String} fully qualified name of the qualifier annotation
+	 */
+	public void addQualifier(String qualifier) {
+		qualifiers.add(qualifier);
+	}
+
+	/**
+	 * Get the qualifier annotations applied to the bean
+	 *
+	 * @return {@link List} of {@link String} fully qualified names
+	 */
+	public List<String> getQualifiers() {
+		return qualifiers;
+	}
+
+	/**
+	 * Get whether the bean is primary
+	 *
+	 * @return boolean true if primary
+	 */
+	public boolean isPrimary() {
+		return isPrimary;
+	}
+
+	/**
+	 * Get whether the bean is fallback
+	 *
+	 * @return boolean true if fallback
+	 */
+	public boolean isFallback() {
+		return isFallback;
+	}
+
+	/**
+	 * Set whether the recipe is a configuration. Configurations (including the recipes which create the duplicates of a bean) provide nested recipes, the beans of
+	 * which cannot be determined from the metadata.
+	 *
+	 * @param isConfiguration boolean true if the recipe is a configuration
+	 */
+	public void setConfiguration(boolean isConfiguration) {
+		this.isConfiguration = isConfiguration;
+	}
+
+	/**
+	 * Get whether the recipe is a configuration
+	 *
+	 * @return boolean true if a configuration
+	 */
+	public boolean isConfiguration() {
+		return isConfiguration;
+	}
+
+	/**
+	 * Get the environment requirements of the recipe
+	 *
+	 * @return {@link Requirement}
+	 */
+	public Requirement getEnvironmentRequirement() {
+		return environmentRequirement;
+	}
+
+	/**
+	 * Get the property requirements of the recipe
+	 *
+	 * @return {@link Requirement}
+	 */
+	public Requirement getPropertyRequirement() {
+		return propertyRequirement;
+	}
+
+	/**
+	 * Add a dependency which is injected into a field of the bean
+	 *
+	 * @param dependency {@link Dependency} which is injected
+	 */
+	public void addDependency(Dependency dependency) {
+		dependencies.add(dependency);
+	}
+
+	/**
+	 * Get the dependencies which are injected into fields of the bean. These are only available at compile time.
+	 *
+	 * @return {@link List} of {@link Dependency}
+	 */
+	public List<Dependency> getDependencies() {
+		return dependencies;
+	}
+
+	/**
+	 * Link the dependency injected into the field to the recipe which provides it
+	 *
+	 * @param field    {@link String} the name of the field into which the dependency is injected
+	 * @param provider {@link String} the fully qualified name of the recipe which provides the dependency
+	 */
+	public void addLink(String field, String provider) {
+		links.put(field, provider);
+	}
+
+	/**
+	 * Get the recipes which provide the dependencies that were linked ahead of time
+	 *
+	 * @return {@link Map} of {@link String} field name to the {@link String} fully qualified name of the recipe which provides its dependency
+	 */
+	public Map<String, String> getLinks() {
+		return links;
+	}
+
+	/**
+	 * Get the names of all recipes whose metadata was written alongside this recipe. The links of the recipe were resolved against (only) these recipes.
+	 *
+	 * @return {@link Set} of {@link String} fully qualified recipe names
+	 */
+	public Set<String> getModuleRecipes() {
+		return moduleRecipes;
+	}
+
+	/**
+	 * Encode the metadata of the recipes into the binary format
+	 *
+	 * @param recipes {@link Collection} of {@link RecipeMetadata} to encode
+	 * @return byte[] containing the encoded metadata
+	 */
+	public static byte[] write(Collection<RecipeMetadata> recipes) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(MAGIC);
+			out.writeShort(VERSION);
+			out.writeInt(recipes.size());
+			for (RecipeMetadata r : recipes)
+				r.write(out);
+		} catch (IOException e) {
+			// Cannot happen when writing to memory
+			throw new IllegalStateException(e);
+		}
+
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decode the metadata of the recipes from the binary format
+	 *
+	 * @param buffer {@link ByteBuffer} containing the encoded metadata
+	 * @return {@link Map} of {@link String} recipe class name to its {@link RecipeMetadata}
+	 * @throws IOException if the buffer does not contain metadata in a supported format
+	 */
+	public static Map<String, RecipeMetadata> read(ByteBuffer buffer) throws IOException {
+		try {
+			if (buffer.getInt() != MAGIC)
+				throw new IOException("Not a recipe metadata file");
+			short version = buffer.getShort();
+			if (version != VERSION)
+				throw new IOException("Unsupported recipe metadata version " + version);
+
+			int count = buffer.getInt();
+			Map<String, RecipeMetadata> recipes = new HashMap<>();
+			for (int i = 0; i < count; i++) {
+				RecipeMetadata r = read(buffer, readString(buffer));
+				recipes.put(r.recipeName, r);
+			}
+
+			Set<String> module = Collections.unmodifiableSet(new HashSet<>(recipes.keySet()));
+			recipes.values().forEach(r -> r.moduleRecipes = module);
+			return recipes;
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Truncated recipe metadata", e);
+		}
+	}
+
+	/**
+	 * Write the metadata of this recipe
+	 *
+	 * @param out {@link DataOutputStream} to write to
+	 * @throws IOException if the writing fails
+	 */
+	private void write(DataOutputStream out) throws IOException {
+		writeString(out, recipeName);
+		writeString(out, beanType);
+		writeList(out, supertypes);
+		writeString(out, name);
+		writeList(out, enumQualifiers);
+		writeList(out, qualifiers);
+		out.writeByte((isPrimary ? FLAG_PRIMARY : 0) | (isFallback ? FLAG_FALLBACK : 0) | (isConfiguration ? FLAG_CONFIGURATION : 0));
+		writeRequirement(out, environmentRequirement);
+		writeRequirement(out, propertyRequirement);
+		out.writeShort(links.size());
+		for (Map.Entry<String, String> link : links.entrySet()) {
+			writeString(out, link.getKey());
+			writeString(out, link.getValue());
+		}
+	}
+
+	/**
+	 * Read the metadata of a single recipe
+	 *
+	 * @param buffer     {@link ByteBuffer} to read from
+	 * @param recipeName {@link String} the name of the recipe (already read)
+	 * @return {@link RecipeMetadata}
+	 */
+	private static RecipeMetadata read(ByteBuffer buffer, String recipeName) {
+		String beanType = readString(buffer);
+		List<String> supertypes = readList(buffer);
+		String name = readString(buffer);
+		List<String> enumQualifiers = readList(buffer);
+		List<String> qualifiers = readList(buffer);
+		byte flags = buffer.get();
+		Requirement environment = readRequirement(buffer);
+		Requirement property = readRequirement(buffer);
+
+		RecipeMetadata r = new RecipeMetadata(recipeName, beanType, (flags & FLAG_PRIMARY) != 0, (flags & FLAG_FALLBACK) != 0, environment, property);
+		r.isConfiguration = (flags & FLAG_CONFIGURATION) != 0;
+		r.supertypes.addAll(supertypes);
+		r.name = name;
+		r.enumQualifiers.addAll(enumQualifiers);
+		r.qualifiers.addAll(qualifiers);
+		int links = Short.toUnsignedInt(buffer.getShort());
+		for (int i = 0; i < links; i++)
+			r.links.put(readString(buffer), readString(buffer));
+		return r;
+	}
+
+	/**
+	 * Write a requirement
+	 *
+	 * @param out {@link DataOutputStream} to write to
+	 * @param req {@link Requirement} to write
+	 * @throws IOException if the writing fails
+	 */
+	private static void writeRequirement(DataOutputStream out, Requirement req) throws IOException {
+		writeList(out, req.getRequired());
+		out.writeShort(req.getRequiredOneOf().size());
+		for (List<String> group : req.getRequiredOneOf())
+			writeList(out, group);
+		writeList(out, req.getRequiredNot());
+	}
+
+	/**
+	 * Read a requirement
+	 *
+	 * @param buffer {@link ByteBuffer} to read from
+	 * @return {@link Requirement}
+	 */
+	private static Requirement readRequirement(ByteBuffer buffer) {
+		Requirement req = new Requirement();
+		readList(buffer).forEach(req::addRequired);
+		int groups = Short.toUnsignedInt(buffer.getShort());
+		for (int i = 0; i < groups; i++) {
+			List<String> group = readList(buffer);
+			req.addRequiredOneOf(group.toArray(new String[group.size()]));
+		}
+		readList(buffer).forEach(req::addRequiredNot);
+		return req;
+	}
+
+	/**
+	 * Write a list of strings
+	 *
+	 * @param out    {@link DataOutputStream} to write to
+	 * @param values {@link List} of {@link String}s to write
+	 * @throws IOException if the writing fails
+	 */
+	private static void writeList(DataOutputStream out, List<String> values) throws IOException {
+		out.writeShort(values.size());
+		for (String s : values)
+			writeString(out, s);
+	}
+
+	/**
+	 * Read a list of strings
+	 *
+	 * @param buffer {@link ByteBuffer} to read from
+	 * @return {@link List} of {@link String}s
+	 */
+	private static List<String> readList(ByteBuffer buffer) {
+		int size = Short.toUnsignedInt(buffer.getShort());
+		List<String> values = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			values.add(readString(buffer));
+		return values;
+	}
+
+	/**
+	 * Write a string
+	 *
+	 * @param out   {@link DataOutputStream} to write to
+	 * @param value {@link String} to write
+	 * @throws IOException if the writing fails
+	 */
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Read a string
+	 *
+	 * @param buffer {@link ByteBuffer} to read from
+	 * @return {@link String}
+	 */
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Description of a dependency which is injected into a field of the bean, as known at compile time
+	 */
+	public static class Dependency {
+		/** The name of the field into which the dependency is injected */
+		private final String field;
+		/** The fully qualified name of the type of the dependency */
+		private final String type;
+		/** The name of the desired bean (empty if any name is acceptable) */
+		private String name = "";
+		/** The enum qualifiers which the bean must have, in the form EnumClass.VALUE */
+		private final List<String> enumQualifiers = new ArrayList<>();
+		/** The fully qualified names of the qualifier annotations which the bean must have */
+		private final List<String> qualifiers = new ArrayList<>();
+
+		/**
+		 * CTOR
+		 *
+		 * @param field {@link String} the name of the field into which the dependency is injected
+		 * @param type  {@link String} the fully qualified name of the type of the dependency
+		 */
+		public Dependency(String field, String type) {
+			this.field = field;
+			this.type = type;
+		}
+
+		/**
+		 * Get the name of the field into which the dependency is injected
+		 *
+		 * @return {@link String} the field name
+		 */
+		public String getField() {
+			return field;
+		}
+
+		/**
+		 * Get the type of the dependency
+		 *
+		 * @return {@link String} fully qualified name
+		 */
+		public String getType() {
+			return type;
+		}
+
+		/**
+		 * Set the name of the desired bean
+		 *
+		 * @param name {@link String} the name
+		 */
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Get the name of the desired bean
+		 *
+		 * @return {@link String} the name (empty if any name is acceptable)
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Add an enum qualifier which the bean must have
+		 *
+		 * @param qualifier {@link String} in the form EnumClass.VALUE
+		 */
+		public void addEnumQualifier(String qualifier) {
+			enumQualifiers.add(qualifier);
+		}
+
+		/**
+		 * Get the enum qualifiers which the bean must have
+		 *
+		 * @return {@link List} of {@link String}s in the form EnumClass.VALUE
+		 */
+		public List<String> getEnumQualifiers() {
+			return enumQualifiers;
+		}
+
+		/**
+		 * Add a qualifier annotation which the bean must have
+		 *
+		 * @param qualifier {@link String} fully qualified name of the qualifier annotation
+		 */
+		public void addQualifier(String qualifier) {
+			qualifiers.add(qualifier);
+		}
+
+		/**
+		 * Get the qualifier annotations which the bean must have
+		 *
+		 * @return {@link List} of {@link String} fully qualified names
+		 */
+		public List<String> getQualifiers() {
+			return qualifiers;
+		}
+
+		/**
+		 * Check whether the bean described by the metadata satisfies the dependency, in the same manner as a {@code Descriptor} is matched
+		 *
+		 * @param recipe {@link RecipeMetadata} of the recipe providing the bean
+		 * @return boolean true if the bean satisfies the dependency
+		 */
+		public boolean matches(RecipeMetadata recipe) {
+			if (!recipe.beanType.equals(type) && !recipe.supertypes.contains(type))
+				return false;
+			if (!name.isEmpty() && !name.equals(recipe.name))
+				return false;
+			return recipe.enumQualifiers.containsAll(enumQualifiers) && recipe.qualifiers.containsAll(qualifiers);
+		}
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			StringBuilder str = new StringBuilder(type + " " + field);
+			if (!name.isEmpty())
+				str.append(" named \"" + name + "\"");
+			if (!enumQualifiers.isEmpty() || !qualifiers.isEmpty()) {
+				List<String> all = new ArrayList<>(enumQualifiers);
+				all.addAll(qualifiers);
+				str.append(" qualified by " + all);
+			}
+			return str.toString();
+		}
+	}
+}
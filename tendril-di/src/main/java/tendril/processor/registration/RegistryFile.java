@@ -16,6 +16,7 @@
 package tendril.processor.registration;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.Set;
 
 import tendril.context.ApplicationContext;
@@ -27,6 +28,8 @@ public class RegistryFile {
 
     /** The path where to find the registry file */
     public static String PATH = "META-INF/tendril/registry";
+    /** The path where to find the binary recipe metadata which accompanies the registry file */
+    public static String METADATA_PATH = "META-INF/tendril/registry.bin";
 
     /**
      * Reads the registry file and returns a list of all recipes that have been registered
@@ -38,6 +41,25 @@ public class RegistryFile {
     	return RegistryFileHelper.read(PATH);
     }
 
+    /**
+     * Discovers the generated {@link RegistryIndex}es, through which the registered recipes can be created without reflection
+     * 
+     * @return {@link Map} of {@link String} recipe class name to the {@link RecipeIndex} which can create it
+     */
+    public static Map<String, RecipeIndex> readIndex() {
+    	return RegistryFileHelper.readIndex(RegistryIndex.class);
+    }
+
+    /**
+     * Reads the metadata of the registered recipes, through which the recipes can be evaluated prior to being loaded
+     * 
+     * @return {@link Map} of {@link String} recipe class name to its {@link RecipeMetadata}
+     * @throws IOException if there is an issue opening the file
+     */
+    public static Map<String, RecipeMetadata> readMetadata() throws IOException {
+    	return RegistryFileHelper.readMetadata(METADATA_PATH);
+    }
+
     /**
      * CTOR - should only ever be used as a static class
      */
@@ -4,11 +4,20 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.logging.Logger;
 
 import tendril.context.Engine;
 
@@ -16,6 +25,8 @@ import tendril.context.Engine;
  * Helper containing shared reusable methods and features for managing registry files
  */
 class RegistryFileHelper {
+    /** Logger for the helper */
+    private static final Logger LOGGER = Logger.getLogger(RegistryFileHelper.class.getSimpleName());
 
     /**
      * Reads the registry file and returns a list of all recipes that have been registered
@@ -40,6 +51,67 @@ class RegistryFileHelper {
         return registers;
     }
 
+    /**
+     * Discovers all generated indices of the indicated type, mapping each recipe they contain to the index which can create it
+     * 
+     * @param <INDEX_TYPE> the type of index to discover
+     * @param indexType {@link Class} of the index to discover
+     * @return {@link Map} of {@link String} recipe class name to the {@link RecipeIndex} which can create it
+     */
+    static <INDEX_TYPE extends RecipeIndex> Map<String, RecipeIndex> readIndex(Class<INDEX_TYPE> indexType) {
+        Map<String, RecipeIndex> recipes = new HashMap<>();
+        for (INDEX_TYPE index : ServiceLoader.load(indexType, Engine.class.getClassLoader())) {
+            for (String recipe : index.getRecipeNames())
+                recipes.put(recipe, index);
+        }
+
+        return recipes;
+    }
+
+    /**
+     * Reads all recipe metadata files which are present at the indicated path. Files on the file system are memory mapped, whereas those within an archive are read
+     * into memory. Any file which is not in a supported format is skipped, leaving its recipes to be evaluated once they are loaded.
+     * 
+     * @param filePath {@link String} path to the metadata file
+     * @return {@link Map} of {@link String} recipe class name to its {@link RecipeMetadata}
+     * @throws IOException if there is an issue opening the file
+     */
+    static Map<String, RecipeMetadata> readMetadata(String filePath) throws IOException {
+        Map<String, RecipeMetadata> metadata = new HashMap<>();
+
+        Enumeration<URL> resEnum = Engine.class.getClassLoader().getResources(filePath);
+        for (URL url : Collections.list(resEnum)) {
+            try {
+                metadata.putAll(RecipeMetadata.read(mapResource(url)));
+            } catch (IOException e) {
+                LOGGER.warning("Skipping recipe metadata " + url + ": " + e.getMessage());
+            }
+        }
+
+        return metadata;
+    }
+
+    /**
+     * Map the contents of the resource into a buffer
+     * 
+     * @param url {@link URL} of the resource
+     * @return {@link ByteBuffer} containing the contents of the resource
+     * @throws IOException if there is an issue reading the resource
+     */
+    private static ByteBuffer mapResource(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (URISyntaxException e) {
+                // Fall through and read it as a stream
+            }
+        }
+
+        try (InputStream ios = url.openStream()) {
+            return ByteBuffer.wrap(ios.readAllBytes());
+        }
+    }
+
     /**
      * CTOR - should only ever be used as a static class
      */
@@ -17,6 +17,7 @@ package tendril.processor.registration;
 
 import javax.annotation.processing.Processor;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 
@@ -25,9 +26,11 @@ import com.google.auto.service.AutoService;
 import tendril.bean.recipe.Registry;
 
 /**
- * Annotation processor for recipes which are annotated with @{@link Registry} and are to be added to the recipe registry
+ * Annotation processor for recipes which are annotated with @{@link Registry} and are to be added to the recipe registry. The dependencies of the registered recipes
+ * are linked ahead of time.
  */
 @SupportedAnnotationTypes("tendril.bean.recipe.Registry")
+@SupportedOptions({ AbstractRegistryProcessor.AOT_OPTION, AbstractRegistryProcessor.AOT_STRICT_OPTION })
 @SupportedSourceVersion(SourceVersion.RELEASE_21)
 @AutoService(Processor.class)
 public class RegistryProcessor extends AbstractRegistryProcessor {
@@ -36,6 +39,6 @@ public class RegistryProcessor extends AbstractRegistryProcessor {
 	 * CTOR
 	 */
 	public RegistryProcessor() {
-		super("Registry", RegistryFile.PATH);
+		super("Registry", RegistryFile.PATH, RegistryFile.METADATA_PATH, RegistryIndex.class, true);
 	}
 }
@@ -36,6 +36,6 @@ public class ReplacementRegistryProcessor extends AbstractRegistryProcessor {
 	 * CTOR
 	 */
 	public ReplacementRegistryProcessor() {
-		super("Replaces Registry", ReplacementRegistryFile.PATH);
+		super("Replaces Registry", ReplacementRegistryFile.PATH, ReplacementRegistryFile.METADATA_PATH, ReplacementRegistryIndex.class, false);
 	}
 }
@@ -69,7 +69,7 @@ public class RunnerProcessor extends AbstractDelayedAnnotationTendrilProcessor {
 	 */
 	@Override
 	protected ClassDefinition processType() throws TendrilException {
-		ClassDefinition generatedDef = RecipeGenerator.generate(currentClassType, currentClass, processingEnv.getMessager(), null);
+		ClassDefinition generatedDef = RecipeGenerator.generate(currentClassType, currentClass, processingEnv, null);
 		runners.add(generatedDef.getType().getFullyQualifiedName());
 		return generatedDef;
 	}
@@ -18,6 +18,7 @@ package tendril.bean.qualifier;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -749,7 +750,119 @@ public class DescriptorNoVariableNameTest extends AbstractUnitTest {
 		Assertions.assertTrue(descriptor.hasBlueprint());
 		Assertions.assertEquals("abc123", (String) descriptor.getBlueprint());
 	}
-	
+
+	/**
+	 * Verify that a frozen descriptor can no longer be modified, but can still be matched
+	 */
+	@Test
+	public void testFreeze() {
+		descriptor.setName("name");
+		descriptor.addEnumQualifier(TestEnum.A);
+		descriptor.addQualifier(String.class);
+		Assertions.assertFalse(descriptor.isFrozen());
+		Assertions.assertSame(descriptor, descriptor.freeze());
+		Assertions.assertTrue(descriptor.isFrozen());
+
+		Assertions.assertThrows(IllegalStateException.class, () -> descriptor.setName("other"));
+		Assertions.assertThrows(IllegalStateException.class, () -> descriptor.addEnumQualifier(TestEnum.B));
+		Assertions.assertThrows(IllegalStateException.class, () -> descriptor.addQualifier(Runnable.class));
+		Assertions.assertThrows(IllegalStateException.class, () -> descriptor.setBlueprint("blueprint"));
+		Assertions.assertThrows(IllegalStateException.class, () -> descriptor.updateFrom(new Descriptor<>(SingleCtorBean.class)));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> descriptor.getQualifiers().add(Runnable.class));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> descriptor.getEnumQualifiers().add(TestEnum.B));
+
+		// Values are unchanged and matching still works
+		Assertions.assertEquals("name", descriptor.getName());
+		CollectionAssert.assertEquivalent(descriptor.getQualifiers(), String.class);
+		CollectionAssert.assertEquivalent(descriptor.getEnumQualifiers(), TestEnum.A);
+		Assertions.assertTrue(descriptor.matches(new Descriptor<>(SingleCtorBean.class).setName("name").addEnumQualifier(TestEnum.A).addQualifier(String.class)));
+
+		// Freezing again has no effect
+		Assertions.assertSame(descriptor, descriptor.freeze());
+		Assertions.assertTrue(descriptor.isFrozen());
+	}
+
+	/**
+	 * Verify that the hash code is consistent with equality, and is unchanged by freezing
+	 */
+	@Test
+	public void testHashCode() {
+		descriptor.setName("name").addEnumQualifier(TestEnum.A).addQualifier(String.class);
+		Descriptor<SingleCtorBean> other = new Descriptor<>(SingleCtorBean.class).setName("name").addEnumQualifier(TestEnum.A).addQualifier(String.class);
+		Assertions.assertEquals(descriptor, other);
+		Assertions.assertEquals(descriptor.hashCode(), other.hashCode());
+
+		int hash = descriptor.hashCode();
+		Assertions.assertEquals(hash, descriptor.freeze().hashCode());
+		Assertions.assertEquals(descriptor, other);
+		Assertions.assertEquals(other, descriptor);
+	}
+
+	/**
+	 * Verify that identical descriptors are interned to the same frozen instance
+	 */
+	@Test
+	public void testIntern() {
+		Descriptor<SingleCtorBean> canonical = new Descriptor<>(SingleCtorBean.class).setName("interned").addEnumQualifier(TestEnum.C).intern();
+		Assertions.assertTrue(canonical.isFrozen());
+		Assertions.assertSame(canonical, canonical.intern());
+		Assertions.assertSame(canonical, new Descriptor<>(SingleCtorBean.class).setName("interned").addEnumQualifier(TestEnum.C).intern());
+
+		// Any difference results in a different instance
+		Assertions.assertNotSame(canonical, new Descriptor<>(SingleCtorBean.class).setName("interned").intern());
+		Assertions.assertNotSame(canonical, new Descriptor<>(SingleCtorBean.class, "var").setName("interned").addEnumQualifier(TestEnum.C).intern());
+		Assertions.assertNotSame(canonical, new Descriptor<>(SingleCtorBean.class).setName("interned").addEnumQualifier(TestEnum.C).addQualifier(String.class).intern());
+		Assertions.assertNotSame(canonical, new Descriptor<>(StringTestRecipe.class).setName("interned").addEnumQualifier(TestEnum.C).intern());
+		Assertions.assertTrue(canonical.matches(canonical));
+	}
+
+	/**
+	 * Verify that the intern table does not keep a canonical instance (nor the blueprint it references) alive once it is no longer in use
+	 */
+	@Test
+	public void testInternReleased() throws InterruptedException {
+		Descriptor<SingleCtorBean> canonical = new Descriptor<>(SingleCtorBean.class).setBlueprint(new Object()).intern();
+		Assertions.assertTrue(canonical.isInterned());
+		WeakReference<Object> blueprint = new WeakReference<>(canonical.getBlueprint());
+		canonical = null;
+
+		for (int i = 0; i < 50 && blueprint.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		Assertions.assertNull(blueprint.get());
+
+		// Interning removes the entries of the collected instances, with an identical descriptor becoming the new canonical instance
+		Descriptor<SingleCtorBean> other = new Descriptor<>(SingleCtorBean.class).setName("released");
+		Assertions.assertSame(other, other.intern());
+		Assertions.assertTrue(other.isInterned());
+		Assertions.assertFalse(new Descriptor<>(SingleCtorBean.class).setName("released").isInterned());
+	}
+
+	/**
+	 * Verify that frozen descriptors match via their qualifier masks in the same manner as they do via their qualifier sets
+	 */
+	@Test
+	public void testFrozenMatches() {
+		descriptor.addEnumQualifier(TestEnum.A).addEnumQualifier(TestEnum.B).addQualifier(String.class);
+		Descriptor<SingleCtorBean> subset = new Descriptor<>(SingleCtorBean.class).addEnumQualifier(TestEnum.B).addQualifier(String.class);
+		Descriptor<SingleCtorBean> superset = new Descriptor<>(SingleCtorBean.class).addEnumQualifier(TestEnum.B).addEnumQualifier(TestEnum.D).addQualifier(String.class);
+		Descriptor<SingleCtorBean> otherQualifier = new Descriptor<>(SingleCtorBean.class).addEnumQualifier(TestEnum.A).addQualifier(Runnable.class);
+
+		for (int i = 0; i < 2; i++) {
+			Assertions.assertTrue(descriptor.matches(subset));
+			Assertions.assertFalse(descriptor.matches(superset));
+			Assertions.assertFalse(descriptor.matches(otherQualifier));
+			Assertions.assertFalse(subset.matches(descriptor));
+			Assertions.assertTrue(superset.matches(subset));
+
+			descriptor.freeze();
+			subset.freeze();
+			superset.freeze();
+			otherQualifier.freeze();
+		}
+	}
+
 	/**
 	 * Enumeration to use for testing
 	 */
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.bean.qualifier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link QualifierIds}
+ */
+public class QualifierIdsTest {
+
+	/**
+	 * Verify that each qualifier is assigned its own id, which does not change
+	 */
+	@Test
+	public void testIdOf() {
+		int a = QualifierIds.idOf(TestEnum.A);
+		int b = QualifierIds.idOf(TestEnum.B);
+		int named = QualifierIds.idOf(Named.class);
+
+		Assertions.assertNotEquals(a, b);
+		Assertions.assertNotEquals(a, named);
+		Assertions.assertNotEquals(b, named);
+		Assertions.assertEquals(a, QualifierIds.idOf(TestEnum.A));
+		Assertions.assertEquals(b, QualifierIds.idOf(TestEnum.B));
+		Assertions.assertEquals(named, QualifierIds.idOf(Named.class));
+	}
+
+	/**
+	 * Verify that the masks are compared as expected
+	 */
+	@Test
+	public void testContainsAll() {
+		long[] empty = QualifierIds.maskOf(Collections.emptyList(), Collections.emptyList());
+		long[] a = QualifierIds.maskOf(Arrays.asList(TestEnum.A), Collections.emptyList());
+		long[] ab = QualifierIds.maskOf(Arrays.asList(TestEnum.A, TestEnum.B), Collections.emptyList());
+		long[] abNamed = QualifierIds.maskOf(Arrays.asList(TestEnum.A, TestEnum.B), List.of(Named.class));
+
+		Assertions.assertTrue(QualifierIds.containsAll(empty, empty));
+		Assertions.assertTrue(QualifierIds.containsAll(a, empty));
+		Assertions.assertFalse(QualifierIds.containsAll(empty, a));
+		Assertions.assertTrue(QualifierIds.containsAll(ab, a));
+		Assertions.assertFalse(QualifierIds.containsAll(a, ab));
+		Assertions.assertTrue(QualifierIds.containsAll(abNamed, ab));
+		Assertions.assertFalse(QualifierIds.containsAll(ab, abNamed));
+	}
+
+	/**
+	 * Verify that masks spanning multiple words are compared as expected
+	 */
+	@Test
+	public void testContainsAllMultipleWords() {
+		long[] low = { 0b101L };
+		long[] high = { 0b001L, 0L, 1L << 5 };
+
+		Assertions.assertFalse(QualifierIds.containsAll(low, high));
+		Assertions.assertFalse(QualifierIds.containsAll(high, low));
+		Assertions.assertTrue(QualifierIds.containsAll(high, new long[] { 0b001L }));
+		Assertions.assertTrue(QualifierIds.containsAll(low, new long[] { 0b100L, 0L, 0L }));
+	}
+
+	/**
+	 * Verify that the ids do not keep the qualifiers (nor the class loader which loaded them) alive
+	 */
+	@Test
+	public void testQualifiersReleased() throws Exception {
+		IsolatedLoader loader = new IsolatedLoader();
+		Class<?> qualifier = loader.isolate(TestQualifier.class);
+		Enum<?> constant = (Enum<?>) loader.isolate(TestEnum.class).getEnumConstants()[1];
+		Assertions.assertNotSame(TestEnum.B, constant);
+
+		int qualifierId = QualifierIds.idOf(qualifier);
+		int constantId = QualifierIds.idOf(constant);
+		Assertions.assertNotEquals(qualifierId, constantId);
+		Assertions.assertNotEquals(QualifierIds.idOf(TestQualifier.class), qualifierId);
+		Assertions.assertNotEquals(QualifierIds.idOf(TestEnum.B), constantId);
+		Assertions.assertEquals(qualifierId, QualifierIds.idOf(qualifier));
+		Assertions.assertEquals(constantId, QualifierIds.idOf(constant));
+
+		WeakReference<ClassLoader> released = new WeakReference<>(loader);
+		loader = null;
+		qualifier = null;
+		constant = null;
+
+		for (int i = 0; i < 50 && released.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		Assertions.assertNull(released.get());
+	}
+
+	/**
+	 * Enumeration to use for testing
+	 */
+	private enum TestEnum {
+		A, B;
+	}
+
+	/**
+	 * Qualifier to use for testing
+	 */
+	private @interface TestQualifier {
+	}
+
+	/**
+	 * Class loader which loads its own copy of a class, such that it is distinct from the one that the test has loaded
+	 */
+	private static class IsolatedLoader extends ClassLoader {
+		/**
+		 * CTOR
+		 */
+		private IsolatedLoader() {
+			super(QualifierIdsTest.class.getClassLoader());
+		}
+
+		/**
+		 * Load a copy of the class
+		 * 
+		 * @param type {@link Class} whose copy is to be loaded
+		 * @return {@link Class} the copy
+		 * @throws IOException if the class file cannot be read
+		 */
+		private Class<?> isolate(Class<?> type) throws IOException {
+			try (InputStream in = getParent().getResourceAsStream(type.getName().replace('.', '/') + ".class")) {
+				byte[] bytes = in.readAllBytes();
+				return defineClass(type.getName(), bytes, 0, bytes.length);
+			}
+		}
+	}
+}
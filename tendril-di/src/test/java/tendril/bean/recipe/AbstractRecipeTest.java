@@ -19,7 +19,10 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -173,6 +176,16 @@ public class AbstractRecipeTest extends AbstractUnitTest {
         Assertions.assertEquals(TypeFactory.createClassType(SingleCtorBean.class), recipe.getDescription().getBeanType());
     }
     
+    /**
+     * Verify that by default the recipe consumes no beans
+     */
+    @Test
+    public void testNoConsumedDescriptors() {
+        Assertions.assertTrue(recipe.getConsumedDescriptors().isEmpty());
+        Assertions.assertTrue(recipe.getConsumedAllDescriptors().isEmpty());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> recipe.getConsumedDescriptors().add(mockStringDescriptor));
+    }
+
     /**
      * Verify that the primary and fallback flags are properly handled
      */
@@ -339,6 +352,52 @@ public class AbstractRecipeTest extends AbstractUnitTest {
         Assertions.assertThrows(BeanCreationException.class, () -> recipe.buildBean());
     }
     
+    /**
+     * Verify that the asynchronous initialization of a singleton is tracked until all of it completes
+     */
+    @Test
+    public void testAsyncPostConstructSingleton() {
+    	recipe = new TestRecipe(false, false) {
+    		@Override
+    		public boolean isSingleton() {
+    			return true;
+    		}
+    	};
+    	// Nothing to wait for by default
+    	Assertions.assertTrue(recipe.getAsyncPostConstruct().isDone());
+    	
+    	CompletableFuture<String> first = new CompletableFuture<>();
+    	CompletableFuture<String> second = new CompletableFuture<>();
+    	CompletableFuture<Void> firstInitialized = recipe.addAsyncPostConstruct(first);
+    	Assertions.assertTrue(recipe.addAsyncPostConstruct(null).isDone());
+    	recipe.addAsyncPostConstruct(second);
+    	Assertions.assertFalse(recipe.getAsyncPostConstruct().isDone());
+    	
+    	first.complete("abc");
+    	Assertions.assertTrue(firstInitialized.isDone());
+    	Assertions.assertFalse(recipe.getAsyncPostConstruct().isDone());
+    	second.completeExceptionally(new IllegalStateException());
+    	Assertions.assertTrue(recipe.getAsyncPostConstruct().isCompletedExceptionally());
+    }
+    
+    /**
+     * Verify that the asynchronous initialization of a bean which is not a singleton is only returned, never retained by the recipe
+     */
+    @Test
+    public void testAsyncPostConstructNotSingleton() {
+    	Assertions.assertFalse(recipe.isSingleton());
+    	
+    	CompletableFuture<String> stage = new CompletableFuture<>();
+    	CompletableFuture<Void> initialized = recipe.addAsyncPostConstruct(stage);
+    	Assertions.assertFalse(initialized.isDone());
+    	Assertions.assertTrue(recipe.getAsyncPostConstruct().isDone());
+    	
+    	stage.completeExceptionally(new IllegalStateException());
+    	Assertions.assertTrue(initialized.isCompletedExceptionally());
+    	Assertions.assertTrue(recipe.getAsyncPostConstruct().isDone());
+    	Assertions.assertFalse(recipe.getAsyncPostConstruct().isCompletedExceptionally());
+    }
+    
     /**
      * Verify that the priorities of a recipe can be updated
      */
@@ -422,6 +481,41 @@ public class AbstractRecipeTest extends AbstractUnitTest {
     	Assertions.assertEquals(expected, m.getDeclaringClass());
     }
     
+    class Recorder extends Final {
+    	private String str;
+    	private int i;
+    	
+    	@Inject private void record(String str, int i) {
+    		this.str = str;
+    		this.i = i;
+    	}
+    }
+    
+    /**
+     * Verify that the method handle for reflection injection can be invoked with generic arguments
+     * 
+     * @throws Throwable if the invocation fails
+     */
+    @Test
+    public void testFindReflectedMethodHandle() throws Throwable {
+    	MethodHandle handle = AbstractRecipe.findReflectedMethodHandle(Recorder.class, "record", String.class, int.class);
+    	Assertions.assertEquals(MethodType.genericMethodType(3).changeReturnType(void.class), handle.type());
+    	
+    	Recorder recorder = new Recorder();
+    	handle.invokeExact((Object) recorder, (Object) "abc123", (Object) 123);
+    	Assertions.assertEquals("abc123", recorder.str);
+    	Assertions.assertEquals(123, recorder.i);
+    	
+    	// Arguments of the wrong type are rejected
+    	Assertions.assertThrows(ClassCastException.class, () -> {
+    		handle.invokeExact((Object) recorder, (Object) 123, (Object) 123);
+    	});
+    	
+    	// Inherited methods are found as well
+    	Assertions.assertNotNull(AbstractRecipe.findReflectedMethodHandle(Recorder.class, "b", int.class));
+    	Assertions.assertThrows(NoSuchMethodException.class, () -> AbstractRecipe.findReflectedMethodHandle(Recorder.class, "c"));
+    }
+    
     /**
      * Update the recipe priorities and verify that the change took hold
      * 
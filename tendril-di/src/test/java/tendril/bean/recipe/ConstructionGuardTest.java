@@ -0,0 +1,177 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.bean.recipe;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import tendril.BeanCreationException;
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.requirement.Requirement;
+import tendril.context.Engine;
+import tendril.test.AbstractUnitTest;
+
+/**
+ * Test case for the {@link ConstructionGuard}, verifying that dependency cycles are detected both within a single thread and when the cycle is entered from multiple
+ * threads at the same time.
+ */
+public class ConstructionGuardTest extends AbstractUnitTest {
+
+    /**
+     * Simple bean to create
+     */
+    private static class CycleBean {
+    }
+
+    /**
+     * Recipe which retrieves another recipe while its bean is being constructed
+     */
+    private class CycleRecipe extends SingletonRecipe<CycleBean, CycleBean> {
+        private AbstractRecipe<?, ?> dependency;
+        private CountDownLatch building;
+
+        private CycleRecipe() {
+            super(mockEngine, CycleBean.class, false, false);
+            registerInjector((bean, engine) -> {
+                if (building != null) {
+                    building.countDown();
+                    awaitLatch(building);
+                }
+                if (dependency != null)
+                    dependency.get();
+            });
+        }
+
+        @Override
+        protected void setupDescriptor(Descriptor<CycleBean> descriptor) {
+        }
+
+        @Override
+        protected void setupEnvironmentRequirement(Requirement requirement) {
+        }
+
+        @Override
+        protected void setupPropertyRequirement(Requirement requirement) {
+        }
+
+        @Override
+        protected CycleBean createInstance(Engine engine) {
+            return new CycleBean();
+        }
+    }
+
+    // Mocks to use for testing
+    @Mock
+    private Engine mockEngine;
+
+    // Instances to test
+    private CycleRecipe recipeA;
+    private CycleRecipe recipeB;
+
+    /**
+     * @see tendril.test.AbstractUnitTest#prepareTest()
+     */
+    @Override
+    protected void prepareTest() {
+        recipeA = new CycleRecipe();
+        recipeB = new CycleRecipe();
+        recipeA.dependency = recipeB;
+        recipeB.dependency = recipeA;
+    }
+
+    /**
+     * Verify that a cycle within a single thread is detected
+     */
+    @Test
+    public void testCycleWithinThread() {
+        BeanCreationException ex = Assertions.assertThrows(BeanCreationException.class, () -> recipeA.get());
+        Assertions.assertTrue(getRootMessage(ex).startsWith("Cycle detected ["), getRootMessage(ex));
+
+        // The failure must not leave the recipes in a state where they cannot be retrieved
+        recipeB.dependency = null;
+        Assertions.assertNotNull(recipeA.get());
+        Assertions.assertSame(recipeA.get(), recipeA.get());
+    }
+
+    /**
+     * Verify that a cycle which is entered from two threads at the same time is detected rather than resulting in a deadlock
+     */
+    @Test
+    public void testCycleAcrossThreads() throws Exception {
+        CountDownLatch building = new CountDownLatch(2);
+        recipeA.building = building;
+        recipeB.building = building;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> a = executor.submit(() -> recipeA.get());
+            Future<?> b = executor.submit(() -> recipeB.get());
+
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                assertCycle(a);
+                assertCycle(b);
+            });
+        }
+    }
+
+    /**
+     * Verify that the retrieval of the bean failed due to a cycle
+     *
+     * @param future {@link Future} where the bean was retrieved
+     */
+    private void assertCycle(Future<?> future) throws InterruptedException {
+        try {
+            future.get();
+            Assertions.fail("Cycle was not detected");
+        } catch (ExecutionException e) {
+            Assertions.assertInstanceOf(BeanCreationException.class, e.getCause());
+            Assertions.assertTrue(getRootMessage(e.getCause()).startsWith("Cycle detected"), getRootMessage(e.getCause()));
+        }
+    }
+
+    /**
+     * Get the message of the root cause of the exception
+     *
+     * @param t {@link Throwable} whose root cause is to be retrieved
+     * @return {@link String} message of the root cause
+     */
+    private String getRootMessage(Throwable t) {
+        while (t.getCause() != null)
+            t = t.getCause();
+        return t.getMessage();
+    }
+
+    /**
+     * Wait for the latch to be released
+     *
+     * @param latch {@link CountDownLatch} to wait on
+     */
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
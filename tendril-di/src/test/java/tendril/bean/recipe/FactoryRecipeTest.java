@@ -15,6 +15,17 @@
  */
 package tendril.bean.recipe;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -40,6 +51,8 @@ public class FactoryRecipeTest extends AbstractUnitTest {
     // Concrete instance to use for testing
     private class TestFactoryRecipe extends FactoryRecipe<SingleCtorBean ,SingleCtorBean> {
     	
+        private CyclicBarrier creating = null;
+    	
         protected TestFactoryRecipe(boolean isPrimary, boolean isFallback) {
 			super(mockEngine, SingleCtorBean.class, isPrimary, isFallback);
 		}
@@ -57,7 +70,10 @@ public class FactoryRecipeTest extends AbstractUnitTest {
 		}
 
         @Override
-        protected SingleCtorBean createInstance(Engine engine) {
+        protected SingleCtorBean createInstance(Engine engine) throws Exception {
+            // Only passes when all threads are creating at the same time
+            if (creating != null)
+                creating.await(10, TimeUnit.SECONDS);
             return new SingleCtorBean();
         }
     }
@@ -97,10 +113,34 @@ public class FactoryRecipeTest extends AbstractUnitTest {
      */
     @Test
     public void testSingletonInstance() {
+        Assertions.assertFalse(recipe.isSingleton());
         SingleCtorBean bean = recipe.get();
         Assertions.assertTrue(bean != recipe.get());
         Assertions.assertTrue(bean != recipe.get());
         Assertions.assertTrue(bean != recipe.get());
         Assertions.assertTrue(bean != recipe.get());
     }
+
+    /**
+     * Verify that multiple threads can create beans at the same time
+     */
+    @Test
+    public void testParallelCreation() throws Exception {
+        final int threads = 4;
+        TestFactoryRecipe parallelRecipe = new TestFactoryRecipe(false, false);
+        parallelRecipe.creating = new CyclicBarrier(threads);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<SingleCtorBean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++)
+                results.add(executor.submit(() -> parallelRecipe.get()));
+
+            Set<SingleCtorBean> beans = new HashSet<>();
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                for (Future<SingleCtorBean> f : results)
+                    beans.add(f.get());
+            });
+            Assertions.assertEquals(threads, beans.size());
+        }
+    }
 }
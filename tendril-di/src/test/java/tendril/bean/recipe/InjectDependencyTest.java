@@ -18,6 +18,7 @@ package tendril.bean.recipe;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
@@ -43,6 +44,8 @@ public class InjectDependencyTest extends AbstractUnitTest {
     private SingleCtorBean mockBean;
     @Mock
     private HiddenCtorBean mockDependency;
+    @Mock
+    private AbstractRecipe<HiddenCtorBean, HiddenCtorBean> mockRecipe;
 
     // Instance to test
     private InjectDependency<SingleCtorBean, HiddenCtorBean> dep;
@@ -67,5 +70,28 @@ public class InjectDependencyTest extends AbstractUnitTest {
         verify(mockEngine).getBean(mockDescriptor);
         verify(mockApplicator).apply(mockBean, mockDependency);
     }
+    
+    /**
+     * Verify that a linked dependency is consumed from the linked recipe.
+     */
+    @Test
+    public void testConsumeLinked() {
+        Assertions.assertEquals(mockDescriptor, dep.getDescriptor());
+        Assertions.assertNull(dep.getLinkedRecipe());
+        
+        dep.link(mockRecipe);
+        Assertions.assertEquals(mockRecipe, dep.getLinkedRecipe());
+        when(mockRecipe.get()).thenReturn(mockDependency);
+        
+        dep.inject(mockBean, mockEngine);
+        
+        verify(mockRecipe).get();
+        verify(mockApplicator).apply(mockBean, mockDependency);
+        
+        // Removing the link reverts to searching the engine
+        dep.link(null);
+        Assertions.assertNull(dep.getLinkedRecipe());
+        testConsume();
+    }
 
 }
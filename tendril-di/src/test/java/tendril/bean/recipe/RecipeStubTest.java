@@ -0,0 +1,226 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.bean.recipe;
+
+import static org.mockito.Mockito.when;
+
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import tendril.bean.duplicate.Blueprint;
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.requirement.Requirement;
+import tendril.context.Engine;
+import tendril.test.AbstractUnitTest;
+import tendril.test.bean.SingleCtorBean;
+
+/**
+ * Test case for the {@link RecipeStub}
+ */
+public class RecipeStubTest extends AbstractUnitTest {
+
+	// Mocks to use for testing
+	@Mock
+	private Engine mockEngine;
+	@Mock
+	private AbstractRecipe<SingleCtorBean, SingleCtorBean> mockRecipe;
+	@Mock
+	private Blueprint mockBlueprint;
+	@Mock
+	private SingleCtorBean mockBean;
+
+	// Configuration which creates the nested recipes
+	private TestConfigurationRecipe config;
+	// Descriptor of the nested bean
+	private Descriptor<SingleCtorBean> descriptor;
+
+	// Concrete configuration to use for testing
+	private class TestConfigurationRecipe extends ConfigurationRecipe<SingleCtorBean> {
+		// The number of times the nested recipe was created
+		private int timesCreated = 0;
+		// The blueprint the nested recipe was created for
+		private Blueprint createdBlueprint = null;
+
+		protected TestConfigurationRecipe() {
+			super(mockEngine, SingleCtorBean.class, false, false);
+		}
+
+		@Override
+		public Map<String, AbstractRecipe<?, ?>> getNestedRecipes() {
+			return new HashMap<>();
+		}
+
+		@Override
+		public Map<String, AbstractRecipe<?, ?>> getNestedReplacementRecipes() {
+			return new HashMap<>();
+		}
+
+		@Override
+		protected AbstractRecipe<?, ?> createNestedRecipe(int index, Blueprint blueprint) {
+			if (index != 1)
+				return super.createNestedRecipe(index, blueprint);
+
+			timesCreated++;
+			createdBlueprint = blueprint;
+			return mockRecipe;
+		}
+
+		@Override
+		protected void setupNestedRequirements(int index, Requirement environment, Requirement property) {
+			if (index == 1) {
+				environment.addRequired("env");
+				property.addRequiredNot("prop");
+			}
+		}
+
+		@Override
+		protected void setupNestedConsumedDescriptors(int index, Blueprint blueprint, List<Descriptor<?>> beans, List<Descriptor<?>> allBeans) {
+			if (index == 1) {
+				Assertions.assertEquals(mockBlueprint, blueprint);
+				beans.add(descriptor);
+			}
+		}
+
+		@Override
+		protected void setupEnvironmentRequirement(Requirement requirement) {
+		}
+
+		@Override
+		protected void setupPropertyRequirement(Requirement requirement) {
+		}
+
+		@Override
+		protected SingleCtorBean createInstance(Engine engine) {
+			return new SingleCtorBean();
+		}
+	}
+
+	/**
+	 * @see tendril.test.AbstractUnitTest#prepareTest()
+	 */
+	@Override
+	protected void prepareTest() {
+		config = new TestConfigurationRecipe();
+		descriptor = new Descriptor<>(SingleCtorBean.class).setName("abc123");
+	}
+
+	/**
+	 * Create a stub for the nested recipe at index 1, with its requirements populated
+	 *
+	 * @param isPrimary   boolean flag for whether the bean is primary
+	 * @param isFallback  boolean flag for whether the bean is fallback
+	 * @param isSingleton boolean flag for whether the bean is a singleton
+	 * @return {@link RecipeStub}
+	 */
+	private RecipeStub<SingleCtorBean> createStub(boolean isPrimary, boolean isFallback, boolean isSingleton) {
+		return new RecipeStub<>(config, 1, mockBlueprint, descriptor, isPrimary, isFallback, isSingleton).populateRequirements();
+	}
+
+	/**
+	 * Verify that the stub is described by the metadata it is created with
+	 */
+	@Test
+	public void testDescription() {
+		RecipeStub<SingleCtorBean> stub = createStub(false, false, true);
+		Assertions.assertSame(descriptor, stub.getDescription());
+		Assertions.assertEquals(List.of("env"), stub.getEnvironmentRequirement().getRequired());
+		Assertions.assertEquals(List.of("prop"), stub.getPropertyRequirement().getRequiredNot());
+		Assertions.assertTrue(stub.isSingleton());
+		Assertions.assertFalse(createStub(false, false, false).isSingleton());
+		Assertions.assertFalse(stub.isRecipeCreated());
+		Assertions.assertEquals(0, config.timesCreated);
+	}
+
+	/**
+	 * Verify that the requirements are only populated once the stub has been created
+	 */
+	@Test
+	public void testPopulateRequirements() {
+		RecipeStub<SingleCtorBean> stub = new RecipeStub<>(config, 1, mockBlueprint, descriptor, false, false, true);
+		Assertions.assertTrue(stub.getEnvironmentRequirement().getRequired().isEmpty());
+		Assertions.assertTrue(stub.getPropertyRequirement().getRequiredNot().isEmpty());
+
+		Assertions.assertSame(stub, stub.populateRequirements());
+		Assertions.assertEquals(List.of("env"), stub.getEnvironmentRequirement().getRequired());
+		Assertions.assertEquals(List.of("prop"), stub.getPropertyRequirement().getRequiredNot());
+		Assertions.assertFalse(stub.isRecipeCreated());
+	}
+
+	/**
+	 * Verify that the primary and fallback flags are properly handled
+	 */
+	@Test
+	public void testPrimaryFallbackFlags() {
+		RecipeStub<SingleCtorBean> r1 = createStub(false, false, true);
+		Assertions.assertFalse(r1.isPrimary());
+		Assertions.assertFalse(r1.isFallback());
+
+		RecipeStub<SingleCtorBean> r2 = createStub(true, false, true);
+		Assertions.assertTrue(r2.isPrimary());
+		Assertions.assertFalse(r2.isFallback());
+
+		RecipeStub<SingleCtorBean> r3 = createStub(false, true, true);
+		Assertions.assertFalse(r3.isPrimary());
+		Assertions.assertTrue(r3.isFallback());
+	}
+
+	/**
+	 * Verify that the actual recipe is created once, when the bean is first retrieved
+	 */
+	@Test
+	public void testRecipeCreatedOnFirstGet() {
+		when(mockRecipe.get()).thenReturn(mockBean);
+		RecipeStub<SingleCtorBean> stub = createStub(false, false, true);
+		Assertions.assertFalse(stub.isRecipeCreated());
+
+		Assertions.assertEquals(mockBean, stub.get());
+		Assertions.assertTrue(stub.isRecipeCreated());
+		Assertions.assertEquals(1, config.timesCreated);
+		Assertions.assertEquals(mockBlueprint, config.createdBlueprint);
+
+		Assertions.assertEquals(mockBean, stub.get());
+		Assertions.assertEquals(1, config.timesCreated);
+	}
+
+	/**
+	 * Verify that the consumed descriptors are populated by the configuration, without the actual recipe being created
+	 */
+	@Test
+	public void testConsumedDescriptors() {
+		RecipeStub<SingleCtorBean> stub = createStub(false, false, true);
+
+		Assertions.assertEquals(List.of(descriptor), stub.getConsumedDescriptors());
+		Assertions.assertTrue(stub.getConsumedAllDescriptors().isEmpty());
+		Assertions.assertFalse(stub.isRecipeCreated());
+		Assertions.assertEquals(0, config.timesCreated);
+	}
+
+	/**
+	 * Verify that a configuration which has no such nested recipe cannot create it
+	 */
+	@Test
+	public void testUnknownNestedRecipe() {
+		RecipeStub<SingleCtorBean> stub = new RecipeStub<>(config, 2, null, new Descriptor<>(SingleCtorBean.class), false, false, true).populateRequirements();
+		Assertions.assertThrows(IllegalArgumentException.class, () -> stub.get());
+		Assertions.assertTrue(stub.getEnvironmentRequirement().getRequired().isEmpty());
+	}
+}
@@ -35,6 +35,13 @@ public class ReflectedFieldInjectionHandlerTest {
 		String c = "empty";
 	}
 	
+	class Special {
+		@Inject
+		private int primitive = -1;
+		@Inject
+		private final String constant = new String("constant");
+	}
+	
 	/**
 	 * Verify that the appropriate field is updated.
 	 */
@@ -100,6 +107,61 @@ public class ReflectedFieldInjectionHandlerTest {
 		assertFinal(-3, -3, "empty", d);
 	}
 	
+	/**
+	 * Verify that the same handler can repeatedly inject into instances of different classes
+	 */
+	@Test
+	public void testInjectRepeated() {
+		ReflectedFieldInjectionHandler<Base> handler = new ReflectedFieldInjectionHandler<>("path", "c", Inject.class);
+		for (int i = 0; i < 3; i++) {
+			Mid mid = new Mid();
+			Final fin = new Final();
+			handler.injectBean(mid, "mid" + i);
+			handler.injectBean(fin, "final" + i);
+			assertMid(-2, -2, "mid" + i, mid);
+			assertMid(-2, -2, "final" + i, fin);
+			assertFinal(-3, -3, "empty", fin);
+		}
+
+		Base base = new Base();
+		Assertions.assertThrows(TendrilStartupException.class, () -> handler.injectBean(base, "base"));
+		Assertions.assertThrows(TendrilStartupException.class, () -> handler.injectBean(base, "base"));
+	}
+	
+	/**
+	 * Verify that primitive and final fields can be injected, and that a value of the wrong type is rejected
+	 */
+	@Test
+	public void testInjectSpecial() {
+		Special s = new Special();
+		new ReflectedFieldInjectionHandler<Special>("path", "primitive", Inject.class).injectBean(s, 123);
+		Assertions.assertEquals(123, s.primitive);
+		Assertions.assertThrows(TendrilStartupException.class, () -> new ReflectedFieldInjectionHandler<Special>("path", "primitive", Inject.class).injectBean(s, "abc"));
+		Assertions.assertEquals(123, s.primitive);
+
+		ReflectedFieldInjectionHandler<Special> constant = new ReflectedFieldInjectionHandler<>("path", "constant", Inject.class);
+		constant.injectBean(s, "injected");
+		Assertions.assertEquals("injected", readConstant(s));
+		constant.injectBean(s, "again");
+		Assertions.assertEquals("again", readConstant(s));
+	}
+	
+	/**
+	 * Read the constant field reflectively, as the compiler is free to treat the direct access as a constant
+	 * 
+	 * @param s {@link Special} whose field to read
+	 * @return {@link Object} value of the field
+	 */
+	private Object readConstant(Special s) {
+		try {
+			java.lang.reflect.Field f = Special.class.getDeclaredField("constant");
+			f.setAccessible(true);
+			return f.get(s);
+		} catch (ReflectiveOperationException e) {
+			throw new AssertionError(e);
+		}
+	}
+	
 	private void assertBase(int expectedA, int expectedB, String expectedC, Base actual) {
 		Assertions.assertEquals(expectedA, actual.a);
 		Assertions.assertEquals(expectedB, actual.b);
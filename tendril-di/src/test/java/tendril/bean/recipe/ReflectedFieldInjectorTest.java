@@ -53,7 +53,7 @@ public class ReflectedFieldInjectorTest extends AbstractUnitTest{
 	@SuppressWarnings("unchecked")
 	@Test
 	public void testInject() {
-		when(mockEngine.getAllBeans(mockDescriptor)).thenReturn(mockListA, mockListB);
+		when(mockEngine.getSharedAllBeans(mockDescriptor)).thenReturn(mockListA, mockListB);
 		assertBean(mockInitialList, mockInitialList, bean);
 		Assertions.assertThrows(TendrilStartupException.class, () -> new ReflectedFieldInjector<>("path", "a", mockDescriptor).inject(bean, mockEngine));
 		assertBean(mockInitialList, mockInitialList, bean);
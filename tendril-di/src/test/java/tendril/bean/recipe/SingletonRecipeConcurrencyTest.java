@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.bean.recipe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.requirement.Requirement;
+import tendril.context.Engine;
+import tendril.test.AbstractUnitTest;
+
+/**
+ * Stress test for the {@link SingletonRecipe}, verifying that when many threads race to retrieve the bean it is constructed exactly once and that every thread observes
+ * the fully constructed bean. Each iteration races a fresh recipe, so as to repeatedly exercise the window between the first access and the bean being published.
+ */
+public class SingletonRecipeConcurrencyTest extends AbstractUnitTest {
+
+    /** The number of races to perform */
+    private static final int ITERATIONS = 500;
+    /** The number of threads racing in each iteration */
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    /** The value that the bean is to be created with */
+    private static final int VALUE = 42;
+    /** The value that is injected into the bean */
+    private static final String INJECTED = "injected";
+
+    /**
+     * Bean whose state is populated in stages, allowing for partially constructed instances to be detected
+     */
+    private static class StagedBean {
+        private int value;
+        private String injected;
+        private boolean postConstructed;
+
+        private StagedBean(int value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Recipe which counts how many times it creates the bean
+     */
+    private class CountingRecipe extends SingletonRecipe<StagedBean, StagedBean> {
+        private final AtomicInteger created = new AtomicInteger();
+        /** Released once the creation of the bean has started */
+        private final CountDownLatch building = new CountDownLatch(1);
+        /** Creation of the bean waits until released (already released unless the test is to hold the creation) */
+        private final CountDownLatch release;
+
+        private CountingRecipe() {
+            this(new CountDownLatch(0));
+        }
+
+        private CountingRecipe(CountDownLatch release) {
+            super(mockEngine, StagedBean.class, false, false);
+            this.release = release;
+            registerInjector((bean, engine) -> bean.injected = INJECTED);
+        }
+
+        @Override
+        protected void setupDescriptor(Descriptor<StagedBean> descriptor) {
+        }
+
+        @Override
+        protected void setupEnvironmentRequirement(Requirement requirement) {
+        }
+
+        @Override
+        protected void setupPropertyRequirement(Requirement requirement) {
+        }
+
+        @Override
+        protected StagedBean createInstance(Engine engine) throws InterruptedException {
+            created.incrementAndGet();
+            building.countDown();
+            release.await();
+            // Widen the window in which other threads can race the construction
+            Thread.onSpinWait();
+            return new StagedBean(VALUE);
+        }
+
+        @Override
+        protected void postConstruct(StagedBean bean) {
+            bean.postConstructed = true;
+        }
+    }
+
+    // Mocks to use for testing
+    @Mock
+    private Engine mockEngine;
+
+    // Executor to race the threads within
+    private ExecutorService executor;
+
+    /**
+     * @see tendril.test.AbstractUnitTest#prepareTest()
+     */
+    @Override
+    protected void prepareTest() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    /**
+     * @see tendril.test.AbstractUnitTest#cleanupTest()
+     */
+    @Override
+    protected void cleanupTest() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Verify that racing threads result in exactly one construction, with all threads receiving the same fully constructed instance
+     */
+    @Test
+    public void testExactlyOnceConstruction() throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            CountingRecipe recipe = new CountingRecipe();
+            CyclicBarrier start = new CyclicBarrier(THREADS);
+
+            List<Future<StagedBean>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return recipe.get();
+                }));
+            }
+
+            StagedBean expected = results.get(0).get();
+            for (Future<StagedBean> f : results) {
+                StagedBean observed = f.get();
+                Assertions.assertSame(expected, observed);
+                Assertions.assertEquals(VALUE, observed.value);
+                Assertions.assertEquals(INJECTED, observed.injected);
+                Assertions.assertTrue(observed.postConstructed);
+            }
+            Assertions.assertEquals(1, recipe.created.get());
+        }
+    }
+
+    /**
+     * Verify that retrieving the bean while it is being built waits for and receives the bean from that build, rather than building it again
+     */
+    @Test
+    public void testGetJoinsBuildInProgress() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountingRecipe recipe = new CountingRecipe(release);
+
+        Future<StagedBean> building = executor.submit(recipe::get);
+        Assertions.assertTrue(recipe.building.await(5, TimeUnit.SECONDS));
+        Future<StagedBean> joining = executor.submit(recipe::get);
+        Assertions.assertThrows(TimeoutException.class, () -> joining.get(100, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        StagedBean bean = building.get(5, TimeUnit.SECONDS);
+        Assertions.assertSame(bean, joining.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(bean.postConstructed);
+        Assertions.assertEquals(1, recipe.created.get());
+    }
+}
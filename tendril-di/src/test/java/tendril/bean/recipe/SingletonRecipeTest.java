@@ -98,6 +98,7 @@ public class SingletonRecipeTest extends AbstractUnitTest {
      */
     @Test
     public void testSingletonInstance() {
+        Assertions.assertTrue(recipe.isSingleton());
         SingleCtorBean bean = recipe.get();
         Assertions.assertTrue(bean == recipe.get());
         Assertions.assertTrue(bean == recipe.get());
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.bean.requirement;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link CompiledRequirement}
+ */
+public class CompiledRequirementTest {
+
+    /**
+     * Verify that an empty requirement is always met
+     */
+    @Test
+    public void testEmpty() {
+        CompiledRequirement compiled = new Requirement().compile();
+        Assertions.assertSame(CompiledRequirement.ALWAYS, compiled);
+        Assertions.assertTrue(compiled.test(Collections.emptySet()));
+        Assertions.assertTrue(compiled.test(Set.of("a", "b")));
+        Assertions.assertNull(compiled.describeUnmet(Set.of("a"), "environments"));
+    }
+
+    /**
+     * Verify that all required values must be present
+     */
+    @Test
+    public void testRequired() {
+        Requirement req = new Requirement();
+        req.addRequired("a");
+        req.addRequired("b");
+        CompiledRequirement compiled = req.compile();
+
+        Assertions.assertFalse(compiled.test(Collections.emptySet()));
+        Assertions.assertFalse(compiled.test(Set.of("a")));
+        Assertions.assertTrue(compiled.test(Set.of("a", "b")));
+        Assertions.assertTrue(compiled.test(Set.of("a", "b", "c")));
+        Assertions.assertEquals("not all required environments [a, b] are met.", compiled.describeUnmet(Set.of("b"), "environments"));
+    }
+
+    /**
+     * Verify that none of the not required values can be present
+     */
+    @Test
+    public void testRequiredNot() {
+        Requirement req = new Requirement();
+        req.addRequiredNot("a");
+        req.addRequiredNot("b");
+        CompiledRequirement compiled = req.compile();
+
+        Assertions.assertTrue(compiled.test(Collections.emptySet()));
+        Assertions.assertTrue(compiled.test(Set.of("c")));
+        Assertions.assertFalse(compiled.test(Set.of("b")));
+        Assertions.assertFalse(compiled.test(Set.of("a", "c")));
+        Assertions.assertEquals("at least one of the not required properties [a, b] is present", compiled.describeUnmet(Set.of("a"), "properties"));
+    }
+
+    /**
+     * Verify that at least one value of each one-of group must be present
+     */
+    @Test
+    public void testRequiredOneOf() {
+        Requirement req = new Requirement();
+        req.addRequiredOneOf("a", "b");
+        req.addRequiredOneOf("c", "d");
+        CompiledRequirement compiled = req.compile();
+
+        Assertions.assertFalse(compiled.test(Collections.emptySet()));
+        Assertions.assertFalse(compiled.test(Set.of("a", "b")));
+        Assertions.assertTrue(compiled.test(Set.of("a", "d")));
+        Assertions.assertTrue(compiled.test(Set.of("b", "c")));
+        Assertions.assertEquals("at least one of the required environments [c, d] is not present", compiled.describeUnmet(Set.of("a"), "environments"));
+    }
+
+    /**
+     * Verify that the compiled requirement is cached until the requirement is changed
+     */
+    @Test
+    public void testCompileCached() {
+        Requirement req = new Requirement();
+        req.addRequired("a");
+        CompiledRequirement compiled = req.compile();
+        Assertions.assertSame(compiled, req.compile());
+
+        req.addRequiredNot("b");
+        CompiledRequirement recompiled = req.compile();
+        Assertions.assertNotSame(compiled, recompiled);
+        Assertions.assertTrue(recompiled.test(Set.of("a")));
+        Assertions.assertFalse(recompiled.test(Set.of("a", "b")));
+        Assertions.assertSame(recompiled, req.compile());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.recipe.FactoryRecipe;
+import tendril.bean.requirement.Requirement;
+import tendril.context.Engine;
+
+/**
+ * Measures the throughput of retrieving beans from a {@link FactoryRecipe} as the number of threads retrieving them increases. As each retrieval creates an independent
+ * instance, the throughput is expected to scale (close to) linearly with the number of cores.
+ * 
+ * Run via {@code gradle :tendril-di:benchmark}, optionally providing the maximum number of threads and the duration (in ms) of each measurement as arguments.
+ */
+public class FactoryRecipeThroughputBenchmark {
+
+	/** The number of measurements to discard while the JIT warms up */
+	private static final int WARMUP_ROUNDS = 3;
+
+	/**
+	 * Bean which is created by the factory
+	 */
+	public static class Bean {
+		private long value;
+		private String injected;
+	}
+
+	/**
+	 * Recipe for the bean, performing a small amount of work for each bean that is created
+	 */
+	private static class BeanRecipe extends FactoryRecipe<Bean, Bean> {
+
+		private BeanRecipe() {
+			super(null, Bean.class, false, false);
+			registerInjector((bean, engine) -> bean.injected = "injected");
+		}
+
+		@Override
+		protected void setupDescriptor(Descriptor<Bean> descriptor) {
+		}
+
+		@Override
+		protected void setupEnvironmentRequirement(Requirement requirement) {
+		}
+
+		@Override
+		protected void setupPropertyRequirement(Requirement requirement) {
+		}
+
+		@Override
+		protected Bean createInstance(Engine engine) {
+			Bean bean = new Bean();
+			long value = System.nanoTime();
+			for (int i = 0; i < 64; i++)
+				value = value * 6364136223846793005L + 1442695040888963407L;
+			bean.value = value;
+			return bean;
+		}
+	}
+
+	/**
+	 * Run the benchmark
+	 * 
+	 * @param args {@link String}[] optionally the maximum number of threads and the duration (in ms) of each measurement
+	 * @throws Exception if the benchmark fails
+	 */
+	public static void main(String[] args) throws Exception {
+		int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+		long durationMs = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+		BeanRecipe recipe = new BeanRecipe();
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++)
+			measure(recipe, maxThreads, durationMs);
+
+		System.out.println(String.format("%8s %16s %10s %12s", "threads", "beans/s", "speedup", "efficiency"));
+		double baseline = 0;
+		for (int threads = 1; threads <= maxThreads; threads *= 2) {
+			double throughput = measure(recipe, threads, durationMs);
+			if (threads == 1)
+				baseline = throughput;
+			double speedup = throughput / baseline;
+			System.out.println(String.format("%8d %16.0f %10.2f %11.0f%%", threads, throughput, speedup, 100 * speedup / threads));
+
+			if (threads < maxThreads && threads * 2 > maxThreads)
+				threads = maxThreads / 2;
+		}
+	}
+
+	/**
+	 * Measure the throughput of retrieving beans from the recipe
+	 * 
+	 * @param recipe     {@link BeanRecipe} from which to retrieve beans
+	 * @param threads    int the number of threads to retrieve the beans from
+	 * @param durationMs long how long (in ms) to retrieve the beans for
+	 * @return double the number of beans retrieved per second
+	 * @throws Exception if the measurement fails
+	 */
+	private static double measure(BeanRecipe recipe, int threads, long durationMs) throws Exception {
+		CyclicBarrier start = new CyclicBarrier(threads + 1);
+		long[] end = new long[1];
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+			List<Future<Long>> results = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					long count = 0;
+					long sink = 0;
+					while (System.nanoTime() < end[0]) {
+						sink ^= recipe.get().value;
+						count++;
+					}
+					// Prevent the creation from being optimized away
+					if (sink == 42)
+						System.out.print("");
+					return count;
+				}));
+			}
+
+			end[0] = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMs);
+			start.await();
+			long total = 0;
+			for (Future<Long> f : results)
+				total += f.get();
+			return total * 1000.0 / durationMs;
+		}
+	}
+}
@@ -15,8 +15,12 @@
  */
 package tendril.context;
 
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -75,6 +79,15 @@ public class ApplicationContextBuilderTest extends AbstractUnitTest {
         verify(mockEngine).addEnvironments("a", "b", "c");
     }
     
+    /**
+     * Verify that the timeout for the asynchronous initialization is passed to the engine
+     */
+    @Test
+    public void testPostConstructTimeout() {
+        ctx.setPostConstructTimeout(Duration.ofSeconds(5));
+        verify(mockEngine).setPostConstructTimeout(Duration.ofSeconds(5));
+    }
+    
     /**
      * Verify that dynamic blueprints are properly handled
      */
@@ -106,5 +119,58 @@ public class ApplicationContextBuilderTest extends AbstractUnitTest {
     public void testBuild() {
     	Assertions.assertEquals(mockEngine, ctx.build());
     	verify(mockEngine).init();
+    	verify(mockEngine).link();
+    }
+    
+    /**
+     * Verify that the singletons are created when the context is built if eager initialization is requested
+     */
+    @Test
+    public void testBuildEager() {
+    	ctx.setSingletonInitialization(SingletonInitialization.EAGER);
+    	Assertions.assertEquals(mockEngine, ctx.build());
+    	verify(mockEngine).init();
+    	verify(mockEngine).link();
+    	verify(mockEngine).instantiateSingletons();
+    	
+    	// Returning to lazy no longer creates them
+    	ctx.setSingletonInitialization(SingletonInitialization.LAZY);
+    	Assertions.assertEquals(mockEngine, ctx.build());
+    	verify(mockEngine, times(2)).init();
+    	verify(mockEngine, times(2)).link();
+    }
+    
+    /**
+     * Verify that neither linking nor the creation of singletons takes place when the context is built if only reachable recipes are to be loaded
+     */
+    @Test
+    public void testBuildReachable() {
+    	ctx.setRecipeLoading(RecipeLoading.REACHABLE);
+    	Assertions.assertEquals(mockEngine, ctx.build());
+    	verify(mockEngine).loadReachableOnly();
+    	verify(mockEngine).init();
+    	verify(mockEngine).setStartupInitialization(SingletonInitialization.LAZY);
+    	verify(mockEngine, never()).link();
+    	
+    	ctx.setSingletonInitialization(SingletonInitialization.EAGER);
+    	Assertions.assertEquals(mockEngine, ctx.build());
+    	verify(mockEngine, times(2)).loadReachableOnly();
+    	verify(mockEngine, times(2)).init();
+    	verify(mockEngine).setStartupInitialization(SingletonInitialization.EAGER);
+    	verify(mockEngine, never()).link();
+    	verify(mockEngine, never()).instantiateSingletons();
+    }
+    
+    /**
+     * Verify that the creation of the singletons is left to the engine to start in the background when the context is started
+     */
+    @Test
+    public void testBuildBackground() {
+    	ctx.setSingletonInitialization(SingletonInitialization.BACKGROUND);
+    	Assertions.assertEquals(mockEngine, ctx.build());
+    	verify(mockEngine).init();
+    	verify(mockEngine).link();
+    	verify(mockEngine).setStartupInitialization(SingletonInitialization.BACKGROUND);
+    	verify(mockEngine, never()).instantiateSingletons();
     }
 }
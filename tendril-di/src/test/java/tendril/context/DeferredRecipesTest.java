@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.context;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import tendril.bean.requirement.Requirement;
+import tendril.processor.registration.RecipeIndex;
+import tendril.processor.registration.RecipeMetadata;
+import tendril.test.AbstractUnitTest;
+
+/**
+ * Test case for the {@link DeferredRecipes}
+ */
+public class DeferredRecipesTest extends AbstractUnitTest {
+
+	// Mocks to use for testing
+	@Mock
+	private RecipeIndex mockIndex;
+
+	// Instance to test
+	private DeferredRecipes deferred;
+
+	/**
+	 * @see tendril.test.AbstractUnitTest#prepareTest()
+	 */
+	@Override
+	protected void prepareTest() {
+		deferred = new DeferredRecipes();
+		deferred.defer("BeanRecipe", metadata("BeanRecipe", "a.Bean", "a.Iface", Object.class.getName()), mockIndex);
+		deferred.defer("SubBeanRecipe", metadata("SubBeanRecipe", "a.SubBean", "a.Bean", "a.Iface", Object.class.getName()), null);
+		deferred.defer("OtherRecipe", metadata("OtherRecipe", "a.Other", Object.class.getName()), mockIndex);
+	}
+
+	/**
+	 * Create the metadata of a recipe
+	 *
+	 * @param recipe     {@link String} name of the recipe
+	 * @param beanType   {@link String} type of the bean
+	 * @param supertypes {@link String}... supertypes of the bean
+	 * @return {@link RecipeMetadata}
+	 */
+	private RecipeMetadata metadata(String recipe, String beanType, String... supertypes) {
+		RecipeMetadata meta = new RecipeMetadata(recipe, beanType, false, false, new Requirement(), new Requirement());
+		for (String s : supertypes)
+			meta.addSupertype(s);
+		return meta;
+	}
+
+	/**
+	 * Verify that the recipes are taken by the type of their bean or any of its supertypes, and only once
+	 */
+	@Test
+	public void testTakeByType() {
+		Assertions.assertFalse(deferred.isEmpty());
+		Assertions.assertEquals(3, deferred.size());
+		Assertions.assertTrue(deferred.take("a.Unknown").isEmpty());
+
+		Map<String, RecipeIndex> taken = deferred.take("a.Iface");
+		Assertions.assertEquals(List.of("BeanRecipe", "SubBeanRecipe"), List.copyOf(taken.keySet()));
+		Assertions.assertEquals(mockIndex, taken.get("BeanRecipe"));
+		Assertions.assertNull(taken.get("SubBeanRecipe"));
+		Assertions.assertEquals(1, deferred.size());
+
+		// Already taken for another type
+		Assertions.assertTrue(deferred.take("a.Bean").isEmpty());
+		Assertions.assertEquals(List.of("OtherRecipe"), List.copyOf(deferred.take(Object.class.getName()).keySet()));
+		Assertions.assertTrue(deferred.isEmpty());
+	}
+
+	/**
+	 * Verify that only the recipes whose bean is exactly one of the types are taken for a replacement
+	 */
+	@Test
+	public void testTakeExact() {
+		Assertions.assertEquals(List.of("BeanRecipe"), List.copyOf(deferred.takeExact(List.of("a.Bean", "a.Iface", Object.class.getName())).keySet()));
+		Assertions.assertEquals(2, deferred.size());
+		Assertions.assertEquals(List.of("SubBeanRecipe"), List.copyOf(deferred.take("a.Bean").keySet()));
+		Assertions.assertTrue(deferred.takeExact(List.of("a.SubBean")).isEmpty());
+	}
+
+	/**
+	 * Verify that all recipes can be taken regardless of their type
+	 */
+	@Test
+	public void testTakeAll() {
+		deferred.take("a.Other");
+		Assertions.assertEquals(List.of("BeanRecipe", "SubBeanRecipe"), List.copyOf(deferred.takeAll().keySet()));
+		Assertions.assertTrue(deferred.isEmpty());
+		Assertions.assertTrue(deferred.take("a.Bean").isEmpty());
+		Assertions.assertTrue(deferred.takeAll().isEmpty());
+
+		// Deferring the same recipe twice has no effect
+		RecipeMetadata meta = metadata("BeanRecipe", "a.Bean");
+		deferred.defer("BeanRecipe", meta, null);
+		deferred.defer("BeanRecipe", meta, null);
+		Assertions.assertEquals(1, deferred.size());
+	}
+}
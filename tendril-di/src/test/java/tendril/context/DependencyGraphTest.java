@@ -0,0 +1,254 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.context;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.recipe.AbstractRecipe;
+import tendril.bean.recipe.SingletonRecipe;
+import tendril.bean.requirement.Requirement;
+import tendril.context.search.SearchType;
+import tendril.test.AbstractUnitTest;
+
+/**
+ * Test case for the {@link DependencyGraph}
+ */
+public class DependencyGraphTest extends AbstractUnitTest {
+
+    /**
+     * Recipe which consumes the beans of other recipes
+     */
+    private class GraphRecipe extends SingletonRecipe<Object, Object> {
+        /** The descriptors of the individually consumed beans */
+        private final List<Descriptor<?>> beans = new ArrayList<>();
+        /** The descriptors of the beans consumed as all matching beans */
+        private final List<Descriptor<?>> allBeans = new ArrayList<>();
+
+        private GraphRecipe() {
+            super(mockEngine, Object.class, false, false);
+        }
+
+        /**
+         * Make the recipe consume the bean of another recipe
+         * 
+         * @param others {@link AbstractRecipe}... which provide the consumed bean
+         */
+        private void consumes(AbstractRecipe<?, ?>... others) {
+            beans.add(describe(others));
+        }
+
+        /**
+         * Make the recipe consume all beans of other recipes
+         * 
+         * @param others {@link AbstractRecipe}... which provide the consumed beans
+         */
+        private void consumesAll(AbstractRecipe<?, ?>... others) {
+            allBeans.add(describe(others));
+        }
+
+        @Override
+        protected void setupConsumedDescriptors(List<Descriptor<?>> beans, List<Descriptor<?>> allBeans) {
+            beans.addAll(this.beans);
+            allBeans.addAll(this.allBeans);
+        }
+
+        @Override
+        protected void setupDescriptor(Descriptor<Object> descriptor) {
+        }
+
+        @Override
+        protected void setupEnvironmentRequirement(Requirement requirement) {
+        }
+
+        @Override
+        protected void setupPropertyRequirement(Requirement requirement) {
+        }
+
+        @Override
+        protected Object createInstance(Engine engine) {
+            return new Object();
+        }
+    }
+
+    // Mocks to use for testing
+    @Mock
+    private Engine mockEngine;
+    @Mock
+    private AbstractRecipe<?, ?> mockUnknownRecipe;
+
+    // The recipes which provide the beans of each descriptor (by identity, as descriptors are equal by assignability)
+    private Map<Descriptor<?>, List<AbstractRecipe<?, ?>>> providers;
+    // The search types through which each descriptor was resolved
+    private Map<Descriptor<?>, SearchType> searchTypes;
+
+    /**
+     * @see tendril.test.AbstractUnitTest#prepareTest()
+     */
+    @Override
+    protected void prepareTest() {
+        providers = new IdentityHashMap<>();
+        searchTypes = new IdentityHashMap<>();
+    }
+
+    /**
+     * Create a descriptor which resolves to the recipes
+     * 
+     * @param recipes {@link AbstractRecipe}... to which the descriptor resolves
+     * @return {@link Descriptor}
+     */
+    private Descriptor<?> describe(AbstractRecipe<?, ?>... recipes) {
+        Descriptor<?> descriptor = new Descriptor<>(Object.class);
+        providers.put(descriptor, List.of(recipes));
+        return descriptor;
+    }
+
+    /**
+     * Create the graph of the recipes
+     * 
+     * @param recipes {@link GraphRecipe}... which form the graph
+     * @return {@link DependencyGraph}
+     */
+    private DependencyGraph createGraph(GraphRecipe... recipes) {
+        return new DependencyGraph(List.of(recipes), (descriptor, type) -> {
+            searchTypes.put(descriptor, type);
+            return providers.get(descriptor);
+        });
+    }
+
+    /**
+     * Verify that an empty graph can be created
+     */
+    @Test
+    public void testEmpty() {
+        DependencyGraph graph = createGraph();
+        Assertions.assertEquals(0, graph.size());
+        Assertions.assertEquals(0, graph.getEdgeCount());
+        Assertions.assertEquals(0, graph.getTopologicalOrder().length);
+        Assertions.assertTrue(graph.getReachable().isEmpty());
+    }
+
+    /**
+     * Verify that the dependencies and dependents of each node are determined from the consumed descriptors
+     */
+    @Test
+    public void testEdges() {
+        GraphRecipe a = new GraphRecipe();
+        GraphRecipe b = new GraphRecipe();
+        GraphRecipe c = new GraphRecipe();
+        GraphRecipe d = new GraphRecipe();
+        a.consumes(b);
+        a.consumesAll(c, d);
+        b.consumes(c);
+        // Repeated dependencies only result in a single edge
+        b.consumesAll(c);
+        d.consumes(mockUnknownRecipe);
+
+        DependencyGraph graph = createGraph(a, b, c, d);
+        Assertions.assertEquals(4, graph.size());
+        Assertions.assertEquals(4, graph.getEdgeCount());
+        Assertions.assertSame(c, graph.getRecipe(2));
+        Assertions.assertEquals(3, graph.indexOf(d));
+        Assertions.assertEquals(-1, graph.indexOf(mockUnknownRecipe));
+
+        Assertions.assertArrayEquals(new int[] { 1, 2, 3 }, graph.getDependencies(0));
+        Assertions.assertArrayEquals(new int[] { 2 }, graph.getDependencies(1));
+        Assertions.assertArrayEquals(new int[0], graph.getDependencies(2));
+        Assertions.assertArrayEquals(new int[0], graph.getDependencies(3));
+        Assertions.assertArrayEquals(new int[0], graph.getDependents(0));
+        Assertions.assertArrayEquals(new int[] { 0 }, graph.getDependents(1));
+        Assertions.assertArrayEquals(new int[] { 0, 1 }, graph.getDependents(2));
+        Assertions.assertArrayEquals(new int[] { 0 }, graph.getDependents(3));
+
+        Assertions.assertEquals(SearchType.SINGLE_BEAN, searchTypes.get(a.getConsumedDescriptors().get(0)));
+        Assertions.assertEquals(SearchType.ALL_BEANS, searchTypes.get(a.getConsumedAllDescriptors().get(0)));
+    }
+
+    /**
+     * Verify that the reachable nodes are found by following the dependencies
+     */
+    @Test
+    public void testReachable() {
+        GraphRecipe a = new GraphRecipe();
+        GraphRecipe b = new GraphRecipe();
+        GraphRecipe c = new GraphRecipe();
+        GraphRecipe d = new GraphRecipe();
+        a.consumes(b);
+        b.consumes(c);
+        c.consumes(b);
+
+        DependencyGraph graph = createGraph(a, b, c, d);
+        Assertions.assertEquals(bits(0, 1, 2), graph.getReachable(0));
+        Assertions.assertEquals(bits(1, 2), graph.getReachable(2));
+        Assertions.assertEquals(bits(1, 2, 3), graph.getReachable(3, 1));
+    }
+
+    /**
+     * Verify that the nodes are ordered such that dependencies appear before their dependents, with cycles being omitted
+     */
+    @Test
+    public void testTopologicalOrder() {
+        GraphRecipe a = new GraphRecipe();
+        GraphRecipe b = new GraphRecipe();
+        GraphRecipe c = new GraphRecipe();
+        a.consumes(b, c);
+        b.consumes(c);
+        Assertions.assertArrayEquals(new int[] { 2, 1, 0 }, createGraph(a, b, c).getTopologicalOrder());
+    }
+
+    /**
+     * Verify that nodes which are part of (or depend on) a cycle are omitted from the order
+     */
+    @Test
+    public void testTopologicalOrderCycle() {
+        GraphRecipe a = new GraphRecipe();
+        GraphRecipe b = new GraphRecipe();
+        GraphRecipe c = new GraphRecipe();
+        GraphRecipe d = new GraphRecipe();
+        a.consumes(b, c);
+        b.consumes(d);
+        c.consumes(d);
+        d.consumes(c);
+        Assertions.assertArrayEquals(new int[0], createGraph(a, b, c, d).getTopologicalOrder());
+
+        GraphRecipe e = new GraphRecipe();
+        GraphRecipe f = new GraphRecipe();
+        e.consumes(f);
+        f.consumes(f);
+        Assertions.assertArrayEquals(new int[] { 0 }, createGraph(new GraphRecipe(), e, f).getTopologicalOrder());
+    }
+
+    /**
+     * Create a bit set with the bits set
+     * 
+     * @param bits int... to set
+     * @return {@link BitSet}
+     */
+    private BitSet bits(int... bits) {
+        BitSet set = new BitSet();
+        for (int b : bits)
+            set.set(b);
+        return set;
+    }
+}
@@ -17,7 +17,10 @@ package tendril.context;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -25,14 +28,21 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
+import tendril.BeanCreationException;
 import tendril.BeanReplacementException;
 import tendril.BeanRetrievalException;
+import tendril.bean.InjectAll;
 import tendril.bean.duplicate.Blueprint;
 import tendril.bean.qualifier.Descriptor;
+import tendril.bean.recipe.ReflectedFieldInjector;
+import tendril.bean.requirement.Requirement;
+import tendril.processor.registration.RecipeIndex;
+import tendril.processor.registration.RecipeMetadata;
 import tendril.processor.registration.RegistryFile;
 import tendril.processor.registration.ReplacementRegistryFile;
 import tendril.test.AbstractUnitTest;
 import tendril.test.assertions.CollectionAssert;
+import tendril.test.bean.StringConsumerBean;
 import tendril.test.recipe.BasicStringRecipe1;
 import tendril.test.recipe.BasicStringRecipe2;
 import tendril.test.recipe.BasicStringRecipe3;
@@ -68,7 +78,9 @@ import tendril.test.recipe.RequiresPropBNotARecipe;
 import tendril.test.recipe.RequiresPropBRecipe;
 import tendril.test.recipe.RequiresPropNotARecipe;
 import tendril.test.recipe.RequiresPropNotBRecipe;
+import tendril.test.recipe.StringConsumerTestRecipe;
 import tendril.test.recipe.StringTestRecipe;
+import tendril.test.recipe.TestRegistryIndex;
 import tendril.test.recipe.TestConfigRecipe;
 
 /**
@@ -184,6 +196,125 @@ public class EngineIT extends AbstractUnitTest {
 		assertBeans(new Descriptor<>(ApplicationContext.class), engine);
 	}
 
+	/**
+	 * Verify that a batch of beans can be registered at once
+	 */
+	@Test
+	public void testRegisterBeans() {
+		testNoBeans();
+		assertBeans(new Descriptor<>(Integer.class));
+
+		engine.registerBeans(Arrays.asList(BeanRegistration.of(123, new Descriptor<>(Integer.class)), BeanRegistration.of(321, new Descriptor<>(Integer.class)),
+				BeanRegistration.of("abc123", new Descriptor<>(String.class))));
+		Assertions.assertEquals(4, engine.getBeanCount());
+		assertBeans(new Descriptor<>(Double.class));
+		assertBeans(new Descriptor<>(Integer.class), 123, 321);
+		assertBeans(new Descriptor<>(String.class), "abc123");
+		assertBeans(new Descriptor<>(ApplicationContext.class), engine);
+
+		engine.registerBeans(Collections.emptyList());
+		Assertions.assertEquals(4, engine.getBeanCount());
+	}
+
+	/**
+	 * Verify that the recipes of interned descriptors are cached, until a matching bean is registered
+	 */
+	@Test
+	public void testResolutionCache() {
+		testNoBeans();
+		long misses = engine.getResolutionCacheMisses();
+		long hits = engine.getResolutionCacheHits();
+
+		Descriptor<Integer> intDesc = new Descriptor<>(Integer.class).intern();
+		Descriptor<String> strDesc = new Descriptor<>(String.class).intern();
+		Assertions.assertEquals(0, engine.count(intDesc));
+		Assertions.assertEquals(0, engine.count(strDesc));
+		Assertions.assertEquals(0, engine.count(intDesc));
+		Assertions.assertEquals(misses + 2, engine.getResolutionCacheMisses());
+		Assertions.assertEquals(hits + 1, engine.getResolutionCacheHits());
+
+		// Only the matching result is evicted
+		engine.registerBean(123, new Descriptor<>(Integer.class));
+		Assertions.assertEquals(123, engine.getBean(intDesc));
+		Assertions.assertEquals(1, engine.count(intDesc));
+		Assertions.assertEquals(0, engine.count(strDesc));
+		Assertions.assertEquals(misses + 4, engine.getResolutionCacheMisses());
+		Assertions.assertEquals(hits + 2, engine.getResolutionCacheHits());
+	}
+
+	/**
+	 * Verify that the list of all beans is cached only where all of the beans are singletons
+	 */
+	@Test
+	public void testAllBeansCached() {
+		try (MockedStatic<RegistryFile> registry = Mockito.mockStatic(RegistryFile.class)) {
+			registry.when(RegistryFile::read).thenReturn(new HashSet<>(Arrays.asList(BasicStringRecipe1.class.getName(), StringConsumerTestRecipe.class.getName())));
+			engine.init();
+		}
+
+		// Singletons are cached, with each retrieval receiving its own copy which it can modify
+		Descriptor<String> strDesc = new Descriptor<>(String.class).intern();
+		List<String> strings = engine.getAllBeans(strDesc);
+		CollectionAssert.assertEquals(Arrays.asList(BasicStringRecipe1.VALUE), strings);
+		long hits = engine.getResolutionCacheHits();
+		Assertions.assertNotSame(strings, engine.getAllBeans(strDesc));
+		Assertions.assertEquals(hits + 1, engine.getResolutionCacheHits());
+		strings.add("abc");
+		CollectionAssert.assertEquals(Arrays.asList(BasicStringRecipe1.VALUE), engine.getAllBeans(strDesc));
+
+		// Only for interned descriptors
+		Descriptor<String> unfrozen = new Descriptor<>(String.class);
+		Assertions.assertNotSame(engine.getAllBeans(unfrozen), engine.getAllBeans(unfrozen));
+
+		// Factories are retrieved anew
+		Descriptor<StringConsumerBean> consumerDesc = new Descriptor<>(StringConsumerBean.class).intern();
+		List<StringConsumerBean> consumers = engine.getAllBeans(consumerDesc);
+		Assertions.assertEquals(1, consumers.size());
+		Assertions.assertNotSame(consumers, engine.getAllBeans(consumerDesc));
+		Assertions.assertNotSame(consumers.get(0), engine.getAllBeans(consumerDesc).get(0));
+
+		// Registering a matching bean evicts the cached list
+		engine.registerBean("abc123", new Descriptor<>(String.class));
+		List<String> updated = engine.getAllBeans(strDesc);
+		Assertions.assertNotSame(strings, updated);
+		CollectionAssert.assertEquivalent(updated, BasicStringRecipe1.VALUE, "abc123");
+		CollectionAssert.assertEquivalent(engine.getAllBeans(strDesc), BasicStringRecipe1.VALUE, "abc123");
+	}
+
+	/**
+	 * Verify that the consumers of all of the beans share the cached list
+	 */
+	@Test
+	public void testAllBeansShared() {
+		try (MockedStatic<RegistryFile> registry = Mockito.mockStatic(RegistryFile.class)) {
+			registry.when(RegistryFile::read).thenReturn(new HashSet<>(Arrays.asList(BasicStringRecipe1.class.getName(), StringConsumerTestRecipe.class.getName())));
+			engine.init();
+		}
+
+		Descriptor<String> strDesc = new Descriptor<>(String.class).intern();
+		ReflectedFieldInjector<AllStringsConsumer, String> injector = new ReflectedFieldInjector<>("path", "strings", strDesc);
+		AllStringsConsumer consumerA = new AllStringsConsumer();
+		AllStringsConsumer consumerB = new AllStringsConsumer();
+		injector.inject(consumerA, engine);
+		injector.inject(consumerB, engine);
+		CollectionAssert.assertEquals(consumerA.strings, BasicStringRecipe1.VALUE);
+		Assertions.assertSame(consumerA.strings, consumerB.strings);
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> consumerA.strings.add("abc"));
+
+		// Each retrieval through the context still gets its own copy
+		Assertions.assertNotSame(consumerA.strings, engine.getAllBeans(strDesc));
+
+		// Factories are retrieved anew, so consumers get their own list
+		Descriptor<StringConsumerBean> consumerDesc = new Descriptor<>(StringConsumerBean.class).intern();
+		Assertions.assertNotSame(engine.getSharedAllBeans(consumerDesc), engine.getSharedAllBeans(consumerDesc));
+
+		// Registering a matching bean evicts the shared list
+		engine.registerBean("abc123", new Descriptor<>(String.class));
+		injector.inject(consumerB, engine);
+		Assertions.assertNotSame(consumerA.strings, consumerB.strings);
+		CollectionAssert.assertEquivalent(consumerB.strings, BasicStringRecipe1.VALUE, "abc123");
+	}
+
 	/**
 	 * Verify that the engine can be properly initialized where there are duplicate beans
 	 */
@@ -226,6 +357,110 @@ public class EngineIT extends AbstractUnitTest {
 		assertBeans(new Descriptor<>(Object.class), Double1TestRecipe.VALUE, Double2TestRecipe.VALUE, IntTestRecipe.VALUE, StringTestRecipe.VALUE, engine);
 	}
 
+	/**
+	 * Verify that recipes which are present in a generated index are created by the index, with the remainder created reflectively
+	 */
+	@Test
+	public void testInitFromIndex() {
+		TestRegistryIndex index = new TestRegistryIndex();
+		Map<String, RecipeIndex> indices = new HashMap<>();
+		for (String recipe : index.getRecipeNames())
+			indices.put(recipe, index);
+
+		try (MockedStatic<RegistryFile> registry = Mockito.mockStatic(RegistryFile.class)) {
+			registry.when(RegistryFile::read).thenReturn(new HashSet<>(Arrays.asList(Double1TestRecipe.class.getName(), IntTestRecipe.class.getName())));
+			registry.when(RegistryFile::readIndex).thenReturn(indices);
+			engine.init();
+		}
+
+		CollectionAssert.assertEquivalent(index.getRecipeNames(), index.created);
+		Assertions.assertEquals(4, engine.getBeanCount());
+		assertBeans(new Descriptor<>(Double.class), Double1TestRecipe.VALUE);
+		assertBeans(new Descriptor<>(Integer.class), IntTestRecipe.VALUE);
+		assertBeans(new Descriptor<>(String.class), StringTestRecipe.VALUE);
+		assertBeans(new Descriptor<>(ApplicationContext.class), engine);
+	}
+
+	/**
+	 * Verify that recipes whose metadata shows that their requirements are not met are skipped without being created
+	 */
+	@Test
+	public void testInitFilteredByMetadata() {
+		TestRegistryIndex index = initWithMetadata();
+
+		CollectionAssert.assertEquivalent(Arrays.asList(IntTestRecipe.class.getName()), index.created);
+		Assertions.assertEquals(3, engine.getBeanCount());
+		assertBeans(new Descriptor<>(Double.class), Double1TestRecipe.VALUE);
+		assertBeans(new Descriptor<>(Integer.class), IntTestRecipe.VALUE);
+		assertBeans(new Descriptor<>(String.class));
+		assertBeans(new Descriptor<>(ApplicationContext.class), engine);
+	}
+
+	/**
+	 * Verify that recipes whose metadata shows that their requirements are met are created
+	 */
+	@Test
+	public void testInitAllowedByMetadata() {
+		engine.addEnvironments("A");
+		TestRegistryIndex index = initWithMetadata();
+
+		CollectionAssert.assertEquivalent(index.getRecipeNames(), index.created);
+		Assertions.assertEquals(4, engine.getBeanCount());
+		assertBeans(new Descriptor<>(Integer.class), IntTestRecipe.VALUE);
+		assertBeans(new Descriptor<>(String.class), StringTestRecipe.VALUE);
+	}
+
+	/**
+	 * Initialize the engine from an index, with metadata requiring environment A for the {@link StringTestRecipe}
+	 * 
+	 * @return {@link TestRegistryIndex} through which the recipes were created
+	 */
+	private TestRegistryIndex initWithMetadata() {
+		TestRegistryIndex index = new TestRegistryIndex();
+		Map<String, RecipeIndex> indices = new HashMap<>();
+		for (String recipe : index.getRecipeNames())
+			indices.put(recipe, index);
+
+		Requirement requiresA = new Requirement();
+		requiresA.addRequired("A");
+		Map<String, RecipeMetadata> metadata = new HashMap<>();
+		metadata.put(IntTestRecipe.class.getName(), new RecipeMetadata(IntTestRecipe.class.getName(), Integer.class.getName(), false, false, new Requirement(), new Requirement()));
+		metadata.put(StringTestRecipe.class.getName(), new RecipeMetadata(StringTestRecipe.class.getName(), String.class.getName(), false, false, requiresA, new Requirement()));
+
+		try (MockedStatic<RegistryFile> registry = Mockito.mockStatic(RegistryFile.class)) {
+			registry.when(RegistryFile::read).thenReturn(new HashSet<>(Arrays.asList(Double1TestRecipe.class.getName())));
+			registry.when(RegistryFile::readIndex).thenReturn(indices);
+			registry.when(RegistryFile::readMetadata).thenReturn(metadata);
+			engine.init();
+		}
+
+		return index;
+	}
+
+	/**
+	 * Verify that the dependency graph includes the deferred recipes which are loaded while it is being created
+	 */
+	@Test
+	public void testDependencyGraphLoadsDeferred() {
+		Map<String, RecipeMetadata> metadata = new HashMap<>();
+		metadata.put(BasicStringRecipe1.class.getName(), new RecipeMetadata(BasicStringRecipe1.class.getName(), String.class.getName(), false, false, new Requirement(), new Requirement()));
+
+		engine.loadReachableOnly();
+		try (MockedStatic<RegistryFile> registry = Mockito.mockStatic(RegistryFile.class)) {
+			registry.when(RegistryFile::read).thenReturn(new HashSet<>(Arrays.asList(BasicStringRecipe1.class.getName(), StringConsumerTestRecipe.class.getName())));
+			registry.when(RegistryFile::readMetadata).thenReturn(metadata);
+			engine.init();
+		}
+		Assertions.assertEquals(2, engine.getBeanCount());
+
+		// Searching for the dependencies of the consumer loads the string recipe, which must be part of the graph
+		DependencyGraph graph = engine.getDependencyGraph();
+		Assertions.assertEquals(3, engine.getBeanCount());
+		Assertions.assertEquals(3, graph.size());
+		Assertions.assertEquals(1, graph.getEdgeCount());
+		Assertions.assertSame(graph, engine.getDependencyGraph());
+	}
+
 	/**
 	 * Verify that beans can be retrieved from a configuration
 	 */
@@ -629,6 +864,29 @@ public class EngineIT extends AbstractUnitTest {
 		assertBeans(new Descriptor<>(String.class), FallbackStringRecipe2.VALUE);
 	}
 
+	/**
+	 * Verify that linked dependencies are resolved, and updated when a bean is registered which affects the resolution
+	 */
+	@Test
+	public void testLinkDependencies() {
+		try (MockedStatic<RegistryFile> registry = Mockito.mockStatic(RegistryFile.class)) {
+			registry.when(RegistryFile::read).thenReturn(new HashSet<>(Arrays.asList(BasicStringRecipe1.class.getName(), StringConsumerTestRecipe.class.getName())));
+			engine.init();
+			engine.link();
+		}
+
+		Assertions.assertEquals(3, engine.getBeanCount());
+		Assertions.assertEquals(BasicStringRecipe1.VALUE, engine.getBean(new Descriptor<>(StringConsumerBean.class)).getValue());
+
+		// Beans which do not match the dependency do not affect it
+		engine.registerBean(123, new Descriptor<>(Integer.class));
+		Assertions.assertEquals(BasicStringRecipe1.VALUE, engine.getBean(new Descriptor<>(StringConsumerBean.class)).getValue());
+
+		// A bean which does match the dependency makes it ambiguous
+		engine.registerBean("qwerty", new Descriptor<>(String.class));
+		Assertions.assertThrows(BeanCreationException.class, () -> engine.getBean(new Descriptor<>(StringConsumerBean.class)));
+	}
+
 	/**
 	 * Verify that the engine will read environments from the environments property
 	 */
@@ -781,4 +1039,12 @@ public class EngineIT extends AbstractUnitTest {
 		// Make sure that all beans can be retrieved
 		CollectionAssert.assertEquivalent(engine.getAllBeans(desc), values);
 	}
+
+	/**
+	 * Consumer of all of the string beans
+	 */
+	private static class AllStringsConsumer {
+		@InjectAll
+		private List<String> strings;
+	}
 }
@@ -1,7 +1,11 @@
 package tendril.context;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -9,8 +13,15 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import tendril.TendrilStartupException;
+import tendril.bean.qualifier.Descriptor;
+import tendril.processor.registration.RegistryFile;
 import tendril.processor.registration.RunnerFile;
 import tendril.test.AbstractUnitTest;
+import tendril.test.bean.MultipleCtorBean;
+import tendril.test.recipe.AsyncInitTestRecipe;
+import tendril.test.recipe.BlockingTestRecipe;
+import tendril.test.runner.TestAsyncTendrilRunner;
+import tendril.test.runner.TestAsyncTendrilRunnerRecipe;
 import tendril.test.runner.TestTendrilRunner1;
 import tendril.test.runner.TestTendrilRunner2;
 import tendril.test.runner.TestTendrilRunner3;
@@ -35,6 +46,10 @@ public class EngineTest extends AbstractUnitTest {
         TestTendrilRunnerRecipe2.reset();
         TestTendrilRunnerRecipe3.reset();
         TestTendrilRunnerRecipe4.reset();
+        TestAsyncTendrilRunner.reset();
+        TestAsyncTendrilRunnerRecipe.reset();
+        AsyncInitTestRecipe.reset();
+        BlockingTestRecipe.reset();
 		
 		engine = new Engine();
 	}
@@ -270,4 +285,84 @@ public class EngineTest extends AbstractUnitTest {
         }
     }
 
+    /**
+     * Verify that the runner is only run once the asynchronous initialization of it and of the singletons it depends on has completed
+     */
+    @Test
+    public void testStartWaitsForAsyncPostConstruct() {
+        CompletableFuture.runAsync(() -> AsyncInitTestRecipe.initialization.complete(null), CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+        CompletableFuture.runAsync(() -> TestAsyncTendrilRunnerRecipe.initialization.complete(null), CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS));
+        
+        startAsyncRunner();
+        Assertions.assertTrue(TestAsyncTendrilRunner.hasBeenRun());
+        Assertions.assertTrue(TestAsyncTendrilRunner.wasReadyWhenRun());
+    }
+
+    /**
+     * Verify that the context fails to start if the asynchronous initialization of a singleton the runner depends on does not complete in time
+     */
+    @Test
+    public void testStartAsyncPostConstructTimeout() {
+        TestAsyncTendrilRunnerRecipe.initialization.complete(null);
+        engine.setPostConstructTimeout(Duration.ofMillis(50));
+        
+        Assertions.assertThrows(TendrilStartupException.class, () -> startAsyncRunner());
+        Assertions.assertFalse(TestAsyncTendrilRunner.hasBeenRun());
+        Assertions.assertFalse(AsyncInitTestRecipe.initialization.isDone());
+    }
+
+    /**
+     * Verify that the context fails to start if the asynchronous initialization of the runner fails
+     */
+    @Test
+    public void testStartAsyncPostConstructFailure() {
+        AsyncInitTestRecipe.initialization.complete(null);
+        TestAsyncTendrilRunnerRecipe.initialization.completeExceptionally(new IllegalStateException());
+        
+        TendrilStartupException ex = Assertions.assertThrows(TendrilStartupException.class, () -> startAsyncRunner());
+        Assertions.assertInstanceOf(IllegalStateException.class, ex.getCause());
+        Assertions.assertFalse(TestAsyncTendrilRunner.hasBeenRun());
+    }
+    
+    /**
+     * Verify that when the singletons are created in the background, retrieving a singleton whose creation is in progress waits for and receives the bean from
+     * the background creation, with the completion of the background creation being observable
+     */
+    @Test
+    public void testStartBackgroundCreationJoined() throws Exception {
+        engine.setStartupInitialization(SingletonInitialization.BACKGROUND);
+        try (MockedStatic<RegistryFile> registry = Mockito.mockStatic(RegistryFile.class); MockedStatic<RunnerFile> runnerFile = Mockito.mockStatic(RunnerFile.class)) {
+            registry.when(RegistryFile::read).thenReturn(Collections.singleton(BlockingTestRecipe.class.getName()));
+            runnerFile.when(RunnerFile::read).thenReturn(Collections.singletonList(TestTendrilRunnerRecipe1.class.getName()));
+            engine.init();
+            engine.start();
+        }
+        Assertions.assertTrue(TestTendrilRunner1.hasBeenRun());
+        
+        // The background creation is in progress, and must be joined
+        Assertions.assertTrue(BlockingTestRecipe.building.await(5, TimeUnit.SECONDS));
+        CompletableFuture<MultipleCtorBean> joining = CompletableFuture.supplyAsync(() -> engine.getBean(new Descriptor<>(MultipleCtorBean.class)));
+        Assertions.assertThrows(TimeoutException.class, () -> joining.get(100, TimeUnit.MILLISECONDS));
+        Assertions.assertFalse(engine.getBackgroundInstantiation().isDone());
+        
+        BlockingTestRecipe.release.countDown();
+        MultipleCtorBean bean = joining.get(5, TimeUnit.SECONDS);
+        // Both the bean and the ApplicationContext are singletons
+        Assertions.assertEquals(2, engine.getBackgroundInstantiation().get(5, TimeUnit.SECONDS));
+        Assertions.assertSame(bean, engine.getBean(new Descriptor<>(MultipleCtorBean.class)));
+        Assertions.assertEquals(1, BlockingTestRecipe.created.get());
+    }
+    
+    /**
+     * Initialize and start the engine with the {@link TestAsyncTendrilRunner} as the runner, depending on the bean provided by the {@link AsyncInitTestRecipe}
+     */
+    private void startAsyncRunner() {
+        try (MockedStatic<RegistryFile> registry = Mockito.mockStatic(RegistryFile.class); MockedStatic<RunnerFile> runnerFile = Mockito.mockStatic(RunnerFile.class)) {
+            registry.when(RegistryFile::read).thenReturn(Collections.singleton(AsyncInitTestRecipe.class.getName()));
+            runnerFile.when(RunnerFile::read).thenReturn(Collections.singletonList(TestAsyncTendrilRunnerRecipe.class.getName()));
+            engine.init();
+            engine.start();
+        }
+    }
+
 }
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.context;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.recipe.AbstractRecipe;
+import tendril.bean.recipe.WrapperRecipe;
+import tendril.bean.requirement.Requirement;
+import tendril.codegen.field.type.TypeFactory;
+import tendril.context.search.AllRecipeSearchHandler;
+import tendril.context.search.RecipeSearchHandler;
+import tendril.context.search.SearchType;
+import tendril.context.search.SingleRecipeSearchHandler;
+import tendril.test.AbstractUnitTest;
+import tendril.test.assertions.CollectionAssert;
+import tendril.test.recipe.BasicStringRecipe1;
+import tendril.test.recipe.BasicStringRecipe2;
+import tendril.test.recipe.Double1TestRecipe;
+import tendril.test.recipe.Double2TestRecipe;
+import tendril.test.recipe.FallbackStringRecipe1;
+import tendril.test.recipe.IntTestRecipe;
+import tendril.test.recipe.PrimaryStringRecipe1;
+
+/**
+ * Test case for the {@link RecipeRegistry}
+ */
+public class RecipeRegistryTest extends AbstractUnitTest {
+
+	// Mocks to use for testing
+	@Mock
+	private Engine mockEngine;
+
+	// Recipes to use for testing
+	private BasicStringRecipe1 basicString1;
+	private BasicStringRecipe2 basicString2;
+	private PrimaryStringRecipe1 primaryString;
+	private FallbackStringRecipe1 fallbackString;
+	private IntTestRecipe intRecipe;
+	private Double1TestRecipe double1;
+	private Double2TestRecipe double2;
+
+	// Instance to test
+	private RecipeRegistry registry;
+
+	/**
+	 * @see tendril.test.AbstractUnitTest#prepareTest()
+	 */
+	@Override
+	protected void prepareTest() {
+		basicString1 = new BasicStringRecipe1(mockEngine);
+		basicString2 = new BasicStringRecipe2(mockEngine);
+		primaryString = new PrimaryStringRecipe1(mockEngine);
+		fallbackString = new FallbackStringRecipe1(mockEngine);
+		intRecipe = new IntTestRecipe(mockEngine);
+		double1 = new Double1TestRecipe(mockEngine);
+		double2 = new Double2TestRecipe(mockEngine);
+
+		registry = new RecipeRegistry();
+	}
+
+	/**
+	 * Verify that recipes can be added and removed
+	 */
+	@Test
+	public void testAddRemove() {
+		Assertions.assertEquals(0, registry.size());
+		CollectionAssert.assertEmpty(registry.getAll());
+
+		registry.add(basicString1);
+		registry.add(intRecipe);
+		registry.add(double1);
+		Assertions.assertEquals(3, registry.size());
+		CollectionAssert.assertEquals(Arrays.asList(basicString1, intRecipe, double1), registry.getAll());
+
+		Assertions.assertTrue(registry.remove(intRecipe));
+		Assertions.assertFalse(registry.remove(intRecipe));
+		Assertions.assertEquals(2, registry.size());
+		CollectionAssert.assertEquals(Arrays.asList(basicString1, double1), registry.getAll());
+		CollectionAssert.assertEmpty(findAll(new Descriptor<>(Integer.class)));
+	}
+
+	/**
+	 * Verify that a batch of recipes is added at once, without changing what was previously retrieved from the registry
+	 */
+	@Test
+	public void testAddAll() {
+		registry.add(basicString1);
+		List<AbstractRecipe<?, ?>> before = registry.getAll();
+
+		registry.addAll(Arrays.asList(intRecipe, double1, double2));
+		Assertions.assertEquals(4, registry.size());
+		CollectionAssert.assertEquals(Arrays.asList(basicString1, intRecipe, double1, double2), registry.getAll());
+		CollectionAssert.assertEquals(Arrays.asList(basicString1), before);
+		CollectionAssert.assertEquals(Arrays.asList(intRecipe, double1, double2), findAll(new Descriptor<>(Number.class)));
+		CollectionAssert.assertEquals(Arrays.asList(basicString1, intRecipe, double1, double2), findAll(new Descriptor<>(Object.class)));
+
+		registry.addAll(Collections.emptyList());
+		Assertions.assertEquals(4, registry.size());
+
+		Assertions.assertTrue(registry.remove(double1));
+		CollectionAssert.assertEquals(Arrays.asList(intRecipe, double2), findAll(new Descriptor<>(Number.class)));
+		CollectionAssert.assertEquals(Arrays.asList(basicString1), before);
+	}
+
+	/**
+	 * Verify that the recipes which can be replaced are found, taking into account the changes made within an open batch
+	 */
+	@Test
+	public void testFindReplaceable() {
+		registry.addAll(Arrays.asList(basicString1, intRecipe, double1, double2));
+
+		CollectionAssert.assertEquals(Arrays.asList(intRecipe), findReplaceable(new Descriptor<>(Integer.class)));
+		CollectionAssert.assertEquals(Arrays.asList(double1, double2), findReplaceable(new Descriptor<>(Double.class)));
+		CollectionAssert.assertEquals(Arrays.asList(double1), findReplaceable(new Descriptor<>(Double.class).setName(Double1TestRecipe.NAME)));
+		CollectionAssert.assertEmpty(findReplaceable(new Descriptor<>(Number.class)));
+
+		registry.openBatch();
+		Assertions.assertTrue(registry.remove(intRecipe));
+		CollectionAssert.assertEmpty(findReplaceable(new Descriptor<>(Integer.class)));
+		CollectionAssert.assertEquals(Arrays.asList(intRecipe), findAll(new Descriptor<>(Integer.class)));
+		Assertions.assertEquals(4, registry.size());
+
+		registry.publishBatch();
+		CollectionAssert.assertEmpty(findAll(new Descriptor<>(Integer.class)));
+		Assertions.assertEquals(3, registry.size());
+	}
+
+	/**
+	 * Verify that recipes are found by their exact type as well as all types in their hierarchy
+	 */
+	@Test
+	public void testFindByHierarchy() {
+		registry.add(basicString1);
+		registry.add(intRecipe);
+		registry.add(double1);
+		registry.add(double2);
+
+		CollectionAssert.assertEquals(Arrays.asList(basicString1), findAll(new Descriptor<>(String.class)));
+		CollectionAssert.assertEquals(Arrays.asList(basicString1), findAll(new Descriptor<>(CharSequence.class)));
+		CollectionAssert.assertEquals(Arrays.asList(intRecipe), findAll(new Descriptor<>(Integer.class)));
+		CollectionAssert.assertEquals(Arrays.asList(double1, double2), findAll(new Descriptor<>(Double.class)));
+		CollectionAssert.assertEquals(Arrays.asList(intRecipe, double1, double2), findAll(new Descriptor<>(Number.class)));
+		CollectionAssert.assertEquals(Arrays.asList(basicString1, intRecipe, double1, double2), findAll(new Descriptor<>(Comparable.class)));
+		CollectionAssert.assertEquals(Arrays.asList(basicString1, intRecipe, double1, double2), findAll(new Descriptor<>(Object.class)));
+		CollectionAssert.assertEmpty(findAll(new Descriptor<>(Long.class)));
+	}
+
+	/**
+	 * Verify that the metadata of the descriptor is applied to the candidates
+	 */
+	@Test
+	public void testFindByMetadata() {
+		registry.add(intRecipe);
+		registry.add(double1);
+		registry.add(double2);
+
+		CollectionAssert.assertEquals(Arrays.asList(double1), findAll(new Descriptor<>(Number.class).setName(Double1TestRecipe.NAME)));
+		CollectionAssert.assertEquals(Arrays.asList(double2), findAll(new Descriptor<>(Double.class).setName(Double2TestRecipe.NAME)));
+		CollectionAssert.assertEmpty(findAll(new Descriptor<>(Integer.class).setName(Double2TestRecipe.NAME)));
+	}
+
+	/**
+	 * Verify that the priority of the recipes is respected
+	 */
+	@Test
+	public void testFindByPriority() {
+		registry.add(fallbackString);
+		CollectionAssert.assertEquals(Arrays.asList(fallbackString), findSingle(new Descriptor<>(String.class)));
+		CollectionAssert.assertEquals(Arrays.asList(fallbackString), findAll(new Descriptor<>(String.class)));
+
+		registry.add(basicString1);
+		registry.add(basicString2);
+		CollectionAssert.assertEquals(Arrays.asList(basicString1, basicString2), findSingle(new Descriptor<>(String.class)));
+		CollectionAssert.assertEquals(Arrays.asList(basicString1, basicString2), findAll(new Descriptor<>(String.class)));
+
+		registry.add(primaryString);
+		CollectionAssert.assertEquals(Arrays.asList(primaryString), findSingle(new Descriptor<>(String.class)));
+		CollectionAssert.assertEquals(Arrays.asList(primaryString, basicString1, basicString2), findAll(new Descriptor<>(String.class)));
+	}
+
+	/**
+	 * Verify that recipes are found by their enum qualifiers, and that their descriptors are frozen when registered
+	 */
+	@Test
+	public void testFindByEnumQualifier() {
+		QualifiedRecipe<String> stringA = new QualifiedRecipe<>(mockEngine, String.class, TestEnum.A);
+		QualifiedRecipe<String> stringAB = new QualifiedRecipe<>(mockEngine, String.class, TestEnum.A, TestEnum.B);
+		QualifiedRecipe<Integer> intB = new QualifiedRecipe<>(mockEngine, Integer.class, TestEnum.B);
+		registry.add(basicString1);
+		registry.add(stringA);
+		registry.add(stringAB);
+		registry.add(intB);
+		Assertions.assertTrue(stringA.getDescription().isFrozen());
+		Assertions.assertTrue(basicString1.getDescription().isFrozen());
+
+		CollectionAssert.assertEquals(Arrays.asList(stringA, stringAB), findAll(new Descriptor<>(String.class).addEnumQualifier(TestEnum.A)));
+		CollectionAssert.assertEquals(Arrays.asList(stringAB), findAll(new Descriptor<>(String.class).addEnumQualifier(TestEnum.B)));
+		CollectionAssert.assertEquals(Arrays.asList(stringAB, intB), findAll(new Descriptor<>(Object.class).addEnumQualifier(TestEnum.B).freeze()));
+		CollectionAssert.assertEquals(Arrays.asList(stringAB), findAll(new Descriptor<>(Object.class).addEnumQualifier(TestEnum.A).addEnumQualifier(TestEnum.B)));
+		CollectionAssert.assertEmpty(findAll(new Descriptor<>(Object.class).addEnumQualifier(TestEnum.C)));
+		CollectionAssert.assertEmpty(findAll(new Descriptor<>(Integer.class).addEnumQualifier(TestEnum.A)));
+
+		Assertions.assertTrue(registry.remove(stringA));
+		CollectionAssert.assertEquals(Arrays.asList(stringAB), findAll(new Descriptor<>(Object.class).addEnumQualifier(TestEnum.A)));
+		Assertions.assertTrue(registry.remove(stringAB));
+		CollectionAssert.assertEmpty(findAll(new Descriptor<>(String.class).addEnumQualifier(TestEnum.A)));
+	}
+
+	/**
+	 * Verify that a descriptor which the recipe was created with is left with its creator unfrozen, with the recipe being registered with a frozen copy
+	 */
+	@Test
+	public void testCreatorDescriptorNotFrozen() {
+		Descriptor<String> descriptor = new Descriptor<>(String.class).addEnumQualifier(TestEnum.A);
+		WrapperRecipe<String> recipe = new WrapperRecipe<>(mockEngine, "abc123", descriptor);
+		registry.add(recipe);
+		Assertions.assertFalse(descriptor.isFrozen());
+		Assertions.assertTrue(recipe.getDescription().isFrozen());
+		Assertions.assertNotSame(descriptor, recipe.getDescription());
+
+		// The creator can continue to modify its descriptor, without affecting the registered recipe
+		descriptor.setName("other").addEnumQualifier(TestEnum.B);
+		CollectionAssert.assertEquals(Arrays.asList(recipe), findAll(new Descriptor<>(String.class).addEnumQualifier(TestEnum.A)));
+		CollectionAssert.assertEmpty(findAll(new Descriptor<>(String.class).addEnumQualifier(TestEnum.B)));
+
+		Assertions.assertTrue(registry.remove(recipe));
+		CollectionAssert.assertEmpty(findAll(new Descriptor<>(String.class).addEnumQualifier(TestEnum.A)));
+	}
+
+	/**
+	 * Verify that a type which cannot be loaded is searched for amongst all recipes
+	 */
+	@Test
+	public void testFindUnloadableType() {
+		registry.add(basicString1);
+		registry.add(intRecipe);
+
+		CollectionAssert.assertEquals(Arrays.asList(basicString1, intRecipe), findAll(new Descriptor<>(TypeFactory.createClassType("a.b.DoesNotExist"))));
+		CollectionAssert.assertEquals(Collections.emptyList(), findAll(new Descriptor<>(TypeFactory.createClassType("a.b.DoesNotExist")).setName("abc123")));
+	}
+
+	/**
+	 * Perform a search for all matching recipes
+	 *
+	 * @param <T>  the type of bean to find
+	 * @param desc {@link Descriptor} describing what to find
+	 * @return {@link List} of matching recipes
+	 */
+	private <T> List<AbstractRecipe<?, ?>> findAll(Descriptor<T> desc) {
+		RecipeSearchHandler<T> handler = new AllRecipeSearchHandler<>();
+		registry.find(desc, SearchType.ALL_BEANS, handler);
+		return new ArrayList<>(handler.processResults().getRecipes());
+	}
+
+	/**
+	 * Perform a search for all recipes which can be replaced
+	 *
+	 * @param <T>  the type of the replacement
+	 * @param desc {@link Descriptor} of the replacement
+	 * @return {@link List} of replaceable {@link AbstractRecipe}s
+	 */
+	private <T> List<AbstractRecipe<?, ?>> findReplaceable(Descriptor<T> desc) {
+		RecipeSearchHandler<T> handler = new AllRecipeSearchHandler<>();
+		registry.findReplaceable(desc, handler);
+		return new ArrayList<>(handler.processResults().getRecipes());
+	}
+
+	/**
+	 * Perform a search for a single matching recipe
+	 *
+	 * @param <T>  the type of bean to find
+	 * @param desc {@link Descriptor} describing what to find
+	 * @return {@link List} of matching recipes
+	 */
+	private <T> List<AbstractRecipe<?, ?>> findSingle(Descriptor<T> desc) {
+		RecipeSearchHandler<T> handler = new SingleRecipeSearchHandler<>();
+		registry.find(desc, SearchType.SINGLE_BEAN, handler);
+		return new ArrayList<>(handler.processResults().getRecipes());
+	}
+
+	/**
+	 * Enumeration to use as qualifiers for testing
+	 */
+	private enum TestEnum {
+		A, B, C;
+	}
+
+	/**
+	 * Recipe to use for testing which has enum qualifiers applied
+	 *
+	 * @param <T> the type of bean the recipe produces
+	 */
+	private static class QualifiedRecipe<T> extends AbstractRecipe<T, T> {
+
+		/**
+		 * CTOR
+		 *
+		 * @param engine     {@link Engine} in which the recipe is to be registered
+		 * @param beanClass  {@link Class} of the bean
+		 * @param qualifiers {@link TestEnum}... to apply as qualifiers
+		 */
+		private QualifiedRecipe(Engine engine, Class<T> beanClass, TestEnum... qualifiers) {
+			super(engine, qualify(new Descriptor<>(beanClass), qualifiers));
+		}
+
+		/**
+		 * Apply the qualifiers to the descriptor
+		 *
+		 * @param <T>        the type of bean that is described
+		 * @param descriptor {@link Descriptor} to qualify
+		 * @param qualifiers {@link TestEnum}... to apply
+		 * @return {@link Descriptor} with the qualifiers applied
+		 */
+		private static <T> Descriptor<T> qualify(Descriptor<T> descriptor, TestEnum... qualifiers) {
+			for (TestEnum q : qualifiers)
+				descriptor.addEnumQualifier(q);
+			return descriptor;
+		}
+
+		@Override
+		protected void setupDescriptor(Descriptor<T> descriptor) {
+		}
+
+		@Override
+		protected void setupEnvironmentRequirement(Requirement requirement) {
+		}
+
+		@Override
+		protected void setupPropertyRequirement(Requirement requirement) {
+		}
+
+		@Override
+		public T get() {
+			return null;
+		}
+
+		@Override
+		protected T createInstance(Engine engine) {
+			return null;
+		}
+	}
+}
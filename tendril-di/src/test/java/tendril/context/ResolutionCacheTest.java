@@ -0,0 +1,168 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.context;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.recipe.AbstractRecipe;
+import tendril.codegen.field.type.TypeFactory;
+import tendril.context.search.RecipeSearchResult;
+import tendril.context.search.SearchType;
+import tendril.test.AbstractUnitTest;
+import tendril.test.recipe.BasicStringRecipe1;
+import tendril.test.recipe.Double1TestRecipe;
+import tendril.test.recipe.IntTestRecipe;
+
+/**
+ * Test case for the {@link ResolutionCache}
+ */
+public class ResolutionCacheTest extends AbstractUnitTest {
+
+	// Mocks to use for testing
+	@Mock
+	private Engine mockEngine;
+
+	// The descriptors which have been searched for
+	private List<Descriptor<?>> searches;
+
+	// Instance to test
+	private ResolutionCache cache;
+
+	/**
+	 * @see tendril.test.AbstractUnitTest#prepareTest()
+	 */
+	@Override
+	protected void prepareTest() {
+		searches = new ArrayList<>();
+		cache = new ResolutionCache(new RecipeRegistry());
+	}
+
+	/**
+	 * Verify that descriptors which are not interned are never cached, even if they are frozen
+	 */
+	@Test
+	public void testNotInterned() {
+		Descriptor<String> desc = new Descriptor<>(String.class);
+		RecipeSearchResult<String> first = resolve(desc, SearchType.SINGLE_BEAN);
+		RecipeSearchResult<String> second = resolve(desc, SearchType.SINGLE_BEAN);
+
+		Assertions.assertNotSame(first, second);
+		Assertions.assertEquals(Arrays.asList(desc, desc), searches);
+		Assertions.assertEquals(0, cache.size());
+
+		Descriptor<String> frozen = new Descriptor<>(String.class).freeze();
+		Assertions.assertNotSame(resolve(frozen, SearchType.ALL_BEANS), resolve(frozen, SearchType.ALL_BEANS));
+		Assertions.assertEquals(0, cache.size());
+		Assertions.assertEquals(0, cache.getHits());
+		Assertions.assertEquals(0, cache.getMisses());
+	}
+
+	/**
+	 * Verify that the results of interned descriptors are cached per search type
+	 */
+	@Test
+	public void testInternedCached() {
+		Descriptor<String> desc = new Descriptor<>(String.class).intern();
+		RecipeSearchResult<String> single = resolve(desc, SearchType.SINGLE_BEAN);
+		Assertions.assertSame(single, resolve(desc, SearchType.SINGLE_BEAN));
+		Assertions.assertEquals(1, cache.getHits());
+		Assertions.assertEquals(1, cache.getMisses());
+
+		RecipeSearchResult<String> all = resolve(desc, SearchType.ALL_BEANS);
+		Assertions.assertNotSame(single, all);
+		Assertions.assertSame(all, resolve(desc, SearchType.ALL_BEANS));
+		Assertions.assertEquals(2, cache.getHits());
+		Assertions.assertEquals(2, cache.getMisses());
+		Assertions.assertEquals(2, cache.size());
+		Assertions.assertEquals(Arrays.asList(desc, desc), searches);
+
+		// An identical descriptor is interned to the same key
+		Assertions.assertSame(single, resolve(new Descriptor<>(String.class).intern(), SearchType.SINGLE_BEAN));
+		Assertions.assertEquals(3, cache.getHits());
+	}
+
+	/**
+	 * Verify that only those results which the recipe matches are evicted
+	 */
+	@Test
+	public void testInvalidate() {
+		Descriptor<String> str = new Descriptor<>(String.class).intern();
+		Descriptor<Number> num = new Descriptor<>(Number.class).intern();
+		Descriptor<Object> named = new Descriptor<>(Object.class).setName(Double1TestRecipe.NAME).intern();
+		resolve(str, SearchType.SINGLE_BEAN);
+		resolve(str, SearchType.ALL_BEANS);
+		resolve(num, SearchType.SINGLE_BEAN);
+		resolve(named, SearchType.ALL_BEANS);
+		Assertions.assertEquals(4, cache.size());
+
+		// Nothing matching
+		cache.invalidate(new IntTestRecipe(mockEngine));
+		Assertions.assertEquals(3, cache.size());
+
+		cache.invalidate(new BasicStringRecipe1(mockEngine));
+		Assertions.assertEquals(1, cache.size());
+		searches.clear();
+		resolve(named, SearchType.ALL_BEANS);
+		resolve(str, SearchType.SINGLE_BEAN);
+		Assertions.assertEquals(Arrays.asList(str), searches);
+
+		cache.invalidate(new Double1TestRecipe(mockEngine));
+		Assertions.assertEquals(1, cache.size());
+		resolve(named, SearchType.ALL_BEANS);
+		Assertions.assertEquals(Arrays.asList(str, named), searches);
+	}
+
+	/**
+	 * Verify that the results for a type which is not indexed are checked against every recipe
+	 */
+	@Test
+	public void testInvalidateUnindexed() {
+		Descriptor<Object> unloadable = new Descriptor<>(TypeFactory.createClassType("a.b.DoesNotExist")).intern();
+		Descriptor<Number> num = new Descriptor<>(Number.class).intern();
+		resolve(unloadable, SearchType.ALL_BEANS);
+		resolve(num, SearchType.ALL_BEANS);
+		Assertions.assertEquals(2, cache.size());
+
+		cache.invalidate(new BasicStringRecipe1(mockEngine));
+		Assertions.assertEquals(1, cache.size());
+		searches.clear();
+		resolve(num, SearchType.ALL_BEANS);
+		resolve(unloadable, SearchType.ALL_BEANS);
+		Assertions.assertEquals(Arrays.asList(unloadable), searches);
+	}
+
+	/**
+	 * Resolve the descriptor, recording the search if one is performed
+	 *
+	 * @param <T>  the type of bean to find
+	 * @param desc {@link Descriptor} to resolve
+	 * @param type {@link SearchType} to perform
+	 * @return {@link RecipeSearchResult} that is resolved
+	 */
+	private <T> RecipeSearchResult<T> resolve(Descriptor<T> desc, SearchType type) {
+		return cache.resolve(desc, type, (d, t) -> {
+			searches.add(d);
+			return new RecipeSearchResult<T>(t.name(), new ArrayList<AbstractRecipe<T, T>>());
+		});
+	}
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.context;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import tendril.TendrilStartupException;
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.recipe.AbstractRecipe;
+import tendril.bean.recipe.SingletonRecipe;
+import tendril.bean.requirement.Requirement;
+import tendril.test.AbstractUnitTest;
+
+/**
+ * Test case for the {@link SingletonInstantiator}
+ */
+public class SingletonInstantiatorTest extends AbstractUnitTest {
+
+    /**
+     * Recipe which records when its bean has been created
+     */
+    private class OrderRecipe extends SingletonRecipe<Object, Object> {
+        private final AtomicInteger timesCreated = new AtomicInteger();
+        /** The descriptors of the beans which are consumed */
+        private final List<Descriptor<?>> consumed = new ArrayList<>();
+        private boolean createThrows = false;
+        private boolean isSingleton = true;
+
+        private OrderRecipe() {
+            super(mockEngine, Object.class, false, false);
+        }
+
+        /**
+         * Make the recipe depend on another recipe, consuming a descriptor which resolves to it
+         * 
+         * @param other {@link OrderRecipe} that is depended on
+         */
+        private void dependsOn(OrderRecipe other) {
+            Descriptor<Object> descriptor = new Descriptor<>(Object.class);
+            providers.put(descriptor, other);
+            consumed.add(descriptor);
+        }
+
+        @Override
+        public boolean isSingleton() {
+            return isSingleton;
+        }
+
+        @Override
+        protected void setupConsumedDescriptors(List<Descriptor<?>> beans, List<Descriptor<?>> allBeans) {
+            beans.addAll(consumed);
+        }
+
+        @Override
+        protected void setupDescriptor(Descriptor<Object> descriptor) {
+        }
+
+        @Override
+        protected void setupEnvironmentRequirement(Requirement requirement) {
+        }
+
+        @Override
+        protected void setupPropertyRequirement(Requirement requirement) {
+        }
+
+        @Override
+        protected Object createInstance(Engine engine) {
+            if (createThrows)
+                throw new IllegalStateException();
+            // Obtain the singletons which are consumed, as their injection would
+            for (Descriptor<?> d : consumed) {
+                OrderRecipe provider = providers.get(d);
+                if (provider.isSingleton)
+                    provider.get();
+            }
+            timesCreated.incrementAndGet();
+            return new Object();
+        }
+
+        @Override
+        protected void postConstruct(Object bean) {
+            completed.add(this);
+        }
+    }
+
+    // Mocks to use for testing
+    @Mock
+    private Engine mockEngine;
+
+    // The order in which the beans were completed
+    private List<OrderRecipe> completed;
+    // The recipe which provides the bean of each descriptor (by identity, as descriptors are equal by assignability)
+    private Map<Descriptor<?>, OrderRecipe> providers;
+
+    /**
+     * @see tendril.test.AbstractUnitTest#prepareTest()
+     */
+    @Override
+    protected void prepareTest() {
+        completed = Collections.synchronizedList(new ArrayList<>());
+        providers = new IdentityHashMap<>();
+    }
+
+    /**
+     * Verify that the singletons are created after their dependencies
+     */
+    @Test
+    public void testDependencyOrder() {
+        OrderRecipe a = new OrderRecipe();
+        OrderRecipe b = new OrderRecipe();
+        OrderRecipe c = new OrderRecipe();
+        OrderRecipe d = new OrderRecipe();
+        OrderRecipe e = new OrderRecipe();
+        c.dependsOn(b);
+        b.dependsOn(a);
+        e.dependsOn(a);
+        e.dependsOn(d);
+
+        Assertions.assertEquals(5, instantiate(e, d, c, b, a));
+        for (OrderRecipe r : Arrays.asList(a, b, c, d, e))
+            Assertions.assertEquals(1, r.timesCreated.get());
+
+        Assertions.assertTrue(completed.indexOf(a) < completed.indexOf(b));
+        Assertions.assertTrue(completed.indexOf(b) < completed.indexOf(c));
+        Assertions.assertTrue(completed.indexOf(a) < completed.indexOf(e));
+        Assertions.assertTrue(completed.indexOf(d) < completed.indexOf(e));
+    }
+
+    /**
+     * Verify that failures and cycles do not prevent the other singletons from being created
+     */
+    @Test
+    public void testFailuresAndCycles() {
+        OrderRecipe ok = new OrderRecipe();
+        OrderRecipe failing = new OrderRecipe();
+        OrderRecipe dependsOnFailing = new OrderRecipe();
+        OrderRecipe cycle1 = new OrderRecipe();
+        OrderRecipe cycle2 = new OrderRecipe();
+        OrderRecipe dependsOnCycle = new OrderRecipe();
+        failing.createThrows = true;
+        dependsOnFailing.dependsOn(failing);
+        cycle1.dependsOn(cycle2);
+        cycle2.dependsOn(cycle1);
+        dependsOnCycle.dependsOn(cycle1);
+        dependsOnCycle.dependsOn(ok);
+
+        Assertions.assertEquals(1, instantiate(ok, failing, dependsOnFailing, cycle1, cycle2, dependsOnCycle));
+        Assertions.assertEquals(Arrays.asList(ok), completed);
+    }
+
+    /**
+     * Verify that the dependencies of a bean which is not a singleton are followed through, as that bean is created as part of the construction of the singleton
+     */
+    @Test
+    public void testDependencyThroughNonSingleton() {
+        OrderRecipe a = new OrderRecipe();
+        OrderRecipe factory = new OrderRecipe();
+        OrderRecipe c = new OrderRecipe();
+        factory.isSingleton = false;
+        factory.dependsOn(a);
+        c.dependsOn(factory);
+
+        Assertions.assertEquals(2, instantiate(c, factory, a));
+        Assertions.assertEquals(0, factory.timesCreated.get());
+        Assertions.assertEquals(Arrays.asList(a, c), completed);
+    }
+
+    /**
+     * Verify that waiting for the singletons is abandoned if the executor refuses to create them
+     */
+    @Test
+    public void testExecutorRejects() {
+        OrderRecipe a = new OrderRecipe();
+        OrderRecipe b = new OrderRecipe();
+        b.dependsOn(a);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        executor.shutdown();
+        SingletonInstantiator instantiator = new SingletonInstantiator(createGraph(a, b), Arrays.asList(a, b));
+        Assertions.assertThrows(TendrilStartupException.class, () -> instantiator.instantiate(executor));
+        Assertions.assertTrue(completed.isEmpty());
+    }
+
+    /**
+     * Create the singletons of the recipes
+     * 
+     * @param recipes {@link OrderRecipe}... whose singletons are to be created
+     * @return int the number of singletons created
+     */
+    private int instantiate(OrderRecipe... recipes) {
+        List<AbstractRecipe<?, ?>> all = new ArrayList<>(Arrays.asList(recipes));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            return new SingletonInstantiator(createGraph(recipes), all).instantiate(executor);
+        }
+    }
+
+    /**
+     * Create the dependency graph of the recipes
+     * 
+     * @param recipes {@link OrderRecipe}... which form the graph
+     * @return {@link DependencyGraph}
+     */
+    private DependencyGraph createGraph(OrderRecipe... recipes) {
+        List<AbstractRecipe<?, ?>> all = new ArrayList<>(Arrays.asList(recipes));
+        return new DependencyGraph(all, (descriptor, type) -> Collections.singletonList(providers.get(descriptor)));
+    }
+}
@@ -17,8 +17,17 @@ package tendril.processor.recipe;
 
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -46,13 +55,27 @@ public class BeanRecipeGeneratorTest extends AbstractUnitTest {
     // Mocks to use for testing
     @Mock
     private Messager mockMessager;
+    @Mock
+    private ProcessingEnvironment mockProcessingEnv;
+    @Mock
+    private Elements mockElements;
+    @Mock
+    private Types mockTypes;
+    @Mock
+    private TypeElement mockReturnedElement;
+    @Mock
+    private TypeElement mockStageElement;
+    @Mock
+    private TypeMirror mockReturnedMirror;
+    @Mock
+    private TypeMirror mockStageMirror;
 
     /**
      * @see tendril.test.AbstractUnitTest#prepareTest()
      */
     @Override
     protected void prepareTest() {
-        // Not required
+        when(mockProcessingEnv.getMessager()).thenReturn(mockMessager);
     }
 
     /**
@@ -64,11 +87,12 @@ public class BeanRecipeGeneratorTest extends AbstractUnitTest {
         ClassBuilder builder = ClassBuilder.forConcreteClass(type);
         
         // No recipe type indicated
-        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class));
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
         
         // More than one recipe type indicated
         builder.addAnnotation(JAnnotationFactory.create(Singleton.class)).addAnnotation(JAnnotationFactory.create(Factory.class));
-        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class));
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
+        verify(mockProcessingEnv, times(2)).getMessager();
     }
     
     /**
@@ -79,7 +103,8 @@ public class BeanRecipeGeneratorTest extends AbstractUnitTest {
         ClassType type = TypeFactory.createClassType("q.w.e.Rty");
         ClassBuilder builder = ClassBuilder.forAbstractClass(type).addAnnotation(JAnnotationFactory.create(Singleton.class));
         
-        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class));
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
+        verify(mockProcessingEnv).getMessager();
     }
     
     /**
@@ -90,7 +115,8 @@ public class BeanRecipeGeneratorTest extends AbstractUnitTest {
         ClassType type = TypeFactory.createClassType("q.w.e.Rty");
         ClassBuilder builder = ClassBuilder.forInterface(type).addAnnotation(JAnnotationFactory.create(Singleton.class));
         
-        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class));
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
+        verify(mockProcessingEnv).getMessager();
     }
     
     /**
@@ -101,7 +127,8 @@ public class BeanRecipeGeneratorTest extends AbstractUnitTest {
         ClassType type = TypeFactory.createClassType("q.w.e.Rty");
         ClassBuilder builder = ClassBuilder.forAnnotation(type).addAnnotation(JAnnotationFactory.create(Singleton.class));
         
-        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class));
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
+        verify(mockProcessingEnv).getMessager();
     }
     
     /**
@@ -113,17 +140,18 @@ public class BeanRecipeGeneratorTest extends AbstractUnitTest {
         ClassBuilder builder = ClassBuilder.forConcreteClass(type).addAnnotation(JAnnotationFactory.create(Singleton.class));
         
         // No constructor
-        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class));
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
         
         // No viable constructor
         builder.buildConstructor().setVisibility(VisibilityType.PRIVATE).emptyImplementation().finish();
         builder.buildConstructor().setVisibility(VisibilityType.PRIVATE).emptyImplementation().buildParameter(PrimitiveType.BOOLEAN, "param").finish().finish();
-        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class));
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
         
         // More than one constructor
         builder.buildConstructor().setVisibility(VisibilityType.PUBLIC).emptyImplementation().buildParameter(PrimitiveType.INT, "param").finish().finish();
         builder.buildConstructor().setVisibility(VisibilityType.PROTECTED).emptyImplementation().buildParameter(PrimitiveType.DOUBLE, "param").finish().finish();
-        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class));
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
+        verify(mockProcessingEnv, times(3)).getMessager();
     }
     
     /**
@@ -135,19 +163,20 @@ public class BeanRecipeGeneratorTest extends AbstractUnitTest {
         ClassBuilder builder = ClassBuilder.forConcreteClass(type).addAnnotation(JAnnotationFactory.create(Singleton.class));
         
         // No constructor
-        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class));
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
         
         // No viable constructor
         builder.buildConstructor().setVisibility(VisibilityType.PRIVATE).addAnnotation(JAnnotationFactory.create(Inject.class)).emptyImplementation().finish();
         builder.buildConstructor().setVisibility(VisibilityType.PRIVATE).addAnnotation(JAnnotationFactory.create(Inject.class)).emptyImplementation().buildParameter(PrimitiveType.BOOLEAN, "param").finish().finish();
-        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class));
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
         verify(mockMessager, times(2)).printWarning("q.w.e.Rty has a private @Inject constructor");
         
         // More than one constructor
         builder.buildConstructor().setVisibility(VisibilityType.PUBLIC).addAnnotation(JAnnotationFactory.create(Inject.class)).emptyImplementation().buildParameter(PrimitiveType.INT, "param").finish().finish();
         builder.buildConstructor().setVisibility(VisibilityType.PROTECTED).addAnnotation(JAnnotationFactory.create(Inject.class)).emptyImplementation().buildParameter(PrimitiveType.DOUBLE, "param").finish().finish();
-        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class));
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
         verify(mockMessager, times(4)).printWarning("q.w.e.Rty has a private @Inject constructor");
+        verify(mockProcessingEnv, times(3)).getMessager();
     }
     
     /**
@@ -162,8 +191,9 @@ public class BeanRecipeGeneratorTest extends AbstractUnitTest {
         builder.buildConstructor().setVisibility(VisibilityType.PUBLIC).addAnnotation(JAnnotationFactory.create(Inject.class)).emptyImplementation().buildParameter(PrimitiveType.INT, "param").finish().finish();
         
         builder.buildMethod("method1").setVisibility(VisibilityType.PRIVATE).addAnnotation(JAnnotationFactory.create(PostConstruct.class)).emptyImplementation().finish();
-        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class));
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
         verify(mockMessager, times(2)).printWarning("q.w.e.Rty has a private @Inject constructor");
+        verify(mockProcessingEnv).getMessager();
     }
     
     /**
@@ -178,7 +208,93 @@ public class BeanRecipeGeneratorTest extends AbstractUnitTest {
         builder.buildConstructor().setVisibility(VisibilityType.PUBLIC).addAnnotation(JAnnotationFactory.create(Inject.class)).emptyImplementation().buildParameter(PrimitiveType.INT, "param").finish().finish();
         
         builder.buildMethod(PrimitiveType.BOOLEAN, "method1").setVisibility(VisibilityType.PUBLIC).addAnnotation(JAnnotationFactory.create(PostConstruct.class)).emptyImplementation().finish();
-        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class));
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
+        verify(mockProcessingEnv).getMessager();
+    }
+    
+    /**
+     * Can generate if a PostContruct method returns a CompletionStage, with the bean then being initialized asynchronously
+     * @throws TendrilException 
+     */
+    @Test
+    public void testPostConstructReturningCompletionStage_Passes() throws TendrilException {
+        ClassType type = TypeFactory.createClassType("q.w.e.Rty");
+        ClassBuilder builder = ClassBuilder.forConcreteClass(type).addAnnotation(JAnnotationFactory.create(Singleton.class));
+        builder.buildConstructor().setVisibility(VisibilityType.PUBLIC).emptyImplementation().finish();
+        
+        builder.buildMethod(CompletableFuture.class, "method1").setVisibility(VisibilityType.PUBLIC).addAnnotation(JAnnotationFactory.create(PostConstruct.class)).emptyImplementation().finish();
+        prepareCompletionStageCheck(CompletableFuture.class.getName(), true);
+        Assertions.assertTrue(RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class).getCode().contains("addAsyncPostConstruct(bean.method1());"));
+        verify(mockProcessingEnv).getMessager();
+        verifyCompletionStageCheck(CompletableFuture.class.getName());
+    }
+    
+    /**
+     * Failure should be indicated if a PostContruct method returns an object which is not a CompletionStage
+     */
+    @Test
+    public void testPostConstructReturningNonCompletionStage_Fails() {
+        ClassType type = TypeFactory.createClassType("q.w.e.Rty");
+        ClassBuilder builder = ClassBuilder.forConcreteClass(type).addAnnotation(JAnnotationFactory.create(Singleton.class));
+        builder.buildConstructor().setVisibility(VisibilityType.PUBLIC).emptyImplementation().finish();
+        
+        builder.buildMethod(String.class, "method1").setVisibility(VisibilityType.PUBLIC).addAnnotation(JAnnotationFactory.create(PostConstruct.class)).emptyImplementation().finish();
+        prepareCompletionStageCheck(String.class.getName(), false);
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
+        verify(mockProcessingEnv).getMessager();
+        verifyCompletionStageCheck(String.class.getName());
+    }
+    
+    /**
+     * Failure should be indicated if a PostContruct method returns a type which is not known to the compiler
+     */
+    @Test
+    public void testPostConstructReturningUnknownType_Fails() {
+        ClassType type = TypeFactory.createClassType("q.w.e.Rty");
+        ClassBuilder builder = ClassBuilder.forConcreteClass(type).addAnnotation(JAnnotationFactory.create(Singleton.class));
+        builder.buildConstructor().setVisibility(VisibilityType.PUBLIC).emptyImplementation().finish();
+        
+        builder.buildMethod(TypeFactory.createClassType("a.b.c.Unknown"), "method1").setVisibility(VisibilityType.PUBLIC).addAnnotation(JAnnotationFactory.create(PostConstruct.class)).emptyImplementation().finish();
+        when(mockProcessingEnv.getElementUtils()).thenReturn(mockElements);
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
+        verify(mockProcessingEnv).getMessager();
+        verify(mockProcessingEnv).getElementUtils();
+        verify(mockElements).getTypeElement("a.b.c.Unknown");
+    }
+    
+    /**
+     * Prepare the mocked compiler utilities for checking whether the type returned by a PostConstruct method is a CompletionStage
+     * 
+     * @param returnedType {@link String} the fully qualified name of the returned type
+     * @param isStage boolean whether the returned type is to be considered a CompletionStage
+     */
+    private void prepareCompletionStageCheck(String returnedType, boolean isStage) {
+        when(mockProcessingEnv.getElementUtils()).thenReturn(mockElements);
+        when(mockProcessingEnv.getTypeUtils()).thenReturn(mockTypes);
+        when(mockElements.getTypeElement(returnedType)).thenReturn(mockReturnedElement);
+        when(mockElements.getTypeElement(CompletionStage.class.getName())).thenReturn(mockStageElement);
+        when(mockReturnedElement.asType()).thenReturn(mockReturnedMirror);
+        when(mockStageElement.asType()).thenReturn(mockStageMirror);
+        when(mockTypes.erasure(mockReturnedMirror)).thenReturn(mockReturnedMirror);
+        when(mockTypes.erasure(mockStageMirror)).thenReturn(mockStageMirror);
+        when(mockTypes.isAssignable(mockReturnedMirror, mockStageMirror)).thenReturn(isStage);
+    }
+    
+    /**
+     * Verify that the mocked compiler utilities were used to check whether the type returned by a PostConstruct method is a CompletionStage
+     * 
+     * @param returnedType {@link String} the fully qualified name of the returned type
+     */
+    private void verifyCompletionStageCheck(String returnedType) {
+        verify(mockProcessingEnv).getElementUtils();
+        verify(mockProcessingEnv).getTypeUtils();
+        verify(mockElements).getTypeElement(returnedType);
+        verify(mockElements).getTypeElement(CompletionStage.class.getName());
+        verify(mockReturnedElement).asType();
+        verify(mockStageElement).asType();
+        verify(mockTypes).erasure(mockReturnedMirror);
+        verify(mockTypes).erasure(mockStageMirror);
+        verify(mockTypes).isAssignable(mockReturnedMirror, mockStageMirror);
     }
     
     /**
@@ -194,8 +310,9 @@ public class BeanRecipeGeneratorTest extends AbstractUnitTest {
         
         builder.buildMethod("method1").setVisibility(VisibilityType.PUBLIC).addAnnotation(JAnnotationFactory.create(PostConstruct.class))
             .buildParameter(PrimitiveType.LONG, "param").finish().emptyImplementation().finish();
-        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class));
+        Assertions.assertThrows(TendrilException.class, () -> RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class));
         verify(mockMessager, times(2)).printWarning("q.w.e.Rty has a private @Inject constructor");
+        verify(mockProcessingEnv).getMessager();
     }
     
     /**
@@ -210,7 +327,8 @@ public class BeanRecipeGeneratorTest extends AbstractUnitTest {
         builder.buildConstructor().setVisibility(VisibilityType.PUBLIC).emptyImplementation().buildParameter(PrimitiveType.BOOLEAN, "param").finish().finish();
         builder.buildConstructor().setVisibility(VisibilityType.PUBLIC).emptyImplementation().buildParameter(PrimitiveType.INT, "param").finish().finish();
         
-        Assertions.assertFalse(RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class).getCode().isBlank());
+        Assertions.assertFalse(RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class).getCode().isBlank());
+        verify(mockProcessingEnv).getMessager();
     }
     
     /**
@@ -226,7 +344,8 @@ public class BeanRecipeGeneratorTest extends AbstractUnitTest {
         builder.buildConstructor().setVisibility(VisibilityType.PUBLIC).emptyImplementation().buildParameter(PrimitiveType.INT, "param").finish().finish();
         
         builder.buildMethod("method1").setVisibility(VisibilityType.PUBLIC).addAnnotation(JAnnotationFactory.create(PostConstruct.class)).emptyImplementation().finish();
-        Assertions.assertFalse(RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class).getCode().isBlank());
+        Assertions.assertFalse(RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class).getCode().isBlank());
+        verify(mockProcessingEnv).getMessager();
     }
     
     /**
@@ -241,8 +360,9 @@ public class BeanRecipeGeneratorTest extends AbstractUnitTest {
         builder.buildConstructor().setVisibility(VisibilityType.PRIVATE).addAnnotation(JAnnotationFactory.create(Inject.class)).emptyImplementation().buildParameter(PrimitiveType.BOOLEAN, "param").finish().finish();
         builder.buildConstructor().setVisibility(VisibilityType.PUBLIC).emptyImplementation().buildParameter(PrimitiveType.INT, "param").finish().finish();
         
-        Assertions.assertFalse(RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class).getCode().isBlank());
+        Assertions.assertFalse(RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class).getCode().isBlank());
         verify(mockMessager, times(2)).printWarning("q.w.e.Rty has a private @Inject constructor");
+        verify(mockProcessingEnv).getMessager();
     }
     
     /**
@@ -258,7 +378,38 @@ public class BeanRecipeGeneratorTest extends AbstractUnitTest {
         builder.buildConstructor().setVisibility(VisibilityType.PUBLIC).emptyImplementation().buildParameter(PrimitiveType.INT, "param").finish().finish();
         
         builder.buildMethod("method1").setVisibility(VisibilityType.PUBLIC).addAnnotation(JAnnotationFactory.create(PostConstruct.class)).emptyImplementation().finish();
-        Assertions.assertFalse(RecipeGenerator.generate(null, type, builder.build(), mockMessager, Registry.class).getCode().isBlank());
+        Assertions.assertFalse(RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class).getCode().isBlank());
         verify(mockMessager, times(2)).printWarning("q.w.e.Rty has a private @Inject constructor");
+        verify(mockProcessingEnv).getMessager();
+    }
+    
+    /**
+     * The recipe of a bean describes it through the {@code DESCRIPTOR}, allowing for it to be retrieved without describing it anew
+     * @throws TendrilException 
+     */
+    @Test
+    public void testDescriptorConstant() throws TendrilException {
+        ClassType type = TypeFactory.createClassType("q.w.e.Rty");
+        ClassBuilder builder = ClassBuilder.forConcreteClass(type).addAnnotation(JAnnotationFactory.create(Singleton.class));
+        builder.buildConstructor().setVisibility(VisibilityType.PUBLIC).emptyImplementation().finish();
+        
+        Assertions.assertTrue(RecipeGenerator.generate(null, type, builder.build(), mockProcessingEnv, Registry.class).getCode().contains(" DESCRIPTOR "));
+        verify(mockProcessingEnv).getMessager();
+    }
+    
+    /**
+     * Each copy of a duplicated bean is named after its blueprint, so its recipe cannot provide a {@code DESCRIPTOR}
+     * @throws TendrilException 
+     */
+    @Test
+    public void testNoDescriptorConstantForSibling() throws TendrilException {
+        ClassType type = TypeFactory.createClassType("q.w.e.Rty");
+        ClassBuilder builder = ClassBuilder.forConcreteClass(type).addAnnotation(JAnnotationFactory.create(Singleton.class));
+        builder.buildConstructor().setVisibility(VisibilityType.PUBLIC).emptyImplementation().finish();
+        
+        String code = RecipeGenerator.generateDuplicateSiblingBean(TypeFactory.createClassType("z.x.c.Blueprint"), type, builder.build(), mockProcessingEnv).getCode();
+        Assertions.assertFalse(code.isBlank());
+        Assertions.assertFalse(code.contains(" DESCRIPTOR "));
+        verify(mockProcessingEnv).getMessager();
     }
 }
@@ -15,7 +15,9 @@
  */
 package tendril.processor.recipe;
 
-import javax.annotation.processing.Messager;
+import static org.mockito.Mockito.verify;
+
+import javax.annotation.processing.ProcessingEnvironment;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -46,7 +48,7 @@ public class ClassRecipeGeneratorTest extends AbstractUnitTest {
          * @param creator
          */
         TestClassRecipeGenerator(ClassType beanType, JClass creator) {
-            super(null, beanType, creator, mockMessager);
+            super(null, beanType, creator, mockProcessingEnv);
         }
 
         /**
@@ -61,7 +63,7 @@ public class ClassRecipeGeneratorTest extends AbstractUnitTest {
     
     // Mocks to use for testing
     @Mock
-    private Messager mockMessager;
+    private ProcessingEnvironment mockProcessingEnv;
 
     /**
      * @see tendril.test.AbstractUnitTest#prepareTest()
@@ -80,6 +82,7 @@ public class ClassRecipeGeneratorTest extends AbstractUnitTest {
         ClassBuilder builder = ClassBuilder.forAbstractClass(type).addAnnotation(JAnnotationFactory.create(Singleton.class));
         
         TestClassRecipeGenerator generator = new TestClassRecipeGenerator(type, builder.build());
+        verify(mockProcessingEnv).getMessager();
         Assertions.assertThrows(TendrilException.class, () -> generator.generate(TypeFactory.createClassType("a.b.c.D"), null));
         Assertions.assertFalse(generator.populateCalled);
     }
@@ -93,6 +96,7 @@ public class ClassRecipeGeneratorTest extends AbstractUnitTest {
         ClassBuilder builder = ClassBuilder.forInterface(type).addAnnotation(JAnnotationFactory.create(Singleton.class));
         
         TestClassRecipeGenerator generator = new TestClassRecipeGenerator(type, builder.build());
+        verify(mockProcessingEnv).getMessager();
         Assertions.assertThrows(TendrilException.class, () -> generator.generate(TypeFactory.createClassType("a.b.c.D"), null));
         Assertions.assertFalse(generator.populateCalled);
     }
@@ -106,6 +110,7 @@ public class ClassRecipeGeneratorTest extends AbstractUnitTest {
         ClassBuilder builder = ClassBuilder.forAnnotation(type).addAnnotation(JAnnotationFactory.create(Singleton.class));
         
         TestClassRecipeGenerator generator = new TestClassRecipeGenerator(type, builder.build());
+        verify(mockProcessingEnv).getMessager();
         Assertions.assertThrows(TendrilException.class, () -> generator.generate(TypeFactory.createClassType("a.b.c.D"), null));
         Assertions.assertFalse(generator.populateCalled);
     }
@@ -120,6 +125,7 @@ public class ClassRecipeGeneratorTest extends AbstractUnitTest {
         ClassBuilder builder = ClassBuilder.forConcreteClass(type).addAnnotation(JAnnotationFactory.create(Singleton.class));
         
         TestClassRecipeGenerator generator = new TestClassRecipeGenerator(type, builder.build());
+        verify(mockProcessingEnv).getMessager();
         Assertions.assertFalse(generator.generate(TypeFactory.createClassType("a.b.c.D"), null).getCode().isBlank());
         Assertions.assertTrue(generator.populateCalled);
     }
@@ -3,7 +3,7 @@ package tendril.processor.recipe;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -27,7 +27,7 @@ public class DuplicateRecipeGeneratorTest extends AbstractUnitTest {
 	@Mock
 	private JClass mockCreator;
 	@Mock
-	private Messager mockMessager;
+	private ProcessingEnvironment mockProcessingEnv;
 
 	private DuplicateRecipeGenerator generator;
 	
@@ -37,7 +37,8 @@ public class DuplicateRecipeGeneratorTest extends AbstractUnitTest {
 	@Override
 	protected void prepareTest() {
 		when(mockBeanType.isAssignableFrom(mockBeanType)).thenReturn(true);
-		generator = new DuplicateRecipeGenerator(mockBlueprint, mockBeanType, mockCreator, mockMessager);
+		generator = new DuplicateRecipeGenerator(mockBlueprint, mockBeanType, mockCreator, mockProcessingEnv);
+		verify(mockProcessingEnv).getMessager();
 		verify(mockCreator).hasAnnotation(Primary.class);
 		verify(mockCreator).hasAnnotation(Fallback.class);
 		verify(mockBeanType).isAssignableFrom(mockBeanType);
@@ -90,4 +90,32 @@ public class MethodRecipeGeneratorTest extends AbstractUnitTest {
         
         Assertions.assertFalse(RecipeGenerator.generate(configType, null, builder.build(), mockMessager).getCode().isBlank());
     }
+
+    /**
+     * A bean which is created by the method is described by its recipe, allowing for it to be retrieved via the {@code DESCRIPTOR}
+     * @throws TendrilException 
+     */
+    @Test
+    public void testDescriptorConstant() throws TendrilException {
+        ClassType configType = TypeFactory.createClassType("a.b.c.D");
+        MethodBuilder<Type> builder = new ConcreteMethodBuilder<>(null, "method").setType(TypeFactory.createClassType("q.w.e.Rty"))
+                .addAnnotation(JAnnotationFactory.create(Singleton.class)).emptyImplementation();
+        
+        Assertions.assertTrue(RecipeGenerator.generate(configType, null, builder.build(), mockMessager).getCode().contains(" DESCRIPTOR "));
+    }
+
+    /**
+     * Each copy of a duplicated bean is named after its blueprint, so its recipe cannot provide a {@code DESCRIPTOR}
+     * @throws TendrilException 
+     */
+    @Test
+    public void testNoDescriptorConstantForSibling() throws TendrilException {
+        ClassType configType = TypeFactory.createClassType("a.b.c.D");
+        MethodBuilder<Type> builder = new ConcreteMethodBuilder<>(null, "method").setType(TypeFactory.createClassType("q.w.e.Rty"))
+                .addAnnotation(JAnnotationFactory.create(Singleton.class)).emptyImplementation();
+        
+        String code = RecipeGenerator.generateDuplicateSiblingBean(TypeFactory.createClassType("z.x.c.Blueprint"), configType, builder.build(), mockMessager).getCode();
+        Assertions.assertFalse(code.isBlank());
+        Assertions.assertFalse(code.contains(" DESCRIPTOR "));
+    }
 }
@@ -5,6 +5,8 @@ import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -15,7 +17,9 @@ import tendril.codegen.VisibilityType;
 import tendril.codegen.classes.JClass;
 import tendril.codegen.field.JContainedType;
 import tendril.codegen.field.JVisibleType;
+import tendril.codegen.field.type.ArrayType;
 import tendril.codegen.field.type.ClassType;
+import tendril.codegen.field.type.PrimitiveType;
 import tendril.codegen.field.type.Type;
 import tendril.codegen.field.type.TypeFactory;
 import tendril.codegen.generics.CompoundExtendsGeneric;
@@ -281,11 +285,8 @@ public class RecipeGeneratorHelperTest extends AbstractUnitTest {
 	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@Test
-	public void testRequireReflectionSamePackage() {
+	public void testRequireReflectionClassContainer() {
 		when(mockElement.getContainer()).thenReturn((JContainedType) mockClassContainer);
-		when(mockClassContainer.getType()).thenReturn(mockContainerType);
-		when(mockContainerType.getPackageName()).thenReturn("a");
-		when(mockClassType.getPackageName()).thenReturn("a");
 
 		when(mockElement.getVisibility()).thenReturn(VisibilityType.PRIVATE);
 		Assertions.assertTrue(RecipeGeneratorHelper.requiresReflection(mockClassType, mockElement));
@@ -298,24 +299,110 @@ public class RecipeGeneratorHelperTest extends AbstractUnitTest {
 	}
 	
 	/**
-	 * Verify that the need for reflection can be properly determined
+	 * Verify that the need for an accessor can be properly determined
 	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	@Test
-	public void testRequireReflectionDifferentPackage() {
+	public void testRequireAccessorNoClassContainer() {
+		when(mockElement.getContainer()).thenReturn(null);
+		Assertions.assertFalse(RecipeGeneratorHelper.requiresAccessor(mockClassType, mockElement));
+		when(mockElement.getContainer()).thenReturn((JContainedType) mockElement);
+		Assertions.assertFalse(RecipeGeneratorHelper.requiresAccessor(mockClassType, mockElement));
+	}
+	
+	/**
+	 * Verify that the need for an accessor can be properly determined
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Test
+	public void testRequireAccessorSamePackage() {
+		when(mockElement.getContainer()).thenReturn((JContainedType) mockClassContainer);
+		when(mockClassContainer.getType()).thenReturn(mockContainerType);
+		when(mockContainerType.getPackageName()).thenReturn("a");
+		when(mockClassType.getPackageName()).thenReturn("a");
+
+		Assertions.assertFalse(RecipeGeneratorHelper.requiresAccessor(mockClassType, mockElement));
+	}
+	
+	/**
+	 * Verify that the need for an accessor can be properly determined
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Test
+	public void testRequireAccessorDifferentPackage() {
 		when(mockElement.getContainer()).thenReturn((JContainedType) mockClassContainer);
 		when(mockClassContainer.getType()).thenReturn(mockContainerType);
 		when(mockContainerType.getPackageName()).thenReturn("a");
 		when(mockClassType.getPackageName()).thenReturn("b");
 
 		when(mockElement.getVisibility()).thenReturn(VisibilityType.PRIVATE);
-		Assertions.assertTrue(RecipeGeneratorHelper.requiresReflection(mockClassType, mockElement));
+		Assertions.assertFalse(RecipeGeneratorHelper.requiresAccessor(mockClassType, mockElement));
 		when(mockElement.getVisibility()).thenReturn(VisibilityType.PACKAGE_PRIVATE);
-		Assertions.assertTrue(RecipeGeneratorHelper.requiresReflection(mockClassType, mockElement));
+		Assertions.assertTrue(RecipeGeneratorHelper.requiresAccessor(mockClassType, mockElement));
 		when(mockElement.getVisibility()).thenReturn(VisibilityType.PROTECTED);
-		Assertions.assertTrue(RecipeGeneratorHelper.requiresReflection(mockClassType, mockElement));
+		Assertions.assertTrue(RecipeGeneratorHelper.requiresAccessor(mockClassType, mockElement));
 		when(mockElement.getVisibility()).thenReturn(VisibilityType.PUBLIC);
-		Assertions.assertFalse(RecipeGeneratorHelper.requiresReflection(mockClassType, mockElement));
+		Assertions.assertFalse(RecipeGeneratorHelper.requiresAccessor(mockClassType, mockElement));
+	}
+	
+	/**
+	 * Verify that the accessor type is derived from the container and recipe
+	 */
+	@Test
+	public void testGetAccessorType() {
+		ClassType accessor = RecipeGeneratorHelper.getAccessorType(TypeFactory.createClassType("a.b", "Outer.Inner"), TypeFactory.createClassType("c.d", "BeanRecipe"));
+		Assertions.assertEquals("a.b", accessor.getPackageName());
+		Assertions.assertEquals("Outer_InnerAccessor_c_d_BeanRecipe", accessor.getClassName());
+	}
+	
+	/**
+	 * Verify that the erasure of types is properly determined
+	 */
+	@Test
+	public void testGetErasure() {
+		// Generics are removed from classes
+		ClassType listType = TypeFactory.createClassType(List.class, GenericFactory.create(TypeFactory.createClassType(String.class)));
+		Type erased = RecipeGeneratorHelper.getErasure(listType);
+		Assertions.assertEquals(TypeFactory.createClassType(List.class), erased);
+		Assertions.assertFalse(((ClassType) erased).hasGenerics());
+		
+		// Generics are erased to the class they represent
+		when(mockGeneric1.asClassType()).thenReturn(TypeFactory.createClassType(String.class));
+		Assertions.assertEquals(TypeFactory.createClassType(String.class), RecipeGeneratorHelper.getErasure(mockGeneric1));
+		when(mockGeneric2.asClassType()).thenThrow(new DefinitionException("test"));
+		Assertions.assertEquals(TypeFactory.createClassType(Object.class), RecipeGeneratorHelper.getErasure(mockGeneric2));
+		
+		// Arrays are erased to arrays of the erasure
+		Assertions.assertEquals(new ArrayType<>(TypeFactory.createClassType(List.class)), RecipeGeneratorHelper.getErasure(new ArrayType<>(listType)));
+		
+		// Other types are left as is
+		Assertions.assertEquals(mockType, RecipeGeneratorHelper.getErasure(mockType));
 	}
 	
+	/**
+	 * Verify that types are declared as is, unless they refer to a type variable or have nested generics
+	 */
+	@Test
+	public void testGetDeclarableType() {
+		ClassType listType = TypeFactory.createClassType(List.class, GenericFactory.create(TypeFactory.createClassType(String.class)));
+		Assertions.assertSame(listType, RecipeGeneratorHelper.getDeclarableType(listType));
+		ClassType wildcardType = TypeFactory.createClassType(List.class, GenericFactory.createWildcard());
+		Assertions.assertSame(wildcardType, RecipeGeneratorHelper.getDeclarableType(wildcardType));
+		ArrayType<ClassType> arrayType = new ArrayType<>(listType);
+		Assertions.assertSame(arrayType, RecipeGeneratorHelper.getDeclarableType(arrayType));
+		Assertions.assertSame(PrimitiveType.INT, RecipeGeneratorHelper.getDeclarableType(PrimitiveType.INT));
+		
+		// Type variables are erased, wherever they appear
+		GenericType typeVar = GenericFactory.create("T");
+		Assertions.assertEquals(TypeFactory.createClassType(Object.class), RecipeGeneratorHelper.getDeclarableType(typeVar));
+		Assertions.assertEquals(TypeFactory.createClassType(List.class), RecipeGeneratorHelper.getDeclarableType(TypeFactory.createClassType(List.class, typeVar)));
+		ClassType nestedVarType = TypeFactory.createClassType(Map.class, GenericFactory.create(TypeFactory.createClassType(String.class)),
+				GenericFactory.create(TypeFactory.createClassType(List.class, typeVar)));
+		Assertions.assertEquals(TypeFactory.createClassType(Map.class), RecipeGeneratorHelper.getDeclarableType(nestedVarType));
+		Assertions.assertEquals(new ArrayType<>(TypeFactory.createClassType(Object.class)), RecipeGeneratorHelper.getDeclarableType(new ArrayType<>(typeVar)));
+		
+		// Nested generics are erased, as their wildcards cannot be reproduced
+		ClassType nestedType = TypeFactory.createClassType(Map.class, GenericFactory.create(TypeFactory.createClassType(String.class)), GenericFactory.create(listType));
+		Assertions.assertEquals(TypeFactory.createClassType(Map.class), RecipeGeneratorHelper.getDeclarableType(nestedType));
+	}
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.processor.registration;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import tendril.bean.requirement.Requirement;
+import tendril.processor.registration.RecipeMetadata.Dependency;
+import tendril.test.AbstractUnitTest;
+
+/**
+ * Test case for the {@link DependencyLinker}
+ */
+public class DependencyLinkerTest extends AbstractUnitTest {
+
+	// Instance to test
+	private DependencyLinker linker;
+
+	/**
+	 * @see tendril.test.AbstractUnitTest#prepareTest()
+	 */
+	@Override
+	protected void prepareTest() {
+		linker = new DependencyLinker();
+	}
+
+	/**
+	 * Create the metadata of a recipe
+	 *
+	 * @param name       {@link String} name of the recipe
+	 * @param isPrimary  boolean flag for whether the bean is primary
+	 * @param isFallback boolean flag for whether the bean is fallback
+	 * @return {@link RecipeMetadata}
+	 */
+	private RecipeMetadata createProvider(String name, boolean isPrimary, boolean isFallback) {
+		RecipeMetadata meta = new RecipeMetadata(name, "a.Bean", isPrimary, isFallback, new Requirement(), new Requirement());
+		meta.addSupertype("a.Iface");
+		linker.addProvider(meta);
+		return meta;
+	}
+
+	/**
+	 * Verify that a dependency which no recipe provides resolves to nothing
+	 */
+	@Test
+	public void testNoProvider() {
+		createProvider("Recipe", false, false);
+		Assertions.assertTrue(linker.resolve(new Dependency("f", "a.Other")).isEmpty());
+	}
+
+	/**
+	 * Verify that the providers are resolved by priority
+	 */
+	@Test
+	public void testPriorities() {
+		RecipeMetadata fallback = createProvider("Fallback", false, true);
+		Assertions.assertEquals(List.of(fallback), linker.resolve(new Dependency("f", "a.Bean")));
+
+		RecipeMetadata basic1 = createProvider("Basic1", false, false);
+		Assertions.assertEquals(List.of(basic1), linker.resolve(new Dependency("f", "a.Iface")));
+		RecipeMetadata basic2 = createProvider("Basic2", false, false);
+		Assertions.assertEquals(List.of(basic1, basic2), linker.resolve(new Dependency("f", "a.Bean")));
+
+		RecipeMetadata primary = createProvider("Primary", true, false);
+		Assertions.assertEquals(List.of(primary), linker.resolve(new Dependency("f", "a.Bean")));
+	}
+
+	/**
+	 * Verify that a dependency which could be provided by an unknown recipe cannot be resolved
+	 */
+	@Test
+	public void testUnknownProvider() {
+		createProvider("Recipe", false, false);
+		linker.addUnknownProvider(Set.of("a.Other", "a.Iface"));
+
+		Assertions.assertNull(linker.resolve(new Dependency("f", "a.Iface")));
+		Assertions.assertNull(linker.resolve(new Dependency("f", "a.Other")));
+		Assertions.assertEquals(1, linker.resolve(new Dependency("f", "a.Bean")).size());
+	}
+}
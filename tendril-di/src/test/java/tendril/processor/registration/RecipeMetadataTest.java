@@ -0,0 +1,182 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.processor.registration;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import tendril.bean.requirement.Requirement;
+import tendril.test.AbstractUnitTest;
+
+/**
+ * Test case for {@link RecipeMetadata}
+ */
+public class RecipeMetadataTest extends AbstractUnitTest {
+
+	/**
+	 * @see tendril.test.AbstractUnitTest#prepareTest()
+	 */
+	@Override
+	protected void prepareTest() {
+	}
+
+	/**
+	 * Verify that the metadata is unchanged after being written and read
+	 */
+	@Test
+	public void testRoundTrip() throws IOException {
+		Requirement env = new Requirement();
+		env.addRequired("A");
+		env.addRequiredOneOf("B", "C");
+		env.addRequiredOneOf("D");
+		env.addRequiredNot("E");
+		Requirement prop = new Requirement();
+		prop.addRequiredNot("été");
+
+		RecipeMetadata full = new RecipeMetadata("a.b.FullRecipe", "a.b.Bean", true, false, env, prop);
+		full.addSupertype("a.b.Iface");
+		full.addSupertype(Object.class.getName());
+		full.setName("name");
+		full.addEnumQualifier("a.b.MyEnum.VAL");
+		full.addQualifier("a.b.MyQualifier");
+		full.addLink("field1", "a.b.ProviderRecipe");
+		full.addLink("field2", "EmptyRecipe");
+		RecipeMetadata empty = new RecipeMetadata("EmptyRecipe", "Bean", false, true, new Requirement(), new Requirement());
+		empty.setConfiguration(true);
+
+		Map<String, RecipeMetadata> read = RecipeMetadata.read(ByteBuffer.wrap(RecipeMetadata.write(Arrays.asList(full, empty))));
+		Assertions.assertEquals(2, read.size());
+		assertMetadata(full, read.get("a.b.FullRecipe"));
+		assertMetadata(empty, read.get("EmptyRecipe"));
+		Assertions.assertEquals(Set.of("a.b.FullRecipe", "EmptyRecipe"), read.get("a.b.FullRecipe").getModuleRecipes());
+		Assertions.assertSame(read.get("a.b.FullRecipe").getModuleRecipes(), read.get("EmptyRecipe").getModuleRecipes());
+	}
+
+	/**
+	 * Verify that the dependencies are only recorded at compile time, and not written
+	 */
+	@Test
+	public void testDependenciesNotWritten() throws IOException {
+		RecipeMetadata meta = new RecipeMetadata("Recipe", "Bean", false, false, new Requirement(), new Requirement());
+		meta.addDependency(new RecipeMetadata.Dependency("field", "Bean"));
+		Assertions.assertEquals(1, meta.getDependencies().size());
+
+		Map<String, RecipeMetadata> read = RecipeMetadata.read(ByteBuffer.wrap(RecipeMetadata.write(Collections.singletonList(meta))));
+		Assertions.assertTrue(read.get("Recipe").getDependencies().isEmpty());
+		Assertions.assertTrue(read.get("Recipe").getLinks().isEmpty());
+	}
+
+	/**
+	 * Verify that a dependency matches the recipes which provide a compatible bean
+	 */
+	@Test
+	public void testDependencyMatches() {
+		RecipeMetadata recipe = new RecipeMetadata("Recipe", "a.b.Bean", false, false, new Requirement(), new Requirement());
+		recipe.addSupertype("a.b.Iface");
+		recipe.setName("name");
+		recipe.addEnumQualifier("a.b.MyEnum.VAL");
+		recipe.addQualifier("a.b.MyQualifier");
+
+		// Type
+		Assertions.assertTrue(new RecipeMetadata.Dependency("f", "a.b.Bean").matches(recipe));
+		Assertions.assertTrue(new RecipeMetadata.Dependency("f", "a.b.Iface").matches(recipe));
+		Assertions.assertFalse(new RecipeMetadata.Dependency("f", "a.b.Other").matches(recipe));
+
+		// Name
+		RecipeMetadata.Dependency named = new RecipeMetadata.Dependency("f", "a.b.Bean");
+		named.setName("name");
+		Assertions.assertTrue(named.matches(recipe));
+		named.setName("other");
+		Assertions.assertFalse(named.matches(recipe));
+
+		// Qualifiers
+		RecipeMetadata.Dependency qualified = new RecipeMetadata.Dependency("f", "a.b.Bean");
+		qualified.addEnumQualifier("a.b.MyEnum.VAL");
+		qualified.addQualifier("a.b.MyQualifier");
+		Assertions.assertTrue(qualified.matches(recipe));
+		qualified.addQualifier("a.b.OtherQualifier");
+		Assertions.assertFalse(qualified.matches(recipe));
+		RecipeMetadata.Dependency enumQualified = new RecipeMetadata.Dependency("f", "a.b.Bean");
+		enumQualified.addEnumQualifier("a.b.MyEnum.OTHER");
+		Assertions.assertFalse(enumQualified.matches(recipe));
+	}
+
+	/**
+	 * Verify that buffers which do not contain metadata in the supported format are rejected
+	 */
+	@Test
+	public void testInvalidFormat() {
+		byte[] valid = RecipeMetadata.write(Collections.singletonList(new RecipeMetadata("Recipe", "Bean", false, false, new Requirement(), new Requirement())));
+
+		// Unknown magic
+		byte[] bytes = valid.clone();
+		bytes[0]++;
+		Assertions.assertThrows(IOException.class, () -> RecipeMetadata.read(ByteBuffer.wrap(bytes)));
+
+		// Unsupported version
+		ByteBuffer version = ByteBuffer.wrap(valid.clone());
+		version.putShort(4, (short) (RecipeMetadata.VERSION + 1));
+		Assertions.assertThrows(IOException.class, () -> RecipeMetadata.read(version));
+
+		// Truncated
+		Assertions.assertThrows(IOException.class, () -> RecipeMetadata.read(ByteBuffer.wrap(Arrays.copyOf(valid, valid.length - 1))));
+	}
+
+	/**
+	 * Verify that the metadata matches the expected
+	 *
+	 * @param expected {@link RecipeMetadata} that is expected
+	 * @param actual   {@link RecipeMetadata} that was read
+	 */
+	private void assertMetadata(RecipeMetadata expected, RecipeMetadata actual) {
+		Assertions.assertEquals(expected.getRecipeName(), actual.getRecipeName());
+		Assertions.assertEquals(expected.getBeanType(), actual.getBeanType());
+		Assertions.assertIterableEquals(expected.getSupertypes(), actual.getSupertypes());
+		Assertions.assertEquals(expected.getName(), actual.getName());
+		Assertions.assertIterableEquals(expected.getEnumQualifiers(), actual.getEnumQualifiers());
+		Assertions.assertIterableEquals(expected.getQualifiers(), actual.getQualifiers());
+		Assertions.assertEquals(expected.isPrimary(), actual.isPrimary());
+		Assertions.assertEquals(expected.isFallback(), actual.isFallback());
+		Assertions.assertEquals(expected.isConfiguration(), actual.isConfiguration());
+		Assertions.assertEquals(expected.getLinks(), actual.getLinks());
+		assertRequirement(expected.getEnvironmentRequirement(), actual.getEnvironmentRequirement());
+		assertRequirement(expected.getPropertyRequirement(), actual.getPropertyRequirement());
+	}
+
+	/**
+	 * Verify that the requirement matches the expected
+	 *
+	 * @param expected {@link Requirement} that is expected
+	 * @param actual   {@link Requirement} that was read
+	 */
+	private void assertRequirement(Requirement expected, Requirement actual) {
+		Assertions.assertIterableEquals(expected.getRequired(), actual.getRequired());
+		Assertions.assertEquals(expected.getRequiredOneOf().size(), actual.getRequiredOneOf().size());
+		for (int i = 0; i < expected.getRequiredOneOf().size(); i++) {
+			List<String> group = expected.getRequiredOneOf().get(i);
+			Assertions.assertIterableEquals(group, actual.getRequiredOneOf().get(i));
+		}
+		Assertions.assertIterableEquals(expected.getRequiredNot(), actual.getRequiredNot());
+	}
+}
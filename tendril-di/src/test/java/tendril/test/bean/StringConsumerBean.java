@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.test.bean;
+
+/**
+ * Bean class to use for testing which consumes a {@link String} dependency
+ */
+public class StringConsumerBean {
+    
+    /** The value that has been injected */
+    private String value = null;
+    
+    /**
+     * Set the injected value
+     * 
+     * @param value {@link String} which is injected
+     */
+    public void setValue(String value) {
+        this.value = value;
+    }
+    
+    /**
+     * Get the injected value
+     * 
+     * @return {@link String} which was injected
+     */
+    public String getValue() {
+        return value;
+    }
+}
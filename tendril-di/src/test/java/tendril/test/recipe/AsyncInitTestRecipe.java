@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.test.recipe;
+
+import java.util.concurrent.CompletableFuture;
+
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.recipe.SingletonRecipe;
+import tendril.bean.requirement.Requirement;
+import tendril.context.Engine;
+import tendril.test.bean.SingleCtorBean;
+
+/**
+ * Singleton recipe whose bean is initialized asynchronously, with the test controlling when the initialization completes
+ */
+public class AsyncInitTestRecipe extends SingletonRecipe<SingleCtorBean, SingleCtorBean> {
+	
+	/** The initialization which the bean is to perform */
+	public static CompletableFuture<Void> initialization = new CompletableFuture<>();
+	
+	/**
+	 * Reset the recipe, such that the bean is initialized by a new future
+	 */
+	public static void reset() {
+		initialization = new CompletableFuture<>();
+	}
+
+    /**
+     * CTOR
+     * 
+     * @param engine {@link Engine} in which the recipe is to be registered
+     */
+    public AsyncInitTestRecipe(Engine engine) {
+        super(engine, SingleCtorBean.class, false, false);
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#setupDescriptor(tendril.bean.qualifier.Descriptor)
+     */
+    @Override
+    protected void setupDescriptor(Descriptor<SingleCtorBean> descriptor) {
+    	// Not required
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#setupEnvironmentRequirement(tendril.bean.requirement.Requirement)
+     */
+    @Override
+    protected void setupEnvironmentRequirement(Requirement requirement) {
+    	// Not required
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#setupPropertyRequirement(tendril.bean.requirement.Requirement)
+     */
+	@Override
+	protected void setupPropertyRequirement(Requirement requirement) {
+		// Not required
+	}
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#createInstance(tendril.context.Engine)
+     */
+    @Override
+    protected SingleCtorBean createInstance(Engine engine) {
+        return new SingleCtorBean();
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#postConstruct(java.lang.Object)
+     */
+    @Override
+    protected void postConstruct(SingleCtorBean bean) {
+    	addAsyncPostConstruct(initialization);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.test.recipe;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.recipe.SingletonRecipe;
+import tendril.bean.requirement.Requirement;
+import tendril.context.Engine;
+import tendril.test.bean.MultipleCtorBean;
+
+/**
+ * Singleton recipe whose bean creation blocks until released by the test, allowing for the bean to be accessed while it is being created
+ */
+public class BlockingTestRecipe extends SingletonRecipe<MultipleCtorBean, MultipleCtorBean> {
+	
+	/** Released once the creation of the bean has started */
+	public static CountDownLatch building = new CountDownLatch(1);
+	/** Creation of the bean waits until this is released */
+	public static CountDownLatch release = new CountDownLatch(1);
+	/** The number of times that the bean has been created */
+	public static final AtomicInteger created = new AtomicInteger();
+	
+	/**
+	 * Reset the recipe, such that the next creation of the bean blocks again
+	 */
+	public static void reset() {
+		building = new CountDownLatch(1);
+		release = new CountDownLatch(1);
+		created.set(0);
+	}
+
+    /**
+     * CTOR
+     * 
+     * @param engine {@link Engine} in which the recipe is to be registered
+     */
+    public BlockingTestRecipe(Engine engine) {
+        super(engine, MultipleCtorBean.class, false, false);
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#setupDescriptor(tendril.bean.qualifier.Descriptor)
+     */
+    @Override
+    protected void setupDescriptor(Descriptor<MultipleCtorBean> descriptor) {
+    	// Not required
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#setupEnvironmentRequirement(tendril.bean.requirement.Requirement)
+     */
+    @Override
+    protected void setupEnvironmentRequirement(Requirement requirement) {
+    	// Not required
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#setupPropertyRequirement(tendril.bean.requirement.Requirement)
+     */
+	@Override
+	protected void setupPropertyRequirement(Requirement requirement) {
+		// Not required
+	}
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#createInstance(tendril.context.Engine)
+     */
+    @Override
+    protected MultipleCtorBean createInstance(Engine engine) throws InterruptedException {
+    	created.incrementAndGet();
+    	building.countDown();
+    	release.await();
+        return new MultipleCtorBean();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.test.recipe;
+
+import java.util.List;
+
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.recipe.FactoryRecipe;
+import tendril.bean.requirement.Requirement;
+import tendril.context.Engine;
+import tendril.test.bean.StringConsumerBean;
+
+/**
+ * Recipe to use for testing where a new {@link StringConsumerBean} is produced with a {@link String} dependency injected
+ */
+public class StringConsumerTestRecipe extends FactoryRecipe<StringConsumerBean, StringConsumerBean> {
+
+    /**
+     * CTOR
+     * 
+     * @param engine {@link Engine} in which the recipe is to be registered
+     */
+    public StringConsumerTestRecipe(Engine engine) {
+        super(engine, StringConsumerBean.class, false, false);
+        registerDependency(new Descriptor<>(String.class, "value"), (consumer, value) -> consumer.setValue(value));
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#setupDescriptor(tendril.bean.qualifier.Descriptor)
+     */
+    @Override
+    protected void setupDescriptor(Descriptor<StringConsumerBean> descriptor) {
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#setupEnvironmentRequirement(tendril.bean.requirement.Requirement)
+     */
+    @Override
+    protected void setupEnvironmentRequirement(Requirement requirement) {
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#setupPropertyRequirement(tendril.bean.requirement.Requirement)
+     */
+    @Override
+    protected void setupPropertyRequirement(Requirement requirement) {
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#setupConsumedDescriptors(java.util.List, java.util.List)
+     */
+    @Override
+    protected void setupConsumedDescriptors(List<Descriptor<?>> beans, List<Descriptor<?>> allBeans) {
+        beans.add(new Descriptor<>(String.class, "value"));
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#createInstance(tendril.context.Engine)
+     */
+    @Override
+    protected StringConsumerBean createInstance(Engine engine) {
+        return new StringConsumerBean();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.test.recipe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import tendril.context.Engine;
+import tendril.processor.registration.RegistryIndex;
+
+/**
+ * Index to use for testing, imitating a generated index for the {@link IntTestRecipe} and {@link StringTestRecipe}.
+ */
+public class TestRegistryIndex implements RegistryIndex {
+
+    /** The names of the recipes that were created by the index */
+    public final List<String> created = new ArrayList<>();
+
+    /**
+     * @see tendril.processor.registration.RecipeIndex#getRecipeNames()
+     */
+    @Override
+    public List<String> getRecipeNames() {
+        return Arrays.asList(IntTestRecipe.class.getName(), StringTestRecipe.class.getName());
+    }
+
+    /**
+     * @see tendril.processor.registration.RecipeIndex#create(java.lang.String, tendril.context.Engine)
+     */
+    @Override
+    public Object create(String recipeName, Engine engine) {
+        created.add(recipeName);
+        if (IntTestRecipe.class.getName().equals(recipeName))
+            return new IntTestRecipe(engine);
+        if (StringTestRecipe.class.getName().equals(recipeName))
+            return new StringTestRecipe(engine);
+        return null;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.test.runner;
+
+import tendril.context.launch.TendrilRunner;
+import tendril.test.bean.SingleCtorBean;
+import tendril.test.recipe.AsyncInitTestRecipe;
+
+/**
+ * {@link TendrilRunner} implementation to use for the purpose of testing, which depends on a bean that is initialized asynchronously
+ */
+public class TestAsyncTendrilRunner implements TendrilRunner {
+    
+    /** Flag for whether or not an instance of the runner has been run */
+    private static boolean isRun = false;
+    /** Flag for whether the asynchronous initializations had completed when the runner was run */
+    private static boolean wasReady = false;
+    
+    /**
+     * CTOR
+     * 
+     * @param dependency {@link SingleCtorBean} which the runner depends on
+     */
+    public TestAsyncTendrilRunner(SingleCtorBean dependency) {
+    }
+    
+    /**
+     * @see tendril.context.launch.TendrilRunner#run()
+     */
+    @Override
+    public void run() {
+        isRun = true;
+        wasReady = TestAsyncTendrilRunnerRecipe.initialization.isDone() && AsyncInitTestRecipe.initialization.isDone();
+    }
+
+    /**
+     * Check whether an instance of the runner has been run
+     * 
+     * @return boolean true if it has been run
+     */
+    public static boolean hasBeenRun() {
+        return isRun;
+    }
+
+    /**
+     * Check whether the asynchronous initializations of the runner and its dependency had completed when the runner was run
+     * 
+     * @return boolean true if they had completed
+     */
+    public static boolean wasReadyWhenRun() {
+        return wasReady;
+    }
+    
+    /**
+     * Reset the runner
+     */
+    public static void reset() {
+        isRun = false;
+        wasReady = false;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 Jaroslav Bosak
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/license/MIT
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tendril.test.runner;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import tendril.bean.qualifier.Descriptor;
+import tendril.bean.recipe.SingletonRecipe;
+import tendril.bean.requirement.Requirement;
+import tendril.context.Engine;
+import tendril.test.bean.SingleCtorBean;
+
+/**
+ * {@link SingletonRecipe} to use for the purpose of allowing the {@link TestAsyncTendrilRunner} to be "injected" into tests, with the test controlling when the
+ * asynchronous initialization of the runner completes
+ */
+public class TestAsyncTendrilRunnerRecipe extends SingletonRecipe<TestAsyncTendrilRunner, TestAsyncTendrilRunner> {
+	
+	/** The initialization which the runner is to perform */
+	public static CompletableFuture<Void> initialization = new CompletableFuture<>();
+	
+	/**
+	 * Reset the recipe, such that the runner is initialized by a new future
+	 */
+	public static void reset() {
+		initialization = new CompletableFuture<>();
+	}
+
+    /**
+     * CTOR
+     * 
+     * @param engine {@link Engine} that the recipe is to be employed with
+     */
+    public TestAsyncTendrilRunnerRecipe(Engine engine) {
+        super(engine, TestAsyncTendrilRunner.class, false, false);
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#setupDescriptor(tendril.bean.qualifier.Descriptor)
+     */
+    @Override
+    protected void setupDescriptor(Descriptor<TestAsyncTendrilRunner> descriptor) {
+    	// Not required
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#setupEnvironmentRequirement(tendril.bean.requirement.Requirement)
+     */
+    @Override
+    protected void setupEnvironmentRequirement(Requirement requirement) {
+    	// Not required
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#setupPropertyRequirement(tendril.bean.requirement.Requirement)
+     */
+	@Override
+	protected void setupPropertyRequirement(Requirement requirement) {
+		// Not required
+	}
+
+	/**
+	 * @see tendril.bean.recipe.AbstractRecipe#setupConsumedDescriptors(java.util.List, java.util.List)
+	 */
+	@Override
+	protected void setupConsumedDescriptors(List<Descriptor<?>> beans, List<Descriptor<?>> allBeans) {
+		beans.add(new Descriptor<>(SingleCtorBean.class));
+	}
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#createInstance(tendril.context.Engine)
+     */
+    @Override
+    protected TestAsyncTendrilRunner createInstance(Engine engine) {
+        return new TestAsyncTendrilRunner(engine.getBean(new Descriptor<>(SingleCtorBean.class)));
+    }
+
+    /**
+     * @see tendril.bean.recipe.AbstractRecipe#postConstruct(java.lang.Object)
+     */
+    @Override
+    protected void postConstruct(TestAsyncTendrilRunner bean) {
+    	addAsyncPostConstruct(initialization);
+    }
+}